@@ -0,0 +1,13 @@
+CREATE TABLE cache_bus_message
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    cache_name  VARCHAR(100)                            NOT NULL,
+    event_type  VARCHAR(10)                             NOT NULL,
+    cache_key   VARCHAR(1000),
+    payload     BYTEA,
+    origin_node VARCHAR(64)                             NOT NULL,
+    created_at  TIMESTAMP                               NOT NULL,
+    CONSTRAINT pk_cache_bus_message PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_cache_bus_created ON cache_bus_message (created_at);
@@ -0,0 +1,13 @@
+CREATE TABLE cache_warmup_entry
+(
+    warm_key    VARCHAR(64)   NOT NULL,
+    bean_class  VARCHAR(255)  NOT NULL,
+    method_name VARCHAR(100)  NOT NULL,
+    param_types VARCHAR(1000) NOT NULL,
+    args_json   VARCHAR(4000) NOT NULL,
+    hit_count   BIGINT        NOT NULL,
+    updated_at  TIMESTAMP     NOT NULL,
+    CONSTRAINT pk_cache_warmup_entry PRIMARY KEY (warm_key)
+);
+
+CREATE INDEX idx_cache_warmup_count ON cache_warmup_entry (hit_count);
@@ -0,0 +1,10 @@
+CREATE TABLE patent_citation_watermarks
+(
+    patent_number               VARCHAR(255) NOT NULL,
+    full_fetched_at             TIMESTAMP,
+    forward_refreshed_at        TIMESTAMP,
+    newest_citing_patent_number VARCHAR(255),
+    CONSTRAINT pk_patent_citation_watermarks PRIMARY KEY (patent_number)
+);
+
+CREATE INDEX idx_citation_watermark_refreshed ON patent_citation_watermarks (forward_refreshed_at);
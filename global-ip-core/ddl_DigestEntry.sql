@@ -0,0 +1,15 @@
+CREATE TABLE notification_digest_entries
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    user_id     VARCHAR(255)  NOT NULL,
+    frequency   VARCHAR(20)   NOT NULL,
+    channel     VARCHAR(30)   NOT NULL,
+    subject_id  VARCHAR(255)  NOT NULL,
+    event_type  VARCHAR(50)   NOT NULL,
+    message     VARCHAR(1000),
+    severity    VARCHAR(20),
+    occurred_at TIMESTAMP     NOT NULL,
+    CONSTRAINT pk_notification_digest_entries PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_notification_digest_frequency_user ON notification_digest_entries (frequency, user_id, id);
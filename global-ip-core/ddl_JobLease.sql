@@ -0,0 +1,10 @@
+CREATE TABLE job_leases
+(
+    name        VARCHAR(200) NOT NULL,
+    holder      VARCHAR(255) NOT NULL,
+    acquired_at TIMESTAMP    NOT NULL,
+    expires_at  TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_job_leases PRIMARY KEY (name)
+);
+
+CREATE INDEX idx_job_leases_expires ON job_leases (expires_at);
@@ -14,4 +14,6 @@ CREATE TABLE monitoring_subscriptions
 
 ALTER TABLE monitoring_subscriptions
     ADD CONSTRAINT uk_active_subscription_per_config UNIQUE (user_id, type, tier, alert_frequency, email_alerts_enabled,
-                                                             dashboard_alerts_enabled, status);
\ No newline at end of file
+                                                             dashboard_alerts_enabled, status);
+
+CREATE INDEX idx_monitoring_subscriptions_type_status_user ON monitoring_subscriptions (type, status, user_id);
@@ -0,0 +1,15 @@
+CREATE TABLE notification_outbox
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    user_id     VARCHAR(255) NOT NULL,
+    seq         BIGINT       NOT NULL,
+    destination VARCHAR(100) NOT NULL,
+    payload     TEXT         NOT NULL,
+    created_at  TIMESTAMP    NOT NULL,
+    CONSTRAINT pk_notification_outbox PRIMARY KEY (id)
+);
+
+ALTER TABLE notification_outbox
+    ADD CONSTRAINT uk_notification_outbox_user_seq UNIQUE (user_id, seq);
+
+CREATE INDEX idx_notification_outbox_created ON notification_outbox (created_at);
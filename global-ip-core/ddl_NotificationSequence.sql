@@ -0,0 +1,6 @@
+CREATE TABLE notification_sequences
+(
+    user_id  VARCHAR(255) NOT NULL,
+    last_seq BIGINT       NOT NULL,
+    CONSTRAINT pk_notification_sequences PRIMARY KEY (user_id)
+);
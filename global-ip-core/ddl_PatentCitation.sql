@@ -1,4 +1,4 @@
-CREATE TABLE patent_citations
+CREATE TABLE IF NOT EXISTS patent_citations
 (
     id                   BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     citing_patent_number VARCHAR(255)                            NOT NULL,
@@ -15,6 +15,19 @@ CREATE TABLE patent_citations
     CONSTRAINT pk_patent_citations PRIMARY KEY (id)
 );
 
-CREATE INDEX idx_cited_patent ON patent_citations (cited_patent_number);
+-- Tables that predate uk_patent_citation_pair may hold the same pair more
+-- than once; keep the first stored row so the constraint can be added.
+DELETE FROM patent_citations p
+WHERE EXISTS (SELECT 1
+              FROM patent_citations q
+              WHERE q.citing_patent_number = p.citing_patent_number
+                AND q.cited_patent_number = p.cited_patent_number
+                AND q.citation_direction = p.citation_direction
+                AND q.id < p.id);
 
-CREATE INDEX idx_citing_patent ON patent_citations (citing_patent_number);
\ No newline at end of file
+ALTER TABLE patent_citations
+    ADD CONSTRAINT uk_patent_citation_pair UNIQUE (citing_patent_number, cited_patent_number, citation_direction);
+
+CREATE INDEX IF NOT EXISTS idx_cited_patent ON patent_citations (cited_patent_number);
+
+CREATE INDEX IF NOT EXISTS idx_citing_patent ON patent_citations (citing_patent_number);
@@ -0,0 +1,12 @@
+CREATE TABLE patent_lifecycle_fingerprints
+(
+    patent_id     VARCHAR(255) NOT NULL,
+    fingerprint   BIGINT       NOT NULL,
+    changed_at    TIMESTAMP,
+    checked_at    TIMESTAMP    NOT NULL,
+    next_check_at TIMESTAMP    NOT NULL,
+    shard_key     INTEGER,
+    CONSTRAINT pk_patent_lifecycle_fingerprints PRIMARY KEY (patent_id)
+);
+
+CREATE INDEX idx_patent_lifecycle_next_check ON patent_lifecycle_fingerprints (next_check_at);
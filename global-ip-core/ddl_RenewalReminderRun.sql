@@ -0,0 +1,6 @@
+CREATE TABLE renewal_reminder_runs
+(
+    run_date     date      NOT NULL,
+    completed_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_renewal_reminder_runs PRIMARY KEY (run_date)
+);
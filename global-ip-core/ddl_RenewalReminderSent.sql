@@ -0,0 +1,13 @@
+CREATE TABLE renewal_reminders_sent
+(
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    user_id         VARCHAR(255)                            NOT NULL,
+    patent_id       VARCHAR(255)                            NOT NULL,
+    expiration_date date                                    NOT NULL,
+    reminder_days   INT                                     NOT NULL,
+    sent_at         TIMESTAMP                               NOT NULL,
+    CONSTRAINT pk_renewal_reminders_sent PRIMARY KEY (id)
+);
+
+ALTER TABLE renewal_reminders_sent
+    ADD CONSTRAINT uk_renewal_reminder_sent UNIQUE (user_id, patent_id, expiration_date, reminder_days);
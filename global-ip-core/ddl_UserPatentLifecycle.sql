@@ -8,4 +8,6 @@ CREATE TABLE user_patent_lifecycle
     user_id          VARCHAR(255) NOT NULL,
     patent_id        VARCHAR(255) NOT NULL,
     CONSTRAINT pk_user_patent_lifecycle PRIMARY KEY (user_id, patent_id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX idx_user_patent_lifecycle_expiration ON user_patent_lifecycle (expiration_date);
@@ -7,7 +7,10 @@ CREATE TABLE user_tracking_preferences
     enable_email_notifications BOOLEAN      NOT NULL,
     created_at                 TIMESTAMP    NOT NULL,
     updated_at                 TIMESTAMP    NOT NULL,
+    shard_key                  INTEGER,
     user_id                    VARCHAR(255) NOT NULL,
     patent_id                  VARCHAR(255) NOT NULL,
     CONSTRAINT pk_user_tracking_preferences PRIMARY KEY (user_id, patent_id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX idx_user_tracking_patent_user ON user_tracking_preferences (patent_id, user_id);
@@ -1,9 +1,17 @@
 package com.teamb.globalipbackend1;
 
+import com.teamb.globalipbackend1.config.WebSocketProperties;
 import com.teamb.globalipbackend1.external.epo.config.EpoProperties;
+import com.teamb.globalipbackend1.external.patentsview.config.CitationSourceProperties;
 import com.teamb.globalipbackend1.external.patentsview.config.PatentsViewProperties;
+import com.teamb.globalipbackend1.external.ratelimit.UpstreamRateLimitProperties;
 import com.teamb.globalipbackend1.external.trendsApi.config.PatentAnalyticsServiceConfig;
+import com.teamb.globalipbackend1.scheduler.lease.JobLeaseProperties;
 import com.teamb.globalipbackend1.security.JwtConfig;
+import com.teamb.globalipbackend1.service.patent.citations.CitationRefreshProperties;
+import com.teamb.globalipbackend1.service.tracking.TrackingProperties;
+import com.teamb.globalipbackend1.service.websocket.NotificationDigestProperties;
+import com.teamb.globalipbackend1.service.websocket.NotificationOutboxProperties;
 import jakarta.annotation.PostConstruct;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -11,7 +19,10 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties({EpoProperties.class, PatentsViewProperties.class, PatentAnalyticsServiceConfig.class})
+@EnableConfigurationProperties({EpoProperties.class, PatentsViewProperties.class, PatentAnalyticsServiceConfig.class,
+        CitationRefreshProperties.class, CitationSourceProperties.class, UpstreamRateLimitProperties.class,
+        TrackingProperties.class, JobLeaseProperties.class, NotificationDigestProperties.class,
+        NotificationOutboxProperties.class, WebSocketProperties.class})
 @EnableScheduling
 public class GlobalIpBackend1Application {
 
@@ -4,6 +4,7 @@ package com.teamb.globalipbackend1.admin.controller;
 
 import com.teamb.globalipbackend1.admin.dto.*;
 import com.teamb.globalipbackend1.admin.service.*;
+import com.teamb.globalipbackend1.service.tracking.PatentTrackingNotificationService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -25,6 +26,9 @@ public class AdminMonitoringController {
     private final ApiHealthService healthService;
     private final ErrorSummaryService errorService;
     private final UsageLogService usageLogService;
+    private final CacheStatsService cacheStatsService;
+    private final PatentTrackingNotificationService notificationService;
+    private final WebSocketStatsService webSocketStatsService;
 
     @GetMapping("/overview")
     public AdminOverviewDto overview() {
@@ -41,6 +45,21 @@ public class AdminMonitoringController {
         );
     }
 
+    @GetMapping("/caches")
+    public List<CacheStatsDto> caches() {
+        return cacheStatsService.stats();
+    }
+
+    @GetMapping("/notifications")
+    public NotificationFanOutStatsDto notifications() {
+        return notificationService.fanOutStats();
+    }
+
+    @GetMapping("/websocket")
+    public WebSocketStatsDto websocket() {
+        return webSocketStatsService.stats();
+    }
+
     @GetMapping("/errors")
     public List<ErrorSummaryDto> errors() {
         return errorService.summary();
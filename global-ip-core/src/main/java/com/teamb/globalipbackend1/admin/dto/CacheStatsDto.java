@@ -0,0 +1,15 @@
+package com.teamb.globalipbackend1.admin.dto;
+
+public record CacheStatsDto(
+        String cache,
+        long entries,
+        long estimatedBytes,    // Weighted size as estimated on write
+        long maxBytes,          // Share of the global cache memory budget
+        long hitCount,
+        long missCount,
+        double hitRate,
+        double missRate,
+        long evictionCount,
+        double averageLoadMs    // Time from a miss to the put of the loaded value
+) {
+}
@@ -0,0 +1,12 @@
+package com.teamb.globalipbackend1.admin.dto;
+
+public record NotificationFanOutStatsDto(
+        long events,
+        long batches,
+        long recipients,        // Trackers whose preferences matched the event
+        long delivered,
+        long failed,
+        double averageFanOutMs,
+        double deliveriesPerSecond
+) {
+}
@@ -0,0 +1,16 @@
+package com.teamb.globalipbackend1.admin.dto;
+
+public record WebSocketStatsDto(
+        String brokerMode,
+        int sessions,
+        int limitExceededSessions,  // Closed for falling behind the send time / buffer limits
+        int inboundQueued,
+        int inboundActiveThreads,
+        int outboundQueued,
+        int outboundActiveThreads,
+        long framesDelivered,
+        long framesFailed,
+        double averageDeliveryMs,   // Queued on the outbound channel until written to the session
+        double maxDeliveryMs
+) {
+}
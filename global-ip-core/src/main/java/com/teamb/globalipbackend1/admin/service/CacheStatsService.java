@@ -0,0 +1,95 @@
+package com.teamb.globalipbackend1.admin.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.teamb.globalipbackend1.admin.dto.CacheStatsDto;
+import com.teamb.globalipbackend1.cache.BroadcastingCache;
+import com.teamb.globalipbackend1.cache.OffHeapPatentSnapshotCache;
+import com.teamb.globalipbackend1.cache.OffHeapSnapshotStore;
+import com.teamb.globalipbackend1.cache.RefreshableCaffeineCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    public List<CacheStatsDto> stats() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .map(this::toDto)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingLong(CacheStatsDto::estimatedBytes).reversed())
+                .toList();
+    }
+
+    private CacheStatsDto toDto(org.springframework.cache.Cache cache) {
+        if (cache instanceof BroadcastingCache broadcasting) {
+            cache = broadcasting.getDelegate();
+        }
+        if (cache instanceof CaffeineCache caffeine) {
+            return toDto(caffeine);
+        }
+        if (cache instanceof OffHeapPatentSnapshotCache offHeap) {
+            return toDto(offHeap);
+        }
+        return null;
+    }
+
+    private CacheStatsDto toDto(OffHeapPatentSnapshotCache cache) {
+        OffHeapSnapshotStore store = cache.getNativeCache();
+        long hits = store.hitCount();
+        long misses = store.missCount();
+        long requests = hits + misses;
+
+        return new CacheStatsDto(
+                cache.getName(),
+                store.entries(),
+                store.usedBytes(),
+                store.capacityBytes(),
+                hits,
+                misses,
+                requests == 0 ? 1.0 : (double) hits / requests,
+                requests == 0 ? 0.0 : (double) misses / requests,
+                store.evictionCount(),
+                cache.getLoadTimer().averageLoadMs()
+        );
+    }
+
+    private CacheStatsDto toDto(CaffeineCache cache) {
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        CacheStats s = nativeCache.stats();
+
+        Policy.Eviction<Object, Object> eviction =
+                nativeCache.policy().eviction().orElse(null);
+
+        long weighted = eviction != null && eviction.weightedSize().isPresent()
+                ? eviction.weightedSize().getAsLong()
+                : 0L;
+        long max = eviction != null ? eviction.getMaximum() : 0L;
+
+        return new CacheStatsDto(
+                Objects.requireNonNull(cache.getName()),
+                nativeCache.estimatedSize(),
+                weighted,
+                max,
+                s.hitCount(),
+                s.missCount(),
+                s.hitRate(),
+                s.missRate(),
+                s.evictionCount(),
+                cache instanceof RefreshableCaffeineCache refreshable
+                        ? refreshable.getLoadTimer().averageLoadMs()
+                        : s.averageLoadPenalty() / 1_000_000.0
+        );
+    }
+}
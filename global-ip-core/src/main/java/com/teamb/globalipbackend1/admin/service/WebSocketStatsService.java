@@ -0,0 +1,51 @@
+package com.teamb.globalipbackend1.admin.service;
+
+import com.teamb.globalipbackend1.admin.dto.WebSocketStatsDto;
+import com.teamb.globalipbackend1.config.WebSocketProperties;
+import com.teamb.globalipbackend1.service.websocket.OutboundDeliveryMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+@Service
+public class WebSocketStatsService {
+
+    private final WebSocketMessageBrokerStats brokerStats;
+    private final ThreadPoolTaskExecutor inboundExecutor;
+    private final ThreadPoolTaskExecutor outboundExecutor;
+    private final OutboundDeliveryMetrics outboundMetrics;
+    private final WebSocketProperties properties;
+
+    public WebSocketStatsService(
+            WebSocketMessageBrokerStats brokerStats,
+            @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inboundExecutor,
+            @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor outboundExecutor,
+            OutboundDeliveryMetrics outboundMetrics,
+            WebSocketProperties properties
+    ) {
+        this.brokerStats = brokerStats;
+        this.inboundExecutor = inboundExecutor;
+        this.outboundExecutor = outboundExecutor;
+        this.outboundMetrics = outboundMetrics;
+        this.properties = properties;
+    }
+
+    public WebSocketStatsDto stats() {
+        SubProtocolWebSocketHandler.Stats sessions = brokerStats.getWebSocketSessionStats();
+        return new WebSocketStatsDto(
+                properties.getBroker().getMode(),
+                sessions != null ? sessions.getTotalSessions() : 0,
+                sessions != null ? sessions.getLimitExceededSessions() : 0,
+                inboundExecutor.getQueueSize(),
+                inboundExecutor.getActiveCount(),
+                outboundExecutor.getQueueSize(),
+                outboundExecutor.getActiveCount(),
+                outboundMetrics.delivered(),
+                outboundMetrics.failed(),
+                outboundMetrics.averageLatencyMs(),
+                outboundMetrics.maxLatencyMs()
+        );
+    }
+}
@@ -0,0 +1,178 @@
+package com.teamb.globalipbackend1.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache decorator that publishes local evictions and clears on the {@link CacheBus}.
+ *
+ * Only String, Integer and Long keys can be named across nodes; evicting any
+ * other key type is broadcast as a clear of the whole cache, which is always safe.
+ * Events received from other nodes are applied to the delegate directly so
+ * they are not echoed back.
+ */
+@Slf4j
+public class BroadcastingCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheBus bus;
+    private final String nodeId;
+    private final CompactPatentCodec valueCodec;
+    private final long maxSharedValueBytes;
+
+    /**
+     * @param valueCodec codec for sharing loaded values, or {@code null} to only broadcast evictions
+     */
+    public BroadcastingCache(
+            Cache delegate,
+            CacheBus bus,
+            String nodeId,
+            CompactPatentCodec valueCodec,
+            long maxSharedValueBytes
+    ) {
+        this.delegate = delegate;
+        this.bus = bus;
+        this.nodeId = nodeId;
+        this.valueCodec = valueCodec;
+        this.maxSharedValueBytes = maxSharedValueBytes;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, () -> {
+            T value = valueLoader.call();
+            share(key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        share(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        publishEvict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = delegate.evictIfPresent(key);
+        publishEvict(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        publish(CacheBusEventType.CLEAR, null, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = delegate.invalidate();
+        publish(CacheBusEventType.CLEAR, null, null);
+        return present;
+    }
+
+    /**
+     * Applies an event published by another node.
+     */
+    public void applyRemote(CacheBusEvent event) {
+        switch (event.type()) {
+            case CLEAR -> delegate.clear();
+            case EVICT -> delegate.evict(decodeKey(event.key()));
+            case PUT -> {
+                if (valueCodec != null && event.payload() != null) {
+                    delegate.put(
+                            decodeKey(event.key()),
+                            valueCodec.decode(new CompactPatentCodec.CompactPatentValue(event.payload(), isList(event)))
+                    );
+                }
+            }
+        }
+    }
+
+    private void share(Object key, Object value) {
+        String encodedKey = encodeKey(key);
+        if (valueCodec == null || encodedKey == null || !valueCodec.canEncode(value)) {
+            return;
+        }
+        CompactPatentCodec.CompactPatentValue encoded = valueCodec.encode(value);
+        if (encoded.bytes().length <= maxSharedValueBytes) {
+            publish(CacheBusEventType.PUT, (encoded.list() ? LIST_PREFIX : "") + encodedKey, encoded.bytes());
+        }
+    }
+
+    private void publishEvict(Object key) {
+        String encodedKey = encodeKey(key);
+        if (encodedKey == null) {
+            publish(CacheBusEventType.CLEAR, null, null);
+        } else {
+            publish(CacheBusEventType.EVICT, encodedKey, null);
+        }
+    }
+
+    private void publish(CacheBusEventType type, String key, byte[] payload) {
+        try {
+            bus.publish(new CacheBusEvent(getName(), type, key, payload, nodeId));
+        } catch (RuntimeException e) {
+            // the local change already happened; other nodes catch up through TTL expiry
+            log.warn("Failed to publish {} for cache {}: {}", type, getName(), e.getMessage());
+        }
+    }
+
+    /* ---------------- Key encoding ---------------- */
+
+    private static final String LIST_PREFIX = "L|";
+
+    private static boolean isList(CacheBusEvent event) {
+        return event.key().startsWith(LIST_PREFIX);
+    }
+
+    static String encodeKey(Object key) {
+        if (key instanceof String s) return "s:" + s;
+        if (key instanceof Integer i) return "i:" + i;
+        if (key instanceof Long l) return "l:" + l;
+        return null;
+    }
+
+    static Object decodeKey(String encoded) {
+        String key = encoded.startsWith(LIST_PREFIX) ? encoded.substring(LIST_PREFIX.length()) : encoded;
+        String value = key.substring(2);
+        return switch (key.charAt(0)) {
+            case 'i' -> Integer.valueOf(value);
+            case 'l' -> Long.valueOf(value);
+            default -> value;
+        };
+    }
+}
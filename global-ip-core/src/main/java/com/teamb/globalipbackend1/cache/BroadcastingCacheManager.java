@@ -0,0 +1,48 @@
+package com.teamb.globalipbackend1.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+/**
+ * {@link SimpleCacheManager} whose caches broadcast evictions over a {@link CacheBus}
+ * and apply the ones published by other nodes.
+ */
+@Slf4j
+public class BroadcastingCacheManager extends SimpleCacheManager {
+
+    private final CacheBus bus;
+    private final CacheBusProperties properties;
+    private final CompactPatentCodec valueCodec = new CompactPatentCodec(null);
+
+    public BroadcastingCacheManager(CacheBus bus, CacheBusProperties properties) {
+        this.bus = bus;
+        this.properties = properties;
+        bus.subscribe(this::onEvent);
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        boolean shareValues = properties.getShareValues().contains(cache.getName());
+        return new BroadcastingCache(
+                super.decorateCache(cache),
+                bus,
+                properties.getNodeId(),
+                shareValues ? valueCodec : null,
+                properties.getMaxSharedValueSize().toBytes()
+        );
+    }
+
+    private void onEvent(CacheBusEvent event) {
+        if (properties.getNodeId().equals(event.originNode())) {
+            return;
+        }
+        if (getCache(event.cacheName()) instanceof BroadcastingCache cache) {
+            try {
+                cache.applyRemote(event);
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply remote {} on cache {}", event.type(), event.cacheName(), e);
+            }
+        }
+    }
+}
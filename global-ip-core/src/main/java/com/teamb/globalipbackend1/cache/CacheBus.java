@@ -0,0 +1,16 @@
+package com.teamb.globalipbackend1.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries cache evictions (and optionally fresh values) to every node.
+ *
+ * Listeners receive all events, including the ones the local node published;
+ * filtering by {@link CacheBusEvent#originNode()} is up to the listener.
+ */
+public interface CacheBus {
+
+    void publish(CacheBusEvent event);
+
+    void subscribe(Consumer<CacheBusEvent> listener);
+}
@@ -0,0 +1,16 @@
+package com.teamb.globalipbackend1.cache;
+
+/**
+ * Cache change broadcast between nodes.
+ *
+ * @param key     encoded cache key, {@code null} for {@link CacheBusEventType#CLEAR}
+ * @param payload encoded value for {@link CacheBusEventType#PUT}, otherwise {@code null}
+ */
+public record CacheBusEvent(
+        String cacheName,
+        CacheBusEventType type,
+        String key,
+        byte[] payload,
+        String originNode
+) {
+}
@@ -0,0 +1,10 @@
+package com.teamb.globalipbackend1.cache;
+
+public enum CacheBusEventType {
+    /** One key was evicted */
+    EVICT,
+    /** Whole cache was cleared */
+    CLEAR,
+    /** Freshly loaded value shared with other nodes */
+    PUT
+}
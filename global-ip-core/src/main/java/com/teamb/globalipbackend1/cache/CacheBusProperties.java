@@ -0,0 +1,42 @@
+package com.teamb.globalipbackend1.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@ConfigurationProperties(prefix = "cache.bus")
+@Data
+public class CacheBusProperties {
+
+    /** none, memory (single JVM / tests) or jdbc (shared database table) */
+    private String mode = "none";
+
+    /** Identifies this node's own events; random per start unless set */
+    private String nodeId = UUID.randomUUID().toString();
+
+    /** Caches whose freshly loaded patent values are pushed to other nodes */
+    private Set<String> shareValues = new HashSet<>();
+
+    /** Larger values are not shared, only loaded locally */
+    private DataSize maxSharedValueSize = DataSize.ofKilobytes(64);
+
+    /** Polled on the bus's own thread, not the shared scheduler */
+    private long pollIntervalMs = 1000;
+
+    /**
+     * Most skipped ids looked up again on each poll. A jump in ids larger
+     * than this is an identity cache gap, not uncommitted inserts.
+     */
+    private int maxTrackedGaps = 500;
+
+    /** How long an id skipped by a poll is looked for again, in case its insert commits late */
+    private Duration gapTimeout = Duration.ofMinutes(1);
+
+    /** How long bus rows are kept before cleanup */
+    private Duration retention = Duration.ofMinutes(10);
+}
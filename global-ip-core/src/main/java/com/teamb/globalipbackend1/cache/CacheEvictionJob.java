@@ -1,24 +1,51 @@
 package com.teamb.globalipbackend1.cache;
 
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class CacheEvictionJob {
 
+    private static final List<String> SEARCH_CACHES = List.of(
+            CacheNames.PATENT_SEARCH,
+            CacheNames.TRADEMARK_SEARCH
+    );
+
+    private final CacheManager cacheManager;
+    private final ObjectProvider<CacheBus> cacheBus;
+    private final JobCoordinator jobCoordinator;
+
+    /**
+     * With a cache bus, one node's clear reaches every node, so a single
+     * node does it; without one each node clears its own caches.
+     */
     @Scheduled(cron = "0 0 * * * *") // every hour
-    @CacheEvict(
-            cacheNames = {
-                    CacheNames.PATENT_SEARCH,
-                    CacheNames.TRADEMARK_SEARCH
-            },
-            allEntries = true
-    )
     public void evictSearchCaches() {
+        if (cacheBus.getIfAvailable() == null) {
+            evict();
+        } else if (!jobCoordinator.runExclusively("search-cache-eviction", Duration.ofMinutes(10), this::evict)) {
+            log.debug("Search caches are being evicted by another node");
+        }
+    }
+
+    private void evict() {
+        for (String name : SEARCH_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
         log.info("Search caches evicted by scheduler");
     }
 }
-
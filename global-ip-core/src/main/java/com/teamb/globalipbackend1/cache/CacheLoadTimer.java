@@ -0,0 +1,48 @@
+package com.teamb.globalipbackend1.cache;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times how long a cache's values take to load.
+ *
+ * {@code @Cacheable} without {@code sync} looks the key up, runs the method on
+ * a miss and then puts the result, so Caffeine never sees the load. The time
+ * between a miss and the put of the same key on the same thread is that load.
+ */
+public class CacheLoadTimer {
+
+    private record Miss(Object key, long startedAt) {}
+
+    private final ThreadLocal<Miss> pending = new ThreadLocal<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    public void missed(Object key) {
+        pending.set(new Miss(key, System.nanoTime()));
+    }
+
+    public void stored(Object key) {
+        Miss miss = pending.get();
+        if (miss != null) {
+            pending.remove();
+            if (Objects.equals(miss.key(), key)) {
+                record(System.nanoTime() - miss.startedAt());
+            }
+        }
+    }
+
+    public void record(long nanos) {
+        loads.increment();
+        loadNanos.add(nanos);
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public double averageLoadMs() {
+        long count = loads.sum();
+        return count == 0 ? 0.0 : loadNanos.sum() / 1_000_000.0 / count;
+    }
+}
@@ -0,0 +1,31 @@
+package com.teamb.globalipbackend1.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Heap budget for the application caches.
+ *
+ * The budget is split across caches in proportion to their share. Defaults
+ * live in {@link CaffeineCacheConfig}; {@code shares} overrides them per cache name.
+ */
+@ConfigurationProperties(prefix = "cache.memory")
+@Data
+public class CacheMemoryProperties {
+
+    /** Total estimated heap that all caches together may retain */
+    private DataSize budget = DataSize.ofMegabytes(256);
+
+    /** Per-cache share overrides, keyed by cache name */
+    private Map<String, Integer> shares = new HashMap<>();
+
+    /** Store patent snapshot and search entries in compact byte form */
+    private boolean compactPatents = false;
+
+    /** Upper bound on distinct strings in the shared compact dictionary */
+    private int dictionaryMaxEntries = 1_000_000;
+}
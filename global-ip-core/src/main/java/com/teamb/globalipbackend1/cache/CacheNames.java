@@ -10,6 +10,10 @@ public final class CacheNames {
     public static final String TRADEMARK_SEARCH = "trademark-searchByKeyword";
     public static final String PATENT_SNAPSHOT = "patent_snapshot";
     public static final String TRADEMARK_SNAPSHOT = "trademark_snapshot";
+    public static final String CITATION_NETWORK = "citationNetwork";
+    public static final String PATENT_BASIC_INFO = "patentBasicInfo";
+    public static final String BACKWARD_CITATIONS = "backwardCitations";
+    public static final String FORWARD_CITATIONS = "forwardCitations";
     public static final String FILING_TRENDS = "filingTrends";
     public static final String GRANT_TRENDS = "grantTrends";
     public static final String TOP_TECHNOLOGIES = "topTechnologies";
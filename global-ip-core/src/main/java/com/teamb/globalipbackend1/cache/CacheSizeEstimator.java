@@ -0,0 +1,193 @@
+package com.teamb.globalipbackend1.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimates the retained heap size of cached values so that caches can be
+ * bounded by memory instead of entry count.
+ *
+ * The estimate assumes a 64-bit JVM with compressed oops (12 byte headers,
+ * 4 byte references, 8 byte alignment). It is intentionally approximate:
+ * it only has to be good enough to keep a large search list from weighing
+ * the same as a tiny trend list.
+ *
+ * Caffeine calls the weigher once per write, never on reads. To keep that
+ * write cheap for large results, collections, maps and arrays with more
+ * than {@value #SAMPLE} elements are weighed from an evenly spaced sample
+ * and extrapolated; cached lists hold DTOs of one shape, so the sample is
+ * representative. An instance shared by many elements may then be counted
+ * more than once, which errs on the safe side for a memory bound.
+ */
+public final class CacheSizeEstimator {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int MAX_DEPTH = 12;
+    private static final int SAMPLE = 32;
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(f.getModifiers())) {
+                        continue;
+                    }
+                    try {
+                        f.setAccessible(true);
+                        fields.add(f);
+                    } catch (RuntimeException ignored) {
+                        // inaccessible field, counted as a plain reference slot only
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private CacheSizeEstimator() {}
+
+    /**
+     * Estimated retained size of {@code value} in bytes.
+     */
+    public static long estimate(Object value) {
+        return estimate(value, new IdentityHashMap<>(), 0);
+    }
+
+    private static long estimate(Object value, IdentityHashMap<Object, Boolean> seen, int depth) {
+        if (value == null || value instanceof Enum<?> || value instanceof Class<?>) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            // String object + backing byte[] (LATIN1 compact strings)
+            return align(OBJECT_HEADER + 12) + align(ARRAY_HEADER + s.length());
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return 16;
+        }
+        if (value instanceof Temporal) {
+            return 24;
+        }
+        if (depth > MAX_DEPTH || seen.put(value, Boolean.TRUE) != null) {
+            return 0;
+        }
+
+        if (value instanceof Collection<?> collection) {
+            int count = collection.size();
+            long size = align(OBJECT_HEADER + 12)
+                    + align(ARRAY_HEADER + (long) REFERENCE * count);
+            int step = sampleStep(count);
+            long sampled = 0;
+            int i = 0;
+            for (Object element : collection) {
+                if (i++ % step == 0) {
+                    sampled += estimate(element, seen, depth + 1);
+                }
+            }
+            return size + extrapolate(sampled, count, step);
+        }
+        if (value instanceof Map<?, ?> map) {
+            // HashMap: table slot + 32 byte node per entry
+            int count = map.size();
+            long size = align(OBJECT_HEADER + 36)
+                    + align(ARRAY_HEADER + (long) REFERENCE * count * 2)
+                    + 32L * count;
+            int step = sampleStep(count);
+            long sampled = 0;
+            int i = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (i++ % step == 0) {
+                    sampled += estimate(entry.getKey(), seen, depth + 1);
+                    sampled += estimate(entry.getValue(), seen, depth + 1);
+                }
+            }
+            return size + extrapolate(sampled, count, step);
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            return estimateArray(value, type.getComponentType(), seen, depth);
+        }
+        if (type.getName().startsWith("java.")) {
+            // Opaque JDK type we do not walk
+            return align(OBJECT_HEADER + 16);
+        }
+        return estimateObject(value, type, seen, depth);
+    }
+
+    private static long estimateArray(
+            Object array,
+            Class<?> component,
+            IdentityHashMap<Object, Boolean> seen,
+            int depth
+    ) {
+        int length = Array.getLength(array);
+        if (component.isPrimitive()) {
+            return align(ARRAY_HEADER + (long) primitiveSize(component) * length);
+        }
+        int step = sampleStep(length);
+        long sampled = 0;
+        for (int i = 0; i < length; i += step) {
+            sampled += estimate(Array.get(array, i), seen, depth + 1);
+        }
+        return align(ARRAY_HEADER + (long) REFERENCE * length) + extrapolate(sampled, length, step);
+    }
+
+    /** Every element up to {@value #SAMPLE}, otherwise about {@value #SAMPLE} evenly spaced ones */
+    private static int sampleStep(int count) {
+        return count <= SAMPLE ? 1 : (count + SAMPLE - 1) / SAMPLE;
+    }
+
+    private static long extrapolate(long sampled, int count, int step) {
+        if (step == 1) {
+            return sampled;
+        }
+        int weighed = (count + step - 1) / step;
+        return sampled * count / weighed;
+    }
+
+    private static long estimateObject(
+            Object value,
+            Class<?> type,
+            IdentityHashMap<Object, Boolean> seen,
+            int depth
+    ) {
+        long shallow = OBJECT_HEADER;
+        long deep = 0;
+
+        for (Field field : FIELDS.get(type)) {
+            Class<?> fieldType = field.getType();
+            if (fieldType.isPrimitive()) {
+                shallow += primitiveSize(fieldType);
+                continue;
+            }
+            shallow += REFERENCE;
+            try {
+                deep += estimate(field.get(value), seen, depth + 1);
+            } catch (IllegalAccessException ignored) {
+                // reference slot already counted
+            }
+        }
+        return align(shallow) + deep;
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) return 8;
+        if (type == int.class || type == float.class) return 4;
+        if (type == short.class || type == char.class) return 2;
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
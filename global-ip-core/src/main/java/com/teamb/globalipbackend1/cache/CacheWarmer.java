@@ -0,0 +1,275 @@
+package com.teamb.globalipbackend1.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.teamb.globalipbackend1.model.cache.CacheWarmupEntry;
+import com.teamb.globalipbackend1.repository.cache.CacheWarmupEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the most requested search, trend and citation results cached.
+ *
+ * Calls to {@link WarmCache} methods are counted in a {@link HeavyHitterSketch},
+ * keyed by their normalized arguments. On a schedule the hottest calls are
+ * replayed with their own cache lookup bypassed, so their entries are
+ * refreshed before they expire; the same list is persisted and replayed right
+ * after startup. Each run replays at most {@code cache.warmup.max-upstream-calls}
+ * calls, and since nested cached calls are still served from cache each replay
+ * costs about one upstream call.
+ */
+@Service
+@Slf4j
+@Profile("!test")
+@ConditionalOnProperty(prefix = "cache.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheWarmer {
+
+    private static final String APP_PACKAGE = "com.teamb.globalipbackend1.";
+
+    /** Matches the args_json column */
+    private static final int MAX_ARGS_LENGTH = 4000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ApplicationContext applicationContext;
+    private final CacheWarmupEntryRepository repository;
+    private final ObjectMapper objectMapper;
+    private final CacheWarmupProperties properties;
+    private final HeavyHitterSketch<Invocation> sketch;
+
+    /** A replayable call to a {@link WarmCache} method */
+    record Invocation(String beanClass, String methodName, String paramTypes, String argsJson) {
+
+        String key() {
+            return beanClass + "#" + methodName + "(" + paramTypes + ")" + argsJson;
+        }
+    }
+
+    public CacheWarmer(
+            ApplicationContext applicationContext,
+            CacheWarmupEntryRepository repository,
+            @Qualifier("jsonObjectMapper") ObjectMapper objectMapper,
+            CacheWarmupProperties properties
+    ) {
+        this.applicationContext = applicationContext;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.sketch = new HeavyHitterSketch<>(properties.getSketchWidth(), properties.getTopK());
+    }
+
+    public void record(Class<?> beanClass, Method method, Object[] args) {
+        String argsJson;
+        try {
+            argsJson = objectMapper.writeValueAsString(normalize(objectMapper.valueToTree(args)));
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            return;
+        }
+        if (argsJson.length() > MAX_ARGS_LENGTH) {
+            return;
+        }
+
+        Invocation invocation = new Invocation(
+                beanClass.getName(),
+                method.getName(),
+                Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(",")),
+                argsJson
+        );
+        sketch.add(invocation.key(), invocation);
+    }
+
+    /**
+     * Replay the persisted hot list so the first users after a restart hit warm caches
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        List<CacheWarmupEntry> entries = repository.findAllByOrderByHitCountDesc(
+                PageRequest.of(0, properties.getTopK())
+        );
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<Invocation> invocations = entries.stream()
+                .map(e -> new Invocation(e.getBeanClass(), e.getMethodName(), e.getParamTypes(), e.getArgsJson()))
+                .toList();
+        for (int i = 0; i < entries.size(); i++) {
+            sketch.add(invocations.get(i).key(), invocations.get(i), entries.get(i).getHitCount());
+        }
+
+        int replayed = replay(invocations, false);
+        log.info("[CACHE-WARMUP] Warmed {} of {} persisted hot calls on startup", replayed, entries.size());
+    }
+
+    /**
+     * Refresh hot entries ahead of expiry, persist the hot list and age the counts
+     */
+    @Scheduled(
+            initialDelayString = "${cache.warmup.interval-ms:600000}",
+            fixedDelayString = "${cache.warmup.interval-ms:600000}"
+    )
+    public void refreshHotEntries() {
+        List<HeavyHitterSketch.Entry<Invocation>> hot = sketch.top(properties.getTopK());
+        if (hot.isEmpty()) {
+            return;
+        }
+
+        int refreshed = replay(hot.stream().map(HeavyHitterSketch.Entry::payload).toList(), true);
+
+        LocalDateTime now = LocalDateTime.now();
+        repository.saveAll(hot.stream().map(e -> toEntity(e, now)).toList());
+        int dropped = repository.deleteStale(now.minusDays(properties.getRetentionDays()));
+        sketch.decay();
+
+        log.info("[CACHE-WARMUP] Refreshed {} of {} hot calls, dropped {} stale entries",
+                refreshed, hot.size(), dropped);
+    }
+
+    private int replay(List<Invocation> invocations, boolean refresh) {
+        int calls = 0;
+        for (Invocation invocation : invocations) {
+            if (calls >= properties.getMaxUpstreamCalls()) {
+                break;
+            }
+            calls++;
+            try {
+                if (refresh) {
+                    CacheWarmupContext.refreshing(() -> {
+                        invokeUnchecked(invocation);
+                        return null;
+                    });
+                } else {
+                    invoke(invocation);
+                }
+            } catch (Exception ex) {
+                log.warn("[CACHE-WARMUP] Replay of {}#{} failed: {}",
+                        invocation.beanClass(), invocation.methodName(), ex.getMessage());
+            }
+        }
+        return calls;
+    }
+
+    private void invokeUnchecked(Invocation invocation) {
+        try {
+            invoke(invocation);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    private void invoke(Invocation invocation) throws Exception {
+        if (!invocation.beanClass().startsWith(APP_PACKAGE)) {
+            throw new IllegalArgumentException("Not an application bean: " + invocation.beanClass());
+        }
+
+        ClassLoader classLoader = getClass().getClassLoader();
+        Class<?> beanClass = ClassUtils.forName(invocation.beanClass(), classLoader);
+        Class<?>[] paramTypes = invocation.paramTypes().isEmpty()
+                ? new Class<?>[0]
+                : Arrays.stream(invocation.paramTypes().split(","))
+                        .map(name -> ClassUtils.resolveClassName(name, classLoader))
+                        .toArray(Class<?>[]::new);
+
+        Method method = beanClass.getMethod(invocation.methodName(), paramTypes);
+        if (!method.isAnnotationPresent(WarmCache.class)) {
+            throw new IllegalArgumentException("Not a @WarmCache method: " + invocation.key());
+        }
+
+        JsonNode argsNode = objectMapper.readTree(invocation.argsJson());
+        Object[] args = new Object[paramTypes.length];
+        for (int i = 0; i < paramTypes.length; i++) {
+            args[i] = objectMapper.convertValue(argsNode.get(i), paramTypes[i]);
+        }
+
+        // Call through the Spring proxy so the result lands in the cache
+        Object bean = applicationContext.getBean(beanClass);
+        try {
+            method.invoke(bean, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause() instanceof Exception cause ? cause : ex;
+        }
+    }
+
+    /**
+     * Canonical form of the arguments, so calls that hit the same cache entry
+     * count as one: object fields sorted with nulls dropped, text trimmed and
+     * inner whitespace collapsed. Argument positions are kept.
+     */
+    static JsonNode normalize(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode sorted = JsonNodeFactory.instance.objectNode();
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+            for (String name : names) {
+                JsonNode value = node.get(name);
+                if (!value.isNull()) {
+                    sorted.set(name, normalize(value));
+                }
+            }
+            return sorted;
+        }
+        if (node.isArray()) {
+            ArrayNode items = JsonNodeFactory.instance.arrayNode();
+            node.forEach(item -> items.add(normalize(item)));
+            return items;
+        }
+        if (node.isTextual()) {
+            return TextNode.valueOf(WHITESPACE.matcher(node.asText().strip()).replaceAll(" "));
+        }
+        return node;
+    }
+
+    private static CacheWarmupEntry toEntity(HeavyHitterSketch.Entry<Invocation> hot, LocalDateTime now) {
+        Invocation invocation = hot.payload();
+        CacheWarmupEntry entry = new CacheWarmupEntry();
+        entry.setWarmKey(sha256(invocation.key()));
+        entry.setBeanClass(invocation.beanClass());
+        entry.setMethodName(invocation.methodName());
+        entry.setParamTypes(invocation.paramTypes());
+        entry.setArgsJson(invocation.argsJson());
+        entry.setHitCount(hot.count());
+        entry.setUpdatedAt(now);
+        return entry;
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8))
+            );
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
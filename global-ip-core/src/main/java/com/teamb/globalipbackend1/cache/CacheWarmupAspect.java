@@ -0,0 +1,46 @@
+package com.teamb.globalipbackend1.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds every {@link WarmCache} call into the {@link CacheWarmer}, including
+ * the ones answered from cache, so hit frequency reflects real demand.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!test")
+@ConditionalOnProperty(prefix = "cache.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CacheWarmupAspect {
+
+    private final CacheWarmer cacheWarmer;
+
+    @Around("@annotation(com.teamb.globalipbackend1.cache.WarmCache)")
+    public Object record(ProceedingJoinPoint pjp) throws Throwable {
+        if (!CacheWarmupContext.isRefreshing()) {
+            try {
+                cacheWarmer.record(
+                        AopUtils.getTargetClass(pjp.getTarget()),
+                        ((MethodSignature) pjp.getSignature()).getMethod(),
+                        pjp.getArgs()
+                );
+            } catch (RuntimeException ex) {
+                log.debug("[CACHE-WARMUP] Could not record call {}", pjp.getSignature(), ex);
+            }
+        }
+        return pjp.proceed();
+    }
+}
@@ -0,0 +1,46 @@
+package com.teamb.globalipbackend1.cache;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread as refreshing caches. Only the first cache lookup
+ * of each replayed call misses, so the replayed method runs again and its
+ * result replaces the entry before it expires; caches it reads on the way
+ * still answer, keeping one replay to one upstream call.
+ */
+public final class CacheWarmupContext {
+
+    private static final ThreadLocal<Boolean> REFRESHING = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> BYPASS_PENDING = ThreadLocal.withInitial(() -> false);
+
+    private CacheWarmupContext() {}
+
+    public static boolean isRefreshing() {
+        return REFRESHING.get();
+    }
+
+    /**
+     * Whether this cache lookup should miss; true once per replayed call
+     */
+    public static boolean bypassLookup() {
+        if (!BYPASS_PENDING.get()) {
+            return false;
+        }
+        BYPASS_PENDING.set(false);
+        return true;
+    }
+
+    /**
+     * Runs one replayed call with its outermost cache lookup bypassed
+     */
+    public static <T> T refreshing(Supplier<T> action) {
+        REFRESHING.set(true);
+        BYPASS_PENDING.set(true);
+        try {
+            return action.get();
+        } finally {
+            REFRESHING.remove();
+            BYPASS_PENDING.remove();
+        }
+    }
+}
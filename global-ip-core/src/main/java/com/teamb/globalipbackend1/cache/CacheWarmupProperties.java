@@ -0,0 +1,26 @@
+package com.teamb.globalipbackend1.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "cache.warmup")
+@Data
+public class CacheWarmupProperties {
+
+    private boolean enabled = true;
+
+    /** Hot calls tracked and persisted */
+    private int topK = 200;
+
+    /** Count-Min Sketch width; memory is 4 * width longs */
+    private int sketchWidth = 4096;
+
+    /** Upper bound on replayed calls per warm-up run; each bypasses only its own cache entry */
+    private int maxUpstreamCalls = 40;
+
+    /** Refresh interval; keep it below the shortest TTL of warmed caches (15 min) */
+    private long intervalMs = 600_000;
+
+    /** Persisted entries not seen for this many days are dropped */
+    private int retentionDays = 7;
+}
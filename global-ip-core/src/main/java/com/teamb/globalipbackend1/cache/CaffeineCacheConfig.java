@@ -1,158 +1,166 @@
 package com.teamb.globalipbackend1.cache;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.util.StringUtils;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Configuration
 @EnableCaching
+@RequiredArgsConstructor
+@EnableConfigurationProperties({CacheMemoryProperties.class, OffHeapCacheProperties.class, CacheBusProperties.class,
+        CacheWarmupProperties.class})
 public class CaffeineCacheConfig {
 
-    @Bean
-    public CacheManager cacheManager() {
-
-
-        CaffeineCache patentSearch =
-                build(CacheNames.PATENT_SEARCH, 5_000, Duration.ofMinutes(15));
-
-        CaffeineCache patentSnapshot =
-                build(CacheNames.PATENT_SNAPSHOT, 10_000, Duration.ofHours(6));
-
-        CaffeineCache trademarkSearch =
-                build(CacheNames.TRADEMARK_SEARCH, 5_000, Duration.ofMinutes(15));
-
-        CaffeineCache trademarkSnapshot =
-                build(CacheNames.TRADEMARK_SNAPSHOT, 10_000, Duration.ofHours(6));
-
-
-        CaffeineCache citationNetwork =
-                build("citationNetwork", 500, Duration.ofHours(24));
-
-        CaffeineCache patentBasicInfo =
-                build("patentBasicInfo", 2_000, Duration.ofHours(24));
-
-        CaffeineCache backwardCitations =
-                build("backwardCitations", 5_000, Duration.ofHours(24));
-
-        CaffeineCache forwardCitations =
-                build("forwardCitations", 5_000, Duration.ofHours(24));
-
-
-        CaffeineCache filingTrends =
-                build(CacheNames.FILING_TRENDS, 1_000, Duration.ofMinutes(30));
-
-        CaffeineCache grantTrends =
-                build(CacheNames.GRANT_TRENDS, 1_000, Duration.ofMinutes(30));
-
-        CaffeineCache topTechnologies =
-                build(CacheNames.TOP_TECHNOLOGIES, 500, Duration.ofMinutes(30));
-
-        CaffeineCache topAssignees =
-                build(CacheNames.TOP_ASSIGNEES, 500, Duration.ofMinutes(30));
-
-        CaffeineCache technologyEvolution =
-                build(CacheNames.TECHNOLOGY_EVOLUTION, 1_000, Duration.ofHours(1));
-
-        CaffeineCache topCitedPatents =
-                build(CacheNames.TOP_CITED_PATENTS, 500, Duration.ofMinutes(30));
-
-        CaffeineCache topCitingPatents =
-                build(CacheNames.TOP_CITING_PATENTS, 500, Duration.ofMinutes(30));
-
-        CaffeineCache patentTypeDistribution =
-                build(CacheNames.PATENT_TYPE_DISTRIBUTION, 100, Duration.ofHours(1));
-
-        CaffeineCache claimComplexityTrend =
-                build(CacheNames.CLAIM_COMPLEXITY_TREND, 500, Duration.ofHours(1));
-
-        CaffeineCache timeToGrantTrend =
-                build(CacheNames.TIME_TO_GRANT_TREND, 500, Duration.ofHours(1));
-
-        CaffeineCache geoCountryDistribution =
-                build(CacheNames.GEO_COUNTRY_DISTRIBUTION, 300, Duration.ofHours(2));
-
-
-        CaffeineCache unifiedFilingTrend =
-                build(CacheNames.UNIFIED_FILING_TREND, 1_000, Duration.ofMinutes(45));
-
-        CaffeineCache unifiedCountryTrend =
-                build(CacheNames.UNIFIED_COUNTRY_TREND, 300, Duration.ofHours(2));
-
+    /**
+     * Caches are bounded by estimated heap size, not entry count.
+     * {@code share} is the relative part of {@code cache.memory.budget} a cache gets.
+     */
+    private static final List<CacheSpec> SPECS = List.of(
+            new CacheSpec(CacheNames.PATENT_SEARCH, 24, Duration.ofMinutes(15)),
+            new CacheSpec(CacheNames.PATENT_SNAPSHOT, 24, Duration.ofHours(6)),
+            new CacheSpec(CacheNames.TRADEMARK_SEARCH, 10, Duration.ofMinutes(15)),
+            new CacheSpec(CacheNames.TRADEMARK_SNAPSHOT, 8, Duration.ofHours(6)),
+
+            new CacheSpec(CacheNames.CITATION_NETWORK, 12, Duration.ofHours(24)),
+            new CacheSpec(CacheNames.PATENT_BASIC_INFO, 2, Duration.ofHours(24)),
+            new CacheSpec(CacheNames.BACKWARD_CITATIONS, 4, Duration.ofHours(24)),
+            new CacheSpec(CacheNames.FORWARD_CITATIONS, 4, Duration.ofHours(24)),
+
+            new CacheSpec(CacheNames.FILING_TRENDS, 1, Duration.ofMinutes(30)),
+            new CacheSpec(CacheNames.GRANT_TRENDS, 1, Duration.ofMinutes(30)),
+            new CacheSpec(CacheNames.TOP_TECHNOLOGIES, 1, Duration.ofMinutes(30)),
+            new CacheSpec(CacheNames.TOP_ASSIGNEES, 1, Duration.ofMinutes(30)),
+            new CacheSpec(CacheNames.TECHNOLOGY_EVOLUTION, 1, Duration.ofHours(1)),
+            new CacheSpec(CacheNames.TOP_CITED_PATENTS, 1, Duration.ofMinutes(30)),
+            new CacheSpec(CacheNames.TOP_CITING_PATENTS, 1, Duration.ofMinutes(30)),
+            new CacheSpec(CacheNames.PATENT_TYPE_DISTRIBUTION, 1, Duration.ofHours(1)),
+            new CacheSpec(CacheNames.CLAIM_COMPLEXITY_TREND, 1, Duration.ofHours(1)),
+            new CacheSpec(CacheNames.TIME_TO_GRANT_TREND, 1, Duration.ofHours(1)),
+            new CacheSpec(CacheNames.GEO_COUNTRY_DISTRIBUTION, 1, Duration.ofHours(2)),
+
+            new CacheSpec(CacheNames.UNIFIED_FILING_TREND, 1, Duration.ofMinutes(45)),
+            new CacheSpec(CacheNames.UNIFIED_COUNTRY_TREND, 1, Duration.ofHours(2)),
+
+            new CacheSpec(CacheNames.EPO_FILING_TREND, 1, Duration.ofMinutes(45)),
+            new CacheSpec(CacheNames.EPO_COUNTRY_TREND, 1, Duration.ofHours(2)),
+            new CacheSpec(CacheNames.EPO_TOP_TECHNOLOGIES, 1, Duration.ofMinutes(45)),
+            new CacheSpec(CacheNames.EPO_TOP_ASSIGNEES, 1, Duration.ofMinutes(45)),
+            new CacheSpec(CacheNames.EPO_FAMILY_TREND, 1, Duration.ofHours(2))
+    );
+
+    /** Caches whose patent documents can be held in compact form */
+    private static final Set<String> COMPACTABLE = Set.of(
+            CacheNames.PATENT_SEARCH,
+            CacheNames.PATENT_SNAPSHOT
+    );
+
+    private final CacheMemoryProperties memoryProperties;
 
-        CaffeineCache epoFilingTrend =
-                build(CacheNames.EPO_FILING_TREND, 1_000, Duration.ofMinutes(45));
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.offheap", name = "enabled", havingValue = "true")
+    public OffHeapSnapshotStore offHeapSnapshotStore(OffHeapCacheProperties properties) {
+        log.info("Off-heap patent snapshot store: {} x {} segments, {} index slots, path={}",
+                properties.getSegments(), properties.getSegmentSize(),
+                properties.getIndexSlots(), properties.getPath());
+
+        return new OffHeapSnapshotStore(
+                properties.getSegments(),
+                Math.toIntExact(properties.getSegmentSize().toBytes()),
+                properties.getIndexSlots(),
+                StringUtils.hasText(properties.getPath()) ? Path.of(properties.getPath()) : null
+        );
+    }
 
-        CaffeineCache epoCountryTrend =
-                build(CacheNames.EPO_COUNTRY_TREND, 300, Duration.ofHours(2));
+    @Bean
+    public CacheManager cacheManager(
+            ObjectProvider<OffHeapSnapshotStore> offHeapStore,
+            ObjectProvider<CacheBus> cacheBus,
+            CacheBusProperties busProperties
+    ) {
 
-        CaffeineCache epoTopTechnologies =
-                build(CacheNames.EPO_TOP_TECHNOLOGIES, 300, Duration.ofMinutes(45));
+        long budget = memoryProperties.getBudget().toBytes();
+        long totalShares = SPECS.stream().mapToLong(this::shareOf).sum();
 
-        CaffeineCache epoTopAssignees =
-                build(CacheNames.EPO_TOP_ASSIGNEES, 300, Duration.ofMinutes(45));
+        log.info("Cache memory budget {} MB split across {} caches (compact patents: {})",
+                budget / (1024 * 1024), SPECS.size(), memoryProperties.isCompactPatents());
 
-        CaffeineCache epoFamilyTrend =
-                build(CacheNames.EPO_FAMILY_TREND, 300, Duration.ofHours(2));
+        CompactPatentCodec codec = memoryProperties.isCompactPatents()
+                ? new CompactPatentCodec(new PatentStringDictionary(memoryProperties.getDictionaryMaxEntries()))
+                : null;
 
+        OffHeapSnapshotStore store = offHeapStore.getIfAvailable();
 
-        SimpleCacheManager manager = new SimpleCacheManager();
-        manager.setCaches(List.of(
-                patentSearch,
-                patentSnapshot,
-                trademarkSearch,
-                trademarkSnapshot,
-                citationNetwork,
-                patentBasicInfo,
-                backwardCitations,
-                forwardCitations,
+        CacheBus bus = cacheBus.getIfAvailable();
 
-                filingTrends,
-                grantTrends,
-                topTechnologies,
-                topAssignees,
-                technologyEvolution,
-                topCitedPatents,
-                topCitingPatents,
-                patentTypeDistribution,
-                claimComplexityTrend,
-                timeToGrantTrend,
-                geoCountryDistribution,
+        SimpleCacheManager manager = bus != null
+                ? new BroadcastingCacheManager(bus, busProperties)
+                : new SimpleCacheManager();
+        manager.setCaches(SPECS.stream()
+                .map(spec -> cacheFor(spec, budget * shareOf(spec) / totalShares, codec, store))
+                .toList());
 
-                unifiedFilingTrend,
-                unifiedCountryTrend,
+        return manager;
+    }
 
-                epoFilingTrend,
-                epoCountryTrend,
-                epoTopTechnologies,
-                epoTopAssignees,
-                epoFamilyTrend
-        ));
+    private Cache cacheFor(
+            CacheSpec spec,
+            long maxBytes,
+            CompactPatentCodec codec,
+            OffHeapSnapshotStore offHeapStore
+    ) {
+        if (offHeapStore != null && spec.name().equals(CacheNames.PATENT_SNAPSHOT)) {
+            return new OffHeapPatentSnapshotCache(spec.name(), offHeapStore, spec.ttl());
+        }
+        return build(spec.name(), maxBytes, spec.ttl(), COMPACTABLE.contains(spec.name()) ? codec : null);
+    }
 
-        return manager;
+    private int shareOf(CacheSpec spec) {
+        return memoryProperties.getShares().getOrDefault(spec.name(), spec.share());
     }
 
-    private CaffeineCache build(String name, long maxSize, Duration ttl) {
-        return new CaffeineCache(
-                name,
+    private CaffeineCache build(String name, long maxBytes, Duration ttl, CompactPatentCodec codec) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache =
                 Caffeine.newBuilder()
-                        .maximumSize(maxSize)
+                        .maximumWeight(maxBytes)
+                        .weigher(retainedSizeWeigher())
                         .expireAfterWrite(ttl)
                         .recordStats()
-                        .build()
+                        .build();
+
+        return codec != null
+                ? new CompactPatentCaffeineCache(name, cache, codec)
+                : new RefreshableCaffeineCache(name, cache);
+    }
+
+    private static Weigher<Object, Object> retainedSizeWeigher() {
+        return (key, value) -> (int) Math.min(
+                Integer.MAX_VALUE,
+                CacheSizeEstimator.estimate(key) + CacheSizeEstimator.estimate(value)
         );
     }
 
+    private record CacheSpec(String name, int share, Duration ttl) {}
+
     /**
      * JWT blacklist cache
      * Used ONLY for token revocation
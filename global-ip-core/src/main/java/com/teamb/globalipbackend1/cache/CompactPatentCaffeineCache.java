@@ -0,0 +1,41 @@
+package com.teamb.globalipbackend1.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Caffeine cache that stores patent documents in their compact byte form
+ * and decodes them again on every read.
+ *
+ * Values the codec cannot handle are stored unchanged, so the cache stays a
+ * drop-in replacement for {@link CaffeineCache}.
+ */
+public class CompactPatentCaffeineCache extends RefreshableCaffeineCache {
+
+    private final CompactPatentCodec codec;
+
+    public CompactPatentCaffeineCache(
+            String name,
+            Cache<Object, Object> cache,
+            CompactPatentCodec codec
+    ) {
+        super(name, cache);
+        this.codec = codec;
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        if (codec.canEncode(userValue)) {
+            return codec.encode(userValue);
+        }
+        return super.toStoreValue(userValue);
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        if (storeValue instanceof CompactPatentCodec.CompactPatentValue compact) {
+            return codec.decode(compact);
+        }
+        return super.fromStoreValue(storeValue);
+    }
+}
@@ -0,0 +1,298 @@
+package com.teamb.globalipbackend1.cache;
+
+import com.teamb.globalipbackend1.model.patents.PatentDocument;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes {@link PatentDocument}s (single or as a search result list) into a
+ * compact byte form for caching.
+ *
+ * Codes, jurisdictions and party names go through the shared
+ * {@link PatentStringDictionary}; titles and abstracts are stored inline and
+ * the whole record is deflated when that actually saves space.
+ * Documents that carry citation lists are not compactable and stay as objects.
+ */
+public final class CompactPatentCodec {
+
+    private static final int COMPRESS_THRESHOLD = 512;
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private static final int NULL_REF = 0;
+    private static final int INLINE_REF = 1;
+    private static final int DICT_REF_BASE = 2;
+
+    private final PatentStringDictionary dictionary;
+
+    /**
+     * @param dictionary shared string dictionary, or {@code null} to store every string
+     *                   inline (needed when entries must outlive the process)
+     */
+    public CompactPatentCodec(PatentStringDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /** Stored form of a cached document or document list */
+    public record CompactPatentValue(byte[] bytes, boolean list) {}
+
+    public boolean canEncode(Object value) {
+        if (value instanceof PatentDocument doc) {
+            return isCompactable(doc);
+        }
+        if (value instanceof List<?> list) {
+            for (Object o : list) {
+                if (!(o instanceof PatentDocument doc) || !isCompactable(doc)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public CompactPatentValue encode(Object value) {
+        List<?> docs = value instanceof List<?> list ? list : List.of(value);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * docs.size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeVarInt(out, docs.size());
+            for (Object doc : docs) {
+                writeDocument(out, (PatentDocument) doc);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new CompactPatentValue(compress(bytes.toByteArray()), value instanceof List<?>);
+    }
+
+    public Object decode(CompactPatentValue value) {
+        byte[] raw = decompress(value.bytes());
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            int count = readVarInt(in);
+            List<PatentDocument> docs = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                docs.add(readDocument(in));
+            }
+            return value.list() ? docs : docs.getFirst();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isCompactable(PatentDocument doc) {
+        return (doc.getBackwardCitations() == null || doc.getBackwardCitations().isEmpty())
+                && (doc.getForwardCitations() == null || doc.getForwardCitations().isEmpty());
+    }
+
+    /* ---------------- Record layout ---------------- */
+
+    private void writeDocument(DataOutputStream out, PatentDocument doc) throws IOException {
+        writeString(out, doc.getPublicationNumber(), false);
+        writeString(out, doc.getSource(), true);
+        writeString(out, doc.getJurisdiction(), true);
+        writeString(out, doc.getTitle(), false);
+        writeString(out, doc.getAbstractText(), false);
+        writeDate(out, doc.getFilingDate());
+        writeDate(out, doc.getGrantDate());
+        writeStrings(out, doc.getInventors());
+        writeStrings(out, doc.getAssignees());
+        writeStrings(out, doc.getIpcClasses());
+        writeStrings(out, doc.getCpcClasses());
+        writeString(out, doc.getWipoKind(), true);
+        writeInteger(out, doc.getTimesCited());
+        writeInteger(out, doc.getTotalCitations());
+    }
+
+    private PatentDocument readDocument(DataInputStream in) throws IOException {
+        PatentDocument doc = new PatentDocument();
+        doc.setPublicationNumber(readString(in));
+        doc.setSource(readString(in));
+        doc.setJurisdiction(readString(in));
+        doc.setTitle(readString(in));
+        doc.setAbstractText(readString(in));
+        doc.setFilingDate(readDate(in));
+        doc.setGrantDate(readDate(in));
+        doc.setInventors(readStrings(in));
+        doc.setAssignees(readStrings(in));
+        doc.setIpcClasses(readStrings(in));
+        doc.setCpcClasses(readStrings(in));
+        doc.setWipoKind(readString(in));
+        doc.setTimesCited(readInteger(in));
+        doc.setTotalCitations(readInteger(in));
+        return doc;
+    }
+
+    /* ---------------- Field encoding ---------------- */
+
+    private void writeString(DataOutputStream out, String value, boolean useDictionary) throws IOException {
+        if (value == null) {
+            writeVarInt(out, NULL_REF);
+            return;
+        }
+        if (useDictionary && dictionary != null) {
+            int id = dictionary.idOf(value);
+            if (id != PatentStringDictionary.NOT_FOUND) {
+                writeVarInt(out, DICT_REF_BASE + id);
+                return;
+            }
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, INLINE_REF);
+        writeVarInt(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int ref = readVarInt(in);
+        return switch (ref) {
+            case NULL_REF -> null;
+            case INLINE_REF -> {
+                byte[] utf8 = new byte[readVarInt(in)];
+                in.readFully(utf8);
+                yield new String(utf8, StandardCharsets.UTF_8);
+            }
+            default -> dictionary.valueOf(ref - DICT_REF_BASE);
+        };
+    }
+
+    private void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        if (values == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        writeVarInt(out, values.size() + 1);
+        for (String value : values) {
+            writeString(out, value, true);
+        }
+    }
+
+    private List<String> readStrings(DataInputStream in) throws IOException {
+        int size = readVarInt(in) - 1;
+        if (size < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        out.writeBoolean(date != null);
+        if (date != null) {
+            writeVarInt(out, zigZag(Math.toIntExact(date.toEpochDay())));
+        }
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDate.ofEpochDay(unZigZag(readVarInt(in))) : null;
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            writeVarInt(out, zigZag(value));
+        }
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? unZigZag(readVarInt(in)) : null;
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in compact patent entry");
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /* ---------------- Compression ---------------- */
+
+    private static byte[] compress(byte[] raw) {
+        if (raw.length >= COMPRESS_THRESHOLD) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(raw);
+                deflater.finish();
+                byte[] buffer = new byte[raw.length];
+                int length = deflater.deflate(buffer);
+                if (deflater.finished() && length + 5 < raw.length) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream(length + 6);
+                    try (DataOutputStream out = new DataOutputStream(bytes)) {
+                        out.writeByte(DEFLATED);
+                        writeVarInt(out, raw.length);
+                        out.write(buffer, 0, length);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return bytes.toByteArray();
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        byte[] stored = new byte[raw.length + 1];
+        stored[0] = RAW;
+        System.arraycopy(raw, 0, stored, 1, raw.length);
+        return stored;
+    }
+
+    private static byte[] decompress(byte[] stored) {
+        if (stored[0] == RAW) {
+            byte[] raw = new byte[stored.length - 1];
+            System.arraycopy(stored, 1, raw, 0, raw.length);
+            return raw;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(stored, 1, stored.length - 1))) {
+            int length = readVarInt(in);
+            int offset = stored.length - in.available();
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(stored, offset, stored.length - offset);
+                byte[] raw = new byte[length];
+                inflater.inflate(raw);
+                return raw;
+            } finally {
+                inflater.end();
+            }
+        } catch (IOException | DataFormatException e) {
+            throw new IllegalStateException("Corrupt compact patent entry", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.teamb.globalipbackend1.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming heavy-hitters summary: a Count-Min Sketch (conservative update)
+ * for frequency estimates plus the top-K keys by estimate.
+ *
+ * Memory is fixed at {@code depth * width} counters plus K tracked entries,
+ * however many distinct keys are seen. {@link #decay()} halves all counts so
+ * the summary follows recent traffic.
+ *
+ * @param <V> payload kept for each tracked key (the latest one seen wins)
+ */
+public class HeavyHitterSketch<V> {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int width;
+    private final int capacity;
+    private final long[][] counts;
+    private final Map<String, Entry<V>> top = new HashMap<>();
+    private long minTracked;
+
+    public record Entry<V>(String key, long count, V payload) {}
+
+    public HeavyHitterSketch(int width, int capacity) {
+        this.width = width;
+        this.capacity = capacity;
+        this.counts = new long[DEPTH][width];
+    }
+
+    public synchronized void add(String key, V payload) {
+        add(key, payload, 1);
+    }
+
+    public synchronized void add(String key, V payload, long amount) {
+        long estimate = increment(key, amount);
+
+        if (top.containsKey(key) || top.size() < capacity) {
+            top.put(key, new Entry<>(key, estimate, payload));
+            if (top.size() == capacity) {
+                minTracked = currentMin();
+            }
+            return;
+        }
+        if (estimate > minTracked) {
+            top.values().stream()
+                    .min(Comparator.comparingLong(Entry::count))
+                    .ifPresent(min -> top.remove(min.key()));
+            top.put(key, new Entry<>(key, estimate, payload));
+            minTracked = currentMin();
+        }
+    }
+
+    public synchronized long estimate(String key) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counts[row][bucket(key, row)]);
+        }
+        return min;
+    }
+
+    /** Tracked keys, most frequent first */
+    public synchronized List<Entry<V>> top(int limit) {
+        List<Entry<V>> entries = new ArrayList<>(top.values());
+        entries.sort(Comparator.comparingLong(Entry<V>::count).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    public synchronized void decay() {
+        for (long[] row : counts) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>>= 1;
+            }
+        }
+        top.replaceAll((k, e) -> new Entry<>(k, e.count() >>> 1, e.payload()));
+        top.values().removeIf(e -> e.count() == 0);
+        minTracked = top.size() == capacity ? currentMin() : 0;
+    }
+
+    /** Conservative update: only raise the counters that are at the current minimum. */
+    private long increment(String key, long amount) {
+        int[] buckets = new int[DEPTH];
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            buckets[row] = bucket(key, row);
+            estimate = Math.min(estimate, counts[row][buckets[row]]);
+        }
+        long updated = estimate + amount;
+        for (int row = 0; row < DEPTH; row++) {
+            if (counts[row][buckets[row]] < updated) {
+                counts[row][buckets[row]] = updated;
+            }
+        }
+        return updated;
+    }
+
+    private int bucket(String key, int row) {
+        long h = key.hashCode() * SEEDS[row];
+        h ^= h >>> 29;
+        return (int) Math.floorMod(h, (long) width);
+    }
+
+    private long currentMin() {
+        return top.values().stream().mapToLong(Entry::count).min().orElse(0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.teamb.globalipbackend1.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus that delivers synchronously.
+ * Used by tests, where several cache managers can share one instance to act as separate nodes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache.bus", name = "mode", havingValue = "memory")
+public class InMemoryCacheBus implements CacheBus {
+
+    private final List<Consumer<CacheBusEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheBusEvent event) {
+        listeners.forEach(l -> l.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheBusEvent> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,157 @@
+package com.teamb.globalipbackend1.cache;
+
+import com.teamb.globalipbackend1.model.cache.CacheBusMessage;
+import com.teamb.globalipbackend1.repository.cache.CacheBusMessageRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Cache bus over the shared database.
+ *
+ * Events are rows in {@code cache_bus_message}; every node polls for rows
+ * newer than the last one it saw. Old rows are removed after {@code cache.bus.retention}.
+ *
+ * Identity values are taken at insert time but become visible at commit, so a
+ * row with a lower id can appear after higher ones were read. Ids skipped by a
+ * poll are remembered as gaps and looked up again until {@code cache.bus.gap-timeout}.
+ * A late PUT is applied as an EVICT, since a newer change to the same key may
+ * already have been applied. At most {@code cache.bus.max-tracked-gaps} ids are
+ * tracked, which bounds the lookup each poll makes.
+ *
+ * Polling runs every {@code cache.bus.poll-interval-ms} on a thread of its own,
+ * so it neither waits for nor delays the scheduled jobs.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cache.bus", name = "mode", havingValue = "jdbc")
+public class JdbcCacheBus implements CacheBus {
+
+    private final CacheBusMessageRepository repository;
+    private final CacheBusProperties properties;
+    private final List<Consumer<CacheBusEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    /** Skipped ids, with the time they were first noticed */
+    private final Map<Long, Long> gaps = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "cache-bus-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile long lastSeenId;
+
+    @PostConstruct
+    void init() {
+        // history is irrelevant to a node that just started with empty caches
+        lastSeenId = repository.findMaxId();
+        log.info("JDBC cache bus started for node {} at message id {}", properties.getNodeId(), lastSeenId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        long interval = Math.max(1, properties.getPollIntervalMs());
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (Exception e) {
+                // a failed poll must not cancel the ones after it
+                log.warn("Cache bus poll failed: {}", e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        poller.shutdownNow();
+        poller.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void publish(CacheBusEvent event) {
+        CacheBusMessage message = new CacheBusMessage();
+        message.setCacheName(event.cacheName());
+        message.setEventType(event.type());
+        message.setCacheKey(event.key());
+        message.setPayload(event.payload());
+        message.setOriginNode(event.originNode());
+        repository.save(message);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheBusEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public void poll() {
+        pollGaps();
+
+        List<CacheBusMessage> messages;
+        do {
+            messages = repository.findTop500ByIdGreaterThanOrderByIdAsc(lastSeenId);
+            for (CacheBusMessage m : messages) {
+                recordGaps(lastSeenId + 1, m.getId());
+                deliver(m, m.getEventType());
+                lastSeenId = m.getId();
+            }
+        } while (messages.size() == 500);
+    }
+
+    private void pollGaps() {
+        if (gaps.isEmpty()) {
+            return;
+        }
+        for (CacheBusMessage m : repository.findByIdInOrderByIdAsc(List.copyOf(gaps.keySet()))) {
+            gaps.remove(m.getId());
+            deliver(m, m.getEventType() == CacheBusEventType.PUT ? CacheBusEventType.EVICT : m.getEventType());
+        }
+        // whatever is still missing was rolled back or never used
+        long expired = System.nanoTime() - properties.getGapTimeout().toNanos();
+        gaps.values().removeIf(noticedAt -> noticedAt - expired < 0);
+    }
+
+    private void recordGaps(long fromId, long toId) {
+        long now = System.nanoTime();
+        int max = properties.getMaxTrackedGaps();
+        for (long id = fromId; id < toId && gaps.size() < max; id++) {
+            gaps.putIfAbsent(id, now);
+        }
+    }
+
+    private void deliver(CacheBusMessage m, CacheBusEventType type) {
+        CacheBusEvent event = new CacheBusEvent(
+                m.getCacheName(), type, m.getCacheKey(),
+                type == CacheBusEventType.PUT ? m.getPayload() : null, m.getOriginNode());
+        listeners.forEach(l -> l.accept(event));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    @Transactional
+    public void cleanup() {
+        int removed = repository.deleteOlderThan(LocalDateTime.now().minus(properties.getRetention()));
+        if (removed > 0) {
+            log.debug("Removed {} cache bus messages", removed);
+        }
+    }
+}
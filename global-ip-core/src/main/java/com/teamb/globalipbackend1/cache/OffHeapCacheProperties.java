@@ -0,0 +1,29 @@
+package com.teamb.globalipbackend1.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Off-heap store backing {@link CacheNames#PATENT_SNAPSHOT} when enabled.
+ *
+ * Total capacity is {@code segments * segmentSize}; the index takes a further
+ * 16 bytes per slot. Both are allocated outside the heap, so the JVM needs a
+ * matching {@code -XX:MaxDirectMemorySize} unless {@code path} is set.
+ */
+@ConfigurationProperties(prefix = "cache.offheap")
+@Data
+public class OffHeapCacheProperties {
+
+    private boolean enabled = false;
+
+    private int segments = 64;
+
+    private DataSize segmentSize = DataSize.ofMegabytes(32);
+
+    /** Index slots; at most 70% of them hold entries */
+    private int indexSlots = 1 << 22;
+
+    /** Memory-mapped file that keeps snapshots across restarts; direct buffers when empty */
+    private String path;
+}
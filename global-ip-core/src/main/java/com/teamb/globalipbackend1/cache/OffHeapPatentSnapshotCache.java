@@ -0,0 +1,94 @@
+package com.teamb.globalipbackend1.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} view over an {@link OffHeapSnapshotStore}.
+ *
+ * Patent documents are stored in the compact codec form without the shared
+ * dictionary, so entries stay readable after a restart of a memory-mapped store.
+ * Values the codec cannot encode are not cached. Entries older than the
+ * cache's TTL read as misses, the same as {@code expireAfterWrite} on the
+ * Caffeine caches.
+ */
+public class OffHeapPatentSnapshotCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final OffHeapSnapshotStore store;
+    private final Duration ttl;
+    private final CompactPatentCodec codec = new CompactPatentCodec(null);
+    private final CacheLoadTimer loadTimer = new CacheLoadTimer();
+
+    public OffHeapPatentSnapshotCache(String name, OffHeapSnapshotStore store, Duration ttl) {
+        super(false);
+        this.name = name;
+        this.store = store;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public OffHeapSnapshotStore getNativeCache() {
+        return store;
+    }
+
+    public CacheLoadTimer getLoadTimer() {
+        return loadTimer;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        if (CacheWarmupContext.bypassLookup()) {
+            loadTimer.missed(key);
+            return null;
+        }
+        byte[] bytes = store.get(key.toString(), ttl);
+        if (bytes == null) {
+            loadTimer.missed(key);
+            return null;
+        }
+        return codec.decode(new CompactPatentCodec.CompactPatentValue(bytes, false));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value != null && !(value instanceof List<?>) && codec.canEncode(value)) {
+            store.put(key.toString(), codec.encode(value).bytes());
+        }
+        loadTimer.stored(key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.remove(key.toString());
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+}
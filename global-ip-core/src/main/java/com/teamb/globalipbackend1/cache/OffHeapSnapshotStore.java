@@ -0,0 +1,578 @@
+package com.teamb.globalipbackend1.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Byte-valued key/value store kept outside the Java heap.
+ *
+ * Records are appended to a ring of fixed-size segments. When the write head
+ * wraps around, the oldest segment is dropped as a whole; entries read from
+ * the oldest quarter of the ring are re-appended at the head, which gives an
+ * LRU-ish second chance without per-entry bookkeeping.
+ *
+ * Keys are located through an open-addressing index that also lives in a
+ * direct buffer (16 bytes per slot). When a file is given, segments are
+ * memory-mapped and the index is rebuilt from them on restart.
+ *
+ * Each record carries its wall-clock write time, so readers can ignore entries
+ * older than their TTL, including ones recovered from a previous run.
+ *
+ * Segment record layout: {@code int length | byte flags | short keyLength | long writtenAt | key | value}.
+ */
+@Slf4j
+public final class OffHeapSnapshotStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x50534E50;
+    private static final int VERSION = 2;
+    private static final int HEADER_FIXED = 32;
+    private static final int SEGMENT_META = 12;
+
+    private static final int RECORD_HEADER = 15;
+    private static final byte LIVE = 0;
+    private static final byte DELETED = 1;
+
+    private static final int SLOT_BYTES = 16;
+    private static final long EMPTY = 0L;
+    private static final long TOMBSTONE = -1L;
+    private static final double MAX_LOAD = 0.7;
+
+    private final int segmentSize;
+    private final ByteBuffer[] segments;
+    private final long[] generations;
+    private final int[] writePositions;
+    private final int indexSlots;
+    private final int maxLive;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private ByteBuffer index;
+    private int head;
+    private long nextGeneration = 1;
+    private int live;
+    private int tombstones;
+
+    /**
+     * @param segmentCount number of segments in the ring
+     * @param segmentSize  bytes per segment; also the largest record that can be stored
+     * @param indexSlots   index capacity, rounded up to a power of two
+     * @param file         backing file for memory-mapped mode, or {@code null} for direct buffers
+     */
+    public OffHeapSnapshotStore(int segmentCount, int segmentSize, int indexSlots, Path file) {
+        if (segmentCount < 2) {
+            throw new IllegalArgumentException("Off-heap store needs at least 2 segments");
+        }
+        this.segmentSize = segmentSize;
+        this.segments = new ByteBuffer[segmentCount];
+        this.generations = new long[segmentCount];
+        this.writePositions = new int[segmentCount];
+        this.indexSlots = Integer.highestOneBit(Math.max(indexSlots, 16) - 1) << 1;
+        this.maxLive = (int) (this.indexSlots * MAX_LOAD);
+        this.index = ByteBuffer.allocateDirect(this.indexSlots * SLOT_BYTES);
+        generations[0] = nextGeneration++;
+
+        if (file == null) {
+            this.channel = null;
+            this.header = null;
+            for (int i = 0; i < segmentCount; i++) {
+                segments[i] = ByteBuffer.allocateDirect(segmentSize);
+            }
+            return;
+        }
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int headerSize = HEADER_FIXED + SEGMENT_META * segmentCount;
+            this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, headerSize);
+            for (int i = 0; i < segmentCount; i++) {
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                        headerSize + (long) i * segmentSize, segmentSize);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map off-heap snapshot file " + file, e);
+        }
+
+        if (headerMatches()) {
+            recover();
+            log.info("Recovered {} off-heap snapshots from {}", live, file);
+        } else {
+            resetHeader();
+        }
+    }
+
+    /* ---------------- Public API ---------------- */
+
+    public byte[] get(String key) {
+        return get(key, null);
+    }
+
+    /**
+     * @param maxAge entries written longer ago than this are reported as missing;
+     *               {@code null} for no limit
+     */
+    public byte[] get(String key, Duration maxAge) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(keyBytes);
+        byte[] value;
+        long location;
+        long writtenAt;
+
+        lock.readLock().lock();
+        try {
+            int slot = find(keyBytes, hash);
+            if (slot < 0) {
+                misses.increment();
+                return null;
+            }
+            location = index.getLong(slot * SLOT_BYTES);
+            writtenAt = readWrittenAt(location);
+            if (maxAge != null && System.currentTimeMillis() - writtenAt > maxAge.toMillis()) {
+                misses.increment();
+                return null;
+            }
+            value = readValue(location);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.increment();
+        if (isInOldestQuarter(segmentOf(location))) {
+            promote(keyBytes, hash, value, writtenAt, location);
+        }
+        return value;
+    }
+
+    /**
+     * @return false when the record is larger than a segment and was not stored
+     */
+    public boolean put(String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int length = RECORD_HEADER + keyBytes.length + value.length;
+        if (length > segmentSize || keyBytes.length > Short.MAX_VALUE) {
+            return false;
+        }
+        int hash = hash(keyBytes);
+
+        lock.writeLock().lock();
+        try {
+            while (live >= maxLive) {
+                advanceHead();
+            }
+            long location = append(LIVE, keyBytes, value, System.currentTimeMillis(), length);
+            upsert(keyBytes, hash, location);
+            if (tombstones > indexSlots / 4) {
+                rehash();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(keyBytes);
+
+        lock.writeLock().lock();
+        try {
+            int slot = find(keyBytes, hash);
+            if (slot < 0) {
+                return;
+            }
+            markTombstone(slot);
+            if (header != null) {
+                // persist the delete so a restart does not resurrect the entry
+                append(DELETED, keyBytes, new byte[0], System.currentTimeMillis(), RECORD_HEADER + keyBytes.length);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            index = ByteBuffer.allocateDirect(indexSlots * SLOT_BYTES);
+            Arrays.fill(generations, 0L);
+            Arrays.fill(writePositions, 0);
+            live = 0;
+            tombstones = 0;
+            head = 0;
+            generations[0] = nextGeneration++;
+            if (header != null) {
+                resetHeader();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long entries() {
+        return live;
+    }
+
+    public long usedBytes() {
+        return IntStream.of(writePositions).asLongStream().sum();
+    }
+
+    public long capacityBytes() {
+        return (long) segmentSize * segments.length;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+            header.force();
+            for (ByteBuffer segment : segments) {
+                ((MappedByteBuffer) segment).force();
+            }
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close off-heap snapshot file", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /* ---------------- Segments ---------------- */
+
+    private long append(byte flags, byte[] key, byte[] value, long writtenAt, int length) {
+        if (writePositions[head] + length > segmentSize) {
+            advanceHead();
+        }
+        ByteBuffer segment = segments[head];
+        int offset = writePositions[head];
+
+        segment.putInt(offset, length);
+        segment.put(offset + 4, flags);
+        segment.putShort(offset + 5, (short) key.length);
+        segment.putLong(offset + 7, writtenAt);
+        segment.put(offset + RECORD_HEADER, key);
+        segment.put(offset + RECORD_HEADER + key.length, value);
+
+        writePositions[head] = offset + length;
+        writeSegmentMeta(head);
+        return location(head, offset);
+    }
+
+    /**
+     * Re-appends an entry about to age out, unless it changed since it was read.
+     * The entry keeps its original write time so promotion does not extend its TTL.
+     */
+    private void promote(byte[] key, int hash, byte[] value, long writtenAt, long location) {
+        if (!lock.writeLock().tryLock()) {
+            return;
+        }
+        try {
+            int slot = find(key, hash);
+            if (slot >= 0 && index.getLong(slot * SLOT_BYTES) == location) {
+                long moved = append(LIVE, key, value, writtenAt, RECORD_HEADER + key.length + value.length);
+                upsert(key, hash, moved);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Moves the write head to the next segment, dropping whatever it held. */
+    private void advanceHead() {
+        head = (head + 1) % segments.length;
+        evictSegment(head);
+        generations[head] = nextGeneration++;
+        writePositions[head] = 0;
+        writeSegmentMeta(head);
+        if (header != null) {
+            header.putInt(16, head);
+        }
+    }
+
+    private void evictSegment(int segmentId) {
+        ByteBuffer segment = segments[segmentId];
+        int end = writePositions[segmentId];
+        for (int offset = 0; offset < end; ) {
+            int length = segment.getInt(offset);
+            if (segment.get(offset + 4) == LIVE) {
+                byte[] key = readKey(segment, offset);
+                int slot = find(key, hash(key));
+                if (slot >= 0 && index.getLong(slot * SLOT_BYTES) == location(segmentId, offset)) {
+                    markTombstone(slot);
+                    evictions.increment();
+                }
+            }
+            offset += length;
+        }
+    }
+
+    private boolean isInOldestQuarter(int segmentId) {
+        int age = (head - segmentId + segments.length) % segments.length;
+        return age >= segments.length - Math.max(1, segments.length / 4);
+    }
+
+    private byte[] readValue(long location) {
+        ByteBuffer segment = segments[segmentOf(location)];
+        int offset = offsetOf(location);
+        int length = segment.getInt(offset);
+        int keyLength = segment.getShort(offset + 5);
+        byte[] value = new byte[length - RECORD_HEADER - keyLength];
+        segment.get(offset + RECORD_HEADER + keyLength, value);
+        return value;
+    }
+
+    private long readWrittenAt(long location) {
+        return segments[segmentOf(location)].getLong(offsetOf(location) + 7);
+    }
+
+    private static byte[] readKey(ByteBuffer segment, int offset) {
+        byte[] key = new byte[segment.getShort(offset + 5)];
+        segment.get(offset + RECORD_HEADER, key);
+        return key;
+    }
+
+    private static long location(int segmentId, int offset) {
+        return ((long) (segmentId + 1) << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private static int segmentOf(long location) {
+        return (int) (location >>> 32) - 1;
+    }
+
+    private static int offsetOf(long location) {
+        return (int) location;
+    }
+
+    /* ---------------- Index ---------------- */
+
+    private int find(byte[] key, int hash) {
+        int mask = indexSlots - 1;
+        for (int probe = 0, slot = hash & mask; probe < indexSlots; probe++, slot = (slot + 1) & mask) {
+            int position = slot * SLOT_BYTES;
+            long location = index.getLong(position);
+            if (location == EMPTY) {
+                return -1;
+            }
+            if (location != TOMBSTONE
+                    && index.getInt(position + 8) == hash
+                    && keyEquals(location, key)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void upsert(byte[] key, int hash, long location) {
+        int mask = indexSlots - 1;
+        int firstFree = -1;
+        for (int probe = 0, slot = hash & mask; probe < indexSlots; probe++, slot = (slot + 1) & mask) {
+            int position = slot * SLOT_BYTES;
+            long current = index.getLong(position);
+            if (current == EMPTY) {
+                if (firstFree < 0) {
+                    firstFree = slot;
+                }
+                break;
+            }
+            if (current == TOMBSTONE) {
+                if (firstFree < 0) {
+                    firstFree = slot;
+                }
+                continue;
+            }
+            if (index.getInt(position + 8) == hash && keyEquals(current, key)) {
+                index.putLong(position, location);
+                return;
+            }
+        }
+        if (firstFree < 0) {
+            throw new IllegalStateException("Off-heap snapshot index is full");
+        }
+        int position = firstFree * SLOT_BYTES;
+        if (index.getLong(position) == TOMBSTONE) {
+            tombstones--;
+        }
+        index.putLong(position, location);
+        index.putInt(position + 8, hash);
+        live++;
+    }
+
+    private void markTombstone(int slot) {
+        index.putLong(slot * SLOT_BYTES, TOMBSTONE);
+        live--;
+        tombstones++;
+    }
+
+    private boolean keyEquals(long location, byte[] key) {
+        ByteBuffer segment = segments[segmentOf(location)];
+        int offset = offsetOf(location);
+        if (segment.getShort(offset + 5) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (segment.get(offset + RECORD_HEADER + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Rebuilds the index without tombstones. */
+    private void rehash() {
+        ByteBuffer old = index;
+        index = ByteBuffer.allocateDirect(indexSlots * SLOT_BYTES);
+        live = 0;
+        tombstones = 0;
+        int mask = indexSlots - 1;
+        for (int slot = 0; slot < indexSlots; slot++) {
+            long location = old.getLong(slot * SLOT_BYTES);
+            if (location == EMPTY || location == TOMBSTONE) {
+                continue;
+            }
+            int hash = old.getInt(slot * SLOT_BYTES + 8);
+            int target = hash & mask;
+            while (index.getLong(target * SLOT_BYTES) != EMPTY) {
+                target = (target + 1) & mask;
+            }
+            index.putLong(target * SLOT_BYTES, location);
+            index.putInt(target * SLOT_BYTES + 8, hash);
+            live++;
+        }
+    }
+
+    private static int hash(byte[] key) {
+        int h = Arrays.hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    /* ---------------- Persistence ---------------- */
+
+    private boolean headerMatches() {
+        return header.getInt(0) == MAGIC
+                && header.getInt(4) == VERSION
+                && header.getInt(8) == segments.length
+                && header.getInt(12) == segmentSize;
+    }
+
+    private void resetHeader() {
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(8, segments.length);
+        header.putInt(12, segmentSize);
+        header.putInt(16, head);
+        for (int i = 0; i < segments.length; i++) {
+            writeSegmentMeta(i);
+        }
+    }
+
+    private void writeSegmentMeta(int segmentId) {
+        if (header == null) {
+            return;
+        }
+        int position = HEADER_FIXED + segmentId * SEGMENT_META;
+        header.putLong(position, generations[segmentId]);
+        header.putInt(position + 8, writePositions[segmentId]);
+    }
+
+    /**
+     * Whether the header at {@code offset} describes a record that fits
+     * before {@code end}, the segment's recorded write position
+     */
+    private static boolean isWholeRecord(ByteBuffer segment, int offset, int end) {
+        if (end - offset < RECORD_HEADER) {
+            return false;
+        }
+        int length = segment.getInt(offset);
+        int keyLength = segment.getShort(offset + 5);
+        return length >= RECORD_HEADER && length <= end - offset
+                && keyLength >= 0 && keyLength <= length - RECORD_HEADER;
+    }
+
+    /** Replays segments oldest generation first so later writes win. */
+    private void recover() {
+        for (int i = 0; i < segments.length; i++) {
+            int position = HEADER_FIXED + i * SEGMENT_META;
+            generations[i] = header.getLong(position);
+            writePositions[i] = Math.min(header.getInt(position + 8), segmentSize);
+        }
+        head = header.getInt(16);
+        nextGeneration = Arrays.stream(generations).max().orElse(0L) + 1;
+
+        Integer[] order = IntStream.range(0, segments.length)
+                .filter(i -> generations[i] > 0)
+                .boxed()
+                .sorted(Comparator.comparingLong(i -> generations[i]))
+                .toArray(Integer[]::new);
+
+        for (int segmentId : order) {
+            ByteBuffer segment = segments[segmentId];
+            for (int offset = 0; offset < writePositions[segmentId]; ) {
+                if (!isWholeRecord(segment, offset, writePositions[segmentId])) {
+                    // torn write; everything after it in this segment is unusable
+                    writePositions[segmentId] = offset;
+                    break;
+                }
+                int length = segment.getInt(offset);
+                byte[] key = readKey(segment, offset);
+                int hash = hash(key);
+                if (segment.get(offset + 4) == LIVE) {
+                    if (live >= maxLive && find(key, hash) < 0) {
+                        // index was configured smaller than before; older entries are dropped
+                        offset += length;
+                        continue;
+                    }
+                    upsert(key, hash, location(segmentId, offset));
+                } else {
+                    int slot = find(key, hash);
+                    if (slot >= 0) {
+                        markTombstone(slot);
+                    }
+                }
+                offset += length;
+            }
+        }
+        if (generations[head] == 0) {
+            generations[head] = nextGeneration++;
+            writeSegmentMeta(head);
+        }
+        if (tombstones > 0) {
+            rehash();
+        }
+    }
+}
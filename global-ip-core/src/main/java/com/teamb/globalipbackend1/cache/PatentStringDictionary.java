@@ -0,0 +1,60 @@
+package com.teamb.globalipbackend1.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only dictionary shared by all compact patent cache entries.
+ *
+ * Classification codes, jurisdictions and party names repeat across thousands
+ * of cached patents, so each distinct string is stored once and entries only
+ * carry its id. Once {@code maxEntries} is reached new strings are no longer
+ * added and callers store them inline.
+ */
+public final class PatentStringDictionary {
+
+    public static final int NOT_FOUND = -1;
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[1024];
+    private int size;
+
+    public PatentStringDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Id for {@code value}, adding it when there is room; {@link #NOT_FOUND} otherwise.
+     */
+    public int idOf(String value) {
+        Integer id = ids.get(value);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(value);
+            if (id != null) {
+                return id;
+            }
+            if (size >= maxEntries) {
+                return NOT_FOUND;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            int next = size++;
+            values[next] = value;
+            ids.put(value, next);
+            return next;
+        }
+    }
+
+    public String valueOf(int id) {
+        return values[id];
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
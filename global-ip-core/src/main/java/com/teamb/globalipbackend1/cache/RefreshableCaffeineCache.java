@@ -0,0 +1,52 @@
+package com.teamb.globalipbackend1.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine cache that reports a miss when {@link CacheWarmupContext#bypassLookup()}
+ * says so, so warm-up replays reload entries instead of reading them.
+ *
+ * Also times loads, see {@link CacheLoadTimer}.
+ */
+public class RefreshableCaffeineCache extends CaffeineCache {
+
+    private final CacheLoadTimer loadTimer = new CacheLoadTimer();
+
+    public RefreshableCaffeineCache(String name, Cache<Object, Object> cache) {
+        super(name, cache);
+    }
+
+    public CacheLoadTimer getLoadTimer() {
+        return loadTimer;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = CacheWarmupContext.bypassLookup() ? null : super.lookup(key);
+        if (value == null) {
+            loadTimer.missed(key);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return super.get(key, () -> {
+            long start = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                loadTimer.record(System.nanoTime() - start);
+            }
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, value);
+        loadTimer.stored(key);
+    }
+}
@@ -0,0 +1,14 @@
+package com.teamb.globalipbackend1.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a cached method whose calls feed the {@link CacheWarmer}.
+ *
+ * Arguments must be JSON-serializable so hot calls can be replayed after a restart.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface WarmCache {
+}
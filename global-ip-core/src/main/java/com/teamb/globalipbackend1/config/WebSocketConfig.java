@@ -1,19 +1,43 @@
 package com.teamb.globalipbackend1.config;
 
+import com.teamb.globalipbackend1.service.websocket.OutboundDeliveryMetrics;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketProperties properties;
+    private final OutboundDeliveryMetrics outboundMetrics;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable a simple memory-based message broker
-        config.enableSimpleBroker("/topic", "/user");
+        WebSocketProperties.Broker broker = properties.getBroker();
+
+        if ("relay".equalsIgnoreCase(broker.getMode())) {
+            // External broker shared by all nodes; user destinations are resolved across nodes too
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(broker.getRelayHost())
+                    .setRelayPort(broker.getRelayPort())
+                    .setClientLogin(broker.getClientLogin())
+                    .setClientPasscode(broker.getClientPasscode())
+                    .setSystemLogin(broker.getSystemLogin())
+                    .setSystemPasscode(broker.getSystemPasscode())
+                    .setVirtualHost(broker.getVirtualHost())
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            // Enable a simple memory-based message broker
+            config.enableSimpleBroker("/topic", "/queue");
+        }
 
         // Prefix for messages from clients to server
         config.setApplicationDestinationPrefixes("/app");
@@ -22,6 +46,27 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         config.setUserDestinationPrefix("/user");
     }
 
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configurePool(registration, properties.getInbound());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configurePool(registration, properties.getOutbound());
+        registration.interceptors(outboundMetrics);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        WebSocketProperties.Transport transport = properties.getTransport();
+        registration
+                .setSendTimeLimit((int) transport.getSendTimeLimit().toMillis())
+                .setSendBufferSizeLimit((int) transport.getSendBufferSizeLimit().toBytes())
+                .setMessageSizeLimit((int) transport.getMessageSizeLimit().toBytes())
+                .setTimeToFirstMessage((int) transport.getTimeToFirstMessage().toMillis());
+    }
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // Register STOMP endpoint with SockJS fallback
@@ -29,4 +74,15 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
-}
\ No newline at end of file
+
+    private static void configurePool(ChannelRegistration registration, WebSocketProperties.Pool pool) {
+        int core = pool.getCorePoolSize() > 0
+                ? pool.getCorePoolSize()
+                : Runtime.getRuntime().availableProcessors() * 2;
+        registration.taskExecutor()
+                .corePoolSize(core)
+                .maxPoolSize(Math.max(core, pool.getMaxPoolSize()))
+                .queueCapacity(pool.getQueueCapacity())
+                .keepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+    }
+}
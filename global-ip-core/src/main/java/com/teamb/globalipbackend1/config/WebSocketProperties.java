@@ -0,0 +1,74 @@
+package com.teamb.globalipbackend1.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "websocket")
+@Data
+public class WebSocketProperties {
+
+    private Broker broker = new Broker();
+
+    /** Executor for frames arriving from clients */
+    private Pool inbound = new Pool();
+
+    /** Executor for frames going out to clients */
+    private Pool outbound = new Pool();
+
+    private Transport transport = new Transport();
+
+    @Data
+    public static class Broker {
+
+        /**
+         * simple: in-memory broker, local to this node. relay: an external
+         * STOMP broker (e.g. RabbitMQ), shared by all nodes
+         */
+        private String mode = "simple";
+
+        private String relayHost = "localhost";
+        private int relayPort = 61613;
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+        private String virtualHost;
+    }
+
+    @Data
+    public static class Pool {
+
+        /** 0 means twice the number of processors */
+        private int corePoolSize = 0;
+
+        private int maxPoolSize = 32;
+
+        /** Frames waiting for a thread; beyond this they are rejected instead of piling up */
+        private int queueCapacity = 10_000;
+
+        private Duration keepAlive = Duration.ofSeconds(60);
+    }
+
+    /**
+     * Per-session limits. A client that falls further behind is disconnected
+     * rather than buffered without bound; it resumes from the notification
+     * outbox when it reconnects.
+     */
+    @Data
+    public static class Transport {
+
+        /** Longest a single send to one client may take */
+        private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+        /** Most data buffered for one client while an earlier send is still in progress */
+        private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(512);
+
+        private DataSize messageSizeLimit = DataSize.ofKilobytes(64);
+
+        /** Connections that send no STOMP frame within this time are closed */
+        private Duration timeToFirstMessage = Duration.ofMinutes(1);
+    }
+}
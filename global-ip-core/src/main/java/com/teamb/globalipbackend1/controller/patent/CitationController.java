@@ -35,6 +35,9 @@ import java.util.List;
 @AllArgsConstructor
 public class CitationController {
     
+    /** The trends service keeps this many neighbours per patent and kind */
+    private static final int MAX_SIMILARITY_LIMIT = 50;
+
     private EnhancedCitationNetworkService enhancedNetworkService;
     private PatentCitationService citationService;
 
@@ -46,7 +49,8 @@ public class CitationController {
     @Operation(
             summary = "Get citation network",
             description = "Returns a limited-depth citation network optimized for visualization "
-                    + "(force-directed graphs). Depth is capped internally to avoid explosion.",
+                    + "(force-directed graphs). Depth is capped internally to avoid explosion. "
+                    + "With similarity=true, co-citation and coupling neighbours of the patent are overlaid.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Citation network returned successfully")
             }
@@ -55,7 +59,9 @@ public class CitationController {
     public ResponseEntity<@NonNull CitationNetworkResponse> getCitationNetwork(
             @PathVariable String patentId,
             @RequestParam(defaultValue = "1") int backwardDepth,
-            @RequestParam(defaultValue = "1") int forwardDepth) {
+            @RequestParam(defaultValue = "1") int forwardDepth,
+            @RequestParam(defaultValue = "false") boolean similarity,
+            @RequestParam(defaultValue = "10") int similarityLimit) {
 
         log.info("Fetching citation network for visualization: {} (requested backward: {}, forward: {})",
                 patentId, backwardDepth, forwardDepth);
@@ -66,10 +72,51 @@ public class CitationController {
                 backwardDepth,
                 forwardDepth
         );
+        if (similarity) {
+            response = enhancedNetworkService.withSimilarityOverlay(
+                    response, patentId, Math.max(1, Math.min(similarityLimit, MAX_SIMILARITY_LIMIT)));
+        }
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Same network in columnar form, selected with
+     * {@code Accept: application/vnd.globalip.citation-network.columnar+json}
+     */
+    @Operation(
+            summary = "Get citation network (columnar)",
+            description = "Returns the citation network with dictionary-encoded node ids and edges as "
+                    + "parallel index arrays. Selected by the Accept header; plain JSON stays the default.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Citation network returned successfully")
+            }
+    )
+    @GetMapping(value = "/network", produces = CompactCitationNetwork.MEDIA_TYPE)
+    public ResponseEntity<@NonNull CompactCitationNetwork> getCompactCitationNetwork(
+            @PathVariable String patentId,
+            @RequestParam(defaultValue = "1") int backwardDepth,
+            @RequestParam(defaultValue = "1") int forwardDepth,
+            @RequestParam(defaultValue = "false") boolean similarity,
+            @RequestParam(defaultValue = "10") int similarityLimit) {
+
+        log.info("Fetching columnar citation network: {} (requested backward: {}, forward: {})",
+                patentId, backwardDepth, forwardDepth);
+
+        CitationNetworkResponse response = enhancedNetworkService.fetchCitationNetwork(
+                patentId,
+                backwardDepth,
+                forwardDepth
+        );
+
+        if (similarity) {
+            response = enhancedNetworkService.withSimilarityOverlay(
+                    response, patentId, Math.max(1, Math.min(similarityLimit, MAX_SIMILARITY_LIMIT)));
+        }
+
+        return ResponseEntity.ok(CompactCitationNetwork.of(response));
+    }
+
     /**
      * Get citation metrics without full network data
      * Example: GET /api/patents/10006624/citations/metrics
@@ -223,13 +270,15 @@ public class CitationController {
 
     /**
      * Fetch and store citations in database
-     * This is typically called when a patent is first added to the system
+     * This is typically called when a patent is first added to the system;
+     * repeat calls only pick up new forward citations unless full=true
      * Example: POST /api/patents/10006624/citations/fetch
      */
     @Operation(
             summary = "Fetch and store citations",
             description = "Fetches citation data from external sources and persists it in the database. "
-                    + "Typically called when a patent is first onboarded.",
+                    + "Typically called when a patent is first onboarded. Later calls only fetch new "
+                    + "forward citations unless full=true.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Citations fetched and stored successfully"),
                     @ApiResponse(responseCode = "500", description = "Error while fetching citations")
@@ -237,12 +286,15 @@ public class CitationController {
     )
     @PostMapping("/fetch")
     public ResponseEntity<@NonNull FetchCitationsResponse> fetchAndStoreCitations(
-            @PathVariable String patentId) {
+            @PathVariable String patentId,
+            @RequestParam(defaultValue = "false") boolean full) {
 
         log.info("Fetching and storing citations for patent: {}", patentId);
 
         try {
-            citationService.fetchAndStoreCitations(patentId);
+            CitationStoreResult stored = full
+                    ? citationService.fetchAndStoreAllCitations(patentId)
+                    : citationService.fetchAndStoreCitations(patentId);
 
             CitationNetworkDTO network = citationService.getCitationNetwork(patentId);
 
@@ -251,6 +303,8 @@ public class CitationController {
                     .success(true)
                     .backwardCount(network.getBackwardCount())
                     .forwardCount(network.getForwardCount())
+                    .insertedCount(stored.inserted())
+                    .skippedCount(stored.skipped())
                     .message("Citations fetched and stored successfully")
                     .build();
 
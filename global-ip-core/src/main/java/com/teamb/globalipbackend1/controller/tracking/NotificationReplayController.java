@@ -0,0 +1,45 @@
+package com.teamb.globalipbackend1.controller.tracking;
+
+import com.teamb.globalipbackend1.dto.websocket.NotificationReplayDto;
+import com.teamb.globalipbackend1.model.user.User;
+import com.teamb.globalipbackend1.repository.user.UserRepository;
+import com.teamb.globalipbackend1.service.websocket.NotificationOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * STOMP catch-up after a reconnect.
+ *
+ * The client subscribes to {@code /app/notifications/replay} with a
+ * {@code last-seq} header holding the {@code seq} header of the last
+ * notification it received; the reply carries everything sent since.
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class NotificationReplayController {
+
+    private final NotificationOutbox outbox;
+    private final UserRepository userRepository;
+
+    @SubscribeMapping("/notifications/replay")
+    public NotificationReplayDto replay(
+            Principal principal,
+            @Header(name = "last-seq", required = false) Long lastSeq
+    ) {
+        String userId = principal == null ? null : userRepository.findByEmail(principal.getName())
+                .map(User::getUserId)
+                .orElse(null);
+        if (userId == null) {
+            log.debug("Notification replay requested without an authenticated user");
+            return new NotificationReplayDto(0, List.of(), false, false);
+        }
+        return outbox.replay(userId, lastSeq);
+    }
+}
@@ -1,5 +1,6 @@
 package com.teamb.globalipbackend1.dto.citation;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import java.util.List;
 import java.util.Map;
@@ -14,4 +15,8 @@ public class CitationNetworkResponse {
     private List<CitationEdge> edges;
     private NetworkMetrics metrics;
     private Map<String, TechnologyCluster> clusters;
+
+    /** Optional co-citation / coupling overlay; omitted unless requested */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<SimilarityLink> similarity;
 }
\ No newline at end of file
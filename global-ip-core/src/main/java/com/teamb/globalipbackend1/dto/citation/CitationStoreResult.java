@@ -0,0 +1,14 @@
+package com.teamb.globalipbackend1.dto.citation;
+
+/**
+ * Outcome of storing one patent's citations: rows written versus rows
+ * dropped as duplicates or already on record. Both counts are null when the
+ * database driver did not report them. {@code incremental} is set when only
+ * new forward citations were fetched.
+ */
+public record CitationStoreResult(
+        String patentId,
+        Integer inserted,
+        Integer skipped,
+        boolean incremental
+) {}
@@ -0,0 +1,181 @@
+package com.teamb.globalipbackend1.dto.citation;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Columnar encoding of a {@link CitationNetworkResponse}.
+ *
+ * Node ids are listed once and referenced by index; repeated strings
+ * (assignees, classes, colors, types) go through a shared dictionary and
+ * dates are epoch days. Every column has one entry per node or edge, so
+ * field names appear once per payload instead of once per element.
+ */
+public record CompactCitationNetwork(
+        int version,
+        List<String> ids,
+        List<String> strings,
+        NodeColumns nodes,
+        EdgeColumns edges,
+        NetworkMetrics metrics,
+        List<Cluster> clusters,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<SimilarityLink> similarity
+) {
+
+    public static final String MEDIA_TYPE = "application/vnd.globalip.citation-network.columnar+json";
+
+    /** String dictionary index used for null values */
+    public static final int NONE = -1;
+
+    public record NodeColumns(
+            List<String> title,
+            List<String> abstractText,
+            int[] assignee,
+            Integer[] filingDate,
+            Integer[] grantDate,
+            int[][] ipcClasses,
+            int[][] cpcClasses,
+            Integer[] backwardCitationCount,
+            Integer[] forwardCitationCount,
+            int[] patentType,
+            int[][] inventors,
+            Integer[] nodeSize,
+            int[] nodeColor,
+            Integer[] depth
+    ) {}
+
+    public record EdgeColumns(
+            int[] source,
+            int[] target,
+            int[] citationType,
+            Integer[] citationDate,
+            Integer[] weight
+    ) {}
+
+    public record Cluster(
+            String clusterId,
+            String clusterName,
+            int[] nodes,
+            Integer size,
+            String color
+    ) {}
+
+    public static CompactCitationNetwork of(CitationNetworkResponse network) {
+        Dictionary ids = new Dictionary();
+        Dictionary strings = new Dictionary();
+
+        List<PatentNode> nodeList = network.getNodes() != null ? network.getNodes() : List.of();
+        List<CitationEdge> edgeList = network.getEdges() != null ? network.getEdges() : List.of();
+        int n = nodeList.size();
+        int m = edgeList.size();
+
+        List<String> title = new ArrayList<>(n);
+        List<String> abstractText = new ArrayList<>(n);
+        int[] assignee = new int[n];
+        Integer[] filingDate = new Integer[n];
+        Integer[] grantDate = new Integer[n];
+        int[][] ipc = new int[n][];
+        int[][] cpc = new int[n][];
+        Integer[] backward = new Integer[n];
+        Integer[] forward = new Integer[n];
+        int[] patentType = new int[n];
+        int[][] inventors = new int[n][];
+        Integer[] nodeSize = new Integer[n];
+        int[] nodeColor = new int[n];
+        Integer[] depth = new Integer[n];
+
+        for (int i = 0; i < n; i++) {
+            PatentNode node = nodeList.get(i);
+            ids.index(node.getPatentId());
+            title.add(node.getTitle());
+            abstractText.add(node.getAbstractText());
+            assignee[i] = strings.index(node.getAssignee());
+            filingDate[i] = epochDay(node.getFilingDate());
+            grantDate[i] = epochDay(node.getGrantDate());
+            ipc[i] = strings.indexAll(node.getIpcClasses());
+            cpc[i] = strings.indexAll(node.getCpcClasses());
+            backward[i] = node.getBackwardCitationCount();
+            forward[i] = node.getForwardCitationCount();
+            patentType[i] = strings.index(node.getPatentType());
+            inventors[i] = strings.indexAll(node.getInventors());
+            nodeSize[i] = node.getNodeSize();
+            nodeColor[i] = strings.index(node.getNodeColor());
+            depth[i] = node.getDepth();
+        }
+
+        int[] source = new int[m];
+        int[] target = new int[m];
+        int[] citationType = new int[m];
+        Integer[] citationDate = new Integer[m];
+        Integer[] weight = new Integer[m];
+
+        for (int i = 0; i < m; i++) {
+            CitationEdge edge = edgeList.get(i);
+            source[i] = ids.index(edge.getSource());
+            target[i] = ids.index(edge.getTarget());
+            citationType[i] = strings.index(edge.getCitationType());
+            citationDate[i] = epochDay(edge.getCitationDate());
+            weight[i] = edge.getWeight();
+        }
+
+        List<Cluster> clusters = new ArrayList<>();
+        if (network.getClusters() != null) {
+            for (TechnologyCluster c : network.getClusters().values()) {
+                List<String> members = c.getPatentIds() != null ? c.getPatentIds() : List.of();
+                clusters.add(new Cluster(
+                        c.getClusterId(),
+                        c.getClusterName(),
+                        members.stream().mapToInt(ids::index).toArray(),
+                        c.getSize(),
+                        c.getColor()
+                ));
+            }
+        }
+
+        return new CompactCitationNetwork(
+                1,
+                ids.values(),
+                strings.values(),
+                new NodeColumns(title, abstractText, assignee, filingDate, grantDate, ipc, cpc,
+                        backward, forward, patentType, inventors, nodeSize, nodeColor, depth),
+                new EdgeColumns(source, target, citationType, citationDate, weight),
+                network.getMetrics(),
+                clusters,
+                network.getSimilarity()
+        );
+    }
+
+    private static Integer epochDay(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : null;
+    }
+
+    /** Insertion-ordered string to index table */
+    private static final class Dictionary {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int index(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            return indexes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        int[] indexAll(List<String> list) {
+            if (list == null) {
+                return new int[0];
+            }
+            return list.stream().mapToInt(this::index).toArray();
+        }
+
+        List<String> values() {
+            return values;
+        }
+    }
+}
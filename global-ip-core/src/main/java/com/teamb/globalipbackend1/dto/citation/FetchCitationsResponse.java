@@ -12,5 +12,7 @@ public class FetchCitationsResponse {
     private Boolean success;
     private Integer backwardCount;
     private Integer forwardCount;
+    private Integer insertedCount;
+    private Integer skippedCount;
     private String message;
 }
\ No newline at end of file
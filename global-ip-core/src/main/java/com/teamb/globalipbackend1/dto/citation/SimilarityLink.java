@@ -0,0 +1,17 @@
+package com.teamb.globalipbackend1.dto.citation;
+
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarityLink {
+    private String source;
+    private String target;
+    private String kind; // CO_CITATION / BIBLIOGRAPHIC_COUPLING
+    private Integer sharedCitations;
+    private Double score;
+    private Boolean inNetwork;
+}
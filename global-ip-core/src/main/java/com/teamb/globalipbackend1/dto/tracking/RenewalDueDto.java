@@ -0,0 +1,16 @@
+package com.teamb.globalipbackend1.dto.tracking;
+
+import com.teamb.globalipbackend1.model.subscription.AlertFrequency;
+
+import java.time.LocalDate;
+
+/**
+ * A tracked patent of one user whose expiration date hits a reminder mark,
+ * with the alert frequency of the subscription it is delivered under
+ */
+public record RenewalDueDto(
+        String userId,
+        String patentId,
+        LocalDate expirationDate,
+        AlertFrequency alertFrequency
+) {}
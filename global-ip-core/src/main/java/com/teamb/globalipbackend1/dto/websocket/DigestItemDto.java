@@ -0,0 +1,14 @@
+package com.teamb.globalipbackend1.dto.websocket;
+
+import com.teamb.globalipbackend1.model.notification.DigestChannel;
+
+import java.time.LocalDateTime;
+
+public record DigestItemDto(
+        DigestChannel channel,
+        String subjectId,       // Patent id or competitor code
+        String eventType,
+        String message,
+        String severity,
+        LocalDateTime timestamp
+) {}
@@ -0,0 +1,14 @@
+package com.teamb.globalipbackend1.dto.websocket;
+
+import com.teamb.globalipbackend1.model.subscription.AlertFrequency;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record NotificationDigestDto(
+        AlertFrequency frequency,
+        int count,
+        List<DigestItemDto> items,
+        LocalDateTime from,
+        LocalDateTime to
+) {}
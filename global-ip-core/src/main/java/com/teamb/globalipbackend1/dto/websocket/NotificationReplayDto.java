@@ -0,0 +1,10 @@
+package com.teamb.globalipbackend1.dto.websocket;
+
+import java.util.List;
+
+public record NotificationReplayDto(
+        long lastSeq,                   // Resume from here next time
+        List<OutboxMessageDto> messages,
+        boolean gap,                    // Some missed notifications are past retention; refresh over REST
+        boolean more                    // Replay limit reached; subscribe again with lastSeq for the rest
+) {}
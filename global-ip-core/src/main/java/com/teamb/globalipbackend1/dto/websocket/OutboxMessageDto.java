@@ -0,0 +1,12 @@
+package com.teamb.globalipbackend1.dto.websocket;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+public record OutboxMessageDto(
+        long seq,
+        String destination,
+        @JsonRawValue String payload,   // Body exactly as it was sent live
+        LocalDateTime sentAt
+) {}
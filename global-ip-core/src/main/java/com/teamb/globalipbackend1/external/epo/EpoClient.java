@@ -8,6 +8,8 @@ import com.teamb.globalipbackend1.dto.patent.GlobalPatentDetailDto;
 import com.teamb.globalipbackend1.dto.search.PatentSearchFilter;
 import com.teamb.globalipbackend1.external.epo.config.EpoProperties;
 import com.teamb.globalipbackend1.external.epo.dto.*;
+import com.teamb.globalipbackend1.external.ratelimit.Upstream;
+import com.teamb.globalipbackend1.external.ratelimit.UpstreamRateLimiter;
 import com.teamb.globalipbackend1.service.patent.lifecycle.PatentExpiryCalculator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +39,7 @@ public class EpoClient {
 
     private final EpoProperties properties;
     private final EpoPublicationParser parser;
+    private final UpstreamRateLimiter rateLimiter;
 
     private final HttpClient httpClient = HttpClient.newHttpClient();
     private final XmlMapper xmlMapper = (XmlMapper) new XmlMapper()
@@ -190,17 +193,42 @@ public class EpoClient {
     }
 
     private HttpResponse<String> send(String url) throws Exception {
-        return httpClient.send(
+        return send(
                 HttpRequest.newBuilder()
                         .uri(URI.create(url))
                         .header("Authorization", "Bearer " + token())
                         .header("Accept", "application/xml")
                         .timeout(Duration.ofSeconds(30))
-                        .build(),
-                HttpResponse.BodyHandlers.ofString()
+                        .build()
         );
     }
 
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (isThrottled(response)) {
+            rateLimiter.throttled(Upstream.EPO, response);
+        } else if (response.statusCode() < 400) {
+            rateLimiter.succeeded(Upstream.EPO);
+        }
+        return response;
+    }
+
+    /**
+     * OPS answers over-quota requests with 403/429 and reports load in
+     * X-Throttling-Control, e.g. "busy (search=yellow:15, retrieval=red:0, ...)"
+     */
+    private static boolean isThrottled(HttpResponse<String> response) {
+        if (response.statusCode() == 429) {
+            return true;
+        }
+        if (response.statusCode() == 403 && response.body() != null
+                && response.body().toLowerCase().contains("quota")) {
+            return true;
+        }
+        String control = response.headers().firstValue("X-Throttling-Control").orElse("");
+        return control.startsWith("overloaded") || control.contains("=red") || control.contains("=black");
+    }
+
     private String buildUrl(EpoDocumentId id, String resource) {
         String fmt = "EP".equals(id.getCountry()) ? "epodoc" : "docdb";
         String ident = fmt.equals("epodoc")
@@ -446,8 +474,7 @@ public class EpoClient {
                 .GET()
                 .build();
 
-        HttpResponse<String> response =
-                httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = send(request);
 
         if (response.statusCode() != 200) {
             log.warn("EPO search failed [{}]: {}",
@@ -664,8 +691,7 @@ public class EpoClient {
                     .GET()
                     .build();
 
-            HttpResponse<String> response =
-                    httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = send(request);
 
             log.info("Response Status: {}", response.statusCode());
 
@@ -746,8 +772,7 @@ public class EpoClient {
                         .GET()
                         .build();
 
-                HttpResponse<String> response =
-                        httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = send(request);
 
                 if (response.statusCode() != 200) {
                     log.warn("EPO competitor search failed for {} [{}]",
@@ -0,0 +1,12 @@
+package com.teamb.globalipbackend1.external.patentsview;
+
+/**
+ * A PatentsView citation query failed, so the citations it would have
+ * returned are unknown rather than empty.
+ */
+public class CitationFetchException extends RuntimeException {
+
+    public CitationFetchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.teamb.globalipbackend1.external.patentsview;
+
+import com.teamb.globalipbackend1.external.patentsview.dto.PatentsViewUSPatentCitation;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Batched US patent citation lookups, by normalized PatentsView patent id.
+ *
+ * Implementations return an empty list rather than throwing when the
+ * citations cannot be fetched.
+ */
+public interface CitationSource {
+
+    /** Citations made by the patents, at most {@link PatentsViewCitationClient#MAX_BATCH_IDS} ids */
+    List<PatentsViewUSPatentCitation> getBackwardCitations(Collection<String> patentIds);
+
+    /** Citations received by the patents, at most {@link PatentsViewCitationClient#MAX_BATCH_IDS} ids */
+    List<PatentsViewUSPatentCitation> getForwardCitations(Collection<String> patentIds);
+}
@@ -0,0 +1,179 @@
+package com.teamb.globalipbackend1.external.patentsview;
+
+import com.teamb.globalipbackend1.external.patentsview.config.CitationSourceProperties;
+import com.teamb.globalipbackend1.external.patentsview.dto.PatentsViewUSPatentCitation;
+import com.teamb.globalipbackend1.external.trendsApi.client.PatentTrendClient;
+import com.teamb.globalipbackend1.external.trendsApi.dto.request.CitationLookupRequest;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.CitationLookupDto;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.CitationRecordDto;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.CitationSnapshotDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Citation source that reads from the trends service's bulk PatentsView
+ * tables and only goes to the live PatentsView API for patents newer than
+ * the last bulk load.
+ *
+ * Utility patent numbers are assigned in grant order, so a numeric id no
+ * greater than the newest ingested one is in the local snapshot. Anything
+ * else (newer grants, design/plant/reissue ids) and any batch the trends
+ * service fails to answer is fetched live.
+ */
+@Slf4j
+@Primary
+@Component
+@RequiredArgsConstructor
+public class LocalFirstCitationSource implements CitationSource {
+
+    private static final int LOCAL_BATCH_RESULTS = 5000;
+
+    private final PatentsViewCitationClient liveClient;
+    private final PatentTrendClient trendClient;
+    private final CitationSourceProperties properties;
+
+    private volatile Snapshot snapshot;
+
+    /** Newest locally ingested patent number, or {@code null} when the trends service is unavailable */
+    private record Snapshot(String latestPatentId, Instant expiresAt) {}
+
+    @Override
+    public List<PatentsViewUSPatentCitation> getBackwardCitations(Collection<String> patentIds) {
+        return fetch(patentIds, true);
+    }
+
+    @Override
+    public List<PatentsViewUSPatentCitation> getForwardCitations(Collection<String> patentIds) {
+        return fetch(patentIds, false);
+    }
+
+    private List<PatentsViewUSPatentCitation> fetch(Collection<String> patentIds, boolean backward) {
+        String latest = properties.isLocalEnabled() ? latestLocalPatentId() : null;
+
+        List<String> local = new ArrayList<>();
+        List<String> live = new ArrayList<>();
+        for (String id : patentIds) {
+            (isLocal(id, latest) ? local : live).add(id);
+        }
+
+        List<PatentsViewUSPatentCitation> citations = new ArrayList<>();
+        if (!local.isEmpty()) {
+            fetchLocal(local, backward, citations, live);
+        }
+        if (!live.isEmpty()) {
+            citations.addAll(backward ? liveClient.getBackwardCitations(live) : liveClient.getForwardCitations(live));
+        }
+        return citations;
+    }
+
+    /**
+     * Pages through the local rows of {@code patentIds}. The trends service
+     * returns rows grouped by the looked-up patent, so when a page hits the
+     * row limit only its last patent may be cut short: that one is asked
+     * for again with the patents the page did not reach. A single patent
+     * with more rows than one page holds is left to PatentsView, as is
+     * everything still pending when the trends service fails.
+     */
+    private void fetchLocal(List<String> patentIds, boolean backward,
+                            List<PatentsViewUSPatentCitation> citations, List<String> live) {
+        List<String> pending = patentIds;
+        while (!pending.isEmpty()) {
+            CitationLookupDto result;
+            try {
+                result = trendClient.lookupCitations(new CitationLookupRequest(
+                        pending, backward ? "BACKWARD" : "FORWARD", LOCAL_BATCH_RESULTS));
+            } catch (Exception e) {
+                log.warn("Local citation lookup failed, using PatentsView for {} patents: {}",
+                        pending.size(), e.getMessage());
+                live.addAll(pending);
+                markUnavailable();
+                return;
+            }
+            List<CitationRecordDto> rows = result.citations();
+            if (!result.truncated() || rows.isEmpty()) {
+                rows.stream().map(LocalFirstCitationSource::toCitation).forEach(citations::add);
+                return;
+            }
+
+            String cut = lookedUp(rows.getLast(), backward);
+            Set<String> complete = new HashSet<>();
+            for (CitationRecordDto row : rows) {
+                String id = lookedUp(row, backward);
+                if (!id.equals(cut)) {
+                    complete.add(id);
+                    citations.add(toCitation(row));
+                }
+            }
+            if (complete.isEmpty()) {
+                log.warn("Patent {} has more than {} local {} citations, using PatentsView for it",
+                        cut, LOCAL_BATCH_RESULTS, backward ? "backward" : "forward");
+                live.add(cut);
+                complete.add(cut);
+            }
+            pending = pending.stream().filter(id -> !complete.contains(id)).toList();
+        }
+    }
+
+    private static String lookedUp(CitationRecordDto row, boolean backward) {
+        return backward ? row.patentId() : row.citationPatentId();
+    }
+
+    static boolean isLocal(String patentId, String latestPatentId) {
+        if (latestPatentId == null || patentId == null || patentId.isEmpty()
+                || patentId.length() > latestPatentId.length()) {
+            return false;
+        }
+        for (int i = 0; i < patentId.length(); i++) {
+            if (!Character.isDigit(patentId.charAt(i))) {
+                return false;
+            }
+        }
+        return patentId.length() < latestPatentId.length() || patentId.compareTo(latestPatentId) <= 0;
+    }
+
+    private String latestLocalPatentId() {
+        Snapshot current = snapshot;
+        if (current != null && current.expiresAt().isAfter(Instant.now())) {
+            return current.latestPatentId();
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && current.expiresAt().isAfter(Instant.now())) {
+                return current.latestPatentId();
+            }
+            try {
+                CitationSnapshotDto dto = trendClient.getCitationSnapshot();
+                String latest = dto != null ? dto.latestPatentId() : null;
+                snapshot = new Snapshot(latest, Instant.now().plus(properties.getSnapshotTtl()));
+                log.debug("Local citation snapshot goes up to patent {}", latest);
+                return latest;
+            } catch (Exception e) {
+                log.warn("Trends service citation snapshot unavailable: {}", e.getMessage());
+                markUnavailable();
+                return null;
+            }
+        }
+    }
+
+    private void markUnavailable() {
+        snapshot = new Snapshot(null, Instant.now().plus(properties.getRetryAfterFailure()));
+    }
+
+    private static PatentsViewUSPatentCitation toCitation(CitationRecordDto dto) {
+        PatentsViewUSPatentCitation citation = new PatentsViewUSPatentCitation();
+        citation.setPatentId(dto.patentId());
+        citation.setCitationPatentId(dto.citationPatentId());
+        citation.setCitationCategory(dto.citationCategory());
+        citation.setCitationDate(dto.citationDate());
+        return citation;
+    }
+}
@@ -8,12 +8,13 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Component
 
 @Slf4j
-public class PatentsViewCitationClient {
+public class PatentsViewCitationClient implements CitationSource {
 
     private final PatentsViewHttpClient httpClient;
     private final PatentsViewCitationQueryBuilder queryBuilder;
@@ -27,6 +28,11 @@ public class PatentsViewCitationClient {
     private static final String FOREIGN_CITATION_ENDPOINT =
             "https://search.patentsview.org/api/v1/patent/foreign_citation";
 
+    /** Patent ids sent in one batched citation query */
+    public static final int MAX_BATCH_IDS = 100;
+    /** Largest page PatentsView returns for one query; batch queries page past it */
+    private static final int MAX_BATCH_RESULTS = 1000;
+
     public PatentsViewCitationClient(PatentsViewHttpClient httpClient, PatentsViewCitationQueryBuilder queryBuilder,@Qualifier("jsonObjectMapper") ObjectMapper objectMapper) {
         this.httpClient = httpClient;
         this.queryBuilder = queryBuilder;
@@ -58,8 +64,7 @@ public class PatentsViewCitationClient {
             return response.getUsPatentCitations();
 
         } catch (Exception e) {
-            log.error("Error fetching backward citations for {}: {}", patentId, e.getMessage());
-            return new ArrayList<>();
+            throw failure("backward citations", patentId, e);
         }
     }
 
@@ -88,7 +93,113 @@ public class PatentsViewCitationClient {
             return response.getUsPatentCitations();
 
         } catch (Exception e) {
-            log.error("Error fetching forward citations for {}: {}", patentId, e.getMessage());
+            throw failure("forward citations", patentId, e);
+        }
+    }
+
+    /**
+     * Get forward citations from patents issued after {@code afterCitingPatentId}.
+     * Used to refresh stored citations without re-reading the full set.
+     */
+    public List<PatentsViewUSPatentCitation> getForwardCitationsSince(String patentId, String afterCitingPatentId) {
+        try {
+            String queryJson = queryBuilder.buildForwardCitationsSinceQuery(
+                    patentId, afterCitingPatentId, MAX_BATCH_RESULTS);
+
+            String responseJson = httpClient.post(US_PATENT_CITATION_ENDPOINT, queryJson);
+
+            PatentsViewUSPatentCitationResponse response =
+                    objectMapper.readValue(responseJson, PatentsViewUSPatentCitationResponse.class);
+
+            if (response.getUsPatentCitations() == null) {
+                return new ArrayList<>();
+            }
+
+            log.info("Found {} new forward citations for {} since {}",
+                    response.getUsPatentCitations().size(), patentId, afterCitingPatentId);
+            return response.getUsPatentCitations();
+
+        } catch (Exception e) {
+            throw failure("new forward citations", patentId, e);
+        }
+    }
+
+    /**
+     * Get backward citations of several patents in one query, paged until complete.
+     * Callers send at most {@link #MAX_BATCH_IDS} ids; results are grouped by citing {@code patent_id}.
+     */
+    @Override
+    public List<PatentsViewUSPatentCitation> getBackwardCitations(Collection<String> patentIds) {
+        return fetchBatch(patentIds, false);
+    }
+
+    /**
+     * Get forward citations of several patents in one query, paged until complete.
+     * Callers send at most {@link #MAX_BATCH_IDS} ids; results are grouped by {@code citation_patent_id}.
+     */
+    @Override
+    public List<PatentsViewUSPatentCitation> getForwardCitations(Collection<String> patentIds) {
+        return fetchBatch(patentIds, true);
+    }
+
+    /**
+     * Normalized PatentsView patent id, as returned in citation records
+     */
+    public String normalizePatentId(String patentId) {
+        return queryBuilder.normalizeToPatentId(patentId);
+    }
+
+    /**
+     * Reads every page of a batch query, following PatentsView's {@code after}
+     * cursor until a page comes back short. A failure on any page returns an
+     * empty list rather than a partial network that would then be cached.
+     */
+    private List<PatentsViewUSPatentCitation> fetchBatch(Collection<String> patentIds, boolean forward) {
+        String direction = forward ? "forward" : "backward";
+        List<String> ids = queryBuilder.batchPatentIds(patentIds);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<PatentsViewUSPatentCitation> citations = new ArrayList<>();
+        List<Object> after = null;
+        int pages = 0;
+        try {
+            while (true) {
+                String queryJson = forward
+                        ? queryBuilder.buildForwardCitationsBatchQuery(ids, MAX_BATCH_RESULTS, after)
+                        : queryBuilder.buildBackwardCitationsBatchQuery(ids, MAX_BATCH_RESULTS, after);
+                String responseJson = httpClient.post(US_PATENT_CITATION_ENDPOINT, queryJson);
+                pages++;
+
+                PatentsViewUSPatentCitationResponse response =
+                        objectMapper.readValue(responseJson, PatentsViewUSPatentCitationResponse.class);
+
+                List<PatentsViewUSPatentCitation> page = response.getUsPatentCitations();
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                citations.addAll(page);
+                if (page.size() < MAX_BATCH_RESULTS) {
+                    break;
+                }
+
+                List<Object> next = forward
+                        ? queryBuilder.forwardBatchCursor(page.getLast())
+                        : queryBuilder.backwardBatchCursor(page.getLast());
+                if (next.equals(after)) {
+                    throw new IllegalStateException("Citation page cursor did not advance past " + next);
+                }
+                after = next;
+            }
+
+            log.info("Found {} {} citations for a batch of {} patents in {} pages",
+                    citations.size(), direction, ids.size(), pages);
+            return citations;
+
+        } catch (Exception e) {
+            log.error("Error fetching {} citations for a batch of {} patents: {}",
+                    direction, ids.size(), e.getMessage());
             return new ArrayList<>();
         }
     }
@@ -110,11 +221,7 @@ public class PatentsViewCitationClient {
             return response;
 
         } catch (Exception e) {
-            log.error("Error fetching backward citations for {}: {}", patentId, e.getMessage());
-            PatentsViewUSPatentCitationResponse emptyResponse = new PatentsViewUSPatentCitationResponse();
-            emptyResponse.setUsPatentCitations(new ArrayList<>());
-            emptyResponse.setCount(0);
-            return emptyResponse;
+            throw failure("backward citations", patentId, e);
         }
     }
 
@@ -135,11 +242,7 @@ public class PatentsViewCitationClient {
             return response;
 
         } catch (Exception e) {
-            log.error("Error fetching forward citations for {}: {}", patentId, e.getMessage());
-            PatentsViewUSPatentCitationResponse emptyResponse = new PatentsViewUSPatentCitationResponse();
-            emptyResponse.setUsPatentCitations(new ArrayList<>());
-            emptyResponse.setCount(0);
-            return emptyResponse;
+            throw failure("forward citations", patentId, e);
         }
     }
 
@@ -165,11 +268,7 @@ public class PatentsViewCitationClient {
             return response;
 
         } catch (Exception e) {
-            log.error("Error fetching application citations: {}", e.getMessage());
-            PatentsViewUSApplicationCitationResponse emptyResponse = new PatentsViewUSApplicationCitationResponse();
-            emptyResponse.setUsApplicationCitations(new ArrayList<>());
-            emptyResponse.setCount(0);
-            return emptyResponse;
+            throw failure("application citations", patentId, e);
         }
     }
 
@@ -187,10 +286,7 @@ public class PatentsViewCitationClient {
 
             // Check if API returned error
             if (response.getError() != null && response.getError()) {
-                log.warn("API returned error for foreign citations query for patent: {}", patentId);
-                response.setForeignCitations(new ArrayList<>());
-                response.setCount(0);
-                return response;
+                throw new IllegalStateException("API returned error for foreign citations query");
             }
 
             if (response.getForeignCitations() == null) {
@@ -203,37 +299,55 @@ public class PatentsViewCitationClient {
             return response;
 
         } catch (Exception e) {
-            log.error("Error fetching foreign citations: {}", e.getMessage());
-            PatentsViewForeignCitationResponse emptyResponse = new PatentsViewForeignCitationResponse();
-            emptyResponse.setForeignCitations(new ArrayList<>());
-            emptyResponse.setCount(0);
-            return emptyResponse;
+            throw failure("foreign citations", patentId, e);
         }
     }
 
+    private static CitationFetchException failure(String what, String patentId, Exception e) {
+        log.error("Error fetching {} for {}: {}", what, patentId, e.getMessage());
+        return new CitationFetchException("Fetching " + what + " for " + patentId + " failed", e);
+    }
+
     /**
-     * Get ALL citations for a patent (for PatentCitationService - database storage)
+     * Get ALL citations for a patent (for PatentCitationService - database storage).
+     * A failed set is left null and its completeness flag unset, so callers
+     * can store what arrived without mistaking the gap for "no citations".
      */
     public AllCitationsResponse getAllCitations(String patentId) {
         log.info("Fetching all citations for patent: {}", patentId);
 
         AllCitationsResponse allCitations = new AllCitationsResponse();
+        boolean backwardComplete = true;
 
         // Backward US patent citations
-        PatentsViewUSPatentCitationResponse backward = getBackwardCitationsResponse(patentId);
-        allCitations.setBackwardUSPatentCitations(backward.getUsPatentCitations());
+        try {
+            allCitations.setBackwardUSPatentCitations(getBackwardCitationsResponse(patentId).getUsPatentCitations());
+        } catch (CitationFetchException e) {
+            backwardComplete = false;
+        }
 
         // Forward US patent citations
-        PatentsViewUSPatentCitationResponse forward = getForwardCitationsResponse(patentId);
-        allCitations.setForwardUSPatentCitations(forward.getUsPatentCitations());
+        try {
+            allCitations.setForwardUSPatentCitations(getForwardCitationsResponse(patentId).getUsPatentCitations());
+            allCitations.setForwardComplete(true);
+        } catch (CitationFetchException e) {
+            allCitations.setForwardComplete(false);
+        }
 
         // US application citations
-        PatentsViewUSApplicationCitationResponse applications = getApplicationCitations(patentId);
-        allCitations.setUsApplicationCitations(applications.getUsApplicationCitations());
+        try {
+            allCitations.setUsApplicationCitations(getApplicationCitations(patentId).getUsApplicationCitations());
+        } catch (CitationFetchException e) {
+            backwardComplete = false;
+        }
 
         // Foreign citations
-        PatentsViewForeignCitationResponse foreign = getForeignCitations(patentId);
-        allCitations.setForeignCitations(foreign.getForeignCitations());
+        try {
+            allCitations.setForeignCitations(getForeignCitations(patentId).getForeignCitations());
+        } catch (CitationFetchException e) {
+            backwardComplete = false;
+        }
+        allCitations.setBackwardComplete(backwardComplete);
 
         log.info("Total citations for {}: {} backward, {} forward",
                 patentId,
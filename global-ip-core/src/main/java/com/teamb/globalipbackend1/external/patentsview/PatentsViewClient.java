@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -28,6 +29,9 @@ public class PatentsViewClient {
     private final ObjectMapper objectMapper;
     private final PatentsViewProperties properties;
 
+    /** Patent ids sent in one batched detail query */
+    public static final int MAX_BATCH_PATENTS = 100;
+
     public PatentsViewClient(PatentsViewHttpClient httpClient, PatentsViewQueryBuilder queryBuilder, @Qualifier("jsonObjectMapper") ObjectMapper objectMapper, PatentsViewProperties properties) {
         this.httpClient = httpClient;
         this.queryBuilder = queryBuilder;
@@ -145,6 +149,42 @@ public class PatentsViewClient {
         }
     }
 
+    /**
+     * Get several patents in one request
+     *
+     * @param publicationNumbers Patent numbers; at most {@link #MAX_BATCH_PATENTS} per call
+     * @return Documents found, in no particular order
+     */
+    public List<PatentsViewResponseDocument> getPatentsByNumbers(Collection<String> publicationNumbers) {
+        if (publicationNumbers == null || publicationNumbers.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            log.info("Fetching patent details for a batch of {} patents", publicationNumbers.size());
+
+            String queryJson = queryBuilder.buildPatentBatchQuery(publicationNumbers);
+            String responseJson = httpClient.post(properties.apiUrl(), queryJson);
+
+            PatentsViewResponse response = objectMapper.readValue(
+                    responseJson,
+                    PatentsViewResponse.class
+            );
+
+            if (response.isError()) {
+                log.error("PatentsView API returned error for patent batch");
+                return Collections.emptyList();
+            }
+
+            List<PatentsViewResponseDocument> documents = response.getResponseDocuments();
+            return documents != null ? documents : Collections.emptyList();
+
+        } catch (Exception e) {
+            log.error("Failed to fetch patent batch of {}", publicationNumbers.size(), e);
+            throw new PatentsViewException("Failed to fetch patents by number", e);
+        }
+    }
+
     /**
      * Advanced search with multiple criteria (preserved from original implementation)
      */
@@ -2,6 +2,8 @@ package com.teamb.globalipbackend1.external.patentsview;
 
 import com.teamb.globalipbackend1.admin.audit.TrackApiUsage;
 import com.teamb.globalipbackend1.external.patentsview.config.PatentsViewProperties;
+import com.teamb.globalipbackend1.external.ratelimit.Upstream;
+import com.teamb.globalipbackend1.external.ratelimit.UpstreamRateLimiter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -17,14 +19,16 @@ public class PatentsViewHttpClient {
 
     private final String API_URL;
     private final String API_KEY;
+    private final UpstreamRateLimiter rateLimiter;
 
     private final HttpClient httpClient = HttpClient.newBuilder()
             .connectTimeout(Duration.ofSeconds(120))
             .build();
 
-    public PatentsViewHttpClient(PatentsViewProperties patentsViewProperties) {
+    public PatentsViewHttpClient(PatentsViewProperties patentsViewProperties, UpstreamRateLimiter rateLimiter) {
         this.API_URL = patentsViewProperties.apiUrl();
         this.API_KEY = patentsViewProperties.apiKey();
+        this.rateLimiter = rateLimiter;
         log.info("PatentsView API URL configured: {}", API_URL);
     }
 
@@ -50,6 +54,12 @@ public class PatentsViewHttpClient {
 
             log.info("API response status: {}", response.statusCode());
 
+            if (response.statusCode() == 429) {
+                rateLimiter.throttled(Upstream.PATENTSVIEW, response);
+            } else if (response.statusCode() == 200) {
+                rateLimiter.succeeded(Upstream.PATENTSVIEW);
+            }
+
             if (response.statusCode() != 200) {
                 log.error("API error response body: {}", response.body());
                 log.error("Failed request body: {}", jsonBody);
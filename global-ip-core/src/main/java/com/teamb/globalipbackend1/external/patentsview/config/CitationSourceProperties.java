@@ -0,0 +1,20 @@
+package com.teamb.globalipbackend1.external.patentsview.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "citation.source")
+@Data
+public class CitationSourceProperties {
+
+    /** Serve citations of already-ingested patents from the trends service database */
+    private boolean localEnabled = true;
+
+    /** How long the trends service's "newest ingested patent" is trusted */
+    private Duration snapshotTtl = Duration.ofMinutes(10);
+
+    /** Wait this long before asking again after the trends service was unreachable */
+    private Duration retryAfterFailure = Duration.ofMinutes(1);
+}
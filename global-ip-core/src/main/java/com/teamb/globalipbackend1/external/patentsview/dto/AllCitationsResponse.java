@@ -12,6 +12,10 @@ public class AllCitationsResponse {
     private List<PatentsViewUSPatentCitation> forwardUSPatentCitations;
     private List<PatentsViewUSApplicationCitation> usApplicationCitations;
     private List<PatentsViewForeignCitation> foreignCitations;
+    /** Backward US patent, application and foreign citations all fetched */
+    private boolean backwardComplete;
+    /** Forward citations fetched */
+    private boolean forwardComplete;
 
     public int getTotalBackwardCount() {
         return (backwardUSPatentCitations != null ? backwardUSPatentCitations.size() : 0)
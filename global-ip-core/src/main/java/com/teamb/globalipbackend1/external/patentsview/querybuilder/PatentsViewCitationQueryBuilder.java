@@ -1,16 +1,29 @@
 package com.teamb.globalipbackend1.external.patentsview.querybuilder;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.teamb.globalipbackend1.external.patentsview.dto.PatentsViewUSPatentCitation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
 @Component
 @Slf4j
 public class PatentsViewCitationQueryBuilder {
 
     private final ObjectMapper mapper = new ObjectMapper();
 
+    private static final Pattern VALID_PATENT_ID = Pattern.compile("^\\d{7,8}[A-Z]?\\d?$");
+
+    private static final List<String> BACKWARD_BATCH_SORT = List.of("patent_id", "citation_sequence");
+    private static final List<String> FORWARD_BATCH_SORT = List.of("citation_patent_id", "patent_id", "citation_sequence");
+
     /**
      * Build query to get backward citations (what THIS patent cites)
      * Query by patent_id to get patents that THIS patent cites
@@ -87,6 +100,123 @@ public class PatentsViewCitationQueryBuilder {
     }
 
 
+    /**
+     * Build query for forward citations from patents newer than {@code afterCitingPatentId}.
+     * Utility patent numbers are issued in order, so the newest citing patent
+     * seen so far is a watermark for citations added since.
+     */
+    public String buildForwardCitationsSinceQuery(String patentId, String afterCitingPatentId, int size) {
+        String normalizedId = normalizeToPatentId(patentId);
+
+        ObjectNode root = mapper.createObjectNode();
+
+        // q: { _and: [ { citation_patent_id: "10004582" }, { _gt: { patent_id: "11500000" } } ] }
+        ArrayNode and = mapper.createArrayNode();
+        and.add(mapper.createObjectNode().put("citation_patent_id", normalizedId));
+        and.add(mapper.createObjectNode().set("_gt",
+                mapper.createObjectNode().put("patent_id", normalize(afterCitingPatentId))));
+        root.set("q", mapper.createObjectNode().set("_and", and));
+
+        root.putArray("f")
+                .add("patent_id")
+                .add("citation_patent_id")
+                .add("citation_sequence")
+                .add("citation_category")
+                .add("citation_date");
+
+        root.putObject("o")
+                .put("size", size);
+
+        root.putArray("s")
+                .add(mapper.createObjectNode().put("patent_id", "asc"))
+                .add(mapper.createObjectNode().put("citation_sequence", "asc"));
+
+        String queryJson = root.toString();
+        log.debug("Forward citations since {} query JSON: {}", afterCitingPatentId, queryJson);
+        return queryJson;
+    }
+
+    /**
+     * Normalized ids that can go into a batch query, without duplicates.
+     * Ids that are not utility patents (e.g. reissues) are left out, not failed.
+     */
+    public List<String> batchPatentIds(Collection<String> patentIds) {
+        return patentIds.stream()
+                .filter(Objects::nonNull)
+                .map(PatentsViewCitationQueryBuilder::normalize)
+                .filter(id -> VALID_PATENT_ID.matcher(id).matches())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Build one query for the backward citations of several patents.
+     * An array value is matched as {@code _in}: any of the listed patent ids.
+     *
+     * @param after sort values of the last citation on the previous page, or {@code null} for the first page
+     */
+    public String buildBackwardCitationsBatchQuery(Collection<String> patentIds, int size, List<Object> after) {
+        return buildBatchQuery("patent_id", BACKWARD_BATCH_SORT, patentIds, size, after);
+    }
+
+    /**
+     * Build one query for the forward citations of several patents
+     *
+     * @param after sort values of the last citation on the previous page, or {@code null} for the first page
+     */
+    public String buildForwardCitationsBatchQuery(Collection<String> patentIds, int size, List<Object> after) {
+        return buildBatchQuery("citation_patent_id", FORWARD_BATCH_SORT, patentIds, size, after);
+    }
+
+    /**
+     * Cursor for the page after {@code last} in a backward batch query
+     */
+    public List<Object> backwardBatchCursor(PatentsViewUSPatentCitation last) {
+        return Arrays.asList(last.getPatentId(), last.getCitationSequence());
+    }
+
+    /**
+     * Cursor for the page after {@code last} in a forward batch query
+     */
+    public List<Object> forwardBatchCursor(PatentsViewUSPatentCitation last) {
+        return Arrays.asList(last.getCitationPatentId(), last.getPatentId(), last.getCitationSequence());
+    }
+
+    private String buildBatchQuery(
+            String field,
+            List<String> sort,
+            Collection<String> patentIds,
+            int size,
+            List<Object> after
+    ) {
+        ObjectNode root = mapper.createObjectNode();
+
+        ArrayNode ids = mapper.createArrayNode();
+        batchPatentIds(patentIds).forEach(ids::add);
+        root.set("q", mapper.createObjectNode().set(field, ids));
+
+        root.putArray("f")
+                .add("patent_id")
+                .add("citation_patent_id")
+                .add("citation_sequence")
+                .add("citation_category")
+                .add("citation_date");
+
+        // Paging with "after" needs a sort that is unique per citation
+        ObjectNode options = root.putObject("o")
+                .put("size", size);
+        if (after != null) {
+            options.set("after", mapper.valueToTree(after));
+        }
+
+        ArrayNode sortNode = root.putArray("s");
+        sort.forEach(f -> sortNode.add(mapper.createObjectNode().put(f, "asc")));
+
+        String queryJson = root.toString();
+        log.debug("Batch citations query on {} for {} patents: {}", field, ids.size(), queryJson);
+        return queryJson;
+    }
+
     /**
      * Build query for US application citations
      */
@@ -149,23 +279,15 @@ public class PatentsViewCitationQueryBuilder {
     /**
      * Normalize patent ID (remove US prefix, hyphens, spaces)
      */
-    private String normalizeToPatentId(String input) {
+    public String normalizeToPatentId(String input) {
         if (input == null || input.isBlank()) {
             throw new IllegalArgumentException("Patent number cannot be empty");
         }
 
-        String n = input.trim().toUpperCase();
-
-        // Remove "US" prefix if present
-        if (n.startsWith("US")) {
-            n = n.substring(2);
-        }
-
-        // Remove hyphens and spaces
-        n = n.replaceAll("[-\\s]", "");
+        String n = normalize(input);
 
         // Validate format
-        if (!n.matches("^\\d{7,8}[A-Z]?\\d?$")) {
+        if (!VALID_PATENT_ID.matcher(n).matches()) {
             log.warn("Invalid patent format: {} -> normalized to: {}", input, n);
             throw new IllegalArgumentException(
                     "Invalid patent format: " + input +
@@ -176,4 +298,16 @@ public class PatentsViewCitationQueryBuilder {
         log.debug("Normalized patent ID: {} -> {}", input, n);
         return n;
     }
-}
\ No newline at end of file
+
+    private static String normalize(String input) {
+        String n = input.trim().toUpperCase();
+
+        // Remove "US" prefix if present
+        if (n.startsWith("US")) {
+            n = n.substring(2);
+        }
+
+        // Remove hyphens and spaces
+        return n.replaceAll("[-\\s]", "");
+    }
+}
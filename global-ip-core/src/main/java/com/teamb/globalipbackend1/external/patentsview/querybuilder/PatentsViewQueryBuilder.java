@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Component
@@ -151,6 +152,46 @@ public class PatentsViewQueryBuilder {
         return root.toString();
     }
 
+    /**
+     * Build one query for several patents by ID (array value = any of the ids)
+     */
+    public String buildPatentBatchQuery(Collection<String> publicationNumbers) {
+        ObjectNode root = mapper.createObjectNode();
+
+        // Ids PatentsView cannot match (e.g. design or reissue numbers) are skipped
+        ArrayNode ids = mapper.createArrayNode();
+        publicationNumbers.stream()
+                .filter(id -> id != null && isPatentId(id))
+                .map(this::normalizeToPatentId)
+                .distinct()
+                .forEach(ids::add);
+
+        ObjectNode queryRoot = mapper.createObjectNode();
+        queryRoot.set("patent_id", ids);
+        root.set("q", queryRoot);
+
+        ArrayNode fields = root.putArray("f");
+        fields.add("patent_id");
+        fields.add("patent_title");
+        fields.add("patent_date");
+        fields.add("patent_earliest_application_date");
+        fields.add("assignees.assignee_organization");
+        fields.add("inventors.inventor_name_first");
+        fields.add("inventors.inventor_name_last");
+        fields.add("cpc_current.cpc_class");
+        fields.add("cpc_current.cpc_subclass");
+        fields.add("cpc_current.cpc_group");
+        fields.add("ipcr.ipc_class");
+        fields.add("wipo_kind");
+        fields.add("patent_num_times_cited_by_us_patents");
+        fields.add("patent_num_total_documents_cited");
+
+        ObjectNode options = root.putObject("o");
+        options.put("size", ids.size());
+
+        return root.toString();
+    }
+
     /**
      * Original advanced search query
      */
@@ -252,6 +293,15 @@ public class PatentsViewQueryBuilder {
         return root.toString();
     }
 
+    private boolean isPatentId(String input) {
+        try {
+            normalizeToPatentId(input);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     private String normalizeToPatentId(String input) {
         String n = input.trim().toUpperCase();
 
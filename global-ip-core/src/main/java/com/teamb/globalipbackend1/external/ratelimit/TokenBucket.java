@@ -0,0 +1,108 @@
+package com.teamb.globalipbackend1.external.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket whose rate adapts to upstream feedback.
+ *
+ * Callers reserve permits up front and sleep off any deficit outside the
+ * lock, so waiting callers are released at the bucket rate in arrival order.
+ * A throttling response halves the rate (down to a floor) and pauses the
+ * bucket; every successful call wins back a small step towards the
+ * configured rate.
+ */
+public final class TokenBucket {
+
+    private static final double RECOVERY_STEPS = 50;
+
+    private double maxRate;
+    private double minRate;
+    private final double capacity;
+    private final LongSupplier nanoClock;
+
+    private double rate;
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+
+    public TokenBucket(double requestsPerSecond, double burst) {
+        this(requestsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double requestsPerSecond, double burst, LongSupplier nanoClock) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive");
+        }
+        this.maxRate = requestsPerSecond;
+        this.minRate = requestsPerSecond / 8;
+        this.capacity = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.rate = requestsPerSecond;
+        this.tokens = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+        this.pausedUntil = lastRefill;
+    }
+
+    /** Block until {@code permits} tokens are available */
+    public void acquire(int permits) throws InterruptedException {
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /** Take the permits now, going into debt if needed; @return nanoseconds to wait before using them */
+    synchronized long reserve(int permits) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        tokens -= permits;
+        long deficitWait = tokens >= 0 ? 0 : (long) (-tokens / rate * 1_000_000_000L);
+        // Tokens only start accruing again once a pause is over
+        return Math.max(0, pausedUntil - now) + deficitWait;
+    }
+
+    /** The upstream said slow down: halve the rate and pause for {@code pauseNanos} */
+    public synchronized void throttled(long pauseNanos) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        rate = Math.max(minRate, rate / 2);
+        tokens = Math.min(tokens, 0);
+        pausedUntil = Math.max(pausedUntil, now + pauseNanos);
+    }
+
+    public synchronized void succeeded() {
+        if (rate < maxRate) {
+            refill(nanoClock.getAsLong());
+            rate = Math.min(maxRate, rate + maxRate / RECOVERY_STEPS);
+        }
+    }
+
+    /**
+     * Change the configured rate, e.g. when the cluster budget is split
+     * across a different number of nodes. A throttled rate keeps its
+     * proportion of the configured one.
+     */
+    public synchronized void setMaxRate(double requestsPerSecond) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive");
+        }
+        refill(nanoClock.getAsLong());
+        rate = rate * requestsPerSecond / maxRate;
+        maxRate = requestsPerSecond;
+        minRate = requestsPerSecond / 8;
+    }
+
+    public synchronized double currentRate() {
+        return rate;
+    }
+
+    private void refill(long now) {
+        // Nothing accrues while paused
+        long from = Math.max(lastRefill, pausedUntil);
+        if (now > from) {
+            tokens = Math.min(capacity, tokens + (now - from) / 1e9 * rate);
+        }
+        lastRefill = Math.max(lastRefill, now);
+    }
+}
@@ -0,0 +1,7 @@
+package com.teamb.globalipbackend1.external.ratelimit;
+
+public enum Upstream {
+    PATENTSVIEW,
+    /** EPO Open Patent Services */
+    EPO
+}
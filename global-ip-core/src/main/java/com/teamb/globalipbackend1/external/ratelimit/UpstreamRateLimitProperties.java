@@ -0,0 +1,32 @@
+package com.teamb.globalipbackend1.external.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "upstream.rate-limit")
+@Data
+public class UpstreamRateLimitProperties {
+
+    private Limit patentsview = new Limit(5, 5);
+
+    private Limit epo = new Limit(2, 4);
+
+    /** Pause after a throttling response that carries no Retry-After */
+    private Duration throttlePause = Duration.ofSeconds(10);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /** Sustained rate once the upstream stops pushing back */
+        private double requestsPerSecond;
+
+        /** Requests allowed back to back after an idle period */
+        private double burst;
+    }
+}
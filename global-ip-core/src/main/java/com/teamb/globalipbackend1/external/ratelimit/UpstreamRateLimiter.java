@@ -0,0 +1,91 @@
+package com.teamb.globalipbackend1.external.ratelimit;
+
+import com.teamb.globalipbackend1.scheduler.lease.ClusterMembership;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * One adaptive {@link TokenBucket} per upstream API. Background jobs acquire
+ * permits before calling out; the HTTP clients report throttling and
+ * successful responses so the buckets follow what the upstream allows.
+ *
+ * Configured rates are for the whole cluster: each node's buckets get an
+ * equal share, following the live node count from {@link ClusterMembership}.
+ */
+@Slf4j
+@Component
+public class UpstreamRateLimiter {
+
+    private final Map<Upstream, UpstreamRateLimitProperties.Limit> limits = new EnumMap<>(Upstream.class);
+    private final Map<Upstream, TokenBucket> buckets = new EnumMap<>(Upstream.class);
+    private final Duration throttlePause;
+    private final ClusterMembership membership;
+
+    private volatile int sharedBy = 1;
+
+    public UpstreamRateLimiter(UpstreamRateLimitProperties properties, ClusterMembership membership) {
+        limits.put(Upstream.PATENTSVIEW, properties.getPatentsview());
+        limits.put(Upstream.EPO, properties.getEpo());
+        limits.forEach((upstream, limit) -> buckets.put(upstream, bucket(limit)));
+        this.throttlePause = properties.getThrottlePause();
+        this.membership = membership;
+    }
+
+    public void acquire(Upstream upstream, int permits) throws InterruptedException {
+        shareAcross(membership.activeNodes());
+        buckets.get(upstream).acquire(permits);
+    }
+
+    public void throttled(Upstream upstream, HttpResponse<?> response) {
+        Duration pause = retryAfter(response);
+        TokenBucket bucket = buckets.get(upstream);
+        bucket.throttled(pause.toNanos());
+        log.warn("{} throttled (HTTP {}), pausing {} s, rate now {} req/s",
+                upstream, response.statusCode(), pause.toSeconds(), String.format("%.2f", bucket.currentRate()));
+    }
+
+    public void succeeded(Upstream upstream) {
+        buckets.get(upstream).succeeded();
+    }
+
+    public double currentRate(Upstream upstream) {
+        return buckets.get(upstream).currentRate();
+    }
+
+    private void shareAcross(int nodes) {
+        if (nodes == sharedBy) {
+            return;
+        }
+        synchronized (this) {
+            if (nodes == sharedBy) {
+                return;
+            }
+            limits.forEach((upstream, limit) ->
+                    buckets.get(upstream).setMaxRate(limit.getRequestsPerSecond() / nodes));
+            sharedBy = nodes;
+        }
+        log.info("Upstream rate limits shared by {} nodes", nodes);
+    }
+
+    private Duration retryAfter(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+                .flatMap(value -> {
+                    try {
+                        return Optional.of(Duration.ofSeconds(Long.parseLong(value.trim())));
+                    } catch (NumberFormatException e) {
+                        return Optional.empty();
+                    }
+                })
+                .orElse(throttlePause);
+    }
+
+    private static TokenBucket bucket(UpstreamRateLimitProperties.Limit limit) {
+        return new TokenBucket(limit.getRequestsPerSecond(), limit.getBurst());
+    }
+}
@@ -2,7 +2,9 @@ package com.teamb.globalipbackend1.external.trendsApi.client;
 
 
 
+import com.teamb.globalipbackend1.external.trendsApi.dto.request.CitationLookupRequest;
 import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.*;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.search.LocalSearchResultDto;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -22,6 +24,14 @@ public interface PatentTrendClient {
     List<CitationTrendDto> getTopCitedPatents(int limit);
     List<CitationMetricDto> getTopCitingPatents(int limit);
     List<CitationLagDto> getCitationLagTrend();
+    List<CitationRankDto> getTopInfluentialPatents(int limit);
+    List<CitationRankDto> getCitationRanks(List<String> patentIds);
+    CitationSimilarityDto getSimilarPatents(String patentId, String kind, int limit);
+    CitationLookupDto lookupCitations(CitationLookupRequest request);
+    CitationSnapshotDto getCitationSnapshot();
+
+    LocalSearchResultDto searchLocalPatents(String keyword, String assignee, String jurisdiction,
+                                            LocalDate filedFrom, LocalDate filedTo, int limit);
 
     List<TechnologyEvolutionDto> getTechnologyEvolution();
     List<TechnologyCrossoverDto> getTechnologyCrossovers(int minCount, int limit);
@@ -1,11 +1,14 @@
 package com.teamb.globalipbackend1.external.trendsApi.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.teamb.globalipbackend1.admin.audit.TrackApiUsage;
 import com.teamb.globalipbackend1.external.trendsApi.config.PatentAnalyticsServiceConfig;
+import com.teamb.globalipbackend1.external.trendsApi.dto.request.CitationLookupRequest;
 import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.*;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.search.LocalSearchResultDto;
 import com.teamb.globalipbackend1.external.trendsApi.exception.PatentServiceException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,9 +20,11 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -34,6 +39,9 @@ public class PatentsViewPatentTrendClientImpl implements PatentTrendClient {
     private final ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule());
 
+    /** Enrichment calls fail fast until then, after the trends service failed one */
+    private volatile Instant enrichmentUnavailableUntil = Instant.MIN;
+
 
     @Override
     @TrackApiUsage(service = "TRENDS", action = "TREND_FILING")
@@ -83,6 +91,68 @@ public class PatentsViewPatentTrendClientImpl implements PatentTrendClient {
         return get("/citations/lag", new TypeReference<>() {});
     }
 
+    @Override
+    @TrackApiUsage(service = "TRENDS", action = "TREND_CITATION_INFLUENCE")
+    public List<CitationRankDto> getTopInfluentialPatents(int limit) {
+        return get("/citations/influence?limit=" + limit, new TypeReference<>() {});
+    }
+
+    @Override
+    @TrackApiUsage(service = "TRENDS", action = "TREND_CITATION_RANKS")
+    public List<CitationRankDto> getCitationRanks(List<String> patentIds) {
+        // Ranks only size network nodes, so they get one short attempt
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder()
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(patentIds)));
+            List<CitationRankDto> ranks = enrichment("/citations/ranks", request, new TypeReference<>() {});
+            return ranks != null ? ranks : List.of();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(new PatentServiceException("Failed to write request", e));
+        }
+    }
+
+    @Override
+    @TrackApiUsage(service = "TRENDS", action = "TREND_CITATION_SIMILAR")
+    public CitationSimilarityDto getSimilarPatents(String patentId, String kind, int limit) {
+        // A patent outside the citation graph is a 404, answered as null rather than retried
+        return enrichment(
+                "/citations/" + patentId + "/similar?kind=" + kind + "&limit=" + limit,
+                HttpRequest.newBuilder().GET(),
+                new TypeReference<>() {}
+        );
+    }
+
+    @Override
+    @TrackApiUsage(service = "TRENDS", action = "TREND_CITATION_LOOKUP")
+    public CitationLookupDto lookupCitations(CitationLookupRequest request) {
+        return post("/citations/lookup", request, new TypeReference<>() {});
+    }
+
+    @Override
+    @TrackApiUsage(service = "TRENDS", action = "TREND_CITATION_SNAPSHOT")
+    public CitationSnapshotDto getCitationSnapshot() {
+        return get("/citations/snapshot", new TypeReference<>() {});
+    }
+
+    @Override
+    @TrackApiUsage(service = "TRENDS", action = "TREND_LOCAL_SEARCH")
+    public LocalSearchResultDto searchLocalPatents(String keyword, String assignee, String jurisdiction,
+                                                   LocalDate filedFrom, LocalDate filedTo, int limit) {
+        String url = UriComponentsBuilder
+                .fromPath("/search")
+                .queryParamIfPresent("keyword", Optional.ofNullable(keyword))
+                .queryParamIfPresent("assignee", Optional.ofNullable(assignee))
+                .queryParamIfPresent("jurisdiction", Optional.ofNullable(jurisdiction))
+                .queryParamIfPresent("filedFrom", Optional.ofNullable(filedFrom))
+                .queryParamIfPresent("filedTo", Optional.ofNullable(filedTo))
+                .queryParam("limit", limit)
+                .encode()
+                .toUriString();
+
+        return get(url, new TypeReference<>() {});
+    }
+
     @Override
     @TrackApiUsage(service = "TRENDS", action = "TREND_PATENT_TYPE")
     public List<PatentTypeDto> getPatentTypeDistribution() {
@@ -208,6 +278,38 @@ public class PatentsViewPatentTrendClientImpl implements PatentTrendClient {
         });
     }
 
+    /**
+     * One attempt with {@code enrichment-timeout} for data that only decorates
+     * a response. A 404 is an answer and yields {@code null}; any other failure
+     * trips a breaker so later calls fail fast for {@code enrichment-retry-after-failure}.
+     */
+    private <T> T enrichment(String path, HttpRequest.Builder request, TypeReference<T> typeRef) {
+        if (Instant.now().isBefore(enrichmentUnavailableUntil)) {
+            throw new RuntimeException(new PatentServiceException("Trends service unavailable, skipped " + path, null));
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(request
+                            .uri(buildUri(path))
+                            .timeout(config.getEnrichmentTimeout())
+                            .header("X-SERVICE-KEY", config.getServiceApiKey())
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 404) {
+                return null;
+            }
+            return handleResponse(response, typeRef);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(new PatentServiceException("Interrupted calling " + path, e));
+        } catch (Exception e) {
+            enrichmentUnavailableUntil = Instant.now().plus(config.getEnrichmentRetryAfterFailure());
+            log.warn("Trends service failed {}, skipping enrichment for {}: {}",
+                    path, config.getEnrichmentRetryAfterFailure(), e.getMessage());
+            throw new RuntimeException(new PatentServiceException("Enrichment failed for " + path, e));
+        }
+    }
+
     private <T> CompletableFuture<T> getAsync(String path, TypeReference<T> typeRef) {
         URI uri = buildUri(path);
 
@@ -6,6 +6,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 
 
 @ConfigurationProperties(prefix = "patent-analytics")
@@ -16,6 +18,10 @@ public class PatentAnalyticsServiceConfig {
     private int timeout;
     private int maxRetries ;
     private String serviceApiKey;
+    /** Timeout of the single attempt made for optional enrichment (citation ranks and similarity) */
+    private Duration enrichmentTimeout = Duration.ofSeconds(2);
+    /** Enrichment calls are skipped for this long after one fails */
+    private Duration enrichmentRetryAfterFailure = Duration.ofMinutes(1);
 
 
     @PostConstruct
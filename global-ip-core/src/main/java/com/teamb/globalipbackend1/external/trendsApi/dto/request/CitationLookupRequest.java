@@ -0,0 +1,12 @@
+package com.teamb.globalipbackend1.external.trendsApi.dto.request;
+
+import java.util.List;
+
+/**
+ * @param direction BACKWARD (citations made) or FORWARD (citations received)
+ */
+public record CitationLookupRequest(
+        List<String> patentIds,
+        String direction,
+        Integer limit
+) {}
@@ -0,0 +1,8 @@
+package com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview;
+
+import java.util.List;
+
+public record CitationLookupDto(
+        List<CitationRecordDto> citations,
+        boolean truncated
+) {}
@@ -0,0 +1,14 @@
+package com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview;
+
+import java.time.Instant;
+
+public record CitationRankDto(
+        String patentId,
+        double pagerank,
+        long rankPosition,
+        double percentile,
+        int coreNumber,
+        int citedByCount,
+        int citesCount,
+        Instant computedAt
+) {}
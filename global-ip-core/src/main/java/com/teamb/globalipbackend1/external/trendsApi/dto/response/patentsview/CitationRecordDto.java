@@ -0,0 +1,10 @@
+package com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview;
+
+import java.time.LocalDate;
+
+public record CitationRecordDto(
+        String patentId,
+        String citationPatentId,
+        LocalDate citationDate,
+        String citationCategory
+) {}
@@ -0,0 +1,11 @@
+package com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview;
+
+import java.util.List;
+
+public record CitationSimilarityDto(
+        String patentId,
+        String kind,
+        List<SimilarPatentDto> neighbors,
+        boolean precomputed,
+        boolean truncated
+) {}
@@ -0,0 +1,13 @@
+package com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Newest patent in the trends service's bulk data
+ */
+public record CitationSnapshotDto(
+        String latestPatentId,
+        LocalDate latestGrantDate,
+        Instant checkedAt
+) {}
@@ -0,0 +1,7 @@
+package com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview;
+
+public record SimilarPatentDto(
+        String patentId,
+        int sharedCitations,
+        double score
+) {}
@@ -0,0 +1,11 @@
+package com.teamb.globalipbackend1.external.trendsApi.dto.response.search;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record LocalSearchResultDto(
+        List<LocalSearchHitDto> hits,
+        int totalMatches,
+        int indexedDocuments,
+        LocalDate indexedThrough
+) {}
@@ -0,0 +1,47 @@
+package com.teamb.globalipbackend1.model.cache;
+
+import com.teamb.globalipbackend1.cache.CacheBusEventType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cache_bus_message", indexes = {
+        @Index(name = "idx_cache_bus_created", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class CacheBusMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_name", nullable = false, length = 100)
+    private String cacheName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 10)
+    private CacheBusEventType eventType;
+
+    @Column(name = "cache_key", length = 1000)
+    private String cacheKey;
+
+    @Column(name = "payload", length = 1_048_576)
+    private byte[] payload;
+
+    @Column(name = "origin_node", nullable = false, length = 64)
+    private String originNode;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,45 @@
+package com.teamb.globalipbackend1.model.cache;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A hot cached call, persisted so caches can be warmed right after a restart.
+ */
+@Entity
+@Table(name = "cache_warmup_entry", indexes = {
+        @Index(name = "idx_cache_warmup_count", columnList = "hit_count")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class CacheWarmupEntry {
+
+    /** SHA-256 of the normalized call */
+    @Id
+    @Column(name = "warm_key", length = 64)
+    private String warmKey;
+
+    @Column(name = "bean_class", nullable = false, length = 255)
+    private String beanClass;
+
+    @Column(name = "method_name", nullable = false, length = 100)
+    private String methodName;
+
+    /** Comma separated parameter class names */
+    @Column(name = "param_types", nullable = false, length = 1000)
+    private String paramTypes;
+
+    @Column(name = "args_json", nullable = false, length = 4000)
+    private String argsJson;
+
+    @Column(name = "hit_count", nullable = false)
+    private long hitCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
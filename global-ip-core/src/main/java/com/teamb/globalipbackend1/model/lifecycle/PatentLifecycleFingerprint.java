@@ -0,0 +1,72 @@
+package com.teamb.globalipbackend1.model.lifecycle;
+
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last lifecycle seen upstream for a tracked patent, reduced to a hash of
+ * status and key dates. Kept once per patent so the hourly check can skip
+ * per-user comparisons when nothing changed.
+ *
+ * {@code nextCheckAt} makes the table the polling queue: a run only picks
+ * up patents that are due, most overdue first, and {@code shardKey} lets
+ * each run shard select only its own patents.
+ */
+@Entity
+@Table(name = "patent_lifecycle_fingerprints", indexes = {
+        @Index(name = "idx_patent_lifecycle_next_check", columnList = "next_check_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class PatentLifecycleFingerprint {
+
+    @Id
+    @Column(name = "patent_id")
+    private String patentId;
+
+    @Column(name = "fingerprint", nullable = false)
+    private long fingerprint;
+
+    /** When a check last saw the fingerprint change; null until it has */
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+
+    /** Last successful check */
+    @Column(name = "checked_at", nullable = false)
+    private LocalDateTime checkedAt;
+
+    @Column(name = "next_check_at", nullable = false)
+    private LocalDateTime nextCheckAt;
+
+    /** {@link JobCoordinator#shardKey} of the patent id; null on rows written before it existed */
+    @Column(name = "shard_key")
+    private Integer shardKey;
+
+    public PatentLifecycleFingerprint(String patentId, long fingerprint, LocalDateTime changedAt,
+                                      LocalDateTime checkedAt, LocalDateTime nextCheckAt) {
+        this.patentId = patentId;
+        this.fingerprint = fingerprint;
+        this.changedAt = changedAt;
+        this.checkedAt = checkedAt;
+        this.nextCheckAt = nextCheckAt;
+        this.shardKey = JobCoordinator.shardKey(patentId);
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void assignShardKey() {
+        shardKey = JobCoordinator.shardKey(patentId);
+    }
+}
@@ -0,0 +1,30 @@
+package com.teamb.globalipbackend1.model.lifecycle;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A day whose renewal reminders were all sent. The next run covers the
+ * marks passed since the latest one, so a missed day is caught up.
+ */
+@Entity
+@Table(name = "renewal_reminder_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenewalReminderRun {
+
+    @Id
+    @Column(name = "run_date")
+    private LocalDate runDate;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
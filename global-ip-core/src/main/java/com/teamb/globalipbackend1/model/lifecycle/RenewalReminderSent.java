@@ -0,0 +1,44 @@
+package com.teamb.globalipbackend1.model.lifecycle;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A renewal reminder that went out for one mark of one expiration date, so
+ * a run repeating days already covered does not send it again.
+ */
+@Entity
+@Table(name = "renewal_reminders_sent", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_renewal_reminder_sent",
+                columnNames = {"user_id", "patent_id", "expiration_date", "reminder_days"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenewalReminderSent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "patent_id", nullable = false)
+    private String patentId;
+
+    @Column(name = "expiration_date", nullable = false)
+    private LocalDate expirationDate;
+
+    /** The reminder mark, in days before expiration */
+    @Column(name = "reminder_days", nullable = false)
+    private int reminderDays;
+
+    @Column(name = "sent_at", nullable = false)
+    private LocalDateTime sentAt;
+}
@@ -3,6 +3,7 @@ package com.teamb.globalipbackend1.model.lifecycle;
 import jakarta.persistence.Column;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.*;
 
@@ -10,7 +11,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_patent_lifecycle")
+@Table(
+        name = "user_patent_lifecycle",
+        indexes = @Index(name = "idx_user_patent_lifecycle_expiration", columnList = "expiration_date")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,17 @@
+package com.teamb.globalipbackend1.model.notification;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Kind of per-user notification that can be rolled up into a digest, with
+ * the queue it is sent to when delivered on its own.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DigestChannel {
+    PATENT_EVENTS("/queue/patent-events"),
+    COMPETITOR_FILINGS("/queue/competitor-filings");
+
+    private final String destination;
+}
@@ -0,0 +1,53 @@
+package com.teamb.globalipbackend1.model.notification;
+
+import com.teamb.globalipbackend1.model.subscription.AlertFrequency;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification held back for a user's daily or weekly digest.
+ */
+@Entity
+@Table(name = "notification_digest_entries", indexes = {
+        @Index(name = "idx_notification_digest_frequency_user", columnList = "frequency, user_id, id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DigestEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AlertFrequency frequency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private DigestChannel channel;
+
+    /** Patent id or competitor code */
+    @Column(name = "subject_id", nullable = false)
+    private String subjectId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(length = 20)
+    private String severity;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,46 @@
+package com.teamb.globalipbackend1.model.notification;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification as it was sent to a user, kept so a client that missed it
+ * can replay it after reconnecting.
+ */
+@Entity
+@Table(
+        name = "notification_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_outbox_user_seq", columnNames = {"user_id", "seq"}),
+        indexes = @Index(name = "idx_notification_outbox_created", columnList = "created_at")
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    /** Per-user, increasing without gaps */
+    @Column(nullable = false)
+    private long seq;
+
+    /** User queue the notification went to, e.g. /queue/patent-events */
+    @Column(nullable = false, length = 100)
+    private String destination;
+
+    /** Message body as JSON */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.teamb.globalipbackend1.model.notification;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Last outbox sequence number handed out to a user. Incrementing the row
+ * locks it until the outbox entry commits, so a user's entries become
+ * visible in sequence order even when several nodes write for them.
+ */
+@Entity
+@Table(name = "notification_sequences")
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationSequence {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Column(name = "last_seq", nullable = false)
+    private long lastSeq;
+}
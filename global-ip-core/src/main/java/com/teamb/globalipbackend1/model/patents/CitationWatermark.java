@@ -0,0 +1,40 @@
+package com.teamb.globalipbackend1.model.patents;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far a patent's stored citations are known to be current.
+ * Backward citations never change once fetched; forward citations are
+ * refreshed from {@code newestCitingPatentNumber} onwards.
+ */
+@Entity
+@Table(name = "patent_citation_watermarks", indexes = {
+        @Index(name = "idx_citation_watermark_refreshed", columnList = "forward_refreshed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class CitationWatermark {
+
+    /** Patent number as used in patent_citations */
+    @Id
+    @Column(name = "patent_number")
+    private String patentNumber;
+
+    /** Last time every citation set was fetched; null until one full fetch succeeds */
+    @Column(name = "full_fetched_at")
+    private LocalDateTime fullFetchedAt;
+
+    /** Last time forward citations were checked; null until one forward fetch succeeds */
+    @Column(name = "forward_refreshed_at")
+    private LocalDateTime forwardRefreshedAt;
+
+    /** Highest citing patent number seen; null while the patent is uncited */
+    @Column(name = "newest_citing_patent_number")
+    private String newestCitingPatentNumber;
+}
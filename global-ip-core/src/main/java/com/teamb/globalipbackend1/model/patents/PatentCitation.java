@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
         indexes = {
                 @Index(name = "idx_citing_patent", columnList = "citing_patent_number"),
                 @Index(name = "idx_cited_patent", columnList = "cited_patent_number")
-        }
+        },
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_patent_citation_pair",
+                columnNames = {"citing_patent_number", "cited_patent_number", "citation_direction"}
+        )
 )
 @Data
 public class PatentCitation {
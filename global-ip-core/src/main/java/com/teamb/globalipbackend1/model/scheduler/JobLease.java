@@ -0,0 +1,37 @@
+package com.teamb.globalipbackend1.model.scheduler;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A time-bound claim on a scheduled job, or on one shard of a job's run,
+ * by one application node.
+ */
+@Entity
+@Table(name = "job_leases", indexes = {
+        @Index(name = "idx_job_leases_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "name", length = 200)
+    private String name;
+
+    /** Node id of the current (or last) holder */
+    @Column(name = "holder", nullable = false)
+    private String holder;
+
+    @Column(name = "acquired_at", nullable = false)
+    private LocalDateTime acquiredAt;
+
+    /** Free for anyone to take from this time on */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
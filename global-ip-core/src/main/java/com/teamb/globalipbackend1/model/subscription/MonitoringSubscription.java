@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
                                 "status"
                         }
                 )
-        }
+        },
+        indexes = @Index(name = "idx_monitoring_subscriptions_type_status_user", columnList = "type, status, user_id")
 )
 @Getter @Setter
 @Builder
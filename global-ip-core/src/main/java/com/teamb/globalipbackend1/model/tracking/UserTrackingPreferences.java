@@ -1,5 +1,6 @@
 package com.teamb.globalipbackend1.model.tracking;
 
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,7 +10,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_tracking_preferences")
+@Table(
+        name = "user_tracking_preferences",
+        indexes = @Index(name = "idx_user_tracking_patent_user", columnList = "patent_id, user_id")
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -40,14 +44,20 @@ public class UserTrackingPreferences {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    /** {@link JobCoordinator#shardKey} of the patent id, for sharded tracking runs */
+    @Column(name = "shard_key")
+    private Integer shardKey;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        shardKey = JobCoordinator.shardKey(id.getPatentId());
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        shardKey = JobCoordinator.shardKey(id.getPatentId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.teamb.globalipbackend1.repository.cache;
+
+import com.teamb.globalipbackend1.model.cache.CacheBusMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface CacheBusMessageRepository extends JpaRepository<CacheBusMessage, Long> {
+
+    @Query("SELECT COALESCE(MAX(m.id), 0) FROM CacheBusMessage m")
+    long findMaxId();
+
+    List<CacheBusMessage> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+
+    List<CacheBusMessage> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM CacheBusMessage m WHERE m.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,22 @@
+package com.teamb.globalipbackend1.repository.cache;
+
+import com.teamb.globalipbackend1.model.cache.CacheWarmupEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CacheWarmupEntryRepository extends JpaRepository<CacheWarmupEntry, String> {
+
+    List<CacheWarmupEntry> findAllByOrderByHitCountDesc(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CacheWarmupEntry e WHERE e.updatedAt < :before")
+    int deleteStale(@Param("before") LocalDateTime before);
+}
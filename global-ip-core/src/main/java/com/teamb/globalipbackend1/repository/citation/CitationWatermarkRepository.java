@@ -0,0 +1,25 @@
+package com.teamb.globalipbackend1.repository.citation;
+
+import com.teamb.globalipbackend1.model.patents.CitationWatermark;
+import lombok.NonNull;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CitationWatermarkRepository
+        extends JpaRepository<@NonNull CitationWatermark, @NonNull String> {
+
+    /**
+     * Patents users track or have bookmarked from PatentsView; these are the
+     * ones whose forward citations are kept current
+     */
+    @Query("""
+            SELECT t.id.patentId FROM UserTrackingPreferences t
+            UNION
+            SELECT b.publicationNumber FROM BookmarkedPatentEntity b WHERE b.source = 'PATENTSVIEW'
+            """)
+    List<String> findFollowedPatentNumbers();
+}
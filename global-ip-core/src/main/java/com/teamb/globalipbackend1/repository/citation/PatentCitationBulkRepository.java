@@ -0,0 +1,23 @@
+package com.teamb.globalipbackend1.repository.citation;
+
+import com.teamb.globalipbackend1.model.patents.PatentCitation;
+
+import java.util.List;
+
+/**
+ * Batched writes for {@link PatentCitation}, which JPA cannot batch because
+ * ids are generated by the database.
+ */
+public interface PatentCitationBulkRepository {
+
+    /** Returned when the driver did not report how many rows were inserted */
+    int COUNT_UNKNOWN = -1;
+
+    /**
+     * Inserts the citations in JDBC batches. Citations already stored under
+     * the same (citing, cited, direction) key are skipped rather than failing the batch.
+     *
+     * @return number of rows inserted, or {@link #COUNT_UNKNOWN}
+     */
+    int insertAll(List<PatentCitation> citations);
+}
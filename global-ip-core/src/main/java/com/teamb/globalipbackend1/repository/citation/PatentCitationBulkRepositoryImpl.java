@@ -0,0 +1,106 @@
+package com.teamb.globalipbackend1.repository.citation;
+
+import com.teamb.globalipbackend1.model.patents.PatentCitation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+class PatentCitationBulkRepositoryImpl implements PatentCitationBulkRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String COLUMNS = """
+                (citing_patent_number, cited_patent_number, cited_patent_title, cited_patent_date,
+                 citation_sequence, citation_category, citation_direction, citation_type,
+                 citation_country, created_at, updated_at)
+            """;
+
+    private static final String VALUES = "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /*
+     * Two fetches of the same patent can race to store the same citations.
+     * Rows already stored under uk_patent_citation_pair are skipped, not failed.
+     */
+    private static final String POSTGRES_INSERT_SQL = "INSERT INTO patent_citations" + COLUMNS + VALUES
+            + " ON CONFLICT (citing_patent_number, cited_patent_number, citation_direction) DO NOTHING";
+
+    /* H2 has no ON CONFLICT outside PostgreSQL mode; MERGE would report updates as inserts */
+    private static final String H2_INSERT_SQL = "INSERT INTO patent_citations" + COLUMNS
+            + " SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM patent_citations"
+            + " WHERE citing_patent_number = ? AND cited_patent_number = ? AND citation_direction = ?)";
+
+    private static final String INSERT_SQL = "INSERT INTO patent_citations" + COLUMNS + VALUES;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile String insertSql;
+
+    @Override
+    public int insertAll(List<PatentCitation> citations) {
+        if (citations.isEmpty()) {
+            return 0;
+        }
+
+        String sql = insertSql();
+        boolean bindsKey = H2_INSERT_SQL.equals(sql);
+        int[][] counts = jdbcTemplate.batchUpdate(sql, citations, BATCH_SIZE, (ps, c) -> {
+            ps.setString(1, c.getCitingPatentNumber());
+            ps.setString(2, c.getCitedPatentNumber());
+            ps.setString(3, c.getCitedPatentTitle());
+            if (c.getCitedPatentDate() != null) {
+                ps.setDate(4, Date.valueOf(c.getCitedPatentDate()));
+            } else {
+                ps.setNull(4, Types.DATE);
+            }
+            if (c.getCitationSequence() != null) {
+                ps.setInt(5, c.getCitationSequence());
+            } else {
+                ps.setNull(5, Types.INTEGER);
+            }
+            ps.setString(6, c.getCitationCategory());
+            ps.setString(7, c.getCitationDirection() != null ? c.getCitationDirection().name() : null);
+            ps.setString(8, c.getCitationType().name());
+            ps.setString(9, c.getCitationCountry());
+            ps.setTimestamp(10, Timestamp.valueOf(c.getCreatedAt()));
+            ps.setTimestamp(11, Timestamp.valueOf(c.getUpdatedAt()));
+            if (bindsKey) {
+                ps.setString(12, c.getCitingPatentNumber());
+                ps.setString(13, c.getCitedPatentNumber());
+                ps.setString(14, c.getCitationDirection() != null ? c.getCitationDirection().name() : null);
+            }
+        });
+
+        // A driver may answer SUCCESS_NO_INFO (-2) for batched rows; that row may or may not be new
+        int inserted = 0;
+        for (int[] batch : counts) {
+            for (int n : batch) {
+                if (n < 0) {
+                    return COUNT_UNKNOWN;
+                }
+                inserted += n;
+            }
+        }
+        return inserted;
+    }
+
+    private String insertSql() {
+        String sql = insertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con ->
+                    con.getMetaData().getDatabaseProductName());
+            sql = switch (product == null ? "" : product) {
+                case "PostgreSQL" -> POSTGRES_INSERT_SQL;
+                case "H2" -> H2_INSERT_SQL;
+                default -> INSERT_SQL;
+            };
+            insertSql = sql;
+        }
+        return sql;
+    }
+}
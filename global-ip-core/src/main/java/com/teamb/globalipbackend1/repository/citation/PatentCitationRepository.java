@@ -4,19 +4,31 @@ import com.teamb.globalipbackend1.model.patents.CitationDirection;
 import com.teamb.globalipbackend1.model.patents.PatentCitation;
 import lombok.NonNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface PatentCitationRepository
-        extends JpaRepository<@NonNull PatentCitation,@NonNull Long> {
+        extends JpaRepository<@NonNull PatentCitation,@NonNull Long>, PatentCitationBulkRepository {
 
     boolean existsByCitingPatentNumberAndCitedPatentNumber(
             String citingPatentNumber,
             String citedPatentNumber
     );
 
+    /**
+     * (citing, cited, direction) of every stored citation touching the patent
+     */
+    @Query("""
+            SELECT c.citingPatentNumber, c.citedPatentNumber, c.citationDirection
+            FROM PatentCitation c
+            WHERE c.citingPatentNumber = :patentNumber OR c.citedPatentNumber = :patentNumber
+            """)
+    List<Object[]> findCitationKeysTouching(@Param("patentNumber") String patentNumber);
+
     List<PatentCitation> findByCitingPatentNumber(String citingPatentNumber);
 
     List<PatentCitation> findByCitedPatentNumber(String citedPatentNumber);
@@ -0,0 +1,15 @@
+package com.teamb.globalipbackend1.repository.notification;
+
+import com.teamb.globalipbackend1.model.notification.DigestEntry;
+import com.teamb.globalipbackend1.model.subscription.AlertFrequency;
+import lombok.NonNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface DigestEntryRepository extends JpaRepository<@NonNull DigestEntry, @NonNull Long> {
+
+    /** Oldest pending entries of one frequency, grouped by user */
+    List<DigestEntry> findByFrequencyOrderByUserIdAscIdAsc(AlertFrequency frequency, Pageable pageable);
+}
@@ -0,0 +1,35 @@
+package com.teamb.globalipbackend1.repository.notification;
+
+import com.teamb.globalipbackend1.model.notification.NotificationOutboxEntry;
+import lombok.NonNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationOutboxRepository extends JpaRepository<@NonNull NotificationOutboxEntry, @NonNull Long> {
+
+    List<NotificationOutboxEntry> findByUserIdAndSeqGreaterThanOrderBySeqAsc(String userId, long seq, Pageable pageable);
+
+    @Query("SELECT MIN(e.seq) FROM NotificationOutboxEntry e WHERE e.userId = :userId")
+    Long findOldestSeq(@Param("userId") String userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotificationOutboxEntry e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+
+    /** Keep only each user's newest {@code keep} entries */
+    @Transactional
+    @Modifying
+    @Query("""
+            DELETE FROM NotificationOutboxEntry e
+            WHERE e.seq <= (SELECT s.lastSeq FROM NotificationSequence s WHERE s.userId = e.userId) - :keep
+            """)
+    int deleteBeyondCount(@Param("keep") long keep);
+}
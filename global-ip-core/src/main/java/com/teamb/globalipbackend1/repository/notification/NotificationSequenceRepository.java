@@ -0,0 +1,29 @@
+package com.teamb.globalipbackend1.repository.notification;
+
+import com.teamb.globalipbackend1.model.notification.NotificationSequence;
+import lombok.NonNull;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface NotificationSequenceRepository extends JpaRepository<@NonNull NotificationSequence, @NonNull String> {
+
+    /** Runs in the caller's transaction and locks the row until it ends; 0 if the user has no row yet */
+    @Modifying
+    @Query("UPDATE NotificationSequence s SET s.lastSeq = s.lastSeq + 1 WHERE s.userId = :userId")
+    int increment(@Param("userId") String userId);
+
+    @Query("SELECT s.lastSeq FROM NotificationSequence s WHERE s.userId = :userId")
+    Optional<Long> findLastSeq(@Param("userId") String userId);
+
+    /** Create a user's row; fails with a key violation if another node created it first */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO notification_sequences (user_id, last_seq) VALUES (:userId, 0)", nativeQuery = true)
+    int insert(@Param("userId") String userId);
+}
@@ -0,0 +1,64 @@
+package com.teamb.globalipbackend1.repository.scheduler;
+
+import com.teamb.globalipbackend1.model.scheduler.JobLease;
+import lombok.NonNull;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease statements run in their own transactions, so a lost insert race
+ * never affects a transaction the calling job may have open.
+ */
+public interface JobLeaseRepository extends JpaRepository<@NonNull JobLease, @NonNull String> {
+
+    /** Take over an expired lease; 0 if the lease is missing or still held */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("""
+            UPDATE JobLease l SET l.holder = :holder, l.acquiredAt = :now, l.expiresAt = :until
+            WHERE l.name = :name AND l.expiresAt <= :now
+            """)
+    int takeOverExpired(
+            @Param("name") String name,
+            @Param("holder") String holder,
+            @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until
+    );
+
+    /** Create a lease; fails with a key violation if another node created it first */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = """
+            INSERT INTO job_leases (name, holder, acquired_at, expires_at)
+            VALUES (:name, :holder, :now, :until)
+            """, nativeQuery = true)
+    int insert(
+            @Param("name") String name,
+            @Param("holder") String holder,
+            @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until
+    );
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :until WHERE l.name = :name AND l.holder = :holder")
+    int holdUntil(
+            @Param("name") String name,
+            @Param("holder") String holder,
+            @Param("until") LocalDateTime until
+    );
+
+    @Query("SELECT COUNT(l) FROM JobLease l WHERE l.name LIKE CONCAT(:prefix, '%') AND l.expiresAt > :now")
+    long countHeld(@Param("prefix") String prefix, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JobLease l WHERE l.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
@@ -18,12 +18,27 @@ public interface MonitoringSubscriptionRepository
             SubscriptionStatus status
     );
 
+    List<MonitoringSubscription>
+    findByUserIdInAndTypeAndStatus(
+            Collection<String> userIds,
+            MonitoringType type,
+            SubscriptionStatus status
+    );
+
     List<MonitoringSubscription>
     findByTypeAndStatus(
             MonitoringType type,
             SubscriptionStatus status
     );
 
+    boolean existsByTypeAndStatus(MonitoringType type, SubscriptionStatus status);
+
+    boolean existsByTypeAndStatusAndTierIn(
+            MonitoringType type,
+            SubscriptionStatus status,
+            Collection<SubscriptionTier> tiers
+    );
+
     Collection<MonitoringSubscription> findByUserIdAndStatus(String userId, SubscriptionStatus subscriptionStatus);
     Optional<MonitoringSubscription> findByUserIdAndTypeAndTierAndAlertFrequencyAndEmailAlertsEnabledAndDashboardAlertsEnabledAndStatus(
             String userId,
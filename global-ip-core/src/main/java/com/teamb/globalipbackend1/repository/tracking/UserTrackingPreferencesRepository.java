@@ -1,11 +1,18 @@
 package com.teamb.globalipbackend1.repository.tracking;
 
+import com.teamb.globalipbackend1.model.subscription.MonitoringType;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
 import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferences;
 import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferencesId;
 import lombok.NonNull;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -38,4 +45,96 @@ public interface UserTrackingPreferencesRepository extends JpaRepository<@NonNul
     void deleteByIdUserIdAndIdPatentId(String userId, String patentId);
 
     long countByIdUserId(String userId);
-}
\ No newline at end of file
+
+    /**
+     * Next page of tracked patents after {@code afterPatentId} (keyset order)
+     * that at least one user with a subscription of the given type and status tracks
+     */
+    @Query("""
+            SELECT DISTINCT t.id.patentId FROM UserTrackingPreferences t
+            WHERE t.id.patentId > :afterPatentId
+              AND (:renewalsOnly = false OR t.trackRenewalsExpiry = true)
+              AND EXISTS (
+                  SELECT 1 FROM MonitoringSubscription s
+                  WHERE s.userId = t.id.userId AND s.type = :type AND s.status = :status
+              )
+            ORDER BY t.id.patentId
+            """)
+    List<String> findSubscribedPatentIdsAfter(
+            String afterPatentId,
+            MonitoringType type,
+            SubscriptionStatus status,
+            boolean renewalsOnly,
+            Pageable page
+    );
+
+    /**
+     * Tracking rows of subscribed users for the given patents
+     */
+    @Query("""
+            SELECT t FROM UserTrackingPreferences t
+            WHERE t.id.patentId IN :patentIds
+              AND (:renewalsOnly = false OR t.trackRenewalsExpiry = true)
+              AND EXISTS (
+                  SELECT 1 FROM MonitoringSubscription s
+                  WHERE s.userId = t.id.userId AND s.type = :type AND s.status = :status
+              )
+            ORDER BY t.id.patentId, t.id.userId
+            """)
+    List<UserTrackingPreferences> findSubscribedTrackers(
+            Collection<String> patentIds,
+            MonitoringType type,
+            SubscriptionStatus status,
+            boolean renewalsOnly
+    );
+
+    /**
+     * Subscribed patents of one run shard that have never been through a
+     * tracking check, in keyset order; they are due immediately
+     */
+    @Query("""
+            SELECT DISTINCT t.id.patentId FROM UserTrackingPreferences t
+            WHERE t.id.patentId > :afterPatentId
+              AND MOD(t.shardKey, :shards) = :shard
+              AND NOT EXISTS (SELECT 1 FROM PatentLifecycleFingerprint f WHERE f.patentId = t.id.patentId)
+              AND EXISTS (
+                  SELECT 1 FROM MonitoringSubscription s
+                  WHERE s.userId = t.id.userId AND s.type = :type AND s.status = :status
+              )
+            ORDER BY t.id.patentId
+            """)
+    List<String> findUnscheduledPatentIdsAfter(
+            String afterPatentId,
+            MonitoringType type,
+            SubscriptionStatus status,
+            int shard,
+            int shards,
+            Pageable page
+    );
+
+    /**
+     * Patents of tracking rows written before shard keys were stored
+     */
+    @Query("SELECT DISTINCT t.id.patentId FROM UserTrackingPreferences t WHERE t.shardKey IS NULL")
+    List<String> findPatentIdsWithoutShardKey(Pageable page);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserTrackingPreferences t SET t.shardKey = :shardKey WHERE t.id.patentId IN :patentIds")
+    int assignShardKey(Collection<String> patentIds, int shardKey);
+
+    /**
+     * (patent id, subscription tier) pairs of the subscribed users tracking
+     * the given patents
+     */
+    @Query("""
+            SELECT DISTINCT t.id.patentId, s.tier FROM UserTrackingPreferences t, MonitoringSubscription s
+            WHERE t.id.patentId IN :patentIds
+              AND s.userId = t.id.userId AND s.type = :type AND s.status = :status
+            """)
+    List<Object[]> findSubscriptionTiers(
+            Collection<String> patentIds,
+            MonitoringType type,
+            SubscriptionStatus status
+    );
+}
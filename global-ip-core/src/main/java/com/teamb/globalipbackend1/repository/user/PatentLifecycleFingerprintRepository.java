@@ -0,0 +1,73 @@
+package com.teamb.globalipbackend1.repository.user;
+
+import com.teamb.globalipbackend1.model.lifecycle.PatentLifecycleFingerprint;
+import com.teamb.globalipbackend1.model.subscription.MonitoringType;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
+import lombok.NonNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PatentLifecycleFingerprintRepository
+        extends JpaRepository<@NonNull PatentLifecycleFingerprint, @NonNull String> {
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE PatentLifecycleFingerprint f SET f.checkedAt = :checkedAt, f.nextCheckAt = :nextCheckAt
+            WHERE f.patentId IN :patentIds
+            """)
+    int markChecked(
+            @Param("patentIds") Collection<String> patentIds,
+            @Param("checkedAt") LocalDateTime checkedAt,
+            @Param("nextCheckAt") LocalDateTime nextCheckAt
+    );
+
+    /**
+     * Patents of one run shard that some subscribed user tracks whose next
+     * check is due by {@code now}, most overdue first, continuing after
+     * ({@code afterCheckAt}, {@code afterPatentId})
+     */
+    @Query("""
+            SELECT f FROM PatentLifecycleFingerprint f
+            WHERE f.nextCheckAt <= :now
+              AND MOD(f.shardKey, :shards) = :shard
+              AND (f.nextCheckAt > :afterCheckAt
+                   OR (f.nextCheckAt = :afterCheckAt AND f.patentId > :afterPatentId))
+              AND EXISTS (
+                  SELECT 1 FROM UserTrackingPreferences t, MonitoringSubscription s
+                  WHERE t.id.patentId = f.patentId
+                    AND s.userId = t.id.userId AND s.type = :type AND s.status = :status
+              )
+            ORDER BY f.nextCheckAt, f.patentId
+            """)
+    List<PatentLifecycleFingerprint> findDueAfter(
+            @Param("now") LocalDateTime now,
+            @Param("afterCheckAt") LocalDateTime afterCheckAt,
+            @Param("afterPatentId") String afterPatentId,
+            @Param("type") MonitoringType type,
+            @Param("status") SubscriptionStatus status,
+            @Param("shard") int shard,
+            @Param("shards") int shards,
+            Pageable page
+    );
+
+    /** Rows written before shard keys were stored */
+    @Query("SELECT f.patentId FROM PatentLifecycleFingerprint f WHERE f.shardKey IS NULL")
+    List<String> findPatentIdsWithoutShardKey(Pageable page);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PatentLifecycleFingerprint f SET f.shardKey = :shardKey WHERE f.patentId IN :patentIds")
+    int assignShardKey(
+            @Param("patentIds") Collection<String> patentIds,
+            @Param("shardKey") int shardKey
+    );
+}
@@ -0,0 +1,15 @@
+package com.teamb.globalipbackend1.repository.user;
+
+import com.teamb.globalipbackend1.model.lifecycle.RenewalReminderRun;
+import lombok.NonNull;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+
+public interface RenewalReminderRunRepository extends JpaRepository<@NonNull RenewalReminderRun, @NonNull LocalDate> {
+
+    /** Latest day whose reminders were all sent; null before the first run */
+    @Query("SELECT MAX(r.runDate) FROM RenewalReminderRun r")
+    LocalDate findLastRunDate();
+}
@@ -0,0 +1,8 @@
+package com.teamb.globalipbackend1.repository.user;
+
+import com.teamb.globalipbackend1.model.lifecycle.RenewalReminderSent;
+import lombok.NonNull;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RenewalReminderSentRepository extends JpaRepository<@NonNull RenewalReminderSent, @NonNull Long> {
+}
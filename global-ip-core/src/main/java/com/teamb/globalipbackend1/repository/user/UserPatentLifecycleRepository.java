@@ -1,14 +1,68 @@
 package com.teamb.globalipbackend1.repository.user;
 
+import com.teamb.globalipbackend1.dto.tracking.RenewalDueDto;
 import com.teamb.globalipbackend1.model.lifecycle.UserPatentLifecycle;
 import com.teamb.globalipbackend1.model.lifecycle.UserPatentLifecycleId;
+import com.teamb.globalipbackend1.model.subscription.MonitoringType;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionTier;
 import lombok.NonNull;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface UserPatentLifecycleRepository
         extends JpaRepository<@NonNull UserPatentLifecycle, @NonNull UserPatentLifecycleId> {
 
     List<UserPatentLifecycle> findByIdUserId(String  userId);
+
+    /**
+     * Stored lifecycles expiring between {@code from} and {@code to} that
+     * have had no reminder for the {@code reminderDays} mark yet, whose user tracks
+     * renewals with dashboard alerts on and holds an active subscription of
+     * one of {@code tiers}; keyset pages after ({@code afterUserId}, {@code afterPatentId}).
+     * A user holding several such subscriptions gets one row, carrying the
+     * alert frequency of the oldest one.
+     */
+    @Query("""
+            SELECT new com.teamb.globalipbackend1.dto.tracking.RenewalDueDto(
+                l.id.userId, l.id.patentId, l.expirationDate, s.alertFrequency
+            )
+            FROM UserPatentLifecycle l, MonitoringSubscription s
+            WHERE l.expirationDate BETWEEN :from AND :to
+              AND (l.id.userId > :afterUserId
+                   OR (l.id.userId = :afterUserId AND l.id.patentId > :afterPatentId))
+              AND NOT EXISTS (
+                  SELECT 1 FROM RenewalReminderSent r
+                  WHERE r.userId = l.id.userId AND r.patentId = l.id.patentId
+                    AND r.expirationDate = l.expirationDate AND r.reminderDays = :reminderDays
+              )
+              AND EXISTS (
+                  SELECT 1 FROM UserTrackingPreferences t
+                  WHERE t.id.userId = l.id.userId AND t.id.patentId = l.id.patentId
+                    AND t.trackRenewalsExpiry = true AND t.enableDashboardAlerts = true
+              )
+              AND s.userId = l.id.userId AND s.type = :type AND s.status = :status AND s.tier IN :tiers
+              AND NOT EXISTS (
+                  SELECT 1 FROM MonitoringSubscription o
+                  WHERE o.userId = s.userId AND o.type = :type AND o.status = :status AND o.tier IN :tiers
+                    AND o.id < s.id
+              )
+            ORDER BY l.id.userId, l.id.patentId
+            """)
+    List<RenewalDueDto> findRenewalsDue(
+            LocalDate from,
+            LocalDate to,
+            int reminderDays,
+            String afterUserId,
+            String afterPatentId,
+            MonitoringType type,
+            SubscriptionStatus status,
+            Collection<SubscriptionTier> tiers,
+            Pageable page
+    );
 }
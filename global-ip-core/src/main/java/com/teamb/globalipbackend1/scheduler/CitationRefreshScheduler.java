@@ -0,0 +1,124 @@
+package com.teamb.globalipbackend1.scheduler;
+
+import com.teamb.globalipbackend1.dto.citation.CitationStoreResult;
+import com.teamb.globalipbackend1.external.patentsview.PatentsViewCitationClient;
+import com.teamb.globalipbackend1.external.ratelimit.Upstream;
+import com.teamb.globalipbackend1.external.ratelimit.UpstreamRateLimiter;
+import com.teamb.globalipbackend1.model.patents.CitationWatermark;
+import com.teamb.globalipbackend1.repository.citation.CitationWatermarkRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import com.teamb.globalipbackend1.service.patent.citations.CitationRefreshProperties;
+import com.teamb.globalipbackend1.service.patent.citations.PatentCitationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps forward citations of tracked and bookmarked US patents current.
+ * Each patent costs one watermark-bounded upstream query; patents checked
+ * within {@code citation.refresh.min-interval} are skipped, stalest first.
+ * Requests are paced by the shared PatentsView rate limit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CitationRefreshScheduler {
+
+    /** Longest a node may hold the nightly refresh */
+    private static final Duration REFRESH_LEASE = Duration.ofHours(3);
+
+    /** Upstream requests of a first fetch: backward, forward, application and foreign citations */
+    private static final int FULL_FETCH_REQUESTS = 4;
+
+    private final CitationWatermarkRepository watermarkRepository;
+    private final PatentCitationService citationService;
+    private final PatentsViewCitationClient citationClient;
+    private final CitationRefreshProperties properties;
+    private final JobCoordinator jobCoordinator;
+    private final UpstreamRateLimiter rateLimiter;
+
+    @Scheduled(cron = "${citation.refresh.cron:0 30 2 * * *}")
+    public void refreshFollowedPatents() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!jobCoordinator.runExclusively("citation-refresh", REFRESH_LEASE, this::runRefresh)) {
+            log.info("citation-refresh is running on another node");
+        }
+    }
+
+    private void runRefresh() {
+        List<String> followed = watermarkRepository.findFollowedPatentNumbers().stream()
+                .filter(this::isUsPatent)
+                .distinct()
+                .toList();
+        if (followed.isEmpty()) {
+            return;
+        }
+
+        Map<String, CitationWatermark> watermarks = watermarkRepository.findAllById(followed).stream()
+                .collect(Collectors.toMap(CitationWatermark::getPatentNumber, Function.identity()));
+        LocalDateTime staleBefore = LocalDateTime.now().minus(properties.getMinInterval());
+
+        List<String> due = followed.stream()
+                .filter(id -> refreshedAt(watermarks.get(id)).isBefore(staleBefore))
+                .sorted(Comparator.comparing((String id) -> refreshedAt(watermarks.get(id))))
+                .limit(properties.getMaxPatentsPerRun())
+                .toList();
+
+        log.info("Citation refresh: {} followed patents, {} due", followed.size(), due.size());
+
+        int inserted = 0;
+        int failed = 0;
+        for (String patentId : due) {
+            // Patents with a complete first fetch only need the one forward query
+            CitationWatermark watermark = watermarks.get(patentId);
+            int permits = watermark != null && watermark.getFullFetchedAt() != null ? 1 : FULL_FETCH_REQUESTS;
+            try {
+                rateLimiter.acquire(Upstream.PATENTSVIEW, permits);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.info("Citation refresh interrupted");
+                break;
+            }
+            try {
+                CitationStoreResult result = citationService.fetchAndStoreCitations(patentId);
+                if (result.inserted() != null) {
+                    inserted += result.inserted();
+                }
+            } catch (Exception e) {
+                failed++;
+                log.warn("Citation refresh failed for {}: {}", patentId, e.getMessage());
+            }
+        }
+
+        log.info("Citation refresh done: {} patents, {} new citations, {} failures",
+                due.size(), inserted, failed);
+    }
+
+    /** Patents never fetched, or whose last fetch failed part-way, sort first */
+    private static LocalDateTime refreshedAt(CitationWatermark watermark) {
+        if (watermark == null || watermark.getFullFetchedAt() == null || watermark.getForwardRefreshedAt() == null) {
+            return LocalDateTime.MIN;
+        }
+        return watermark.getForwardRefreshedAt();
+    }
+
+    private boolean isUsPatent(String patentId) {
+        try {
+            citationClient.normalizePatentId(patentId);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
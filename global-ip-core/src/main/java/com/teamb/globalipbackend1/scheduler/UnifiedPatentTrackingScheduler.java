@@ -3,17 +3,25 @@ package com.teamb.globalipbackend1.scheduler;
 import com.teamb.globalipbackend1.dto.epo.EpoPatentDetailDto;
 import com.teamb.globalipbackend1.dto.lifecycle.ApplicationLifecycleDto;
 import com.teamb.globalipbackend1.external.patentsview.dto.PatentDetailDto;
-import com.teamb.globalipbackend1.model.subscription.MonitoringSubscription;
+import com.teamb.globalipbackend1.external.ratelimit.Upstream;
+import com.teamb.globalipbackend1.model.lifecycle.PatentLifecycleFingerprint;
 import com.teamb.globalipbackend1.model.subscription.MonitoringType;
 import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
 import com.teamb.globalipbackend1.model.subscription.SubscriptionTier;
 import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferences;
 import com.teamb.globalipbackend1.repository.subscription.MonitoringSubscriptionRepository;
-import com.teamb.globalipbackend1.repository.tracking.UserTrackingPreferencesRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
 import com.teamb.globalipbackend1.service.patent.detail.EpoDetailsService;
 import com.teamb.globalipbackend1.service.patent.detail.PatentsViewDetailsService;
+import com.teamb.globalipbackend1.service.patent.lifecycle.PatentLifecycleFingerprintService;
 import com.teamb.globalipbackend1.service.patent.lifecycle.PatentLifecyclePersistenceService;
 import com.teamb.globalipbackend1.service.tracking.PatentTrackingNotificationService;
+import com.teamb.globalipbackend1.service.tracking.RenewalReminderService;
+import com.teamb.globalipbackend1.service.tracking.TrackingProperties;
+import com.teamb.globalipbackend1.service.tracking.TrackingSchedulePolicy;
+import com.teamb.globalipbackend1.service.tracking.TrackingWorkPlanner;
+import com.teamb.globalipbackend1.service.tracking.TrackingWorkPlanner.PatentWork;
+import com.teamb.globalipbackend1.service.tracking.TrackingWorkerPool;
 import com.teamb.globalipbackend1.util.trackingUtil.PatentSourceDetector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,11 +29,18 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Unified scheduler that handles both USPTO and EPO patent tracking
@@ -36,17 +51,29 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UnifiedPatentTrackingScheduler {
 
-    private final UserTrackingPreferencesRepository trackingRepository;
+    /** Longest a node may hold a run (or shard) of these hourly / daily jobs */
+    private static final Duration RUN_LEASE = Duration.ofMinutes(55);
+
+    private final TrackingWorkPlanner workPlanner;
     private final PatentsViewDetailsService patentsViewDetailsService;
     private final EpoDetailsService epoDetailsService;
     private final PatentLifecyclePersistenceService lifecyclePersistenceService;
+    private final PatentLifecycleFingerprintService fingerprintService;
     private final PatentTrackingNotificationService notificationService;
     private final PatentSourceDetector sourceDetector;
     private final MonitoringSubscriptionRepository subscriptionRepository;
+    private final TrackingWorkerPool workerPool;
+    private final TrackingSchedulePolicy schedulePolicy;
+    private final RenewalReminderService renewalReminderService;
+    private final JobCoordinator jobCoordinator;
+    private final TrackingProperties trackingProperties;
 
     /**
      * Check for patent updates every hour
-     * Handles both USPTO and EPO patents with appropriate rate limiting
+     * Handles both USPTO and EPO patents; only patents whose next check is
+     * due are polled (see {@link TrackingSchedulePolicy}), and request rates
+     * are enforced by the per-upstream token buckets in the worker pool.
+     * The run is split into patent id shards that the nodes claim between them.
      */
     @Async
     @Scheduled(cron = "0 0 * * * ?") // Every hour
@@ -54,71 +81,25 @@ public class UnifiedPatentTrackingScheduler {
         log.info("Starting unified patent tracking check");
 
         try {
-
-            var activeSubs =
-                    subscriptionRepository.findByTypeAndStatus(
-                            MonitoringType.LEGAL_STATUS,
-                            SubscriptionStatus.ACTIVE
-                    );
-
-            if (activeSubs.isEmpty()) {
-                log.info("No active LEGAL_STATUS subscriptions. Skipping scheduler.");
+            if (!subscriptionRepository.existsByTypeAndStatusAndTierIn(
+                    MonitoringType.LEGAL_STATUS,
+                    SubscriptionStatus.ACTIVE,
+                    List.of(SubscriptionTier.PRO, SubscriptionTier.ENTERPRISE))) {
+                log.debug("No active PRO/ENTERPRISE LEGAL_STATUS subscriptions. Skipping hourly execution.");
                 return;
             }
 
+            workPlanner.assignMissingShardKeys();
 
-            boolean allowHourly =
-                    activeSubs.stream().anyMatch(s ->
-                            s.getTier() == SubscriptionTier.PRO ||
-                                    s.getTier() == SubscriptionTier.ENTERPRISE
-                    );
+            LocalDateTime now = LocalDateTime.now();
+            int shards = Math.max(1, trackingProperties.getShards());
+            AtomicInteger planned = new AtomicInteger();
 
-            if (!allowHourly) {
-                log.debug("Only BASIC subscriptions present. Skipping hourly execution.");
-                return;
-            }
-
-            List<String> allowedUsers =
-                    activeSubs.stream()
-                            .map(MonitoringSubscription::getUserId)
-                            .distinct()
-                            .toList();
-
-            // Get all tracked patents (FILTERED)
-            List<UserTrackingPreferences> allTracking =
-                    trackingRepository.findAll().stream()
-                            .filter(t -> allowedUsers.contains(t.getId().getUserId()))
-                            .toList();
-
-            // Group by patent ID
-            Map<String, List<UserTrackingPreferences>> patentGroups = allTracking.stream()
-                    .collect(Collectors.groupingBy(p -> p.getId().getPatentId()));
-
-            // Separate USPTO and EPO patents
-            Map<String, List<UserTrackingPreferences>> usPatents = patentGroups.entrySet().stream()
-                    .filter(e -> sourceDetector.isUsPatent(e.getKey()))
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-            Map<String, List<UserTrackingPreferences>> epoPatents = patentGroups.entrySet().stream()
-                    .filter(e -> sourceDetector.isEpoPatent(e.getKey()))
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-            log.info("Found {} US patents and {} EPO patents to check",
-                    usPatents.size(), epoPatents.size());
-
-            // Check US patents (can be checked more frequently)
-            for (Map.Entry<String, List<UserTrackingPreferences>> entry : usPatents.entrySet()) {
-                checkUsPatent(entry.getKey(), entry.getValue());
-                Thread.sleep(500); // 0.5 second delay for US patents
-            }
-
-            // Check EPO patents (need more respect for rate limits)
-            for (Map.Entry<String, List<UserTrackingPreferences>> entry : epoPatents.entrySet()) {
-                checkEpoPatent(entry.getKey(), entry.getValue());
-                Thread.sleep(2000); // 2 second delay for EPO patents
-            }
+            jobCoordinator.forEachShard("patent-tracking", now.truncatedTo(ChronoUnit.HOURS).toString(),
+                    shards, RUN_LEASE, shard -> planned.addAndGet(workPlanner.forEachDuePage(
+                            MonitoringType.LEGAL_STATUS, now, shard, shards, this::checkPage)));
 
-            log.info("Completed unified patent tracking check");
+            log.info("Completed unified patent tracking check for {} due patents on this node", planned.get());
 
         } catch (Exception e) {
             log.error("Error during unified patent tracking check", e);
@@ -126,59 +107,67 @@ public class UnifiedPatentTrackingScheduler {
     }
 
     /**
-     * Check for renewal reminders daily at 9 AM
-     * Handles both USPTO and EPO patents
+     * One page of planned patents, checked in parallel. A US check is one
+     * PatentsView request; an EPO refresh fetches biblio and abstract.
+     * Fingerprints are read once per page and patents found unchanged are
+     * rescheduled with one update per next-check time.
      */
-    @Scheduled(cron = "0 0 9 * * ?") // Daily at 9 AM
-    public void checkRenewalReminders() {
-        log.info("Checking renewal reminders for all patents");
-
-        try {
-            var activeSubs =
-                    subscriptionRepository.findByTypeAndStatus(
-                            MonitoringType.LEGAL_STATUS,
-                            SubscriptionStatus.ACTIVE
-                    );
-
-            if (activeSubs.isEmpty()) {
-                log.info("No active LEGAL_STATUS subscriptions. Skipping renewal reminders.");
-                return;
+    private void checkPage(List<PatentWork> page) {
+        LocalDateTime checkedAt = LocalDateTime.now();
+        Map<String, PatentLifecycleFingerprint> known =
+                fingerprintService.load(page.stream().map(PatentWork::patentId).toList());
+        Map<LocalDateTime, Set<String>> unchanged = new ConcurrentHashMap<>();
+
+        List<TrackingWorkerPool.Job> jobs = new ArrayList<>(page.size());
+        for (PatentWork work : page) {
+            String patentId = work.patentId();
+            PageCheck check = new PageCheck(known.get(patentId), work.tier(), checkedAt, unchanged);
+            if (sourceDetector.isUsPatent(patentId)) {
+                jobs.add(new TrackingWorkerPool.Job(Upstream.PATENTSVIEW, 1, patentId,
+                        () -> checkUsPatent(patentId, work.trackers(), check)));
+            } else if (sourceDetector.isEpoPatent(patentId)) {
+                jobs.add(new TrackingWorkerPool.Job(Upstream.EPO, 2, patentId,
+                        () -> checkEpoPatent(patentId, work.trackers(), check)));
             }
+        }
+        if (!workerPool.runAll(jobs)) {
+            log.warn("Patent tracking check interrupted");
+        }
 
-            List<String> allowedUsers =
-                    activeSubs.stream()
-                            .map(MonitoringSubscription::getUserId)
-                            .distinct()
-                            .toList();
-
-            List<UserTrackingPreferences> trackingWithRenewals =
-                    trackingRepository.findAll().stream()
-                            .filter(UserTrackingPreferences::getTrackRenewalsExpiry)
-                            .filter(t -> allowedUsers.contains(t.getId().getUserId()))
-                            .toList();
-
-            for (UserTrackingPreferences tracking : trackingWithRenewals) {
-                String patentId = tracking.getId().getPatentId();
-                String userId = tracking.getId().getUserId();
+        fingerprintService.markChecked(unchanged, checkedAt);
+        log.debug("Tracking page: {} patents, {} unchanged", page.size(),
+                unchanged.values().stream().mapToInt(Set::size).sum());
+    }
 
-                // Get current lifecycle
-                ApplicationLifecycleDto lifecycle = lifecyclePersistenceService
-                        .getTrackedPatent(userId, patentId);
+    /**
+     * What a patent check needs from its page: the stored fingerprint (null
+     * if never checked), the best tier of its trackers and where to report
+     * an unchanged patent, keyed by its next check time
+     */
+    private record PageCheck(
+            PatentLifecycleFingerprint known,
+            SubscriptionTier tier,
+            LocalDateTime checkedAt,
+            Map<LocalDateTime, Set<String>> unchanged
+    ) {}
 
-                if (lifecycle != null && lifecycle.expirationDate() != null) {
-                    checkForRenewalReminders(patentId, lifecycle.expirationDate());
-                }
+    /**
+     * Send renewal reminders daily at 9 AM, from the stored expiration dates
+     * of both USPTO and EPO patents
+     */
+    @Scheduled(cron = "0 0 9 * * ?") // Daily at 9 AM
+    public void checkRenewalReminders() {
+        log.info("Checking renewal reminders for all patents");
 
-                // Rate limit based on patent source
-                if (sourceDetector.isEpoPatent(patentId)) {
-                    Thread.sleep(1000); // 1 second for EPO
-                } else {
-                    Thread.sleep(500);  // 0.5 seconds for US
-                }
+        try {
+            boolean ran = jobCoordinator.runExclusively("renewal-reminders", RUN_LEASE, () -> {
+                int sent = renewalReminderService.sendDueReminders(LocalDate.now());
+                log.info("Completed renewal reminder check, {} reminders sent", sent);
+            });
+            if (!ran) {
+                log.info("Renewal reminders are being sent by another node");
             }
 
-            log.info("Completed renewal reminder check");
-
         } catch (Exception e) {
             log.error("Error checking renewal reminders", e);
         }
@@ -187,7 +176,7 @@ public class UnifiedPatentTrackingScheduler {
     /**
      * Check US patent using PatentsView API
      */
-    private void checkUsPatent(String patentId, List<UserTrackingPreferences> usersTracking) {
+    private void checkUsPatent(String patentId, List<UserTrackingPreferences> usersTracking, PageCheck check) {
         try {
             log.debug("Checking US patent: {}", patentId);
 
@@ -199,11 +188,7 @@ public class UnifiedPatentTrackingScheduler {
                 return;
             }
 
-            // Check for changes
-            for (UserTrackingPreferences tracking : usersTracking) {
-                String userId = tracking.getId().getUserId();
-                checkPatentChanges(userId, patentId, currentDetails.getLifecycle(), tracking);
-            }
+            applyLifecycle(patentId, currentDetails.getLifecycle(), usersTracking, check);
 
         } catch (Exception e) {
             log.error("Error checking US patent: {}", patentId, e);
@@ -213,7 +198,7 @@ public class UnifiedPatentTrackingScheduler {
     /**
      * Check EPO patent using EPO OPS API
      */
-    private void checkEpoPatent(String patentId, List<UserTrackingPreferences> usersTracking) {
+    private void checkEpoPatent(String patentId, List<UserTrackingPreferences> usersTracking, PageCheck check) {
         try {
             log.debug("Checking EPO patent: {}", patentId);
 
@@ -225,11 +210,7 @@ public class UnifiedPatentTrackingScheduler {
                 return;
             }
 
-            // Check for changes
-            for (UserTrackingPreferences tracking : usersTracking) {
-                String userId = tracking.getId().getUserId();
-                checkPatentChanges(userId, patentId, currentDetails.getLifecycle(), tracking);
-            }
+            applyLifecycle(patentId, currentDetails.getLifecycle(), usersTracking, check);
 
         } catch (Exception e) {
             log.error("Error checking EPO patent: {}", patentId, e);
@@ -237,14 +218,57 @@ public class UnifiedPatentTrackingScheduler {
     }
 
     /**
-     * Check for patent changes and send notifications
-     * Common logic for both US and EPO patents
+     * Compare the fresh lifecycle with the patent's fingerprint and only fan
+     * out to the per-user comparison when it changed. Users who started
+     * tracking since the last check still get their baseline saved.
+     */
+    private void applyLifecycle(
+            String patentId,
+            ApplicationLifecycleDto currentLifecycle,
+            List<UserTrackingPreferences> usersTracking,
+            PageCheck check
+    ) {
+        long fingerprint = PatentLifecycleFingerprintService.fingerprint(currentLifecycle);
+        PatentLifecycleFingerprint known = check.known();
+
+        if (known != null && known.getFingerprint() == fingerprint) {
+            // The patent itself has not changed, so nothing is broadcast
+            Map<String, Runnable> ignored = new HashMap<>();
+            for (UserTrackingPreferences tracking : usersTracking) {
+                if (tracking.getCreatedAt() != null && tracking.getCreatedAt().isAfter(known.getCheckedAt())) {
+                    checkPatentChanges(tracking.getId().getUserId(), patentId, currentLifecycle, tracking, ignored);
+                }
+            }
+            LocalDateTime next = schedulePolicy.nextCheckAt(
+                    currentLifecycle, known.getChangedAt(), check.tier(), check.checkedAt());
+            check.unchanged().computeIfAbsent(next, k -> ConcurrentHashMap.newKeySet()).add(patentId);
+            return;
+        }
+
+        // Every tracker sees the same change; each broadcast already reaches all of them
+        Map<String, Runnable> changes = new LinkedHashMap<>();
+        for (UserTrackingPreferences tracking : usersTracking) {
+            checkPatentChanges(tracking.getId().getUserId(), patentId, currentLifecycle, tracking, changes);
+        }
+        changes.values().forEach(Runnable::run);
+        // Recorded last, so a failure above is retried on the next run
+        boolean changed = known != null;
+        LocalDateTime next = schedulePolicy.nextCheckAt(
+                currentLifecycle, changed ? check.checkedAt() : null, check.tier(), check.checkedAt());
+        fingerprintService.record(patentId, fingerprint, changed, check.checkedAt(), next);
+    }
+
+    /**
+     * Check for patent changes against this user's stored lifecycle and add
+     * the notification for each kind of change to {@code changes}, unless
+     * another tracker already reported it. Common logic for both US and EPO patents
      */
     private void checkPatentChanges(
             String userId,
             String patentId,
             ApplicationLifecycleDto currentLifecycle,
-            UserTrackingPreferences tracking
+            UserTrackingPreferences tracking,
+            Map<String, Runnable> changes
     ) {
         // Get stored lifecycle
         ApplicationLifecycleDto storedLifecycle = lifecyclePersistenceService
@@ -263,19 +287,22 @@ public class UnifiedPatentTrackingScheduler {
             log.info("Status change detected for patent={}: {} -> {}",
                     patentId, storedLifecycle.status(), currentLifecycle.status());
 
-            notificationService.notifyStatusChange(
+            changes.putIfAbsent("STATUS_CHANGE", () -> notificationService.notifyStatusChange(
                     patentId,
                     storedLifecycle.status(),
                     currentLifecycle.status()
-            );
-
-            // Update stored lifecycle
-            lifecyclePersistenceService.saveLifecycle(userId, currentLifecycle);
+            ));
         }
 
         // Check for lifecycle events (date changes)
         if (tracking.getTrackLifecycleEvents()) {
-            checkLifecycleChanges(patentId, storedLifecycle, currentLifecycle);
+            checkLifecycleChanges(patentId, storedLifecycle, currentLifecycle, changes);
+        }
+
+        // Update stored lifecycle, so the same change is not reported twice
+        if (PatentLifecycleFingerprintService.fingerprint(storedLifecycle)
+                != PatentLifecycleFingerprintService.fingerprint(currentLifecycle)) {
+            lifecyclePersistenceService.saveLifecycle(userId, currentLifecycle);
         }
     }
 
@@ -285,17 +312,18 @@ public class UnifiedPatentTrackingScheduler {
     private void checkLifecycleChanges(
             String patentId,
             ApplicationLifecycleDto stored,
-            ApplicationLifecycleDto current
+            ApplicationLifecycleDto current,
+            Map<String, Runnable> changes
     ) {
         // Check grant date change
         if (stored.grantDate() == null && current.grantDate() != null) {
-            String source = sourceDetector.isEpoPatent(patentId) ? "EPO" : "US";
-            notificationService.notifyLifecycleEvent(
+            changes.putIfAbsent("GRANTED", () -> notificationService.notifyLifecycleEvent(
                     patentId,
                     "Pending",
                     "Granted",
-                    String.format("%s patent has been granted on %s", source, current.grantDate())
-            );
+                    String.format("%s patent has been granted on %s",
+                            sourceDetector.isEpoPatent(patentId) ? "EPO" : "US", current.grantDate())
+            ));
         }
 
         // Check expiration date change
@@ -303,46 +331,12 @@ public class UnifiedPatentTrackingScheduler {
                 (stored.expirationDate() != null && current.expirationDate() != null &&
                         !stored.expirationDate().equals(current.expirationDate()))) {
 
-            notificationService.notifyLifecycleEvent(
+            changes.putIfAbsent("EXPIRATION_CHANGE", () -> notificationService.notifyLifecycleEvent(
                     patentId,
                     stored.expirationDate() != null ? stored.expirationDate().toString() : "Unknown",
                     current.expirationDate().toString(),
                     "Patent expiration date updated to " + current.expirationDate()
-            );
-        }
-    }
-
-    /**
-     * Check for renewal reminders based on expiration date
-     */
-    private void checkForRenewalReminders(String patentId, LocalDate expirationDate) {
-        LocalDate today = LocalDate.now();
-        long daysUntilExpiry = ChronoUnit.DAYS.between(today, expirationDate);
-
-        // Different reminder intervals for EPO vs US
-        boolean isEpo = sourceDetector.isEpoPatent(patentId);
-        List<Integer> reminderDays = isEpo
-                ? List.of(365, 180, 90, 30)  // EPO: annual fees
-                : List.of(90, 60, 30);        // US: maintenance fees
-
-        if (reminderDays.contains((int) daysUntilExpiry)) {
-            log.info("Sending renewal reminder for patent={}, days until expiry={}",
-                    patentId, daysUntilExpiry);
-
-            notificationService.notifyRenewalReminder(
-                    patentId,
-                    expirationDate.toString(),
-                    (int) daysUntilExpiry
-            );
-        }
-
-        // Send expiry warnings
-        if (daysUntilExpiry <= 60 && daysUntilExpiry > 0) {
-            notificationService.notifyExpiryWarning(
-                    patentId,
-                    expirationDate.toString(),
-                    (int) daysUntilExpiry
-            );
+            ));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.teamb.globalipbackend1.scheduler.lease;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Which nodes are running, as seen through the lease table.
+ *
+ * Every node keeps a {@code node:<id>} lease alive; the number of live ones
+ * lets budgets meant for the whole cluster, such as upstream request rates,
+ * be split between the nodes instead of granted to each.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClusterMembership {
+
+    static final String NODE_LEASE_PREFIX = "node:";
+
+    private final JobLeaseManager leases;
+    private final JobLeaseProperties properties;
+
+    private volatile int activeNodes = 1;
+
+    @Scheduled(fixedDelayString = "${scheduler.lease.heartbeat-ms:30000}")
+    public void heartbeat() {
+        String name = NODE_LEASE_PREFIX + properties.getNodeId();
+        Duration ttl = Duration.ofMillis(properties.getHeartbeatMs() * 3);
+        if (!leases.tryAcquire(name, ttl)) {
+            // Already ours from the last heartbeat
+            leases.holdUntil(name, LocalDateTime.now().plus(ttl));
+        }
+
+        int nodes = Math.max(1, leases.countHeld(NODE_LEASE_PREFIX));
+        if (nodes != activeNodes) {
+            log.info("Cluster membership changed: {} -> {} live nodes", activeNodes, nodes);
+            activeNodes = nodes;
+        }
+    }
+
+    /** Live nodes including this one; 1 until the first heartbeat */
+    public int activeNodes() {
+        return activeNodes;
+    }
+}
@@ -0,0 +1,61 @@
+package com.teamb.globalipbackend1.scheduler.lease;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process leases. Used by tests, where several instances can share one
+ * lease map (and clock) to act as separate nodes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "scheduler.lease", name = "mode", havingValue = "memory")
+public class InMemoryJobLeaseManager implements JobLeaseManager {
+
+    public record Lease(String holder, LocalDateTime expiresAt) {}
+
+    private final String nodeId;
+    private final Map<String, Lease> leases;
+    private final Clock clock;
+
+    public InMemoryJobLeaseManager(JobLeaseProperties properties) {
+        this(properties.getNodeId(), new ConcurrentHashMap<>(), Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param leases map shared by the simulated nodes
+     */
+    public InMemoryJobLeaseManager(String nodeId, Map<String, Lease> leases, Clock clock) {
+        this.nodeId = nodeId;
+        this.leases = leases;
+        this.clock = clock;
+    }
+
+    @Override
+    public boolean tryAcquire(String name, Duration maxHold) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Lease mine = new Lease(nodeId, now.plus(maxHold));
+        Lease result = leases.compute(name, (k, current) ->
+                current == null || !current.expiresAt().isAfter(now) ? mine : current);
+        return result == mine;
+    }
+
+    @Override
+    public void holdUntil(String name, LocalDateTime until) {
+        leases.computeIfPresent(name, (k, current) ->
+                current.holder().equals(nodeId) ? new Lease(nodeId, until) : current);
+    }
+
+    @Override
+    public int countHeld(String prefix) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return (int) leases.entrySet().stream()
+                .filter(e -> e.getKey().startsWith(prefix) && e.getValue().expiresAt().isAfter(now))
+                .count();
+    }
+}
@@ -0,0 +1,60 @@
+package com.teamb.globalipbackend1.scheduler.lease;
+
+import com.teamb.globalipbackend1.repository.scheduler.JobLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Leases as rows in {@code job_leases}.
+ *
+ * Acquiring is a conditional update of an expired row, falling back to an
+ * insert; the primary key decides between nodes racing for a new lease.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "scheduler.lease", name = "mode", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcJobLeaseManager implements JobLeaseManager {
+
+    private final JobLeaseRepository repository;
+    private final JobLeaseProperties properties;
+
+    @Override
+    public boolean tryAcquire(String name, Duration maxHold) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(maxHold);
+        if (repository.takeOverExpired(name, properties.getNodeId(), now, until) == 1) {
+            return true;
+        }
+        try {
+            return repository.insert(name, properties.getNodeId(), now, until) == 1;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void holdUntil(String name, LocalDateTime until) {
+        repository.holdUntil(name, properties.getNodeId(), until);
+    }
+
+    @Override
+    public int countHeld(String prefix) {
+        return (int) repository.countHeld(prefix, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelay = 3_600_000)
+    public void cleanup() {
+        int removed = repository.deleteExpiredBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (removed > 0) {
+            log.debug("Removed {} expired job leases", removed);
+        }
+    }
+}
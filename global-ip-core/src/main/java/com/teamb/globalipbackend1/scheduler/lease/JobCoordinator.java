@@ -0,0 +1,93 @@
+package com.teamb.globalipbackend1.scheduler.lease;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * Lets every node schedule the same jobs while each run happens once.
+ *
+ * Small jobs run on whichever node gets the job's lease. Large jobs split a
+ * run into shards; each node claims whatever shards are still free, so
+ * adding nodes adds throughput instead of duplicate work.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobCoordinator {
+
+    private final JobLeaseManager leases;
+    private final JobLeaseProperties properties;
+
+    /**
+     * Run {@code task} unless another node holds the job's lease.
+     *
+     * @param maxHold upper bound on the run; after this the lease is free even if the holder died
+     * @return true if the task ran on this node
+     */
+    public boolean runExclusively(String job, Duration maxHold, Runnable task) {
+        LocalDateTime start = LocalDateTime.now();
+        if (!leases.tryAcquire(job, maxHold)) {
+            log.debug("Job {} is running on another node, skipping", job);
+            return false;
+        }
+        try {
+            task.run();
+        } finally {
+            LocalDateTime minHeld = start.plus(properties.getMinHold());
+            LocalDateTime now = LocalDateTime.now();
+            leases.holdUntil(job, minHeld.isAfter(now) ? minHeld : now);
+        }
+        return true;
+    }
+
+    /**
+     * Claim and process free shards of one run of {@code job}. A claimed
+     * shard keeps its lease for {@code maxHold}, so no node repeats it in the
+     * same run; a shard whose node died is left to the next run.
+     *
+     * @param runKey identifies the run, e.g. its scheduled hour, and is the same on every node
+     * @return the number of shards processed here
+     */
+    public int forEachShard(String job, String runKey, int shards, Duration maxHold, IntConsumer task) {
+        // Start at a random shard so nodes firing together do not contend for the same leases
+        int offset = ThreadLocalRandom.current().nextInt(shards);
+        int processed = 0;
+        for (int i = 0; i < shards; i++) {
+            int shard = (offset + i) % shards;
+            if (!leases.tryAcquire(job + ":" + runKey + ":" + shard, maxHold)) {
+                continue;
+            }
+            try {
+                task.accept(shard);
+            } catch (Exception e) {
+                log.error("Job {} shard {}/{} failed", job, shard, shards, e);
+            }
+            processed++;
+        }
+        log.debug("Job {} run {}: processed {} of {} shards on this node", job, runKey, processed, shards);
+        return processed;
+    }
+
+    /**
+     * Buckets work item keys are hashed into. Tables that are read shard by
+     * shard store the bucket ({@link #shardKey}) so a query can select one
+     * shard with {@code MOD(shard_key, :shards) = :shard}.
+     */
+    public static final int SHARD_KEY_SPACE = 1024;
+
+    /** Stable bucket of a work item key, in [0, {@link #SHARD_KEY_SPACE}) */
+    public static int shardKey(String key) {
+        return Math.floorMod(key.hashCode(), SHARD_KEY_SPACE);
+    }
+
+    /** Stable shard of a work item key, the same on every node */
+    public static int shardOf(String key, int shards) {
+        return shardKey(key) % shards;
+    }
+}
@@ -0,0 +1,32 @@
+package com.teamb.globalipbackend1.scheduler.lease;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Time-bound, named leases shared by all application nodes.
+ *
+ * A lease is held by at most one node until it expires; nodes never block
+ * waiting for one. Expiry is judged by the acquiring node's clock, so
+ * lease durations should be well above the expected clock skew.
+ */
+public interface JobLeaseManager {
+
+    /**
+     * Take the lease if nobody holds it or the holder's lease expired.
+     *
+     * @return true if this node now holds it for {@code maxHold}
+     */
+    boolean tryAcquire(String name, Duration maxHold);
+
+    /**
+     * Move the expiry of a lease this node holds, typically to end it early
+     * once the work is done; a time in the past frees it immediately.
+     */
+    void holdUntil(String name, LocalDateTime until);
+
+    /**
+     * Number of leases whose name starts with {@code prefix} and that have not expired
+     */
+    int countHeld(String prefix);
+}
@@ -0,0 +1,33 @@
+package com.teamb.globalipbackend1.scheduler.lease;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@ConfigurationProperties(prefix = "scheduler.lease")
+@Data
+public class JobLeaseProperties {
+
+    /** jdbc (shared job_leases table) or memory (single JVM / tests) */
+    private String mode = "jdbc";
+
+    /** Identifies this node as lease holder; random per start unless set */
+    private String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * A finished job keeps its lease at least this long after it started, so
+     * nodes whose cron fires a little later do not run it again
+     */
+    private Duration minHold = Duration.ofMinutes(1);
+
+    /** Expired leases are deleted after this long */
+    private Duration retention = Duration.ofDays(1);
+
+    /**
+     * How often a node renews its membership lease; a node that misses
+     * three renewals no longer counts as live
+     */
+    private long heartbeatMs = 30_000;
+}
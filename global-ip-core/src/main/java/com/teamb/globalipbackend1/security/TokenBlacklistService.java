@@ -1,6 +1,7 @@
 package com.teamb.globalipbackend1.security;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
 import com.teamb.globalipbackend1.security.BlacklistedToken;
 import com.teamb.globalipbackend1.security.BlacklistedTokenRepository;
 import com.teamb.globalipbackend1.security.JwtUtil;
@@ -11,6 +12,7 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
@@ -23,6 +25,7 @@ public class TokenBlacklistService {
     private final Cache<String, Boolean> tokenBlacklistCache;
     private final BlacklistedTokenRepository blacklistedTokenRepository;
     private final JwtUtil jwtUtil;
+    private final JobCoordinator jobCoordinator;
 
     /**
      * Blacklist a token (stores in both cache and DB)
@@ -84,9 +87,12 @@ public class TokenBlacklistService {
     @Scheduled(cron = "0 0 * * * *") // Every hour
     @Transactional
     public void cleanupExpiredTokens() {
-        LocalDateTime now = LocalDateTime.now();
-        blacklistedTokenRepository.deleteExpiredTokens(now);
-        log.info("Cleaned up expired blacklisted tokens");
+        // One node is enough, the table is shared
+        jobCoordinator.runExclusively("token-blacklist-cleanup", Duration.ofMinutes(10), () -> {
+            LocalDateTime now = LocalDateTime.now();
+            blacklistedTokenRepository.deleteExpiredTokens(now);
+            log.info("Cleaned up expired blacklisted tokens");
+        });
     }
 
     /**
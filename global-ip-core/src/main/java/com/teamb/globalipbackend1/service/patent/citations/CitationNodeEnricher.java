@@ -0,0 +1,142 @@
+package com.teamb.globalipbackend1.service.patent.citations;
+
+import com.teamb.globalipbackend1.cache.CacheNames;
+import com.teamb.globalipbackend1.dto.citation.PatentNode;
+import com.teamb.globalipbackend1.external.patentsview.PatentsViewCitationClient;
+import com.teamb.globalipbackend1.external.patentsview.PatentsViewClient;
+import com.teamb.globalipbackend1.external.patentsview.dto.PatentsViewResponseDocument;
+import com.teamb.globalipbackend1.external.patentsview.mapper.PatentsViewMapStructMapper;
+import com.teamb.globalipbackend1.model.patents.PatentDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fills citation network nodes with title, parties, dates and classification.
+ *
+ * Nodes are resolved from the patent snapshot cache first; the rest are fetched
+ * in batched PatentsView detail queries that run concurrently. Whatever has not
+ * arrived when the time budget runs out is left as a placeholder node.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CitationNodeEnricher {
+
+    private final CacheManager cacheManager;
+    private final PatentsViewClient patentsViewClient;
+    private final PatentsViewCitationClient citationClient;
+    private final PatentsViewMapStructMapper mapper;
+    private final Executor patentSearchExecutor;
+
+    public void enrich(Collection<PatentNode> nodes, Duration budget) {
+        long deadline = System.nanoTime() + budget.toNanos();
+
+        Cache snapshots = cacheManager.getCache(CacheNames.PATENT_SNAPSHOT);
+        List<String> missing = new ArrayList<>();
+        // Snapshots and PatentsView use normalized ids; the root node keeps the requested one
+        Map<String, PatentNode> byId = nodes.stream()
+                .collect(Collectors.toMap(n -> patentsViewId(n.getPatentId()), Function.identity(), (a, b) -> a));
+
+        int fromCache = 0;
+        for (Map.Entry<String, PatentNode> entry : byId.entrySet()) {
+            PatentDocument cached = snapshots != null
+                    ? snapshots.get(entry.getKey(), PatentDocument.class)
+                    : null;
+            if (cached != null) {
+                apply(entry.getValue(), cached);
+                fromCache++;
+            } else {
+                missing.add(entry.getKey());
+            }
+        }
+
+        CompletionService<List<PatentsViewResponseDocument>> completion =
+                new ExecutorCompletionService<>(patentSearchExecutor);
+        List<Future<List<PatentsViewResponseDocument>>> pending = new ArrayList<>();
+        for (int from = 0; from < missing.size(); from += PatentsViewClient.MAX_BATCH_PATENTS) {
+            List<String> chunk = missing.subList(from, Math.min(missing.size(), from + PatentsViewClient.MAX_BATCH_PATENTS));
+            pending.add(completion.submit(() -> patentsViewClient.getPatentsByNumbers(chunk)));
+        }
+
+        int fetched = 0;
+        try {
+            for (int received = 0; received < pending.size(); received++) {
+                Future<List<PatentsViewResponseDocument>> done =
+                        completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    log.warn("Node enrichment budget of {} ms spent, {} batches left unenriched",
+                            budget.toMillis(), pending.size() - received);
+                    break;
+                }
+                try {
+                    for (PatentDocument doc : mapper.toPatentDocuments(done.get())) {
+                        PatentNode node = byId.get(doc.getPublicationNumber());
+                        if (node != null) {
+                            apply(node, doc);
+                            fetched++;
+                        }
+                        if (snapshots != null) {
+                            snapshots.put(doc.getPublicationNumber(), doc);
+                        }
+                    }
+                } catch (ExecutionException e) {
+                    log.error("Node enrichment batch failed: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pending.forEach(f -> f.cancel(true));
+        }
+
+        log.info("Enriched {} of {} citation nodes ({} from snapshot cache, {} batched lookups)",
+                fromCache + fetched, nodes.size(), fromCache, pending.size());
+    }
+
+    private String patentsViewId(String patentId) {
+        try {
+            return citationClient.normalizePatentId(patentId);
+        } catch (IllegalArgumentException e) {
+            return patentId;
+        }
+    }
+
+    private static void apply(PatentNode node, PatentDocument doc) {
+        if (doc.getTitle() != null) {
+            node.setTitle(doc.getTitle());
+        }
+        node.setAbstractText(doc.getAbstractText());
+        node.setFilingDate(doc.getFilingDate());
+        node.setGrantDate(doc.getGrantDate());
+        node.setPatentType(doc.getWipoKind());
+        if (doc.getAssignees() != null && !doc.getAssignees().isEmpty()) {
+            node.setAssignee(doc.getAssignees().getFirst());
+        }
+        if (doc.getInventors() != null) {
+            node.setInventors(new ArrayList<>(doc.getInventors()));
+        }
+        if (doc.getIpcClasses() != null) {
+            node.setIpcClasses(new ArrayList<>(doc.getIpcClasses()));
+        }
+        if (doc.getCpcClasses() != null) {
+            node.setCpcClasses(new ArrayList<>(doc.getCpcClasses()));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.teamb.globalipbackend1.service.patent.citations;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "citation.refresh")
+@Data
+public class CitationRefreshProperties {
+
+    /** Run the scheduled forward-citation refresh */
+    private boolean enabled = true;
+
+    /** When the refresh job runs */
+    private String cron = "0 30 2 * * *";
+
+    /** Forward citations checked more recently than this are not re-fetched */
+    private Duration minInterval = Duration.ofHours(24);
+
+    /** Upper bound on patents refreshed (one upstream call each) per run */
+    private int maxPatentsPerRun = 500;
+}
@@ -1,14 +1,26 @@
 package com.teamb.globalipbackend1.service.patent.citations;
 
+import com.teamb.globalipbackend1.cache.WarmCache;
 import com.teamb.globalipbackend1.dto.citation.*;
+import com.teamb.globalipbackend1.external.patentsview.CitationSource;
 import com.teamb.globalipbackend1.external.patentsview.PatentsViewCitationClient;
 import com.teamb.globalipbackend1.external.patentsview.dto.*;
+import com.teamb.globalipbackend1.external.trendsApi.client.PatentTrendClient;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.CitationRankDto;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.CitationSimilarityDto;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.SimilarPatentDto;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,16 +30,24 @@ public class EnhancedCitationNetworkService {
 
 
     private PatentsViewCitationClient citationClient;
+    private CitationSource citationSource;
+    private Executor patentSearchExecutor;
+    private CitationNodeEnricher nodeEnricher;
+    private PatentTrendClient trendClient;
 
     // Constants for depth control
-    private static final int MAX_BACKWARD_DEPTH = 1;
-    private static final int MAX_FORWARD_DEPTH = 1;
-    private static final int MAX_NODES_PER_LEVEL = 50; // Limit nodes to prevent explosion
+    private static final int MAX_BACKWARD_DEPTH = 3;
+    private static final int MAX_FORWARD_DEPTH = 3;
+    private static final int MAX_NODES_PER_LEVEL = 50; // New nodes per expanded patent, per level
     private static final int MAX_TOTAL_NODES = 200; // Absolute max for visualization
+    private static final int MAX_TOTAL_EDGES = 1000;
+    private static final Duration ENRICHMENT_BUDGET = Duration.ofSeconds(3);
+    private static final List<String> SIMILARITY_KINDS = List.of("CO_CITATION", "BIBLIOGRAPHIC_COUPLING");
 
     /**
      * Fetch multi-level citation network with intelligent depth management
      */
+    @WarmCache
     @Cacheable(value = "citationNetwork", key = "#patentId + '_' + #requestedBackwardDepth + '_' + #requestedForwardDepth")
     public CitationNetworkResponse fetchCitationNetwork(
             String patentId,
@@ -35,14 +55,13 @@ public class EnhancedCitationNetworkService {
             int requestedForwardDepth) {
 
         log.info("At enhanced citation service");
-        // Force depth to be 1 to prevent network explosion
-        int backwardDepth = Math.min(requestedBackwardDepth, MAX_BACKWARD_DEPTH);
-        int forwardDepth = Math.min(requestedForwardDepth, MAX_FORWARD_DEPTH);
+        // Depth is capped; node and edge budgets keep deeper networks bounded
+        int backwardDepth = Math.max(0, Math.min(requestedBackwardDepth, MAX_BACKWARD_DEPTH));
+        int forwardDepth = Math.max(0, Math.min(requestedForwardDepth, MAX_FORWARD_DEPTH));
 
         log.info("Fetching citation network for patent: {} (requested backward: {}, forward: {} | actual: {}, {})",
                 patentId, requestedBackwardDepth, requestedForwardDepth, backwardDepth, forwardDepth);
 
-        Set<String> visitedPatents = new HashSet<>();
         Map<String, PatentNode> nodeMap = new HashMap<>();
         List<CitationEdge> edges = new ArrayList<>();
 
@@ -52,30 +71,32 @@ public class EnhancedCitationNetworkService {
         PatentNode rootNode = createPatentNode(patentId, 0, true);
         nodeMap.put(patentId, rootNode);
 
-        // Fetch citations with controlled depth
+        // Fetch citations level by level
         try {
-            if (backwardDepth > 0) {
-                fetchBackwardCitationsControlled(patentId, visitedPatents, nodeMap, edges, stats);
-            }
-
-            if (forwardDepth > 0) {
-                fetchForwardCitationsControlled(patentId, visitedPatents, nodeMap, edges, stats);
-            }
+            expandNetwork(patentId, backwardDepth, forwardDepth, nodeMap, edges, stats);
         } catch (Exception e) {
             log.error("Error fetching citation network for patent {}: {}", patentId, e.getMessage());
             // Return partial results
         }
 
+        // Titles, parties and classification for the nodes found
+        try {
+            nodeEnricher.enrich(nodeMap.values(), ENRICHMENT_BUDGET);
+        } catch (Exception e) {
+            log.error("Error enriching citation network for patent {}: {}", patentId, e.getMessage());
+        }
+
         // Log statistics
-        log.info("Citation network complete - Nodes: {}, Edges: {}, Backward: {}, Forward: {}, Errors: {}",
-                nodeMap.size(), edges.size(), stats.backwardCount, stats.forwardCount, stats.errorCount);
+        log.info("Citation network complete - Nodes: {}, Edges: {}, Backward: {}, Forward: {}, Errors: {}, Upstream calls: {}",
+                nodeMap.size(), edges.size(), stats.backwardCount, stats.forwardCount, stats.errorCount,
+                stats.upstreamCalls);
 
         // Calculate metrics and clusters
         NetworkMetrics metrics = calculateNetworkMetrics(nodeMap, edges, stats);
         Map<String, TechnologyCluster> clusters = identifyClusters(nodeMap, edges);
 
-        // Calculate node sizes based on citation counts
-        assignNodeSizes(nodeMap);
+        // Calculate node sizes from global PageRank, falling back to citation counts
+        assignNodeSizes(nodeMap, fetchCitationRanks(patentId, nodeMap.keySet()));
 
         return CitationNetworkResponse.builder()
                 .nodes(new ArrayList<>(nodeMap.values()))
@@ -86,185 +107,243 @@ public class EnhancedCitationNetworkService {
     }
 
     /**
-     * Fetch backward citations with single level only (depth=1)
+     * Copy of the network with the root's nearest co-citation and
+     * bibliographic-coupling neighbours from the trends service. The cached
+     * network itself is left untouched; on failure it is returned as is.
      */
-    private void fetchBackwardCitationsControlled(
+    public CitationNetworkResponse withSimilarityOverlay(
+            CitationNetworkResponse network,
             String patentId,
-            Set<String> visited,
+            int limit) {
+
+        Set<String> nodeIds = network.getNodes() == null ? Set.of() : network.getNodes().stream()
+                .map(PatentNode::getPatentId)
+                .collect(Collectors.toSet());
+
+        List<SimilarityLink> links = new ArrayList<>();
+        try {
+            String rootId = citationClient.normalizePatentId(patentId);
+            for (String kind : SIMILARITY_KINDS) {
+                CitationSimilarityDto similar = trendClient.getSimilarPatents(rootId, kind, limit);
+                if (similar == null || similar.neighbors() == null) {
+                    continue;
+                }
+                for (SimilarPatentDto neighbor : similar.neighbors()) {
+                    links.add(SimilarityLink.builder()
+                            .source(patentId)
+                            .target(neighbor.patentId())
+                            .kind(kind)
+                            .sharedCitations(neighbor.sharedCitations())
+                            .score(neighbor.score())
+                            .inNetwork(nodeIds.contains(neighbor.patentId()))
+                            .build());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Citation similarity unavailable for {}: {}", patentId, e.getMessage());
+            return network;
+        }
+
+        return CitationNetworkResponse.builder()
+                .nodes(network.getNodes())
+                .edges(network.getEdges())
+                .metrics(network.getMetrics())
+                .clusters(network.getClusters())
+                .similarity(links)
+                .build();
+    }
+
+    /**
+     * Breadth-first expansion. Each level's frontier is sent as batched
+     * {@code _in} citation queries, backward and forward concurrently, and
+     * results are folded in as they arrive until the node or edge budget is spent.
+     */
+    private void expandNetwork(
+            String patentId,
+            int backwardDepth,
+            int forwardDepth,
             Map<String, PatentNode> nodes,
             List<CitationEdge> edges,
             NetworkStats stats) {
 
-        if (visited.contains("B_" + patentId)) {
-            return;
-        }
-        visited.add("B_" + patentId);
-
-        // Check if we're approaching node limit
-        if (nodes.size() >= MAX_TOTAL_NODES) {
-            log.warn("Reached maximum node limit ({}) for patent {}, skipping further backward citations",
-                    MAX_TOTAL_NODES, patentId);
-            stats.nodesLimitReached = true;
+        String rootId;
+        try {
+            rootId = citationClient.normalizePatentId(patentId);
+        } catch (IllegalArgumentException e) {
+            log.warn("Cannot expand citation network for {}: {}", patentId, e.getMessage());
             return;
         }
+        // Citation records carry normalized ids; map the root back to the requested id
+        Map<String, String> aliases = Map.of(rootId, patentId);
 
-        try {
-            List<PatentsViewUSPatentCitation> citations =
-                    citationClient.getBackwardCitations(patentId);
+        Set<String> visited = new HashSet<>();
+        Set<String> edgeKeys = new HashSet<>();
+        List<String> backwardFrontier = backwardDepth > 0 ? List.of(rootId) : List.of();
+        List<String> forwardFrontier = forwardDepth > 0 ? List.of(rootId) : List.of();
 
-            if (citations == null || citations.isEmpty()) {
-                log.info("No backward citations found for patent: {}", patentId);
-                return;
+        for (int level = 1; level <= Math.max(backwardDepth, forwardDepth); level++) {
+            if (backwardFrontier.isEmpty() && forwardFrontier.isEmpty()) {
+                break;
             }
 
-            log.info("Found {} backward citations for patent: {}", citations.size(), patentId);
-            stats.backwardCount += citations.size();
+            CompletionService<FrontierBatch> completion = new ExecutorCompletionService<>(patentSearchExecutor);
+            List<Future<FrontierBatch>> pending = new ArrayList<>();
+            submitFrontier(completion, pending, backwardFrontier, true, visited, stats);
+            submitFrontier(completion, pending, forwardFrontier, false, visited, stats);
 
-            // Limit citations per node to prevent explosion
-            int processedCount = 0;
-            for (PatentsViewUSPatentCitation citation : citations) {
-                if (processedCount >= MAX_NODES_PER_LEVEL) {
-                    log.warn("Reached per-level citation limit ({}) for patent {}, truncating",
-                            MAX_NODES_PER_LEVEL, patentId);
-                    stats.truncated = true;
-                    break;
-                }
+            List<String> nextBackward = new ArrayList<>();
+            List<String> nextForward = new ArrayList<>();
 
-                if (nodes.size() >= MAX_TOTAL_NODES) {
-                    log.warn("Reached total node limit, stopping backward citation processing");
-                    stats.nodesLimitReached = true;
+            for (int received = 0; received < pending.size(); received++) {
+                if (budgetSpent(nodes, edges)) {
+                    pending.forEach(f -> f.cancel(true));
                     break;
                 }
-
                 try {
-                    String citedPatentId = citation.getCitationPatentId();
-
-                    if (citedPatentId == null || citedPatentId.isBlank()) {
-                        log.warn("Invalid citation patent ID in backward citations for {}", patentId);
-                        continue;
-                    }
-
-                    // Add edge (from current patent to cited patent)
-                    edges.add(CitationEdge.builder()
-                            .source(patentId)
-                            .target(citedPatentId)
-                            .citationType(citation.getCitationCategory())
-                            .citationDate(citation.getCitationDate())
-                            .weight(1)
-                            .build());
-
-                    // Add node if not exists (only 1 level deep)
-                    if (!nodes.containsKey(citedPatentId)) {
-                        PatentNode node = createPatentNode(citedPatentId, 1, false);
-                        nodes.put(citedPatentId, node);
-                        processedCount++;
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing backward citation for {}: {}", patentId, e.getMessage());
+                    FrontierBatch batch = completion.take().get();
+                    absorbBatch(batch, level, nodes, edges, edgeKeys, aliases,
+                            batch.backward() ? nextBackward : nextForward, stats);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    pending.forEach(f -> f.cancel(true));
+                    return;
+                } catch (ExecutionException e) {
+                    log.error("Error fetching citation batch for {}: {}", patentId, e.getCause().getMessage());
                     stats.errorCount++;
                 }
             }
-        } catch (Exception e) {
-            log.error("Error fetching backward citations for {}: {}", patentId, e.getMessage());
-            stats.errorCount++;
-            // Continue processing - don't fail the entire network
+
+            if (budgetSpent(nodes, edges)) {
+                log.warn("Citation budget reached at level {} for patent {} ({} nodes, {} edges)",
+                        level, patentId, nodes.size(), edges.size());
+                break;
+            }
+
+            backwardFrontier = level < backwardDepth ? nextBackward : List.of();
+            forwardFrontier = level < forwardDepth ? nextForward : List.of();
         }
     }
 
     /**
-     * Fetch forward citations with single level only (depth=1)
+     * Queue the not-yet-expanded part of a frontier as batched citation queries
      */
-    private void fetchForwardCitationsControlled(
-            String patentId,
+    private void submitFrontier(
+            CompletionService<FrontierBatch> completion,
+            List<Future<FrontierBatch>> pending,
+            List<String> frontier,
+            boolean backward,
             Set<String> visited,
+            NetworkStats stats) {
+
+        String prefix = backward ? "B_" : "F_";
+        List<String> ids = frontier.stream()
+                .filter(id -> visited.add(prefix + id))
+                .toList();
+
+        for (int from = 0; from < ids.size(); from += PatentsViewCitationClient.MAX_BATCH_IDS) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + PatentsViewCitationClient.MAX_BATCH_IDS));
+            stats.upstreamCalls++;
+            pending.add(completion.submit(() -> new FrontierBatch(
+                    backward,
+                    chunk.size(),
+                    backward
+                            ? citationSource.getBackwardCitations(chunk)
+                            : citationSource.getForwardCitations(chunk)
+            )));
+        }
+    }
+
+    /**
+     * Add one batch of citations to the network, honoring the per-patent,
+     * node and edge budgets. Newly discovered patents form the next frontier.
+     */
+    private void absorbBatch(
+            FrontierBatch batch,
+            int level,
             Map<String, PatentNode> nodes,
             List<CitationEdge> edges,
+            Set<String> edgeKeys,
+            Map<String, String> aliases,
+            List<String> nextFrontier,
             NetworkStats stats) {
 
-        if (visited.contains("F_" + patentId)) {
+        if (batch.citations().isEmpty()) {
+            if (!batch.backward() && level == 1) {
+                log.info("No forward citations found (patent may be new or not yet cited)");
+                stats.hasNoForwardCitations = true;
+            }
             return;
         }
-        visited.add("F_" + patentId);
 
-        // Check if we're approaching node limit
-        if (nodes.size() >= MAX_TOTAL_NODES) {
-            log.warn("Reached maximum node limit ({}) for patent {}, skipping forward citations",
-                    MAX_TOTAL_NODES, patentId);
-            stats.nodesLimitReached = true;
-            return;
-        }
+        Map<String, Integer> addedPerPatent = new HashMap<>();
 
-        try {
-            List<PatentsViewUSPatentCitation> citations =
-                    citationClient.getForwardCitations(patentId);
+        for (PatentsViewUSPatentCitation citation : batch.citations()) {
+            // backward: expanded patent cites the other one; forward: the other one cites it
+            String expanded = batch.backward() ? citation.getPatentId() : citation.getCitationPatentId();
+            String other = batch.backward() ? citation.getCitationPatentId() : citation.getPatentId();
 
-            if (citations == null || citations.isEmpty()) {
-                log.info("No forward citations found for patent: {} (patent may be new or not yet cited)",
-                        patentId);
-                stats.hasNoForwardCitations = true;
-                return;
+            if (expanded == null || other == null || other.isBlank()) {
+                continue;
             }
+            expanded = aliases.getOrDefault(expanded, expanded);
+            other = aliases.getOrDefault(other, other);
 
-            log.info("Found {} forward citations for patent: {}", citations.size(), patentId);
-            stats.forwardCount += citations.size();
-
-            // Limit citations per node to prevent explosion
-            int processedCount = 0;
-            for (PatentsViewUSPatentCitation citation : citations) {
-                if (processedCount >= MAX_NODES_PER_LEVEL) {
-                    log.warn("Reached per-level citation limit ({}) for patent {}, truncating",
-                            MAX_NODES_PER_LEVEL, patentId);
-                    stats.truncated = true;
-                    break;
-                }
+            if (batch.backward()) {
+                stats.backwardCount++;
+            } else {
+                stats.forwardCount++;
+            }
 
+            boolean known = nodes.containsKey(other);
+            if (!known) {
                 if (nodes.size() >= MAX_TOTAL_NODES) {
-                    log.warn("Reached total node limit, stopping forward citation processing");
                     stats.nodesLimitReached = true;
-                    break;
+                    continue;
+                }
+                if (addedPerPatent.getOrDefault(expanded, 0) >= MAX_NODES_PER_LEVEL) {
+                    stats.truncated = true;
+                    continue;
                 }
+            }
 
-                try {
-                    String citingPatentId = citation.getPatentId();
-
-                    if (citingPatentId == null || citingPatentId.isBlank()) {
-                        log.warn("Invalid citing patent ID in forward citations for {}", patentId);
-                        continue;
-                    }
-
-                    // Add edge (from citing patent to current patent)
-                    edges.add(CitationEdge.builder()
-                            .source(citingPatentId)
-                            .target(patentId)
-                            .citationType(citation.getCitationCategory())
-                            .citationDate(citation.getCitationDate())
-                            .weight(1)
-                            .build());
+            if (edges.size() >= MAX_TOTAL_EDGES) {
+                stats.edgesLimitReached = true;
+                return;
+            }
 
-                    // Add node if not exists (only 1 level deep)
-                    if (!nodes.containsKey(citingPatentId)) {
-                        PatentNode node = createPatentNode(citingPatentId, 1, false);
-                        nodes.put(citingPatentId, node);
-                        processedCount++;
-                    }
-                } catch (Exception e) {
-                    log.error("Error processing forward citation for {}: {}", patentId, e.getMessage());
-                    stats.errorCount++;
-                }
+            String source = batch.backward() ? expanded : other;
+            String target = batch.backward() ? other : expanded;
+            if (edgeKeys.add(source + "->" + target)) {
+                edges.add(CitationEdge.builder()
+                        .source(source)
+                        .target(target)
+                        .citationType(citation.getCitationCategory())
+                        .citationDate(citation.getCitationDate())
+                        .weight(1)
+                        .build());
+            }
+
+            if (!known) {
+                nodes.put(other, createPatentNode(other, level, false));
+                addedPerPatent.merge(expanded, 1, Integer::sum);
+                nextFrontier.add(other);
             }
-        } catch (Exception e) {
-            log.error("Error fetching forward citations for {}: {}", patentId, e.getMessage());
-            stats.errorCount++;
-            // Continue processing - don't fail the entire network
         }
+
+        log.info("Level {} {} batch of {} patents: {} citations, network now {} nodes / {} edges",
+                level, batch.backward() ? "backward" : "forward", batch.patentCount(),
+                batch.citations().size(), nodes.size(), edges.size());
+    }
+
+    private static boolean budgetSpent(Map<String, PatentNode> nodes, List<CitationEdge> edges) {
+        return nodes.size() >= MAX_TOTAL_NODES || edges.size() >= MAX_TOTAL_EDGES;
     }
 
     /**
      * Create a patent node with basic info
      */
     private PatentNode createPatentNode(String patentId, int depth, boolean isRoot) {
-        // TODO: Fetch actual patent details from PatentsView API
-        // For now, create a basic node
+        // Details are filled in by CitationNodeEnricher; the title stays a placeholder if it cannot
         return PatentNode.builder()
                 .patentId(patentId)
                 .title("Patent " + patentId) // Placeholder
@@ -296,6 +375,9 @@ public class EnhancedCitationNetworkService {
         if (stats.nodesLimitReached) {
             log.warn("Network was truncated due to node limit");
         }
+        if (stats.edgesLimitReached) {
+            log.warn("Network was truncated due to edge limit");
+        }
         if (stats.hasNoForwardCitations) {
             log.info("Patent has no forward citations (may be new or not yet cited)");
         }
@@ -377,9 +459,9 @@ public class EnhancedCitationNetworkService {
 
         Map<String, TechnologyCluster> clusters = new HashMap<>();
 
-        // Filter nodes that have IPC classes
+        // Filter nodes that have IPC classes (CPC shares the IPC subclass, so it stands in)
         List<PatentNode> nodesWithIpc = nodes.values().stream()
-                .filter(node -> node.getIpcClasses() != null && !node.getIpcClasses().isEmpty())
+                .filter(node -> primaryClassification(node) != null)
                 .toList();
 
         if (nodesWithIpc.isEmpty()) {
@@ -390,7 +472,7 @@ public class EnhancedCitationNetworkService {
         // Group by primary IPC classification
         Map<String, List<PatentNode>> ipcGroups = nodesWithIpc.stream()
                 .collect(Collectors.groupingBy(node -> {
-                    String firstIpc = node.getIpcClasses().getFirst();
+                    String firstIpc = primaryClassification(node);
                     return firstIpc.substring(0, Math.min(4, firstIpc.length()));
                 }));
 
@@ -418,10 +500,53 @@ public class EnhancedCitationNetworkService {
         return clusters;
     }
 
+    private static String primaryClassification(PatentNode node) {
+        if (node.getIpcClasses() != null && !node.getIpcClasses().isEmpty()) {
+            return node.getIpcClasses().getFirst();
+        }
+        if (node.getCpcClasses() != null && !node.getCpcClasses().isEmpty()) {
+            return node.getCpcClasses().getFirst();
+        }
+        return null;
+    }
+
     /**
-     * Assign node sizes based on citation counts
+     * Global influence ranks for every node, fetched from the trends service in
+     * one call. Keyed by node id; empty when the ranking is unavailable.
      */
-    private void assignNodeSizes(Map<String, PatentNode> nodes) {
+    private Map<String, CitationRankDto> fetchCitationRanks(String rootPatentId, Set<String> nodeIds) {
+        Map<String, String> lookup = new HashMap<>();
+        for (String nodeId : nodeIds) {
+            lookup.put(nodeId, nodeId);
+        }
+        try {
+            // Rankings use normalized ids; the root is keyed by the requested id
+            lookup.remove(rootPatentId);
+            lookup.put(citationClient.normalizePatentId(rootPatentId), rootPatentId);
+        } catch (IllegalArgumentException ignored) {
+            lookup.put(rootPatentId, rootPatentId);
+        }
+
+        try {
+            Map<String, CitationRankDto> ranks = new HashMap<>();
+            for (CitationRankDto rank : trendClient.getCitationRanks(new ArrayList<>(lookup.keySet()))) {
+                String nodeId = lookup.get(rank.patentId());
+                if (nodeId != null) {
+                    ranks.put(nodeId, rank);
+                }
+            }
+            return ranks;
+        } catch (Exception e) {
+            log.warn("Citation ranks unavailable, sizing nodes by citation count: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Assign node sizes from PageRank where the patent is ranked, otherwise
+     * from citation counts within this network
+     */
+    private void assignNodeSizes(Map<String, PatentNode> nodes, Map<String, CitationRankDto> ranks) {
         if (nodes.isEmpty()) {
             return;
         }
@@ -436,14 +561,25 @@ public class EnhancedCitationNetworkService {
             maxCitations = 1; // Prevent division by zero
         }
 
-        // Assign sizes (15 to 40 based on citation count, root is larger)
+        // PageRank is heavy-tailed, so scale it logarithmically across the ranked nodes
+        double minLogRank = ranks.values().stream()
+                .mapToDouble(r -> Math.log(r.pagerank())).min().orElse(0);
+        double maxLogRank = ranks.values().stream()
+                .mapToDouble(r -> Math.log(r.pagerank())).max().orElse(0);
+        double logRankSpan = Math.max(maxLogRank - minLogRank, 1e-9);
+
+        // Assign sizes (15 to 40 based on influence, root is larger)
         final int maxCitationsFinal = maxCitations;
-        nodes.values().forEach(node -> {
+        nodes.forEach((id, node) -> {
             int totalCitations = node.getForwardCitationCount() + node.getBackwardCitationCount();
+            CitationRankDto rank = ranks.get(id);
 
             // Root node (depth 0) gets special treatment
             if (node.getDepth() == 0) {
                 node.setNodeSize(35);
+            } else if (rank != null && rank.pagerank() > 0) {
+                int size = 15 + (int) (25.0 * (Math.log(rank.pagerank()) - minLogRank) / logRankSpan);
+                node.setNodeSize(Math.max(15, Math.min(40, size)));
             } else {
                 // Scale from 15 to 40
                 int size = 15 + (int) (25.0 * totalCitations / maxCitationsFinal);
@@ -452,6 +588,11 @@ public class EnhancedCitationNetworkService {
         });
     }
 
+    /**
+     * Citations returned for one batched frontier query
+     */
+    private record FrontierBatch(boolean backward, int patentCount, List<PatentsViewUSPatentCitation> citations) {}
+
     /**
      * Helper class to track network statistics during construction
      */
@@ -459,8 +600,10 @@ public class EnhancedCitationNetworkService {
         int backwardCount = 0;
         int forwardCount = 0;
         int errorCount = 0;
+        int upstreamCalls = 0;
         boolean truncated = false;
         boolean nodesLimitReached = false;
+        boolean edgesLimitReached = false;
         boolean hasNoForwardCitations = false;
     }
 }
\ No newline at end of file
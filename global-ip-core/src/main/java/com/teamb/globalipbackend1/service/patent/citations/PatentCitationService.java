@@ -2,18 +2,25 @@ package com.teamb.globalipbackend1.service.patent.citations;
 
 import com.teamb.globalipbackend1.dto.citation.CitationDTO;
 import com.teamb.globalipbackend1.dto.citation.CitationNetworkDTO;
+import com.teamb.globalipbackend1.dto.citation.CitationStoreResult;
+import com.teamb.globalipbackend1.external.patentsview.CitationFetchException;
 import com.teamb.globalipbackend1.external.patentsview.PatentsViewCitationClient;
 import com.teamb.globalipbackend1.external.patentsview.dto.*;
 import com.teamb.globalipbackend1.model.patents.PatentCitation;
 import com.teamb.globalipbackend1.model.patents.CitationDirection;
 import com.teamb.globalipbackend1.model.patents.CitationType;
+import com.teamb.globalipbackend1.model.patents.CitationWatermark;
+import com.teamb.globalipbackend1.repository.citation.CitationWatermarkRepository;
+import com.teamb.globalipbackend1.repository.citation.PatentCitationBulkRepository;
 import com.teamb.globalipbackend1.repository.citation.PatentCitationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Pattern;
 
 /**
  * Service for storing citations in database
@@ -26,46 +33,166 @@ public class PatentCitationService {
 
     private final PatentsViewCitationClient citationClient;
     private final PatentCitationRepository citationRepository;
+    private final CitationWatermarkRepository watermarkRepository;
+    private final CitationRefreshProperties refreshProperties;
+
+    private static final Pattern NUMERIC_ID = Pattern.compile("^\\d+$");
+    /** Citing patents newer than the watermark all have 8-digit numbers */
+    private static final Pattern WATERMARK_ID = Pattern.compile("^\\d{8}$");
+
+    /**
+     * Store a patent's citations. Every citation set is fetched until one
+     * full fetch succeeds; later calls only refresh forward citations past
+     * the patent's watermark.
+     */
+    @Transactional
+    public CitationStoreResult fetchAndStoreCitations(String patentId) {
+        return watermarkRepository.findById(patentId)
+                .filter(watermark -> watermark.getFullFetchedAt() != null)
+                .map(watermark -> refreshForward(patentId, watermark))
+                .orElseGet(() -> fetchAll(patentId));
+    }
 
     /**
-     * Fetch and store ALL citations for a patent in the database
+     * Fetch and store ALL citations for a patent, ignoring any watermark
      */
     @Transactional
-    public void fetchAndStoreCitations(String patentId) {
+    public CitationStoreResult fetchAndStoreAllCitations(String patentId) {
+        return fetchAll(patentId);
+    }
+
+    private CitationStoreResult fetchAll(String patentId) {
         String normalizedPatentId = normalizeForCitation(patentId);
         log.info("Fetching all citations for patent: {}", patentId);
 
         AllCitationsResponse allCitations = citationClient.getAllCitations(normalizedPatentId);
 
-        // Store backward US patent citations
-        storeBackwardUSPatentCitations(patentId, allCitations.getBackwardUSPatentCitations());
+        List<PatentCitation> candidates = new ArrayList<>();
+        candidates.addAll(backwardUSPatentCitations(patentId, allCitations.getBackwardUSPatentCitations()));
+        candidates.addAll(forwardUSPatentCitations(patentId, allCitations.getForwardUSPatentCitations()));
+        candidates.addAll(usApplicationCitations(patentId, allCitations.getUsApplicationCitations()));
+        candidates.addAll(foreignCitations(patentId, allCitations.getForeignCitations()));
 
-        // Store forward US patent citations
-        storeForwardUSPatentCitations(patentId, allCitations.getForwardUSPatentCitations());
+        if (!allCitations.isBackwardComplete() && !allCitations.isForwardComplete()) {
+            throw new CitationFetchException("No citations could be fetched for " + patentId, null);
+        }
 
-        // Store US application citations
-        storeUSApplicationCitations(patentId, allCitations.getUsApplicationCitations());
+        CitationStoreResult result = store(patentId, candidates, false);
 
-        // Store foreign citations
-        storeForeignCitations(patentId, allCitations.getForeignCitations());
+        // Only the sets that arrived move their watermark; a failed set is fetched again next time
+        LocalDateTime now = LocalDateTime.now();
+        CitationWatermark watermark = watermarkRepository.findById(patentId).orElseGet(CitationWatermark::new);
+        watermark.setPatentNumber(patentId);
+        if (allCitations.isBackwardComplete()) {
+            watermark.setFullFetchedAt(now);
+        }
+        if (allCitations.isForwardComplete()) {
+            watermark.setForwardRefreshedAt(now);
+            watermark.setNewestCitingPatentNumber(newestCiting(
+                    watermark.getNewestCitingPatentNumber(), allCitations.getForwardUSPatentCitations()));
+        }
+        watermarkRepository.save(watermark);
 
-        log.info("Stored {} backward and {} forward citations for {}",
+        if (!allCitations.isBackwardComplete() || !allCitations.isForwardComplete()) {
+            log.warn("Citations for {} fetched partially (backward complete: {}, forward complete: {})",
+                    patentId, allCitations.isBackwardComplete(), allCitations.isForwardComplete());
+        }
+        log.info("Stored citations for {}: {} inserted, {} skipped ({} backward, {} forward upstream)",
+                patentId, result.inserted(), result.skipped(),
                 allCitations.getTotalBackwardCount(),
-                allCitations.getTotalForwardCount(),
-                patentId);
+                allCitations.getTotalForwardCount());
+        return result;
     }
 
-    private void storeBackwardUSPatentCitations(String patentId,
-                                                List<PatentsViewUSPatentCitation> citations) {
-        if (citations == null || citations.isEmpty()) return;
+    /**
+     * Forward citations only, from patents newer than the watermark. Backward,
+     * application and foreign citations are fixed at grant and never re-read.
+     * A failed query throws before the watermark is touched.
+     */
+    private CitationStoreResult refreshForward(String patentId, CitationWatermark watermark) {
+        LocalDateTime now = LocalDateTime.now();
+        if (watermark.getForwardRefreshedAt() != null
+                && watermark.getForwardRefreshedAt().isAfter(now.minus(refreshProperties.getMinInterval()))) {
+            return new CitationStoreResult(patentId, 0, 0, true);
+        }
 
-        for (PatentsViewUSPatentCitation c : citations) {
-            // Use citationPatentId (new field name)
-            if (citationRepository.existsByCitingPatentNumberAndCitedPatentNumber(
-                    patentId, c.getCitationPatentId())) {
-                continue; // Skip duplicates
+        String normalizedPatentId = normalizeForCitation(patentId);
+        String newest = watermark.getNewestCitingPatentNumber();
+
+        // Patent numbers only compare as strings once they have the same length
+        List<PatentsViewUSPatentCitation> forward = newest != null && WATERMARK_ID.matcher(newest).matches()
+                ? citationClient.getForwardCitationsSince(normalizedPatentId, newest)
+                : citationClient.getForwardCitations(normalizedPatentId);
+
+        CitationStoreResult result = store(patentId, forwardUSPatentCitations(patentId, forward), true);
+
+        watermark.setForwardRefreshedAt(now);
+        watermark.setNewestCitingPatentNumber(newestCiting(newest, forward));
+        watermarkRepository.save(watermark);
+
+        log.info("Refreshed forward citations for {} since {}: {} inserted, {} skipped",
+                patentId, newest, result.inserted(), result.skipped());
+        return result;
+    }
+
+    /**
+     * Insert the candidates that are neither duplicated in the batch nor
+     * already stored; existing pairs are loaded in one query.
+     */
+    private CitationStoreResult store(String patentId, List<PatentCitation> candidates, boolean incremental) {
+        if (candidates.isEmpty()) {
+            return new CitationStoreResult(patentId, 0, 0, incremental);
+        }
+
+        Set<CitationKey> stored = new HashSet<>();
+        for (Object[] row : citationRepository.findCitationKeysTouching(patentId)) {
+            stored.add(new CitationKey((String) row[0], (String) row[1], (CitationDirection) row[2]));
+        }
+
+        Map<CitationKey, PatentCitation> toInsert = new LinkedHashMap<>();
+        for (PatentCitation c : candidates) {
+            if (c.getCitingPatentNumber() == null || c.getCitedPatentNumber() == null) {
+                continue;
+            }
+            CitationKey key = new CitationKey(
+                    c.getCitingPatentNumber(), c.getCitedPatentNumber(), c.getCitationDirection());
+            if (!stored.contains(key)) {
+                toInsert.putIfAbsent(key, c);
             }
+        }
+
+        int inserted = citationRepository.insertAll(new ArrayList<>(toInsert.values()));
+        if (inserted == PatentCitationBulkRepository.COUNT_UNKNOWN) {
+            return new CitationStoreResult(patentId, null, null, incremental);
+        }
+        return new CitationStoreResult(patentId, inserted, candidates.size() - inserted, incremental);
+    }
 
+    private static String newestCiting(String current, List<PatentsViewUSPatentCitation> forward) {
+        String newest = current;
+        if (forward == null) {
+            return newest;
+        }
+        for (PatentsViewUSPatentCitation c : forward) {
+            String id = c.getPatentId();
+            if (id == null || !NUMERIC_ID.matcher(id).matches()) {
+                continue;
+            }
+            if (newest == null
+                    || id.length() > newest.length()
+                    || (id.length() == newest.length() && id.compareTo(newest) > 0)) {
+                newest = id;
+            }
+        }
+        return newest;
+    }
+
+    private List<PatentCitation> backwardUSPatentCitations(String patentId,
+                                                           List<PatentsViewUSPatentCitation> citations) {
+        if (citations == null || citations.isEmpty()) return List.of();
+
+        List<PatentCitation> result = new ArrayList<>(citations.size());
+        for (PatentsViewUSPatentCitation c : citations) {
             PatentCitation citation = new PatentCitation();
             citation.setCitingPatentNumber(patentId);
             citation.setCitedPatentNumber(c.getCitationPatentId());
@@ -74,21 +201,17 @@ public class PatentCitationService {
             citation.setCitedPatentDate(c.getCitationDate());
             citation.setCitationDirection(CitationDirection.BACKWARD);
             citation.setCitationType(CitationType.US_PATENT);
-
-            citationRepository.save(citation);
+            result.add(citation);
         }
+        return result;
     }
 
-    private void storeForwardUSPatentCitations(String patentId,
-                                               List<PatentsViewUSPatentCitation> citations) {
-        if (citations == null || citations.isEmpty()) return;
+    private List<PatentCitation> forwardUSPatentCitations(String patentId,
+                                                          List<PatentsViewUSPatentCitation> citations) {
+        if (citations == null || citations.isEmpty()) return List.of();
 
+        List<PatentCitation> result = new ArrayList<>(citations.size());
         for (PatentsViewUSPatentCitation c : citations) {
-            if (citationRepository.existsByCitingPatentNumberAndCitedPatentNumber(
-                    c.getPatentId(), patentId)) {
-                continue;
-            }
-
             PatentCitation citation = new PatentCitation();
             citation.setCitingPatentNumber(c.getPatentId()); // The other patent cites us
             citation.setCitedPatentNumber(patentId); // We are being cited
@@ -96,21 +219,17 @@ public class PatentCitationService {
             citation.setCitationCategory(c.getCitationCategory());
             citation.setCitationDirection(CitationDirection.FORWARD);
             citation.setCitationType(CitationType.US_PATENT);
-
-            citationRepository.save(citation);
+            result.add(citation);
         }
+        return result;
     }
 
-    private void storeUSApplicationCitations(String patentId,
-                                             List<PatentsViewUSApplicationCitation> citations) {
-        if (citations == null || citations.isEmpty()) return;
+    private List<PatentCitation> usApplicationCitations(String patentId,
+                                                        List<PatentsViewUSApplicationCitation> citations) {
+        if (citations == null || citations.isEmpty()) return List.of();
 
+        List<PatentCitation> result = new ArrayList<>(citations.size());
         for (PatentsViewUSApplicationCitation c : citations) {
-            if (citationRepository.existsByCitingPatentNumberAndCitedPatentNumber(
-                    patentId, c.getCitationDocumentNumber())) {
-                continue;
-            }
-
             PatentCitation citation = new PatentCitation();
             citation.setCitingPatentNumber(patentId);
             citation.setCitedPatentNumber(c.getCitationDocumentNumber());
@@ -120,37 +239,36 @@ public class PatentCitationService {
             citation.setCitedPatentDate(c.getCitationDate());
             citation.setCitationDirection(CitationDirection.BACKWARD);
             citation.setCitationType(CitationType.US_APPLICATION);
-
-            citationRepository.save(citation);
+            result.add(citation);
         }
+        return result;
     }
 
-    private void storeForeignCitations(String patentId,
-                                       List<PatentsViewForeignCitation> citations) {
-        if (citations == null || citations.isEmpty()) return;
+    private List<PatentCitation> foreignCitations(String patentId,
+                                                  List<PatentsViewForeignCitation> citations) {
+        if (citations == null || citations.isEmpty()) return List.of();
 
+        List<PatentCitation> result = new ArrayList<>(citations.size());
         for (PatentsViewForeignCitation c : citations) {
-            String foreignPatentNumber = c.getCitationCountry() + c.getCitationNumber();
-
-            if (citationRepository.existsByCitingPatentNumberAndCitedPatentNumber(
-                    patentId, foreignPatentNumber)) {
-                continue;
-            }
-
             PatentCitation citation = new PatentCitation();
             citation.setCitingPatentNumber(patentId);
-            citation.setCitedPatentNumber(foreignPatentNumber);
+            citation.setCitedPatentNumber(c.getCitationCountry() + c.getCitationNumber());
             citation.setCitationSequence(c.getCitationSequence());
             citation.setCitationCategory(c.getCitationCategory());
             citation.setCitedPatentDate(c.getCitationDate());
             citation.setCitationDirection(CitationDirection.BACKWARD);
             citation.setCitationType(CitationType.FOREIGN);
             citation.setCitationCountry(c.getCitationCountry());
-
-            citationRepository.save(citation);
+            result.add(citation);
         }
+        return result;
     }
 
+    /**
+     * Uniqueness key of a stored citation (uk_patent_citation_pair)
+     */
+    private record CitationKey(String citing, String cited, CitationDirection direction) {}
+
     /**
      * Get citation network from database (not for visualization, use EnhancedCitationNetworkService for that)
      */
@@ -5,12 +5,14 @@ import com.teamb.globalipbackend1.model.subscription.MonitoringType;
 import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
 import com.teamb.globalipbackend1.model.subscription.SubscriptionTier;
 import com.teamb.globalipbackend1.repository.subscription.MonitoringSubscriptionRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 
 @Service
@@ -23,8 +25,12 @@ import java.time.LocalDate;
 )
 public class CompetitorFilingScheduler {
 
+    /** Longest a node may hold one of the sync jobs */
+    private static final Duration SYNC_LEASE = Duration.ofHours(6);
+
     private final CompetitorFilingService filingService;
     private final MonitoringSubscriptionRepository subscriptionRepository;
+    private final JobCoordinator jobCoordinator;
 
     /**
      * Weekly sync - Every Monday at 3 AM
@@ -32,6 +38,12 @@ public class CompetitorFilingScheduler {
      */
     @Scheduled(cron = "${competitor.filing.scheduler.weekly.cron:0 0 3 * * MON}")
     public void weeklyFilingSync() {
+        if (!jobCoordinator.runExclusively("competitor-filing-weekly", SYNC_LEASE, this::runWeeklyFilingSync)) {
+            log.info("competitor-filing-weekly is running on another node");
+        }
+    }
+
+    private void runWeeklyFilingSync() {
         log.info("=== Starting weekly competitor filing sync ===");
 
         boolean hasBasicSubscription =
@@ -76,6 +88,12 @@ public class CompetitorFilingScheduler {
             havingValue = "true"
     )
     public void dailyFilingSync() {
+        if (!jobCoordinator.runExclusively("competitor-filing-daily", SYNC_LEASE, this::runDailyFilingSync)) {
+            log.info("competitor-filing-daily is running on another node");
+        }
+    }
+
+    private void runDailyFilingSync() {
         log.info("=== Starting daily competitor filing sync ===");
 
         boolean hasProOrEnterprise =
@@ -123,6 +141,12 @@ public class CompetitorFilingScheduler {
             havingValue = "true"
     )
     public void monthlyFullSync() {
+        if (!jobCoordinator.runExclusively("competitor-filing-monthly", SYNC_LEASE, this::runMonthlyFullSync)) {
+            log.info("competitor-filing-monthly is running on another node");
+        }
+    }
+
+    private void runMonthlyFullSync() {
         log.info("=== Starting monthly full competitor filing sync ===");
 
         boolean hasEnterprise =
@@ -188,6 +188,14 @@ public class CompetitorFilingService {
 
     private void notifySubscribers(Competitor c, int newFilings) {
 
+        CompetitorFilingEvent event = new CompetitorFilingEvent(
+                c.getId(),
+                c.getCode(),
+                newFilings,
+                null,
+                LocalDateTime.now()
+        );
+
         subscriptionRepository
                 .findByTypeAndStatus(
                         MonitoringType.COMPETITOR_FILING,
@@ -198,13 +206,8 @@ public class CompetitorFilingService {
                 .forEach(s ->
                         wsService.sendCompetitorFilingUpdate(
                                 s.getUserId(),
-                                new CompetitorFilingEvent(
-                                        c.getId(),
-                                        c.getCode(),
-                                        newFilings,
-                                        null,
-                                        LocalDateTime.now()
-                                )
+                                s.getAlertFrequency(),
+                                event
                         )
                 );
     }
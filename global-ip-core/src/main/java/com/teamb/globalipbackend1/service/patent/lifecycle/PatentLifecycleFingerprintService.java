@@ -0,0 +1,79 @@
+package com.teamb.globalipbackend1.service.patent.lifecycle;
+
+import com.teamb.globalipbackend1.dto.lifecycle.ApplicationLifecycleDto;
+import com.teamb.globalipbackend1.model.lifecycle.PatentLifecycleFingerprint;
+import com.teamb.globalipbackend1.repository.user.PatentLifecycleFingerprintRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-patent lifecycle fingerprints for the scheduled tracking check.
+ */
+@Service
+@RequiredArgsConstructor
+public class PatentLifecycleFingerprintService {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final PatentLifecycleFingerprintRepository repository;
+
+    /**
+     * 64-bit FNV-1a over status, filing, grant and expiration date. Stable
+     * across restarts, so stored values stay comparable.
+     */
+    public static long fingerprint(ApplicationLifecycleDto lifecycle) {
+        String canonical = String.join("|",
+                String.valueOf(lifecycle.status()),
+                date(lifecycle.filingDate()),
+                date(lifecycle.grantDate()),
+                date(lifecycle.expirationDate()));
+        long hash = FNV_OFFSET;
+        for (byte b : canonical.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /** Known fingerprints of the given patents, by patent id */
+    public Map<String, PatentLifecycleFingerprint> load(Collection<String> patentIds) {
+        return repository.findAllById(patentIds).stream()
+                .collect(Collectors.toMap(PatentLifecycleFingerprint::getPatentId, Function.identity()));
+    }
+
+    /**
+     * Store a fingerprint after its change has been applied to every tracker
+     *
+     * @param changed false for the first check of a patent, which has nothing to compare against
+     */
+    public void record(String patentId, long fingerprint, boolean changed,
+                       LocalDateTime checkedAt, LocalDateTime nextCheckAt) {
+        repository.save(new PatentLifecycleFingerprint(
+                patentId, fingerprint, changed ? checkedAt : null, checkedAt, nextCheckAt));
+    }
+
+    /**
+     * Patents a run found unchanged, grouped by their next check time; one
+     * update per group
+     */
+    public void markChecked(Map<LocalDateTime, ? extends Collection<String>> byNextCheck, LocalDateTime checkedAt) {
+        byNextCheck.forEach((nextCheckAt, patentIds) -> {
+            if (!patentIds.isEmpty()) {
+                repository.markChecked(patentIds, checkedAt, nextCheckAt);
+            }
+        });
+    }
+
+    private static String date(LocalDate date) {
+        return date != null ? date.toString() : "";
+    }
+}
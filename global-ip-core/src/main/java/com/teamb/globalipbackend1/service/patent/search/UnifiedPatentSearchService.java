@@ -1,6 +1,7 @@
 package com.teamb.globalipbackend1.service.patent.search;
 
 import com.teamb.globalipbackend1.cache.CacheNames;
+import com.teamb.globalipbackend1.cache.WarmCache;
 import com.teamb.globalipbackend1.dto.search.PatentSearchFilter;
 import com.teamb.globalipbackend1.model.patents.PatentDocument;
 import com.teamb.globalipbackend1.service.patent.detail.PatentSnapshotCacheService;
@@ -10,7 +11,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
@@ -29,6 +33,7 @@ public class UnifiedPatentSearchService {
     private final PatentSnapshotCacheService snapshotCacheService;
     private final Executor patentSearchExecutor;
 
+    @WarmCache
     @Cacheable(
             cacheNames = CacheNames.PATENT_SEARCH,
             key = "T(java.util.Objects).hash("
@@ -132,9 +137,9 @@ public class UnifiedPatentSearchService {
         CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
 
         List<PatentDocument> all =
-                futures.stream()
+                dedupe(futures.stream()
                         .flatMap(f -> f.join().stream())
-                        .toList();
+                        .toList());
 
         log.info("Combined results from all providers: {} patents", all.size());
 
@@ -148,4 +153,25 @@ public class UnifiedPatentSearchService {
         log.info("=== SEARCH COMPLETE ===");
         return filtered;
     }
+
+    /**
+     * One document per jurisdiction and publication number. The local index
+     * and the remote APIs overlap on older patents; the record with an
+     * abstract (the remote one) is kept.
+     */
+    static List<PatentDocument> dedupe(List<PatentDocument> documents) {
+        Map<String, PatentDocument> unique = new LinkedHashMap<>();
+        for (PatentDocument doc : documents) {
+            if (doc.getPublicationNumber() == null) {
+                unique.put("#" + unique.size(), doc);
+                continue;
+            }
+            String key = doc.getJurisdiction() + ":" + doc.getPublicationNumber();
+            PatentDocument existing = unique.get(key);
+            if (existing == null || (existing.getAbstractText() == null && doc.getAbstractText() != null)) {
+                unique.put(key, doc);
+            }
+        }
+        return new ArrayList<>(unique.values());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.teamb.globalipbackend1.service.patent.search.provider;
+
+import com.teamb.globalipbackend1.dto.search.PatentSearchFilter;
+import com.teamb.globalipbackend1.external.trendsApi.client.PatentTrendClient;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.search.LocalSearchHitDto;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.search.LocalSearchResultDto;
+import com.teamb.globalipbackend1.model.patents.PatentDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Searches the US and EPO bulk data held by the trends service, through its
+ * in-memory BM25 index. Answers in milliseconds and covers everything up to
+ * the last bulk load; the remote providers cover what was published since.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "search.local", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LocalIndexSearchProvider implements PatentSearchProvider {
+
+    private static final int MAX_RESULTS = 100;
+
+    private final PatentTrendClient trendClient;
+
+    @Override
+    public String getSource() {
+        return "LOCAL";
+    }
+
+    @Override
+    public boolean supportsJurisdiction(String jurisdiction) {
+        if (jurisdiction == null || jurisdiction.isBlank() || "ALL".equalsIgnoreCase(jurisdiction)) {
+            return true;
+        }
+        return "US".equalsIgnoreCase(jurisdiction) || "EP".equalsIgnoreCase(jurisdiction);
+    }
+
+    @Override
+    public List<PatentDocument> searchByKeyword(PatentSearchFilter filter) {
+        return search(filter);
+    }
+
+    @Override
+    public List<PatentDocument> searchAdvanced(PatentSearchFilter filter) {
+        return search(filter);
+    }
+
+    private List<PatentDocument> search(PatentSearchFilter filter) {
+        if (isBlank(filter.getKeyword()) && isBlank(filter.getAssignee())) {
+            return List.of();
+        }
+        try {
+            LocalSearchResultDto result = trendClient.searchLocalPatents(
+                    filter.getKeyword(),
+                    filter.getAssignee(),
+                    filter.getJurisdiction(),
+                    filter.getFilingDateFrom(),
+                    filter.getFilingDateTo(),
+                    MAX_RESULTS
+            );
+            log.info("Local index matched {} patents (indexed through {})",
+                    result.totalMatches(), result.indexedThrough());
+            return result.hits().stream().map(LocalIndexSearchProvider::toDocument).toList();
+        } catch (Exception e) {
+            log.warn("Local index search failed: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static PatentDocument toDocument(LocalSearchHitDto hit) {
+        PatentDocument doc = new PatentDocument();
+        doc.setPublicationNumber(publicationNumber(hit));
+        doc.setSource("LOCAL");
+        doc.setJurisdiction(hit.jurisdiction());
+        doc.setTitle(hit.title());
+        doc.setAssignees(hit.assignees() != null ? hit.assignees() : List.of());
+        doc.setFilingDate(hit.filingDate());
+        doc.setGrantDate(hit.publicationDate());
+        doc.setWipoKind(hit.kind());
+        return doc;
+    }
+
+    /** Same form as the remote providers: bare number for US, country + number for EPO */
+    private static String publicationNumber(LocalSearchHitDto hit) {
+        String id = hit.patentId();
+        if (!"US".equalsIgnoreCase(hit.jurisdiction()) && hit.kind() != null && id.endsWith(hit.kind())) {
+            return id.substring(0, id.length() - hit.kind().length());
+        }
+        return id;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
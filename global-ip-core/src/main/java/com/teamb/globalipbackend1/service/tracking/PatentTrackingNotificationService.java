@@ -1,91 +1,192 @@
 package com.teamb.globalipbackend1.service.tracking;
 
+import com.teamb.globalipbackend1.admin.dto.NotificationFanOutStatsDto;
 import com.teamb.globalipbackend1.dto.tracking.PatentTrackingEventDto;
+import com.teamb.globalipbackend1.dto.tracking.RenewalDueDto;
+import com.teamb.globalipbackend1.model.subscription.AlertFrequency;
+import com.teamb.globalipbackend1.model.subscription.MonitoringSubscription;
 import com.teamb.globalipbackend1.model.subscription.MonitoringType;
 import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
 import com.teamb.globalipbackend1.model.subscription.SubscriptionTier;
 import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferences;
 import com.teamb.globalipbackend1.repository.subscription.MonitoringSubscriptionRepository;
+import com.teamb.globalipbackend1.service.websocket.NotificationCoalescer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PatentTrackingNotificationService {
 
-    private final SimpMessagingTemplate messagingTemplate;
     private final TrackingPreferencesService trackingPreferencesService;
     private final MonitoringSubscriptionRepository subscriptionRepository;
+    private final NotificationCoalescer coalescer;
+
+    /** Recipients resolved and handed to the broker per subscription query */
+    private static final int FAN_OUT_BATCH = 500;
+
+    private final LongAdder fanOutEvents = new LongAdder();
+    private final LongAdder fanOutBatches = new LongAdder();
+    private final LongAdder fanOutRecipients = new LongAdder();
+    private final LongAdder fanOutDelivered = new LongAdder();
+    private final LongAdder fanOutFailed = new LongAdder();
+    private final LongAdder fanOutNanos = new LongAdder();
 
     /**
      * Send notification to a specific user
      */
     public void sendUserNotification(String userId, PatentTrackingEventDto event) {
 
-        var subscriptionOpt =
-                subscriptionRepository.findByUserIdAndTypeAndStatus(
-                        userId,
-                        MonitoringType.LEGAL_STATUS,
-                        SubscriptionStatus.ACTIVE
-                );
+        MonitoringSubscription subscription = activeSubscriptions(List.of(userId)).get(userId);
 
-        if (subscriptionOpt.isEmpty()) {
+        if (subscription == null) {
             log.debug("User={} has no active LEGAL_STATUS subscription. Skipping notification.", userId);
             return;
         }
 
-        var subscription = subscriptionOpt.get();
-
-
-        if (subscription.getTier() == SubscriptionTier.BASIC &&
-                ("EXPIRY_WARNING".equals(event.eventType()) ||
-                        "RENEWAL_REMINDER".equals(event.eventType()))) {
+        if (!allowedForTier(subscription.getTier(), event)) {
             log.debug("Skipping {} for BASIC user={}", event.eventType(), userId);
             return;
         }
 
-        String destination = "/user/" + userId + "/queue/patent-events";
+        log.debug("Sending {} to user={}", event.eventType(), userId);
 
-        log.info("Sending notification to user={}, destination={}, event={}",
-                userId, destination, event.eventType());
+        deliver(userId, subscription.getAlertFrequency(), event);
+    }
 
+    /**
+     * Send one batch of renewal reminders. The rows come from a query that
+     * already applied the tracking preferences and subscription tier, so
+     * they are delivered without further lookups, at the frequency of the
+     * subscription the query matched. Marks within the expiry warning
+     * window also get an expiry warning, as before.
+     */
+    public void sendRenewalReminders(List<RenewalDueDto> batch, LocalDate today, int expiryWarningDays) {
+        for (RenewalDueDto due : batch) {
+            int days = (int) ChronoUnit.DAYS.between(today, due.expirationDate());
+            String date = due.expirationDate().toString();
+
+            deliver(due.userId(), due.alertFrequency(), renewalReminderEvent(due.patentId(), date, days));
+            if (days > 0 && days <= expiryWarningDays) {
+                deliver(due.userId(), due.alertFrequency(), expiryWarningEvent(due.patentId(), date, days));
+            }
+        }
+        log.info("Sent renewal reminders for {} tracked patents", batch.size());
+    }
+
+    /**
+     * Hand the event to the coalescer, which sends it now, folds it into a
+     * short-window digest or stores it for the user's daily / weekly digest.
+     */
+    private boolean deliver(String userId, AlertFrequency frequency, PatentTrackingEventDto event) {
         try {
-            messagingTemplate.convertAndSendToUser(
-                    userId,
-                    "/queue/patent-events",
-                    event
-            );
-            log.info("Notification sent successfully to user={}", userId);
+            coalescer.patentEvent(userId, frequency, event);
+            log.debug("Notification queued successfully for user={}", userId);
+            return true;
         } catch (Exception e) {
             log.error("Failed to send notification to user={}", userId, e);
+            return false;
         }
     }
 
     /**
-     * Broadcast notification to all users tracking a specific patent
+     * Broadcast notification to all users tracking a specific patent.
+     *
+     * Preferences are checked in memory first; the remaining recipients'
+     * subscriptions are then loaded with one query per batch of
+     * {@value #FAN_OUT_BATCH} users instead of one per user, and each batch
+     * is handed to the broker before the next one is resolved.
      */
     public void broadcastToTrackingUsers(String patentId, PatentTrackingEventDto event) {
+        long start = System.nanoTime();
         log.info("Broadcasting event={} for patent={}", event.eventType(), patentId);
 
         List<UserTrackingPreferences> trackingUsers =
                 trackingPreferencesService.getUsersTrackingPatent(patentId);
 
-        log.info("Found {} users tracking patent={}", trackingUsers.size(), patentId);
-
+        List<String> recipients = new ArrayList<>();
         for (UserTrackingPreferences prefs : trackingUsers) {
-            String userId = prefs.getId().getUserId();
-
-            // Existing preference check (UNCHANGED)
             if (shouldNotifyUser(prefs, event.eventType())) {
-                sendUserNotification(userId, event);
+                recipients.add(prefs.getId().getUserId());
             }
         }
+
+        int delivered = 0;
+        int failed = 0;
+        for (int from = 0; from < recipients.size(); from += FAN_OUT_BATCH) {
+            List<String> batch = recipients.subList(from, Math.min(recipients.size(), from + FAN_OUT_BATCH));
+            Map<String, MonitoringSubscription> subscriptions = activeSubscriptions(batch);
+
+            for (String userId : batch) {
+                MonitoringSubscription subscription = subscriptions.get(userId);
+                if (subscription == null || !allowedForTier(subscription.getTier(), event)) {
+                    continue;
+                }
+                if (deliver(userId, subscription.getAlertFrequency(), event)) {
+                    delivered++;
+                } else {
+                    failed++;
+                }
+            }
+            fanOutBatches.increment();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        fanOutEvents.increment();
+        fanOutRecipients.add(recipients.size());
+        fanOutDelivered.add(delivered);
+        fanOutFailed.add(failed);
+        fanOutNanos.add(elapsed);
+
+        log.info("Event={} for patent={}: {} trackers, {} delivered, {} failed in {} ms",
+                event.eventType(), patentId, trackingUsers.size(), delivered, failed, elapsed / 1_000_000);
+    }
+
+    /**
+     * Totals over all broadcasts since startup
+     */
+    public NotificationFanOutStatsDto fanOutStats() {
+        long events = fanOutEvents.sum();
+        long delivered = fanOutDelivered.sum();
+        double seconds = fanOutNanos.sum() / 1e9;
+        return new NotificationFanOutStatsDto(
+                events,
+                fanOutBatches.sum(),
+                fanOutRecipients.sum(),
+                delivered,
+                fanOutFailed.sum(),
+                events == 0 ? 0.0 : seconds * 1000 / events,
+                seconds == 0 ? 0.0 : delivered / seconds
+        );
+    }
+
+    /** Active LEGAL_STATUS subscription per user, the best tier if there are several */
+    private Map<String, MonitoringSubscription> activeSubscriptions(List<String> userIds) {
+        Map<String, MonitoringSubscription> byUser = new HashMap<>();
+        for (MonitoringSubscription subscription : subscriptionRepository.findByUserIdInAndTypeAndStatus(
+                userIds, MonitoringType.LEGAL_STATUS, SubscriptionStatus.ACTIVE)) {
+            byUser.merge(subscription.getUserId(), subscription,
+                    (a, b) -> a.getTier().compareTo(b.getTier()) >= 0 ? a : b);
+        }
+        return byUser;
+    }
+
+    /** Renewal and expiry notices are not part of the BASIC tier */
+    private static boolean allowedForTier(SubscriptionTier tier, PatentTrackingEventDto event) {
+        return !(tier == SubscriptionTier.BASIC &&
+                ("EXPIRY_WARNING".equals(event.eventType()) ||
+                        "RENEWAL_REMINDER".equals(event.eventType())));
     }
 
     /**
@@ -145,13 +246,17 @@ public class PatentTrackingNotificationService {
             String renewalDate,
             int daysUntilRenewal
     ) {
+        broadcastToTrackingUsers(patentId, renewalReminderEvent(patentId, renewalDate, daysUntilRenewal));
+    }
+
+    private PatentTrackingEventDto renewalReminderEvent(String patentId, String renewalDate, int daysUntilRenewal) {
         String message = String.format(
                 "Renewal due in %d days (on %s)",
                 daysUntilRenewal,
                 renewalDate
         );
 
-        PatentTrackingEventDto event = new PatentTrackingEventDto(
+        return new PatentTrackingEventDto(
                 patentId,
                 "RENEWAL_REMINDER",
                 message,
@@ -160,8 +265,6 @@ public class PatentTrackingNotificationService {
                 LocalDateTime.now(),
                 daysUntilRenewal <= 30 ? "WARNING" : "INFO"
         );
-
-        broadcastToTrackingUsers(patentId, event);
     }
 
     /**
@@ -172,13 +275,17 @@ public class PatentTrackingNotificationService {
             String expiryDate,
             int daysUntilExpiry
     ) {
+        broadcastToTrackingUsers(patentId, expiryWarningEvent(patentId, expiryDate, daysUntilExpiry));
+    }
+
+    private PatentTrackingEventDto expiryWarningEvent(String patentId, String expiryDate, int daysUntilExpiry) {
         String message = String.format(
                 "Patent expires in %d days (on %s)",
                 daysUntilExpiry,
                 expiryDate
         );
 
-        PatentTrackingEventDto event = new PatentTrackingEventDto(
+        return new PatentTrackingEventDto(
                 patentId,
                 "EXPIRY_WARNING",
                 message,
@@ -187,8 +294,6 @@ public class PatentTrackingNotificationService {
                 LocalDateTime.now(),
                 daysUntilExpiry <= 60 ? "CRITICAL" : "WARNING"
         );
-
-        broadcastToTrackingUsers(patentId, event);
     }
 
     /**
@@ -0,0 +1,116 @@
+package com.teamb.globalipbackend1.service.tracking;
+
+import com.teamb.globalipbackend1.dto.tracking.RenewalDueDto;
+import com.teamb.globalipbackend1.model.lifecycle.RenewalReminderRun;
+import com.teamb.globalipbackend1.model.lifecycle.RenewalReminderSent;
+import com.teamb.globalipbackend1.model.subscription.MonitoringType;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionTier;
+import com.teamb.globalipbackend1.repository.user.RenewalReminderRunRepository;
+import com.teamb.globalipbackend1.repository.user.RenewalReminderSentRepository;
+import com.teamb.globalipbackend1.repository.user.UserPatentLifecycleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Daily renewal reminders, computed from stored expiration dates.
+ *
+ * For each reminder mark one indexed range query finds the lifecycles whose
+ * mark was reached since the last successful run, already filtered by
+ * tracking preferences and subscription tier, and reminders go out one
+ * keyset page at a time. Every reminder sent is recorded, so a run that
+ * repeats days after a failure only sends what is still missing. No
+ * upstream calls are made, so nothing needs pacing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RenewalReminderService {
+
+    /** BASIC subscriptions do not get renewal or expiry alerts */
+    private static final List<SubscriptionTier> REMINDER_TIERS =
+            List.of(SubscriptionTier.PRO, SubscriptionTier.ENTERPRISE);
+
+    private final UserPatentLifecycleRepository lifecycleRepository;
+    private final RenewalReminderSentRepository sentRepository;
+    private final RenewalReminderRunRepository runRepository;
+    private final PatentTrackingNotificationService notificationService;
+    private final TrackingProperties properties;
+
+    /**
+     * Sends the reminders of every day after the last successful run up to
+     * {@code today}, then records {@code today} as done.
+     *
+     * @return the number of reminders sent
+     */
+    public int sendDueReminders(LocalDate today) {
+        TrackingProperties.Renewals renewals = properties.getRenewals();
+        LocalDate from = today.minusDays(Math.max(0, renewals.getMaxCatchUpDays()));
+        LocalDate lastRun = runRepository.findLastRunDate();
+        if (lastRun == null) {
+            from = today;
+        } else if (lastRun.isAfter(from)) {
+            from = lastRun.plusDays(1);
+        }
+
+        int sent = 0;
+        if (!from.isAfter(today)) {
+            for (int days : renewals.getReminderDays()) {
+                LocalDate first = from.plusDays(days);
+                // A late catch-up never reminds about patents that already expired
+                sent += sendMark(days, first.isBefore(today) ? today : first, today.plusDays(days), today, renewals);
+            }
+        }
+        runRepository.save(new RenewalReminderRun(today, LocalDateTime.now()));
+
+        log.debug("Renewal reminders for marks {} from {} to {}: {}", renewals.getReminderDays(), from, today, sent);
+        return sent;
+    }
+
+    private int sendMark(int days, LocalDate from, LocalDate to, LocalDate today, TrackingProperties.Renewals renewals) {
+        int batchSize = Math.max(1, renewals.getBatchSize());
+
+        String afterUserId = "";
+        String afterPatentId = "";
+        int sent = 0;
+        while (true) {
+            List<RenewalDueDto> batch = lifecycleRepository.findRenewalsDue(
+                    from, to, days, afterUserId, afterPatentId,
+                    MonitoringType.LEGAL_STATUS, SubscriptionStatus.ACTIVE, REMINDER_TIERS,
+                    PageRequest.ofSize(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            notificationService.sendRenewalReminders(batch, today, renewals.getExpiryWarningDays());
+            sentRepository.saveAll(sentRecords(batch, days));
+            sent += batch.size();
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+            RenewalDueDto last = batch.get(batch.size() - 1);
+            afterUserId = last.userId();
+            afterPatentId = last.patentId();
+        }
+        return sent;
+    }
+
+    private static List<RenewalReminderSent> sentRecords(List<RenewalDueDto> batch, int days) {
+        LocalDateTime now = LocalDateTime.now();
+        return batch.stream()
+                .map(due -> RenewalReminderSent.builder()
+                        .userId(due.userId())
+                        .patentId(due.patentId())
+                        .expirationDate(due.expirationDate())
+                        .reminderDays(days)
+                        .sentAt(now)
+                        .build())
+                .toList();
+    }
+}
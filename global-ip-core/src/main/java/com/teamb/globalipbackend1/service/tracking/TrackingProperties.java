@@ -0,0 +1,70 @@
+package com.teamb.globalipbackend1.service.tracking;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "tracking")
+@Data
+public class TrackingProperties {
+
+    /**
+     * Patents checked in parallel by the scheduled tracking run; the upstream
+     * rate limits, not this number, decide the request rate
+     */
+    private int concurrency = 8;
+
+    /**
+     * Patent id shards per hourly run; nodes claim shards between them, so
+     * more shards spread a run more evenly across nodes
+     */
+    private int shards = 8;
+
+    private Schedule schedule = new Schedule();
+
+    private Renewals renewals = new Renewals();
+
+    /** How long until a tracked patent is checked again, by lifecycle stage */
+    @Data
+    public static class Schedule {
+
+        /** Pending or unknown: examination can move at any time */
+        private Duration pending = Duration.ofHours(6);
+
+        /** Granted within {@code recentGrantWindow}: corrections and status updates still arrive */
+        private Duration recentlyGranted = Duration.ofHours(12);
+
+        private Duration recentGrantWindow = Duration.ofDays(365);
+
+        private Duration granted = Duration.ofDays(1);
+
+        /** Expired or withdrawn; also not shortened by the subscription tier */
+        private Duration terminal = Duration.ofDays(30);
+
+        /** A patent that changed within {@code recentChangeWindow} is checked this often */
+        private Duration recentChange = Duration.ofHours(1);
+
+        private Duration recentChangeWindow = Duration.ofDays(7);
+    }
+
+    @Data
+    public static class Renewals {
+
+        /** Days before expiration on which a renewal reminder is sent */
+        private List<Integer> reminderDays = List.of(90, 60, 30, 7);
+
+        /** Reminders this close to expiration also carry an expiry warning */
+        private int expiryWarningDays = 60;
+
+        /**
+         * A run after missed days also sends the reminders whose marks passed
+         * since the last successful run, for at most this many days back
+         */
+        private int maxCatchUpDays = 7;
+
+        /** Reminders read and sent per batch */
+        private int batchSize = 500;
+    }
+}
@@ -0,0 +1,67 @@
+package com.teamb.globalipbackend1.service.tracking;
+
+import com.teamb.globalipbackend1.dto.lifecycle.ApplicationLifecycleDto;
+import com.teamb.globalipbackend1.model.subscription.MonitoringTierLimits;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionTier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * When a tracked patent should be polled again.
+ *
+ * The interval comes from the lifecycle stage, is shortened while the patent
+ * has been changing recently, and is capped by the lifecycle check interval
+ * of the best subscription tier among its trackers. Expired and withdrawn
+ * patents are left at the terminal interval whatever the tier.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrackingSchedulePolicy {
+
+    private final TrackingProperties properties;
+    private final MonitoringTierLimits tierLimits;
+
+    /**
+     * @param lastChangedAt when the lifecycle last changed, or null if no change has been seen
+     * @param tier          best tier among the patent's trackers, or null if unknown
+     */
+    public LocalDateTime nextCheckAt(ApplicationLifecycleDto lifecycle, LocalDateTime lastChangedAt,
+                                     SubscriptionTier tier, LocalDateTime now) {
+        return now.plus(interval(lifecycle, lastChangedAt, tier, now));
+    }
+
+    Duration interval(ApplicationLifecycleDto lifecycle, LocalDateTime lastChangedAt,
+                      SubscriptionTier tier, LocalDateTime now) {
+        TrackingProperties.Schedule schedule = properties.getSchedule();
+        String status = lifecycle.status() != null ? lifecycle.status() : "UNKNOWN";
+
+        if ("EXPIRED".equals(status) || "WITHDRAWN".equals(status)) {
+            return schedule.getTerminal();
+        }
+
+        Duration interval;
+        if ("GRANTED".equals(status)) {
+            boolean recentGrant = lifecycle.grantDate() != null && lifecycle.grantDate().atStartOfDay()
+                    .isAfter(now.minus(schedule.getRecentGrantWindow()));
+            interval = recentGrant ? schedule.getRecentlyGranted() : schedule.getGranted();
+        } else {
+            interval = schedule.getPending();
+        }
+
+        if (lastChangedAt != null && lastChangedAt.isAfter(now.minus(schedule.getRecentChangeWindow()))) {
+            interval = min(interval, schedule.getRecentChange());
+        }
+
+        if (tier != null) {
+            interval = min(interval, tierLimits.getLimits().get(tier).getLifecycleCheckInterval());
+        }
+        return interval;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
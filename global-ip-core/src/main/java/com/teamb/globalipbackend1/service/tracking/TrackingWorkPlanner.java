@@ -0,0 +1,218 @@
+package com.teamb.globalipbackend1.service.tracking;
+
+import com.teamb.globalipbackend1.model.lifecycle.PatentLifecycleFingerprint;
+import com.teamb.globalipbackend1.model.subscription.MonitoringType;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionTier;
+import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferences;
+import com.teamb.globalipbackend1.repository.tracking.UserTrackingPreferencesRepository;
+import com.teamb.globalipbackend1.repository.user.PatentLifecycleFingerprintRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Plans the scheduled tracking checks: which patents to look at and which
+ * subscribed users follow each one.
+ *
+ * The database does the subscription filter (a semi-join on active
+ * subscriptions) and hands back patents in keyset pages, so only one page
+ * of tracking rows is in memory at a time. Lifecycle checks only plan the
+ * patents whose next check, kept with their lifecycle fingerprint, is due.
+ * Runs split into shards select their shard in the same queries, by the
+ * stored {@link JobCoordinator#shardKey} of each patent.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrackingWorkPlanner {
+
+    static final int PAGE_SIZE = 500;
+
+    /** Before any next-check time; start of the due queue keyset */
+    private static final LocalDateTime QUEUE_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserTrackingPreferencesRepository trackingRepository;
+    private final PatentLifecycleFingerprintRepository fingerprintRepository;
+
+    /**
+     * One patent and the tracking rows of the subscribed users following it.
+     * {@code tier} is the best subscription tier among them; only resolved
+     * for due-check planning, null otherwise.
+     */
+    public record PatentWork(String patentId, List<UserTrackingPreferences> trackers, SubscriptionTier tier) {
+
+        public PatentWork(String patentId, List<UserTrackingPreferences> trackers) {
+            this(patentId, trackers, null);
+        }
+    }
+
+    /**
+     * Hand every page of work to {@code pageHandler}, in patent id order.
+     *
+     * @param renewalsOnly only users tracking renewals and expiry
+     * @return the number of patents planned
+     */
+    public int forEachPage(MonitoringType type, boolean renewalsOnly, Consumer<List<PatentWork>> pageHandler) {
+        String after = "";
+        int planned = 0;
+        while (true) {
+            List<String> patentIds = trackingRepository.findSubscribedPatentIdsAfter(
+                    after, type, SubscriptionStatus.ACTIVE, renewalsOnly, PageRequest.ofSize(PAGE_SIZE));
+            if (patentIds.isEmpty()) {
+                break;
+            }
+
+            List<PatentWork> page = work(patentIds, type, renewalsOnly, Map.of());
+            planned += page.size();
+            pageHandler.accept(page);
+
+            if (patentIds.size() < PAGE_SIZE) {
+                break;
+            }
+            after = patentIds.get(patentIds.size() - 1);
+        }
+        log.debug("Planned {} patents for {} checks", planned, type);
+        return planned;
+    }
+
+    /**
+     * Hand every page of patents due for a check to {@code pageHandler}:
+     * first the never-checked ones, then the scheduled ones whose next check
+     * time has passed, most overdue first.
+     *
+     * @param shard the run shard to plan, in [0, {@code shards}); see {@link JobCoordinator#shardOf}
+     * @return the number of patents planned
+     */
+    public int forEachDuePage(MonitoringType type, LocalDateTime now, int shard, int shards,
+                              Consumer<List<PatentWork>> pageHandler) {
+        int planned = 0;
+
+        String after = "";
+        while (true) {
+            List<String> patentIds = trackingRepository.findUnscheduledPatentIdsAfter(
+                    after, type, SubscriptionStatus.ACTIVE, shard, shards, PageRequest.ofSize(PAGE_SIZE));
+            if (patentIds.isEmpty()) {
+                break;
+            }
+            planned += handle(patentIds, type, pageHandler);
+            if (patentIds.size() < PAGE_SIZE) {
+                break;
+            }
+            after = patentIds.get(patentIds.size() - 1);
+        }
+
+        // Keyset on (next check, id): patents rescheduled while this run
+        // goes on move past "now" and are not picked up twice
+        LocalDateTime afterCheckAt = QUEUE_START;
+        String afterId = "";
+        while (true) {
+            List<PatentLifecycleFingerprint> due = fingerprintRepository.findDueAfter(
+                    now, afterCheckAt, afterId, type, SubscriptionStatus.ACTIVE, shard, shards,
+                    PageRequest.ofSize(PAGE_SIZE));
+            if (due.isEmpty()) {
+                break;
+            }
+            planned += handle(due.stream().map(PatentLifecycleFingerprint::getPatentId).toList(), type, pageHandler);
+            if (due.size() < PAGE_SIZE) {
+                break;
+            }
+            PatentLifecycleFingerprint last = due.get(due.size() - 1);
+            afterCheckAt = last.getNextCheckAt();
+            afterId = last.getPatentId();
+        }
+
+        log.debug("Planned {} due patents for {} checks", planned, type);
+        return planned;
+    }
+
+    /**
+     * Store the shard key of tracking rows and fingerprints written before
+     * it existed; until then the sharded queries skip them. Cheap once done.
+     *
+     * @return the number of patents updated
+     */
+    public int assignMissingShardKeys() {
+        int assigned = assignShardKeys(fingerprintRepository::findPatentIdsWithoutShardKey,
+                fingerprintRepository::assignShardKey);
+        assigned += assignShardKeys(trackingRepository::findPatentIdsWithoutShardKey,
+                trackingRepository::assignShardKey);
+        if (assigned > 0) {
+            log.info("Assigned shard keys to {} tracked patents", assigned);
+        }
+        return assigned;
+    }
+
+    private static int assignShardKeys(Function<Pageable, List<String>> missing,
+                                       BiFunction<Collection<String>, Integer, Integer> assign) {
+        int assigned = 0;
+        while (true) {
+            List<String> patentIds = missing.apply(PageRequest.ofSize(PAGE_SIZE));
+            if (patentIds.isEmpty()) {
+                return assigned;
+            }
+            Map<Integer, List<String>> byKey = patentIds.stream()
+                    .collect(Collectors.groupingBy(JobCoordinator::shardKey));
+            int updated = 0;
+            for (Map.Entry<Integer, List<String>> group : byKey.entrySet()) {
+                updated += assign.apply(group.getValue(), group.getKey());
+            }
+            if (updated == 0) {
+                // Nothing changed, so the next page would be the same one
+                return assigned;
+            }
+            assigned += patentIds.size();
+        }
+    }
+
+    private int handle(List<String> patentIds, MonitoringType type, Consumer<List<PatentWork>> pageHandler) {
+        if (patentIds.isEmpty()) {
+            return 0;
+        }
+        Map<String, SubscriptionTier> tiers = new HashMap<>();
+        for (Object[] row : trackingRepository.findSubscriptionTiers(patentIds, type, SubscriptionStatus.ACTIVE)) {
+            tiers.merge((String) row[0], (SubscriptionTier) row[1], TrackingWorkPlanner::better);
+        }
+        List<PatentWork> page = work(patentIds, type, false, tiers);
+        pageHandler.accept(page);
+        return page.size();
+    }
+
+    private List<PatentWork> work(List<String> patentIds, MonitoringType type, boolean renewalsOnly,
+                                  Map<String, SubscriptionTier> tiers) {
+        Map<String, List<UserTrackingPreferences>> byPatent = new LinkedHashMap<>();
+        patentIds.forEach(id -> byPatent.put(id, new ArrayList<>()));
+        for (UserTrackingPreferences tracking : trackingRepository.findSubscribedTrackers(
+                patentIds, type, SubscriptionStatus.ACTIVE, renewalsOnly)) {
+            byPatent.get(tracking.getId().getPatentId()).add(tracking);
+        }
+
+        List<PatentWork> page = new ArrayList<>(byPatent.size());
+        byPatent.forEach((patentId, trackers) -> {
+            // A subscription may have lapsed between the two queries
+            if (!trackers.isEmpty()) {
+                page.add(new PatentWork(patentId, trackers, tiers.get(patentId)));
+            }
+        });
+        return page;
+    }
+
+    private static SubscriptionTier better(SubscriptionTier a, SubscriptionTier b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
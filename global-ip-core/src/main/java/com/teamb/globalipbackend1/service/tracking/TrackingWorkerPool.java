@@ -0,0 +1,89 @@
+package com.teamb.globalipbackend1.service.tracking;
+
+import com.teamb.globalipbackend1.external.ratelimit.Upstream;
+import com.teamb.globalipbackend1.external.ratelimit.UpstreamRateLimiter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the per-patent checks of a tracking run in parallel.
+ *
+ * Every job takes its permits from the upstream's token bucket before it
+ * starts, so the workers together never exceed the configured rate, and
+ * slow responses from one patent no longer hold up the rest.
+ */
+@Slf4j
+@Component
+public class TrackingWorkerPool {
+
+    private final UpstreamRateLimiter rateLimiter;
+    private final ExecutorService executor;
+
+    /**
+     * @param permits upstream requests the job makes
+     */
+    public record Job(Upstream upstream, int permits, String patentId, Runnable work) {}
+
+    public TrackingWorkerPool(UpstreamRateLimiter rateLimiter, TrackingProperties properties) {
+        this.rateLimiter = rateLimiter;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getConcurrency()), task -> {
+            Thread thread = new Thread(task, "tracking-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Run all jobs and wait for them to finish. A failing job is logged and
+     * does not affect the others.
+     *
+     * @return false if the calling thread was interrupted while waiting
+     */
+    public boolean runAll(List<Job> jobs) {
+        List<Future<?>> futures = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            futures.add(executor.submit(() -> run(job)));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                futures.forEach(f -> f.cancel(true));
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                log.error("Tracking job failed", e.getCause());
+            }
+        }
+        return true;
+    }
+
+    private void run(Job job) {
+        try {
+            rateLimiter.acquire(job.upstream(), job.permits());
+            job.work().run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error checking patent: {}", job.patentId(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
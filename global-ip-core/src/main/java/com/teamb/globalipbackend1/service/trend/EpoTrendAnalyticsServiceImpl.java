@@ -1,5 +1,6 @@
 package com.teamb.globalipbackend1.service.trend;
 
+import com.teamb.globalipbackend1.cache.WarmCache;
 import com.teamb.globalipbackend1.external.trendsApi.client.EpoTrendClient;
 import com.teamb.globalipbackend1.external.trendsApi.dto.response.epo.*;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +18,7 @@ public class EpoTrendAnalyticsServiceImpl implements EpoTrendAnalyticsService {
     private final EpoTrendClient epoTrendClient;
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "epoFilingTrend")
     public List<EpoYearCountDto> filingTrend() {
         log.info("[EPO] Filing trend");
@@ -24,6 +26,7 @@ public class EpoTrendAnalyticsServiceImpl implements EpoTrendAnalyticsService {
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "epoCountryTrend")
     public List<EpoCountryTrendDto> countryDistribution() {
         log.info("[EPO] Country distribution");
@@ -31,6 +34,7 @@ public class EpoTrendAnalyticsServiceImpl implements EpoTrendAnalyticsService {
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "epoTopTechnologies")
     public List<EpoTechnologyTrendDto> topTechnologies() {
         log.info("[EPO] Top technologies");
@@ -38,6 +42,7 @@ public class EpoTrendAnalyticsServiceImpl implements EpoTrendAnalyticsService {
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "epoTopAssignees")
     public List<EpoAssigneeTrendDto> topAssignees() {
         log.info("[EPO] Top assignees");
@@ -45,6 +50,7 @@ public class EpoTrendAnalyticsServiceImpl implements EpoTrendAnalyticsService {
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "epoFamilyTrend")
     public List<EpoFamilyTrendDto> familySizeTrend() {
         log.info("[EPO] Family size trend");
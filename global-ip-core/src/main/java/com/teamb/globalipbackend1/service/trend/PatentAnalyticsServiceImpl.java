@@ -1,6 +1,7 @@
 package com.teamb.globalipbackend1.service.trend;
 
 import com.teamb.globalipbackend1.cache.CacheNames;
+import com.teamb.globalipbackend1.cache.WarmCache;
 import com.teamb.globalipbackend1.external.trendsApi.client.PatentTrendClient;
 import com.teamb.globalipbackend1.external.trendsApi.dto.request.TechnologyCrossoverRequest;
 import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.*;
@@ -28,6 +29,7 @@ public class PatentAnalyticsServiceImpl implements PatentAnalyticsService {
 
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "filingTrends")
     public List<FilingTrendDto> getFilingTrends() {
         log.info("Fetching filing trends");
@@ -35,6 +37,7 @@ public class PatentAnalyticsServiceImpl implements PatentAnalyticsService {
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = CacheNames.GRANT_TRENDS)
     public List<GrantTrendDto> getGrantTrends() {
         log.info("Fetching grant trends");
@@ -127,30 +130,35 @@ public class PatentAnalyticsServiceImpl implements PatentAnalyticsService {
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "topCitedPatents", key = "#limit")
     public List<CitationTrendDto> getTopCitedPatents(int limit) {
         return patentClient.getTopCitedPatents(limit);
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "timeToGrantTrend")
     public List<TimeToGrantDto> getTimeToGrantTrend() {
         return patentClient.getTimeToGrantTrend();
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "patentTypeDistribution")
     public List<PatentTypeDto> getPatentTypeDistribution() {
         return patentClient.getPatentTypeDistribution();
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "claimComplexityTrend")
     public List<ClaimComplexityDto> getClaimComplexityTrend() {
         return patentClient.getClaimComplexityTrend();
     }
 
     @Override
+    @WarmCache
     @Cacheable(
             cacheNames = "topAssignees",
             key = "#limit"
@@ -161,6 +169,7 @@ public class PatentAnalyticsServiceImpl implements PatentAnalyticsService {
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "topCitingPatents", key = "#limit")
     public List<CitationMetricDto> getTopCitingPatents(int limit) {
         log.info("Fetching top {} citing patents", limit);
@@ -169,6 +178,7 @@ public class PatentAnalyticsServiceImpl implements PatentAnalyticsService {
 
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = CacheNames.TECHNOLOGY_EVOLUTION)
     public List<TechnologyEvolutionDto> getTechnologyEvolution() {
         return patentClient.getTechnologyEvolution();
@@ -1,5 +1,6 @@
 package com.teamb.globalipbackend1.service.trend;
 
+import com.teamb.globalipbackend1.cache.WarmCache;
 import com.teamb.globalipbackend1.external.trendsApi.client.UnifiedTrendClient;
 import com.teamb.globalipbackend1.external.trendsApi.dto.response.unified.UnifiedCountryTrendDto;
 import com.teamb.globalipbackend1.external.trendsApi.dto.response.unified.UnifiedYearTrendDto;
@@ -18,6 +19,7 @@ public class UnifiedTrendServiceImpl implements UnifiedTrendService {
     private final UnifiedTrendClient unifiedTrendClient;
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "unifiedFilingTrend")
     public List<UnifiedYearTrendDto> getUnifiedFilingTrend() {
         log.info("[UNIFIED] Fetching unified filing trend");
@@ -25,6 +27,7 @@ public class UnifiedTrendServiceImpl implements UnifiedTrendService {
     }
 
     @Override
+    @WarmCache
     @Cacheable(cacheNames = "unifiedCountryTrend")
     public List<UnifiedCountryTrendDto> getUnifiedCountryTrend() {
         log.info("[UNIFIED] Fetching unified country trend");
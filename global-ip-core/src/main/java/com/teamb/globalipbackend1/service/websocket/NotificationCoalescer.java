@@ -0,0 +1,265 @@
+package com.teamb.globalipbackend1.service.websocket;
+
+import com.teamb.globalipbackend1.dto.tracking.PatentTrackingEventDto;
+import com.teamb.globalipbackend1.dto.websocket.CompetitorFilingEvent;
+import com.teamb.globalipbackend1.dto.websocket.DigestItemDto;
+import com.teamb.globalipbackend1.dto.websocket.NotificationDigestDto;
+import com.teamb.globalipbackend1.model.notification.DigestChannel;
+import com.teamb.globalipbackend1.model.notification.DigestEntry;
+import com.teamb.globalipbackend1.model.subscription.AlertFrequency;
+import com.teamb.globalipbackend1.repository.notification.DigestEntryRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Last stage before per-user notifications reach the broker.
+ *
+ * Real-time subscribers get the first notification at once; anything else
+ * for them within {@code notifications.digest.window} is held and sent as one
+ * digest when the window ends or the digest is full, so a bulk change costs a
+ * user two messages instead of hundreds. Daily and weekly subscribers'
+ * notifications are stored and rolled up on a schedule. Whatever is sent
+ * goes through the {@link NotificationOutbox} first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationCoalescer {
+
+    public static final String DIGEST_DESTINATION = "/queue/digests";
+
+    private static final Duration STORED_DIGEST_LEASE = Duration.ofHours(1);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final DigestEntryRepository digestRepository;
+    private final NotificationDigestProperties properties;
+    private final JobCoordinator jobCoordinator;
+    private final NotificationOutbox outbox;
+
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    /** A user's notifications since the last one sent straight away */
+    private static final class Window {
+        final long openedAt = System.nanoTime();
+        final List<Held> held = new ArrayList<>();
+        boolean leadingSent;
+        boolean closed;
+
+        List<Held> drain() {
+            List<Held> drained = new ArrayList<>(held);
+            held.clear();
+            return drained;
+        }
+    }
+
+    private record Held(Object event, DigestItemDto item) {}
+
+    public void patentEvent(String userId, AlertFrequency frequency, PatentTrackingEventDto event) {
+        submit(userId, frequency, event, new DigestItemDto(
+                DigestChannel.PATENT_EVENTS,
+                event.patentId(),
+                event.eventType(),
+                event.message(),
+                event.severity(),
+                event.timestamp()
+        ));
+    }
+
+    public void competitorFiling(String userId, AlertFrequency frequency, CompetitorFilingEvent event) {
+        submit(userId, frequency, event, new DigestItemDto(
+                DigestChannel.COMPETITOR_FILINGS,
+                event.competitorCode(),
+                "NEW_FILINGS",
+                event.newFilings() + " new filings",
+                "INFO",
+                event.timestamp()
+        ));
+    }
+
+    /**
+     * @param frequency the subscription's alert frequency; {@code null} is treated as real time
+     */
+    private void submit(String userId, AlertFrequency frequency, Object event, DigestItemDto item) {
+        if (frequency == AlertFrequency.DAILY || frequency == AlertFrequency.WEEKLY) {
+            digestRepository.save(DigestEntry.builder()
+                    .userId(userId)
+                    .frequency(frequency)
+                    .channel(item.channel())
+                    .subjectId(item.subjectId())
+                    .eventType(item.eventType())
+                    .message(item.message())
+                    .severity(item.severity())
+                    .occurredAt(item.timestamp())
+                    .build());
+            return;
+        }
+
+        boolean sendNow = false;
+        List<Held> full = null;
+        while (true) {
+            Window window = windows.computeIfAbsent(userId, k -> new Window());
+            synchronized (window) {
+                if (window.closed) {
+                    continue;
+                }
+                if (!window.leadingSent) {
+                    window.leadingSent = true;
+                    sendNow = true;
+                } else {
+                    window.held.add(new Held(event, item));
+                    if (window.held.size() >= properties.getMaxEvents()) {
+                        full = window.drain();
+                    }
+                }
+            }
+            break;
+        }
+
+        if (sendNow) {
+            send(userId, item.channel().getDestination(), event);
+        } else if (full != null) {
+            sendHeld(userId, full);
+        }
+    }
+
+    /**
+     * Close windows that have run their course and send what they held
+     */
+    @Scheduled(fixedDelayString = "${notifications.digest.flush-ms:1000}")
+    public void flushExpiredWindows() {
+        long now = System.nanoTime();
+        long length = properties.getWindow().toNanos();
+        windows.forEach((userId, window) -> {
+            if (now - window.openedAt < length) {
+                return;
+            }
+            List<Held> held;
+            synchronized (window) {
+                window.closed = true;
+                held = window.drain();
+            }
+            windows.remove(userId, window);
+            if (!held.isEmpty()) {
+                sendHeld(userId, held);
+            }
+        });
+    }
+
+    @Scheduled(cron = "${notifications.digest.daily-cron:0 0 8 * * *}")
+    public void sendDailyDigests() {
+        jobCoordinator.runExclusively("notification-digest-daily", STORED_DIGEST_LEASE,
+                () -> sendStoredDigests(AlertFrequency.DAILY));
+    }
+
+    @Scheduled(cron = "${notifications.digest.weekly-cron:0 0 8 * * MON}")
+    public void sendWeeklyDigests() {
+        jobCoordinator.runExclusively("notification-digest-weekly", STORED_DIGEST_LEASE,
+                () -> sendStoredDigests(AlertFrequency.WEEKLY));
+    }
+
+    /**
+     * Send one digest per user for everything stored under {@code frequency}
+     * and delete what was sent.
+     */
+    public void sendStoredDigests(AlertFrequency frequency) {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int users = 0;
+        int entries = 0;
+
+        while (true) {
+            List<DigestEntry> page = digestRepository.findByFrequencyOrderByUserIdAscIdAsc(
+                    frequency, PageRequest.of(0, batchSize));
+            if (page.isEmpty()) {
+                break;
+            }
+
+            Map<String, List<DigestEntry>> byUser = page.stream().collect(Collectors.groupingBy(
+                    DigestEntry::getUserId, LinkedHashMap::new, Collectors.toList()));
+            if (page.size() == batchSize && byUser.size() > 1) {
+                // The last user may have more entries on the next page; send them all together
+                byUser.remove(page.getLast().getUserId());
+            }
+
+            List<Long> sent = new ArrayList<>();
+            byUser.forEach((userId, userEntries) -> {
+                send(userId, DIGEST_DESTINATION, digest(frequency, userEntries.stream()
+                        .map(NotificationCoalescer::toItem)
+                        .toList()));
+                userEntries.forEach(e -> sent.add(e.getId()));
+            });
+            digestRepository.deleteAllByIdInBatch(sent);
+
+            users += byUser.size();
+            entries += sent.size();
+        }
+
+        if (users > 0) {
+            log.info("Sent {} {} digests covering {} notifications", users, frequency, entries);
+        }
+    }
+
+    private void sendHeld(String userId, List<Held> held) {
+        if (held.size() == 1) {
+            Held only = held.getFirst();
+            send(userId, only.item().channel().getDestination(), only.event());
+            return;
+        }
+        send(userId, DIGEST_DESTINATION, digest(AlertFrequency.REAL_TIME, held.stream().map(Held::item).toList()));
+    }
+
+    /**
+     * Record the message in the outbox, then send it live with its sequence
+     * number. If the outbox write fails the message still goes out live,
+     * just without a number to resume from.
+     */
+    private void send(String userId, String destination, Object payload) {
+        long seq = 0;
+        try {
+            seq = outbox.append(userId, destination, payload);
+        } catch (Exception e) {
+            log.warn("Could not record {} for user={} in the outbox", destination, userId, e);
+        }
+        try {
+            if (seq > 0) {
+                messagingTemplate.convertAndSendToUser(userId, destination, payload,
+                        Map.of(NotificationOutbox.SEQ_HEADER, seq));
+            } else {
+                messagingTemplate.convertAndSendToUser(userId, destination, payload);
+            }
+        } catch (Exception e) {
+            log.error("Failed to send {} to user={}", destination, userId, e);
+        }
+    }
+
+    private static NotificationDigestDto digest(AlertFrequency frequency, List<DigestItemDto> items) {
+        return new NotificationDigestDto(
+                frequency,
+                items.size(),
+                items,
+                items.getFirst().timestamp(),
+                items.getLast().timestamp()
+        );
+    }
+
+    private static DigestItemDto toItem(DigestEntry entry) {
+        return new DigestItemDto(
+                entry.getChannel(),
+                entry.getSubjectId(),
+                entry.getEventType(),
+                entry.getMessage(),
+                entry.getSeverity(),
+                entry.getOccurredAt()
+        );
+    }
+}
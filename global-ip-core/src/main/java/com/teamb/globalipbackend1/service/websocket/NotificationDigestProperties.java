@@ -0,0 +1,23 @@
+package com.teamb.globalipbackend1.service.websocket;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "notifications.digest")
+@Data
+public class NotificationDigestProperties {
+
+    /**
+     * After a real-time notification goes out, further ones to the same user
+     * within this window are held and sent together as one digest
+     */
+    private Duration window = Duration.ofSeconds(30);
+
+    /** A held digest is sent early once it reaches this many notifications */
+    private int maxEvents = 50;
+
+    /** Stored daily / weekly entries loaded per query when sending digests */
+    private int batchSize = 1000;
+}
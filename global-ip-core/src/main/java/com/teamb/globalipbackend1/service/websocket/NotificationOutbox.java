@@ -0,0 +1,134 @@
+package com.teamb.globalipbackend1.service.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamb.globalipbackend1.dto.websocket.NotificationReplayDto;
+import com.teamb.globalipbackend1.dto.websocket.OutboxMessageDto;
+import com.teamb.globalipbackend1.model.notification.NotificationOutboxEntry;
+import com.teamb.globalipbackend1.repository.notification.NotificationOutboxRepository;
+import com.teamb.globalipbackend1.repository.notification.NotificationSequenceRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Durable record of every notification sent to a user.
+ *
+ * Each entry gets the user's next sequence number, which also travels with
+ * the live message. A client that reconnects, or lands on another node,
+ * subscribes with the last number it saw and gets what it missed in one
+ * batch instead of re-polling the REST endpoints.
+ */
+@Slf4j
+@Service
+public class NotificationOutbox {
+
+    public static final String SEQ_HEADER = "seq";
+
+    private static final Duration CLEANUP_LEASE = Duration.ofMinutes(10);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationSequenceRepository sequenceRepository;
+    private final ObjectMapper objectMapper;
+    private final NotificationOutboxProperties properties;
+    private final JobCoordinator jobCoordinator;
+
+    public NotificationOutbox(
+            NotificationOutboxRepository outboxRepository,
+            NotificationSequenceRepository sequenceRepository,
+            @Qualifier("scheduleObjectMapper") ObjectMapper objectMapper,
+            NotificationOutboxProperties properties,
+            JobCoordinator jobCoordinator
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.jobCoordinator = jobCoordinator;
+    }
+
+    /**
+     * Store a notification about to be sent to {@code userId}.
+     *
+     * @return its sequence number
+     */
+    @Transactional
+    public long append(String userId, String destination, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Notification payload is not serializable", e);
+        }
+
+        if (sequenceRepository.increment(userId) == 0) {
+            try {
+                sequenceRepository.insert(userId);
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the row first
+            }
+            sequenceRepository.increment(userId);
+        }
+        long seq = sequenceRepository.findLastSeq(userId).orElseThrow();
+
+        outboxRepository.save(NotificationOutboxEntry.builder()
+                .userId(userId)
+                .seq(seq)
+                .destination(destination)
+                .payload(json)
+                .createdAt(LocalDateTime.now())
+                .build());
+        return seq;
+    }
+
+    /**
+     * Notifications after {@code afterSeq}, oldest first. Without a last seen
+     * number the client only learns where to resume from.
+     */
+    @Transactional(readOnly = true)
+    public NotificationReplayDto replay(String userId, Long afterSeq) {
+        long current = sequenceRepository.findLastSeq(userId).orElse(0L);
+        if (afterSeq == null || afterSeq >= current) {
+            return new NotificationReplayDto(current, List.of(), false, false);
+        }
+
+        int limit = Math.max(1, properties.getReplayLimit());
+        List<NotificationOutboxEntry> entries = outboxRepository.findByUserIdAndSeqGreaterThanOrderBySeqAsc(
+                userId, afterSeq, PageRequest.of(0, limit + 1));
+        boolean more = entries.size() > limit;
+        if (more) {
+            entries = entries.subList(0, limit);
+        }
+
+        Long oldest = outboxRepository.findOldestSeq(userId);
+        boolean gap = oldest == null || oldest > afterSeq + 1;
+
+        List<OutboxMessageDto> messages = entries.stream()
+                .map(e -> new OutboxMessageDto(e.getSeq(), e.getDestination(), e.getPayload(), e.getCreatedAt()))
+                .toList();
+        long lastSeq = more ? entries.getLast().getSeq() : current;
+
+        log.debug("Replaying {} notifications to user={} after seq={}", messages.size(), userId, afterSeq);
+        return new NotificationReplayDto(lastSeq, messages, gap, more);
+    }
+
+    @Scheduled(cron = "${notifications.outbox.cleanup-cron:0 15 * * * *}")
+    public void cleanup() {
+        jobCoordinator.runExclusively("notification-outbox-cleanup", CLEANUP_LEASE, () -> {
+            int expired = outboxRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.getRetention()));
+            int overflow = outboxRepository.deleteBeyondCount(properties.getMaxPerUser());
+            if (expired + overflow > 0) {
+                log.info("Removed {} expired and {} surplus outbox notifications", expired, overflow);
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package com.teamb.globalipbackend1.service.websocket;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "notifications.outbox")
+@Data
+public class NotificationOutboxProperties {
+
+    /** Sent notifications are kept for replay this long... */
+    private Duration retention = Duration.ofDays(7);
+
+    /** ...and at most this many per user */
+    private int maxPerUser = 1000;
+
+    /** Most notifications returned by one replay; the client asks again for the rest */
+    private int replayLimit = 500;
+}
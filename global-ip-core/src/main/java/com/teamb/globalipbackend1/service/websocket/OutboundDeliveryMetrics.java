@@ -0,0 +1,88 @@
+package com.teamb.globalipbackend1.service.websocket;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times frames on the client outbound channel from the moment they are
+ * queued until a worker has written them to the client's session.
+ */
+@Component
+public class OutboundDeliveryMetrics implements ExecutorChannelInterceptor {
+
+    private final ConcurrentMap<UUID, Long> queuedAt = new ConcurrentHashMap<>();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder latencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Long::max, 0);
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        UUID id = message.getHeaders().getId();
+        if (id != null) {
+            queuedAt.put(id, System.nanoTime());
+        }
+        return message;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        // Not queued at all, e.g. rejected by a full executor
+        if (!sent || ex != null) {
+            forget(message);
+            failed.increment();
+        }
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Long start = forget(message);
+        if (start == null) {
+            return;
+        }
+        if (ex != null) {
+            failed.increment();
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        delivered.increment();
+        latencyNanos.add(nanos);
+        maxLatencyNanos.accumulate(nanos);
+    }
+
+    private Long forget(Message<?> message) {
+        UUID id = message.getHeaders().getId();
+        return id != null ? queuedAt.remove(id) : null;
+    }
+
+    /** Frames queued for the outbound workers and not yet written */
+    public int pending() {
+        return queuedAt.size();
+    }
+
+    public long delivered() {
+        return delivered.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public double averageLatencyMs() {
+        long count = delivered.sum();
+        return count == 0 ? 0.0 : latencyNanos.sum() / 1e6 / count;
+    }
+
+    public double maxLatencyMs() {
+        return maxLatencyNanos.get() / 1e6;
+    }
+}
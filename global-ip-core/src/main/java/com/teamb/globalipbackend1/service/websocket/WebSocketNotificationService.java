@@ -1,25 +1,22 @@
 package com.teamb.globalipbackend1.service.websocket;
 
 import com.teamb.globalipbackend1.dto.websocket.*;
+import com.teamb.globalipbackend1.model.subscription.AlertFrequency;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class WebSocketNotificationService {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationCoalescer coalescer;
 
 
     public void sendCompetitorFilingUpdate(
             String userId,
+            AlertFrequency frequency,
             CompetitorFilingEvent event
     ) {
-        messagingTemplate.convertAndSendToUser(
-                userId,
-                "/queue/competitor-filings",
-                event
-        );
+        coalescer.competitorFiling(userId, frequency, event);
     }
 }
@@ -0,0 +1,99 @@
+package com.teamb.globalipbackend1.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BroadcastingCacheTest {
+
+    final InMemoryCacheBus bus = new InMemoryCacheBus();
+    final List<CacheBusEvent> published = new ArrayList<>();
+
+    BroadcastingCacheTest() {
+        bus.subscribe(published::add);
+    }
+
+    Cache node(String nodeId) {
+        CacheBusProperties properties = new CacheBusProperties();
+        properties.setNodeId(nodeId);
+        BroadcastingCacheManager manager = new BroadcastingCacheManager(bus, properties);
+        manager.setCaches(List.of(new ConcurrentMapCache(CacheNames.PATENT_SNAPSHOT)));
+        manager.afterPropertiesSet();
+        return manager.getCache(CacheNames.PATENT_SNAPSHOT);
+    }
+
+    @Test
+    void shouldPropagateEvictToOtherNodes() {
+        // given
+        Cache a = node("a");
+        Cache b = node("b");
+        a.put("US1", "a-value");
+        b.put("US1", "b-value");
+        b.put("US2", "kept");
+
+        // when
+        a.evict("US1");
+
+        // then
+        assertNull(a.get("US1"));
+        assertNull(b.get("US1"));
+        assertNotNull(b.get("US2"));
+        assertEquals(CacheBusEventType.EVICT, published.getLast().type());
+        assertEquals("s:US1", published.getLast().key());
+    }
+
+    @Test
+    void shouldPropagateClearToOtherNodes() {
+        // given
+        Cache a = node("a");
+        Cache b = node("b");
+        b.put("US1", "value");
+        b.put(42L, "value");
+
+        // when
+        a.clear();
+
+        // then
+        assertNull(b.get("US1"));
+        assertNull(b.get(42L));
+    }
+
+    @Test
+    void shouldIgnoreOwnMessages() {
+        // given
+        Cache a = node("a");
+        Cache b = node("b");
+        a.put("US1", "value");
+        b.put("US1", "value");
+
+        // when: a's own clear comes back over the bus
+        bus.publish(new CacheBusEvent(CacheNames.PATENT_SNAPSHOT, CacheBusEventType.CLEAR, null, null, "a"));
+
+        // then
+        assertNotNull(a.get("US1"));
+        assertNull(b.get("US1"));
+    }
+
+    @Test
+    void shouldFallBackToClearForNonScalarKeys() {
+        // given
+        Cache a = node("a");
+        Cache b = node("b");
+        b.put("US1", "value");
+        b.put(List.of("US", "solar"), "value");
+
+        // when
+        a.evict(List.of("US", "solar"));
+
+        // then
+        assertEquals(CacheBusEventType.CLEAR, published.getLast().type());
+        assertNull(published.getLast().key());
+        assertNull(b.get("US1"));
+        assertNull(b.get(List.of("US", "solar")));
+    }
+}
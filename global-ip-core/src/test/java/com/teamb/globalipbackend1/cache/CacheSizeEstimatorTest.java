@@ -0,0 +1,89 @@
+package com.teamb.globalipbackend1.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSizeEstimatorTest {
+
+    record Inner(String name) {}
+
+    record Outer(Inner inner, int count) {}
+
+    static final class Node {
+        Node next;
+    }
+
+    /** String "abc": 24 byte object + 24 byte backing array */
+    private static final long ABC = 48;
+
+    @Test
+    void shouldAddNestedObjectsToTheShallowSize() {
+        // when
+        long inner = CacheSizeEstimator.estimate(new Inner("abc"));
+        long outer = CacheSizeEstimator.estimate(new Outer(new Inner("abc"), 1));
+
+        // then: header + reference, then header + reference + int, aligned to 8
+        assertEquals(16 + ABC, inner);
+        assertEquals(24 + inner, outer);
+    }
+
+    @Test
+    void shouldCountEachObjectOfACycleOnce() {
+        // given
+        Node a = new Node();
+        Node b = new Node();
+        a.next = b;
+        b.next = a;
+
+        // when
+        long size = assertDoesNotThrow(() -> CacheSizeEstimator.estimate(a));
+
+        // then
+        assertEquals(2 * 16, size);
+    }
+
+    @Test
+    void shouldWeighLargeCollectionsFromASampleOfUniformElements() {
+        // given
+        List<Outer> small = new ArrayList<>();
+        List<Outer> large = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            (i < 10 ? small : large).add(new Outer(new Inner("abc"), i));
+        }
+        large.addAll(small);
+        long element = 24 + 16 + ABC;
+
+        // when
+        long smallSize = CacheSizeEstimator.estimate(small);
+        long largeSize = CacheSizeEstimator.estimate(large);
+
+        // then: list object + backing array + elements, extrapolated for the large one
+        assertEquals(24 + 56 + 10 * element, smallSize);
+        assertEquals(24 + 40_016 + 10_000 * element, largeSize);
+    }
+
+    @Test
+    void shouldWeighMapsAndArraysOfDtos() {
+        // given
+        Map<String, Outer> map = new HashMap<>();
+        Inner[] array = new Inner[1_000];
+        for (int i = 0; i < 1_000; i++) {
+            map.put("k" + (100 + i), new Outer(new Inner("abc"), i));
+            array[i] = new Inner("abc");
+        }
+
+        // when
+        long mapSize = CacheSizeEstimator.estimate(map);
+        long arraySize = CacheSizeEstimator.estimate(array);
+
+        // then: each key "k100".."k1099" is a 48 byte string, each value an Outer
+        assertEquals(48 + 8_016 + 32_000 + 1_000 * (48 + 24 + 16 + ABC), mapSize);
+        assertEquals(4_016 + 1_000 * (16 + ABC), arraySize);
+    }
+}
@@ -0,0 +1,28 @@
+package com.teamb.globalipbackend1.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheWarmerTest {
+
+    ObjectMapper mapper = new ObjectMapper();
+
+    private String normalized(String argsJson) throws Exception {
+        return mapper.writeValueAsString(CacheWarmer.normalize(mapper.readTree(argsJson)));
+    }
+
+    @Test
+    void equivalentArgumentsNormalizeToOneKey() throws Exception {
+        // given
+        String plain = "[{\"keyword\":\"solar cell\",\"jurisdiction\":\"US\"},10]";
+        String noisy = "[{\"jurisdiction\":\"US\",\"assignee\":null,\"keyword\":\"  solar \\t cell \"},10]";
+
+        // when / then
+        assertEquals(normalized(plain), normalized(noisy));
+        assertEquals("[{\"jurisdiction\":\"US\",\"keyword\":\"solar cell\"},10]", normalized(noisy));
+        assertNotEquals(normalized("[\"Solar\"]"), normalized("[\"solar\"]"));
+        assertEquals("[null,\"US\"]", normalized("[null,\" US\"]"));
+    }
+}
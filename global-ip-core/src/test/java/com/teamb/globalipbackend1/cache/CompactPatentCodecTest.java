@@ -0,0 +1,86 @@
+package com.teamb.globalipbackend1.cache;
+
+import com.teamb.globalipbackend1.dto.citation.CitationDTO;
+import com.teamb.globalipbackend1.model.patents.PatentDocument;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactPatentCodecTest {
+
+    PatentStringDictionary dictionary = new PatentStringDictionary(1_000);
+    CompactPatentCodec codec = new CompactPatentCodec(dictionary);
+
+    private PatentDocument patent(String number) {
+        PatentDocument doc = new PatentDocument();
+        doc.setPublicationNumber(number);
+        doc.setSource("PATENTSVIEW");
+        doc.setJurisdiction("US");
+        doc.setTitle("Battery management system");
+        doc.setAbstractText("A system for balancing cells. ".repeat(40));
+        doc.setFilingDate(LocalDate.of(2019, 3, 14));
+        doc.setGrantDate(null);
+        doc.setInventors(List.of("Jane Doe"));
+        doc.setAssignees(List.of("ACME CORP"));
+        doc.setCpcClasses(List.of("H01M10/44", "H02J7/00"));
+        doc.setIpcClasses(null);
+        doc.setWipoKind("B2");
+        doc.setTimesCited(12);
+        return doc;
+    }
+
+    @Test
+    void shouldRoundTripSearchResultList() {
+
+        // given
+        List<PatentDocument> results = List.of(patent("US1"), patent("US2"));
+
+        // when
+        CompactPatentCodec.CompactPatentValue stored = codec.encode(results);
+        Object decoded = codec.decode(stored);
+
+        // then
+        assertTrue(stored.list());
+        List<?> docs = assertInstanceOf(List.class, decoded);
+        assertEquals(2, docs.size());
+
+        PatentDocument second = (PatentDocument) docs.get(1);
+        assertEquals("US2", second.getPublicationNumber());
+        assertEquals("US", second.getJurisdiction());
+        assertEquals(LocalDate.of(2019, 3, 14), second.getFilingDate());
+        assertNull(second.getGrantDate());
+        assertNull(second.getIpcClasses());
+        assertNull(second.getTotalCitations());
+        assertEquals(List.of("H01M10/44", "H02J7/00"), second.getCpcClasses());
+        assertEquals(12, second.getTimesCited());
+        assertEquals(patent("x").getAbstractText(), second.getAbstractText());
+    }
+
+    @Test
+    void shouldShareDictionaryEntriesAcrossDocuments() {
+
+        // when
+        codec.encode(patent("US1"));
+        int afterFirst = dictionary.size();
+        codec.encode(patent("US2"));
+
+        // then
+        assertEquals(afterFirst, dictionary.size());
+    }
+
+    @Test
+    void shouldNotEncodeDocumentsCarryingCitations() {
+
+        // given
+        PatentDocument doc = patent("US1");
+        doc.getBackwardCitations().add(new CitationDTO());
+
+        // then
+        assertFalse(codec.canEncode(doc));
+        assertFalse(codec.canEncode(List.of(doc)));
+        assertFalse(codec.canEncode("not a patent"));
+    }
+}
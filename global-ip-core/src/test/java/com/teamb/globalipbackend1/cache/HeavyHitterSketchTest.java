@@ -0,0 +1,44 @@
+package com.teamb.globalipbackend1.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHitterSketchTest {
+
+    @Test
+    void shouldKeepMostFrequentKeysWithinCapacity() {
+        // given
+        HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(1024, 3);
+
+        // when
+        for (int i = 0; i < 50; i++) sketch.add("solar", "solar");
+        for (int i = 0; i < 30; i++) sketch.add("battery", "battery");
+        for (int i = 0; i < 20; i++) sketch.add("lidar", "lidar");
+        for (int i = 0; i < 200; i++) sketch.add("rare-" + i, "rare");
+
+        // then
+        List<HeavyHitterSketch.Entry<String>> top = sketch.top(3);
+        assertEquals(List.of("solar", "battery", "lidar"),
+                top.stream().map(HeavyHitterSketch.Entry::key).toList());
+        assertTrue(sketch.estimate("solar") >= 50);
+    }
+
+    @Test
+    void shouldHalveCountsOnDecay() {
+        // given
+        HeavyHitterSketch<String> sketch = new HeavyHitterSketch<>(1024, 10);
+        sketch.add("solar", "solar", 8);
+        sketch.add("lidar", "lidar", 1);
+
+        // when
+        sketch.decay();
+
+        // then
+        assertEquals(4, sketch.estimate("solar"));
+        assertEquals(List.of("solar"),
+                sketch.top(10).stream().map(HeavyHitterSketch.Entry::key).toList());
+    }
+}
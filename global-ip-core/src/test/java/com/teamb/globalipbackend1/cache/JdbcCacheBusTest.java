@@ -0,0 +1,96 @@
+package com.teamb.globalipbackend1.cache;
+
+import com.teamb.globalipbackend1.model.cache.CacheBusMessage;
+import com.teamb.globalipbackend1.repository.cache.CacheBusMessageRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JdbcCacheBusTest {
+
+    CacheBusMessageRepository repository = mock(CacheBusMessageRepository.class);
+    CacheBusProperties properties = new CacheBusProperties();
+    JdbcCacheBus bus = new JdbcCacheBus(repository, properties);
+    List<CacheBusEvent> received = new ArrayList<>();
+
+    JdbcCacheBusTest() {
+        when(repository.findMaxId()).thenReturn(10L);
+        bus.init();
+        bus.subscribe(received::add);
+    }
+
+    @Test
+    void shouldDeliverRowThatCommitsAfterHigherIdsAsEvict() {
+        // given: 12 is still uncommitted when 11 and 13 are read
+        when(repository.findTop500ByIdGreaterThanOrderByIdAsc(10L))
+                .thenReturn(List.of(message(11, CacheBusEventType.EVICT), message(13, CacheBusEventType.EVICT)));
+        bus.poll();
+
+        // when
+        when(repository.findByIdInOrderByIdAsc(List.of(12L)))
+                .thenReturn(List.of(message(12, CacheBusEventType.PUT)));
+        bus.poll();
+        bus.poll();
+
+        // then
+        assertEquals(List.of("s:US11", "s:US13", "s:US12"), received.stream().map(CacheBusEvent::key).toList());
+        CacheBusEvent late = received.getLast();
+        assertEquals(CacheBusEventType.EVICT, late.type());
+        assertNull(late.payload());
+        verify(repository, times(1)).findByIdInOrderByIdAsc(anyCollection());
+    }
+
+    @Test
+    void shouldStopLookingForGapsAfterTimeout() {
+        // given
+        properties.setGapTimeout(Duration.ZERO);
+        when(repository.findTop500ByIdGreaterThanOrderByIdAsc(10L))
+                .thenReturn(List.of(message(12, CacheBusEventType.CLEAR)));
+
+        // when
+        bus.poll();
+        bus.poll();
+        bus.poll();
+
+        // then
+        verify(repository, times(1)).findByIdInOrderByIdAsc(List.of(11L));
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLookUpNoMoreGapsThanConfigured() {
+        // given: an identity cache jump from 10 to 10_011
+        properties.setMaxTrackedGaps(3);
+        when(repository.findTop500ByIdGreaterThanOrderByIdAsc(10L))
+                .thenReturn(List.of(message(10_011, CacheBusEventType.EVICT)));
+        bus.poll();
+
+        // when
+        bus.poll();
+
+        // then
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).findByIdInOrderByIdAsc(ids.capture());
+        assertEquals(3, ids.getValue().size());
+    }
+
+    private static CacheBusMessage message(long id, CacheBusEventType type) {
+        CacheBusMessage m = new CacheBusMessage();
+        m.setId(id);
+        m.setCacheName(CacheNames.PATENT_SNAPSHOT);
+        m.setEventType(type);
+        m.setCacheKey("s:US" + id);
+        m.setPayload(type == CacheBusEventType.PUT ? new byte[]{1, 2, 3} : null);
+        m.setOriginNode("other");
+        return m;
+    }
+}
@@ -0,0 +1,128 @@
+package com.teamb.globalipbackend1.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldStoreOverwriteAndRemove() {
+
+        try (OffHeapSnapshotStore store = new OffHeapSnapshotStore(4, 4096, 64, null)) {
+
+            // when
+            store.put("US1", bytes("first"));
+            store.put("US1", bytes("second"));
+            store.put("EP2", bytes("other"));
+            store.remove("EP2");
+
+            // then
+            assertArrayEquals(bytes("second"), store.get("US1"));
+            assertNull(store.get("EP2"));
+            assertEquals(1, store.entries());
+            assertEquals(1, store.hitCount());
+            assertEquals(1, store.missCount());
+        }
+    }
+
+    @Test
+    void shouldEvictOldestSegmentWhenRingWraps() {
+
+        try (OffHeapSnapshotStore store = new OffHeapSnapshotStore(2, 256, 1024, null)) {
+
+            // when
+            for (int i = 0; i < 40; i++) {
+                store.put("US" + i, new byte[32]);
+            }
+
+            // then
+            assertNull(store.get("US0"));
+            assertNotNull(store.get("US39"));
+            assertTrue(store.evictionCount() > 0);
+            assertTrue(store.usedBytes() <= store.capacityBytes());
+        }
+    }
+
+    @Test
+    void shouldReportEntriesOlderThanMaxAgeAsMissing() throws InterruptedException {
+
+        try (OffHeapSnapshotStore store = new OffHeapSnapshotStore(4, 4096, 64, null)) {
+
+            // given
+            store.put("US1", bytes("snapshot"));
+
+            // when
+            Thread.sleep(20);
+
+            // then
+            assertNull(store.get("US1", Duration.ofMillis(10)));
+            assertArrayEquals(bytes("snapshot"), store.get("US1", Duration.ofHours(6)));
+            assertArrayEquals(bytes("snapshot"), store.get("US1"));
+        }
+    }
+
+    @Test
+    void shouldRecoverEntriesFromMappedFileAfterReopen() {
+
+        // given
+        Path file = dir.resolve("snapshots.bin");
+        try (OffHeapSnapshotStore store = new OffHeapSnapshotStore(4, 4096, 64, file)) {
+            store.put("US1", bytes("kept"));
+            store.put("US2", bytes("dropped"));
+            store.remove("US2");
+        }
+
+        // when
+        try (OffHeapSnapshotStore reopened = new OffHeapSnapshotStore(4, 4096, 64, file)) {
+
+            // then
+            assertArrayEquals(bytes("kept"), reopened.get("US1"));
+            assertNull(reopened.get("US2"));
+            assertEquals(1, reopened.entries());
+        }
+    }
+
+    @Test
+    void shouldStopRecoveryAtRecordRunningPastWritePosition() throws IOException {
+
+        // given: US2's length is torn to reach past what was written
+        Path file = dir.resolve("snapshots.bin");
+        try (OffHeapSnapshotStore store = new OffHeapSnapshotStore(4, 4096, 64, file)) {
+            store.put("US1", bytes("kept"));
+            store.put("US2", bytes("torn"));
+        }
+        int us1Record = 15 + 3 + 4;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // segment 0 follows the 32-byte header and 4 x 12 bytes of segment meta
+            channel.write(ByteBuffer.allocate(4).putInt(0, 4000), 80 + us1Record);
+        }
+
+        // when
+        try (OffHeapSnapshotStore reopened = new OffHeapSnapshotStore(4, 4096, 64, file)) {
+
+            // then
+            assertArrayEquals(bytes("kept"), reopened.get("US1"));
+            assertNull(reopened.get("US2"));
+            assertEquals(us1Record, reopened.usedBytes());
+            reopened.put("US3", bytes("after"));
+            assertArrayEquals(bytes("after"), reopened.get("US3"));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.teamb.globalipbackend1.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshableCaffeineCacheTest {
+
+    @Test
+    void shouldTimeLoadBetweenMissAndPut() throws InterruptedException {
+        // given
+        RefreshableCaffeineCache cache = new RefreshableCaffeineCache("patents",
+                Caffeine.newBuilder().recordStats().build());
+
+        // when: the lookup-then-put sequence of @Cacheable without sync
+        assertNull(cache.get("US123"));
+        Thread.sleep(5);
+        cache.put("US123", "value");
+        assertNotNull(cache.get("US123"));
+
+        // then
+        assertEquals(1, cache.getLoadTimer().loadCount());
+        assertTrue(cache.getLoadTimer().averageLoadMs() >= 5.0);
+    }
+
+    @Test
+    void shouldNotTimePutWithoutPrecedingMiss() {
+        // given
+        RefreshableCaffeineCache cache = new RefreshableCaffeineCache("patents",
+                Caffeine.newBuilder().build());
+
+        // when
+        assertNull(cache.get("US123"));
+        cache.put("US456", "other");
+        cache.put("US123", "value");
+
+        // then
+        assertEquals(0, cache.getLoadTimer().loadCount());
+        assertEquals(0.0, cache.getLoadTimer().averageLoadMs());
+    }
+
+    @Test
+    void shouldBypassOnlyTheFirstLookupOfARefresh() {
+        // given
+        RefreshableCaffeineCache outer = new RefreshableCaffeineCache("networks", Caffeine.newBuilder().build());
+        RefreshableCaffeineCache nested = new RefreshableCaffeineCache("patents", Caffeine.newBuilder().build());
+        outer.put("US123", "network");
+        nested.put("US123", "patent");
+
+        // when
+        Object[] seen = CacheWarmupContext.refreshing(() -> new Object[]{outer.get("US123"), nested.get("US123")});
+
+        // then
+        assertNull(seen[0]);
+        assertNotNull(seen[1]);
+        assertNotNull(outer.get("US123"));
+    }
+}
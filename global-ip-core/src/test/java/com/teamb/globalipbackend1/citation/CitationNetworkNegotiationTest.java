@@ -0,0 +1,71 @@
+package com.teamb.globalipbackend1.citation;
+
+import com.teamb.globalipbackend1.controller.patent.CitationController;
+import com.teamb.globalipbackend1.dto.citation.*;
+import com.teamb.globalipbackend1.service.patent.citations.EnhancedCitationNetworkService;
+import com.teamb.globalipbackend1.service.patent.citations.PatentCitationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CitationNetworkNegotiationTest {
+
+    EnhancedCitationNetworkService networkService = mock(EnhancedCitationNetworkService.class);
+
+    MockMvc mvc = MockMvcBuilders
+            .standaloneSetup(new CitationController(networkService, mock(PatentCitationService.class)))
+            .build();
+
+    private static PatentNode node(String id, int depth) {
+        PatentNode node = new PatentNode();
+        node.setPatentId(id);
+        node.setDepth(depth);
+        node.setAssignee("Acme");
+        return node;
+    }
+
+    private void givenNetwork() {
+        when(networkService.fetchCitationNetwork("10000001", 1, 1)).thenReturn(
+                CitationNetworkResponse.builder()
+                        .nodes(List.of(node("10000001", 0), node("9000001", 1)))
+                        .edges(List.of(CitationEdge.builder()
+                                .source("10000001").target("9000001").citationType("BACKWARD").weight(1)
+                                .build()))
+                        .clusters(Map.of())
+                        .build());
+    }
+
+    @Test
+    void shouldKeepJsonAsTheDefault() throws Exception {
+        givenNetwork();
+
+        mvc.perform(get("/api/patents/10000001/citations/network").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.nodes[1].patentId").value("9000001"))
+                .andExpect(jsonPath("$.edges[0].source").value("10000001"));
+    }
+
+    @Test
+    void shouldReturnColumnarFormWhenAccepted() throws Exception {
+        givenNetwork();
+
+        mvc.perform(get("/api/patents/10000001/citations/network")
+                        .accept(MediaType.parseMediaType(CompactCitationNetwork.MEDIA_TYPE)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CompactCitationNetwork.MEDIA_TYPE))
+                .andExpect(jsonPath("$.ids[1]").value("9000001"))
+                .andExpect(jsonPath("$.strings[0]").value("Acme"))
+                .andExpect(jsonPath("$.nodes.assignee[1]").value(0))
+                .andExpect(jsonPath("$.edges.source[0]").value(0))
+                .andExpect(jsonPath("$.edges.target[0]").value(1));
+    }
+}
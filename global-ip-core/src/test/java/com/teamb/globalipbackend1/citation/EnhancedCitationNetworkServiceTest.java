@@ -0,0 +1,114 @@
+package com.teamb.globalipbackend1.citation;
+
+import com.teamb.globalipbackend1.dto.citation.CitationNetworkResponse;
+import com.teamb.globalipbackend1.dto.citation.PatentNode;
+import com.teamb.globalipbackend1.dto.citation.SimilarityLink;
+import com.teamb.globalipbackend1.external.patentsview.PatentsViewCitationClient;
+import com.teamb.globalipbackend1.external.patentsview.dto.PatentsViewUSPatentCitation;
+import com.teamb.globalipbackend1.external.trendsApi.client.PatentTrendClient;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.CitationSimilarityDto;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.SimilarPatentDto;
+import com.teamb.globalipbackend1.service.patent.citations.CitationNodeEnricher;
+import com.teamb.globalipbackend1.service.patent.citations.EnhancedCitationNetworkService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EnhancedCitationNetworkServiceTest {
+
+    PatentsViewCitationClient citationClient = mock(PatentsViewCitationClient.class);
+    CitationNodeEnricher nodeEnricher = mock(CitationNodeEnricher.class);
+    PatentTrendClient trendClient = mock(PatentTrendClient.class);
+
+    EnhancedCitationNetworkService service =
+            new EnhancedCitationNetworkService(citationClient, citationClient, Runnable::run, nodeEnricher, trendClient);
+
+    private static PatentsViewUSPatentCitation citation(String citing, String cited) {
+        PatentsViewUSPatentCitation c = new PatentsViewUSPatentCitation();
+        c.setPatentId(citing);
+        c.setCitationPatentId(cited);
+        return c;
+    }
+
+    @Test
+    void shouldExpandTwoHopsWithOneBatchedCallPerDirectionAndLevel() {
+
+        // given
+        when(citationClient.normalizePatentId("US10000001")).thenReturn("10000001");
+
+        when(citationClient.getBackwardCitations(anyCollection())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            if (ids.equals(List.of("10000001"))) {
+                return List.of(citation("10000001", "9000001"), citation("10000001", "9000002"));
+            }
+            return List.of(citation("9000001", "8000001"), citation("9000002", "8000001"));
+        });
+        when(citationClient.getForwardCitations(anyCollection())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            if (ids.equals(List.of("10000001"))) {
+                return List.of(citation("11000001", "10000001"));
+            }
+            return List.of(citation("12000001", "11000001"));
+        });
+
+        // when
+        CitationNetworkResponse network = service.fetchCitationNetwork("US10000001", 2, 2);
+
+        // then
+        Map<String, Integer> depths = network.getNodes().stream()
+                .collect(Collectors.toMap(PatentNode::getPatentId, PatentNode::getDepth));
+
+        assertEquals(Map.of(
+                "US10000001", 0,
+                "9000001", 1, "9000002", 1, "11000001", 1,
+                "8000001", 2, "12000001", 2
+        ), depths);
+        assertEquals(6, network.getEdges().size());
+
+        verify(citationClient, times(2)).getBackwardCitations(anyCollection());
+        verify(citationClient, times(2)).getForwardCitations(anyCollection());
+        verify(citationClient, never()).getBackwardCitations(anyString());
+        verify(nodeEnricher).enrich(argThat(nodes -> nodes.size() == 6), any());
+        verify(trendClient).getCitationRanks(argThat(ids -> ids.size() == 6 && ids.contains("10000001")));
+    }
+
+    @Test
+    void shouldOverlaySimilarPatentsWithoutTouchingTheCachedNetwork() {
+
+        // given
+        PatentNode root = new PatentNode();
+        root.setPatentId("US10000001");
+        PatentNode cited = new PatentNode();
+        cited.setPatentId("9000001");
+        CitationNetworkResponse network = CitationNetworkResponse.builder()
+                .nodes(List.of(root, cited))
+                .edges(List.of())
+                .build();
+
+        when(citationClient.normalizePatentId("US10000001")).thenReturn("10000001");
+        when(trendClient.getSimilarPatents("10000001", "CO_CITATION", 5)).thenReturn(
+                new CitationSimilarityDto("10000001", "CO_CITATION",
+                        List.of(new SimilarPatentDto("9000001", 4, 0.5)), true, false));
+        when(trendClient.getSimilarPatents("10000001", "BIBLIOGRAPHIC_COUPLING", 5)).thenReturn(
+                new CitationSimilarityDto("10000001", "BIBLIOGRAPHIC_COUPLING",
+                        List.of(new SimilarPatentDto("10500000", 2, 0.2)), false, false));
+
+        // when
+        CitationNetworkResponse overlaid = service.withSimilarityOverlay(network, "US10000001", 5);
+
+        // then
+        assertNull(network.getSimilarity());
+        assertEquals(List.of("9000001", "10500000"),
+                overlaid.getSimilarity().stream().map(SimilarityLink::getTarget).toList());
+        assertEquals(List.of(true, false),
+                overlaid.getSimilarity().stream().map(SimilarityLink::getInNetwork).toList());
+        assertEquals("US10000001", overlaid.getSimilarity().getFirst().getSource());
+    }
+}
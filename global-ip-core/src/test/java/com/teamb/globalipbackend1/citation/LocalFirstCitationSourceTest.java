@@ -0,0 +1,104 @@
+package com.teamb.globalipbackend1.citation;
+
+import com.teamb.globalipbackend1.external.patentsview.LocalFirstCitationSource;
+import com.teamb.globalipbackend1.external.patentsview.PatentsViewCitationClient;
+import com.teamb.globalipbackend1.external.patentsview.config.CitationSourceProperties;
+import com.teamb.globalipbackend1.external.patentsview.dto.PatentsViewUSPatentCitation;
+import com.teamb.globalipbackend1.external.trendsApi.client.PatentTrendClient;
+import com.teamb.globalipbackend1.external.trendsApi.dto.request.CitationLookupRequest;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.CitationLookupDto;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.CitationRecordDto;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.CitationSnapshotDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LocalFirstCitationSourceTest {
+
+    PatentsViewCitationClient liveClient = mock(PatentsViewCitationClient.class);
+    PatentTrendClient trendClient = mock(PatentTrendClient.class);
+
+    LocalFirstCitationSource source =
+            new LocalFirstCitationSource(liveClient, trendClient, new CitationSourceProperties());
+
+    private static PatentsViewUSPatentCitation citation(String citing, String cited) {
+        PatentsViewUSPatentCitation c = new PatentsViewUSPatentCitation();
+        c.setPatentId(citing);
+        c.setCitationPatentId(cited);
+        return c;
+    }
+
+    @Test
+    void ingestedPatentsAreServedLocallyAndNewerOnesLive() {
+        when(trendClient.getCitationSnapshot())
+                .thenReturn(new CitationSnapshotDto("12000000", LocalDate.of(2024, 6, 25), Instant.now()));
+        when(trendClient.lookupCitations(any())).thenReturn(new CitationLookupDto(
+                List.of(new CitationRecordDto("9000000", "8000000", LocalDate.of(2010, 1, 1), "cited by examiner")),
+                false));
+        when(liveClient.getBackwardCitations(anyCollection()))
+                .thenReturn(List.of(citation("12000001", "11000000")));
+
+        List<PatentsViewUSPatentCitation> result =
+                source.getBackwardCitations(List.of("9000000", "12000001", "D900000"));
+
+        assertEquals(2, result.size());
+        verify(trendClient).lookupCitations(new CitationLookupRequest(List.of("9000000"), "BACKWARD", 5000));
+        verify(liveClient).getBackwardCitations(List.of("12000001", "D900000"));
+    }
+
+    @Test
+    void failedLocalLookupFallsBackToPatentsView() {
+        when(trendClient.getCitationSnapshot())
+                .thenReturn(new CitationSnapshotDto("12000000", null, Instant.now()));
+        when(trendClient.lookupCitations(any())).thenThrow(new RuntimeException("connection refused"));
+        when(liveClient.getForwardCitations(anyCollection()))
+                .thenReturn(List.of(citation("11500000", "10000000")));
+
+        List<PatentsViewUSPatentCitation> result = source.getForwardCitations(List.of("10000000"));
+
+        assertEquals(1, result.size());
+        verify(liveClient).getForwardCitations(List.of("10000000"));
+
+        // Trends service is skipped until the retry window passes
+        source.getForwardCitations(List.of("10000001"));
+        verify(trendClient, times(1)).lookupCitations(any());
+        verify(trendClient, times(1)).getCitationSnapshot();
+    }
+
+    @Test
+    void truncatedLocalLookupIsPagedAndOversizedPatentsGoLive() {
+        // given: the first page stops inside 9000002, the second holds only 9000002
+        when(trendClient.getCitationSnapshot())
+                .thenReturn(new CitationSnapshotDto("12000000", null, Instant.now()));
+        when(trendClient.lookupCitations(new CitationLookupRequest(
+                List.of("9000001", "9000002", "9000003"), "BACKWARD", 5000)))
+                .thenReturn(new CitationLookupDto(List.of(
+                        new CitationRecordDto("9000001", "8000000", null, null),
+                        new CitationRecordDto("9000002", "8000001", null, null)), true));
+        when(trendClient.lookupCitations(new CitationLookupRequest(List.of("9000002", "9000003"), "BACKWARD", 5000)))
+                .thenReturn(new CitationLookupDto(List.of(
+                        new CitationRecordDto("9000002", "8000001", null, null),
+                        new CitationRecordDto("9000002", "8000002", null, null)), true));
+        when(trendClient.lookupCitations(new CitationLookupRequest(List.of("9000003"), "BACKWARD", 5000)))
+                .thenReturn(new CitationLookupDto(List.of(
+                        new CitationRecordDto("9000003", "8000003", null, null)), false));
+        when(liveClient.getBackwardCitations(anyCollection()))
+                .thenReturn(List.of(citation("9000002", "8000001"), citation("9000002", "8000002")));
+
+        // when
+        List<PatentsViewUSPatentCitation> result =
+                source.getBackwardCitations(List.of("9000001", "9000002", "9000003"));
+
+        // then: no partial rows of 9000002 are kept from the local pages
+        assertEquals(List.of("9000001", "9000003", "9000002", "9000002"),
+                result.stream().map(PatentsViewUSPatentCitation::getPatentId).toList());
+        verify(trendClient, times(3)).lookupCitations(any());
+        verify(liveClient).getBackwardCitations(List.of("9000002"));
+    }
+}
@@ -0,0 +1,172 @@
+package com.teamb.globalipbackend1.citation;
+
+import com.teamb.globalipbackend1.dto.citation.CitationStoreResult;
+import com.teamb.globalipbackend1.external.patentsview.CitationFetchException;
+import com.teamb.globalipbackend1.external.patentsview.PatentsViewCitationClient;
+import com.teamb.globalipbackend1.external.patentsview.dto.AllCitationsResponse;
+import com.teamb.globalipbackend1.external.patentsview.dto.PatentsViewUSPatentCitation;
+import com.teamb.globalipbackend1.model.patents.CitationDirection;
+import com.teamb.globalipbackend1.model.patents.CitationWatermark;
+import com.teamb.globalipbackend1.model.patents.PatentCitation;
+import com.teamb.globalipbackend1.repository.citation.CitationWatermarkRepository;
+import com.teamb.globalipbackend1.repository.citation.PatentCitationRepository;
+import com.teamb.globalipbackend1.service.patent.citations.CitationRefreshProperties;
+import com.teamb.globalipbackend1.service.patent.citations.PatentCitationService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PatentCitationServiceTest {
+
+    PatentsViewCitationClient citationClient = mock(PatentsViewCitationClient.class);
+    PatentCitationRepository citationRepository = mock(PatentCitationRepository.class);
+    CitationWatermarkRepository watermarkRepository = mock(CitationWatermarkRepository.class);
+
+    PatentCitationService service = new PatentCitationService(
+            citationClient, citationRepository, watermarkRepository, new CitationRefreshProperties());
+
+    private static PatentsViewUSPatentCitation citation(String citing, String cited) {
+        PatentsViewUSPatentCitation c = new PatentsViewUSPatentCitation();
+        c.setPatentId(citing);
+        c.setCitationPatentId(cited);
+        return c;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldInsertOnlyNewPairsInOneBatch() {
+
+        // given
+        AllCitationsResponse all = new AllCitationsResponse();
+        all.setBackwardUSPatentCitations(List.of(
+                citation("10000001", "9000001"),
+                citation("10000001", "9000001"),
+                citation("10000001", "9000002")
+        ));
+        all.setForwardUSPatentCitations(List.of(citation("11000001", "10000001")));
+        all.setBackwardComplete(true);
+        all.setForwardComplete(true);
+
+        when(citationClient.getAllCitations("US10000001")).thenReturn(all);
+        when(citationRepository.findCitationKeysTouching("10000001")).thenReturn(List.<Object[]>of(
+                new Object[]{"10000001", "9000002", CitationDirection.BACKWARD}
+        ));
+        when(citationRepository.insertAll(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        // when
+        CitationStoreResult result = service.fetchAndStoreCitations("10000001");
+
+        // then
+        ArgumentCaptor<List<PatentCitation>> rows = ArgumentCaptor.forClass(List.class);
+        verify(citationRepository).insertAll(rows.capture());
+        verify(citationRepository, never()).save(any());
+
+        assertEquals(List.of("9000001", "10000001"),
+                rows.getValue().stream().map(PatentCitation::getCitedPatentNumber).toList());
+        assertEquals(2, result.inserted());
+        assertEquals(2, result.skipped());
+        verify(watermarkRepository).save(argThat(w -> "11000001".equals(w.getNewestCitingPatentNumber())));
+    }
+
+    @Test
+    void shouldOnlyFetchForwardCitationsPastTheWatermark() {
+
+        // given
+        CitationWatermark watermark = new CitationWatermark();
+        watermark.setPatentNumber("10000001");
+        watermark.setFullFetchedAt(LocalDateTime.now().minusDays(30));
+        watermark.setForwardRefreshedAt(LocalDateTime.now().minusDays(2));
+        watermark.setNewestCitingPatentNumber("11000001");
+
+        when(watermarkRepository.findById("10000001")).thenReturn(Optional.of(watermark));
+        when(citationClient.getForwardCitationsSince("US10000001", "11000001"))
+                .thenReturn(List.of(citation("12000001", "10000001")));
+        when(citationRepository.insertAll(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        // when
+        CitationStoreResult result = service.fetchAndStoreCitations("10000001");
+
+        // then
+        verify(citationClient, never()).getAllCitations(anyString());
+        assertTrue(result.incremental());
+        assertEquals(1, result.inserted());
+        assertEquals("12000001", watermark.getNewestCitingPatentNumber());
+    }
+
+    @Test
+    void shouldFallBackToFullForwardQueryForSevenDigitWatermark() {
+
+        // given: "9999999" > "10000005" as strings, so it cannot bound a _gt query
+        CitationWatermark watermark = new CitationWatermark();
+        watermark.setPatentNumber("8000001");
+        watermark.setFullFetchedAt(LocalDateTime.now().minusDays(30));
+        watermark.setForwardRefreshedAt(LocalDateTime.now().minusDays(2));
+        watermark.setNewestCitingPatentNumber("9999999");
+
+        when(watermarkRepository.findById("8000001")).thenReturn(Optional.of(watermark));
+        when(citationClient.getForwardCitations("US8000001"))
+                .thenReturn(List.of(citation("9999999", "8000001"), citation("10000005", "8000001")));
+        when(citationRepository.insertAll(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        // when
+        service.fetchAndStoreCitations("8000001");
+
+        // then
+        verify(citationClient, never()).getForwardCitationsSince(anyString(), anyString());
+        assertEquals("10000005", watermark.getNewestCitingPatentNumber());
+    }
+
+    @Test
+    void shouldOnlyAdvanceTheWatermarkOfSetsThatWereFetched() {
+
+        // given: forward citations arrive, the backward query fails
+        AllCitationsResponse all = new AllCitationsResponse();
+        all.setForwardUSPatentCitations(List.of(citation("11000001", "10000001")));
+        all.setForwardComplete(true);
+
+        when(citationClient.getAllCitations("US10000001")).thenReturn(all);
+        when(citationRepository.insertAll(anyList())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        // when
+        service.fetchAndStoreCitations("10000001");
+
+        // then
+        ArgumentCaptor<CitationWatermark> saved = ArgumentCaptor.forClass(CitationWatermark.class);
+        verify(watermarkRepository).save(saved.capture());
+        assertNull(saved.getValue().getFullFetchedAt());
+        assertNotNull(saved.getValue().getForwardRefreshedAt());
+
+        // and: the next call fetches every set again
+        when(watermarkRepository.findById("10000001")).thenReturn(Optional.of(saved.getValue()));
+        service.fetchAndStoreCitations("10000001");
+        verify(citationClient, times(2)).getAllCitations("US10000001");
+    }
+
+    @Test
+    void shouldLeaveTheWatermarkAloneWhenTheForwardRefreshFails() {
+
+        // given
+        CitationWatermark watermark = new CitationWatermark();
+        LocalDateTime refreshed = LocalDateTime.now().minusDays(2);
+        watermark.setPatentNumber("10000001");
+        watermark.setFullFetchedAt(LocalDateTime.now().minusDays(30));
+        watermark.setForwardRefreshedAt(refreshed);
+        watermark.setNewestCitingPatentNumber("11000001");
+
+        when(watermarkRepository.findById("10000001")).thenReturn(Optional.of(watermark));
+        when(citationClient.getForwardCitationsSince("US10000001", "11000001"))
+                .thenThrow(new CitationFetchException("rate limited", null));
+
+        // when / then
+        assertThrows(CitationFetchException.class, () -> service.fetchAndStoreCitations("10000001"));
+        assertEquals(refreshed, watermark.getForwardRefreshedAt());
+        verify(watermarkRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,113 @@
+package com.teamb.globalipbackend1.citation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.teamb.globalipbackend1.external.patentsview.CitationFetchException;
+import com.teamb.globalipbackend1.external.patentsview.PatentsViewCitationClient;
+import com.teamb.globalipbackend1.external.patentsview.PatentsViewHttpClient;
+import com.teamb.globalipbackend1.external.patentsview.dto.AllCitationsResponse;
+import com.teamb.globalipbackend1.external.patentsview.dto.PatentsViewUSPatentCitation;
+import com.teamb.globalipbackend1.external.patentsview.querybuilder.PatentsViewCitationQueryBuilder;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PatentsViewCitationClientTest {
+
+    ObjectMapper mapper = new ObjectMapper();
+    PatentsViewHttpClient httpClient = mock(PatentsViewHttpClient.class);
+    PatentsViewCitationClient client =
+            new PatentsViewCitationClient(httpClient, new PatentsViewCitationQueryBuilder(), mapper);
+
+    private String page(int from, int count) {
+        ObjectNode root = mapper.createObjectNode();
+        ArrayNode citations = root.putArray("us_patent_citations");
+        for (int i = from; i < from + count; i++) {
+            citations.addObject()
+                    .put("patent_id", String.valueOf(11_000_000 + i))
+                    .put("citation_patent_id", "10000000")
+                    .put("citation_sequence", 3);
+        }
+        return root.toString();
+    }
+
+    @Test
+    void shouldFollowCursorUntilShortPage() throws Exception {
+        // given
+        when(httpClient.post(anyString(), anyString())).thenReturn(page(0, 1000), page(1000, 3));
+
+        // when
+        List<PatentsViewUSPatentCitation> citations = client.getForwardCitations(List.of("US10000000"));
+
+        // then
+        assertEquals(1003, citations.size());
+        ArgumentCaptor<String> queries = ArgumentCaptor.forClass(String.class);
+        verify(httpClient, times(2)).post(anyString(), queries.capture());
+
+        assertFalse(mapper.readTree(queries.getAllValues().get(0)).path("o").has("after"));
+        JsonNode after = mapper.readTree(queries.getAllValues().get(1)).path("o").path("after");
+        assertEquals("[\"10000000\",\"11000999\",3]", after.toString());
+    }
+
+    @Test
+    void shouldNotQueryWhenNoIdIsAUtilityPatent() {
+        // when
+        List<PatentsViewUSPatentCitation> citations = client.getBackwardCitations(List.of("RE49000", "D900000"));
+
+        // then
+        assertTrue(citations.isEmpty());
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    void shouldReturnNothingWhenALaterPageFails() {
+        // given
+        when(httpClient.post(anyString(), anyString()))
+                .thenReturn(page(0, 1000))
+                .thenThrow(new IllegalStateException("rate limited"));
+
+        // when / then
+        assertTrue(client.getBackwardCitations(List.of("10000000")).isEmpty());
+    }
+
+    @Test
+    void shouldQueryOnlyCitingPatentsPastTheWatermark() throws Exception {
+        // given
+        when(httpClient.post(anyString(), anyString())).thenReturn(page(0, 2));
+
+        // when
+        List<PatentsViewUSPatentCitation> citations = client.getForwardCitationsSince("US10000000", "10999999");
+
+        // then
+        assertEquals(2, citations.size());
+        ArgumentCaptor<String> query = ArgumentCaptor.forClass(String.class);
+        verify(httpClient).post(anyString(), query.capture());
+        assertEquals("{\"_and\":[{\"citation_patent_id\":\"10000000\"},{\"_gt\":{\"patent_id\":\"10999999\"}}]}",
+                mapper.readTree(query.getValue()).path("q").toString());
+    }
+
+    @Test
+    void shouldReportAFailedSetInsteadOfAnEmptyOne() {
+        // given
+        when(httpClient.post(anyString(), anyString()))
+                .thenReturn(page(0, 2))
+                .thenThrow(new IllegalStateException("rate limited"))
+                .thenReturn("{}", "{}");
+
+        // when
+        AllCitationsResponse all = client.getAllCitations("US10000000");
+
+        // then
+        assertTrue(all.isBackwardComplete());
+        assertFalse(all.isForwardComplete());
+        when(httpClient.post(anyString(), anyString())).thenThrow(new IllegalStateException("rate limited"));
+        assertThrows(CitationFetchException.class, () -> client.getForwardCitationsSince("US10000000", "10999999"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.teamb.globalipbackend1.citation;
+
+import com.teamb.globalipbackend1.external.trendsApi.client.PatentsViewPatentTrendClientImpl;
+import com.teamb.globalipbackend1.external.trendsApi.config.PatentAnalyticsServiceConfig;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.patentsview.CitationSimilarityDto;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PatentsViewPatentTrendClientTest {
+
+    HttpClient httpClient = mock(HttpClient.class);
+    PatentAnalyticsServiceConfig config = new PatentAnalyticsServiceConfig();
+    PatentsViewPatentTrendClientImpl client = new PatentsViewPatentTrendClientImpl(httpClient, config);
+
+    PatentsViewPatentTrendClientTest() {
+        config.setBaseUrl("http://trends");
+        config.setApiPath("/api/trends");
+        config.setServiceApiKey("key");
+        config.setTimeout(180);
+        config.setMaxRetries(3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpResponse<String> response(int status, String body) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(status);
+        when(response.body()).thenReturn(body);
+        return response;
+    }
+
+    @Test
+    void ranksGetOneShortAttemptAndFailFastAfterwards() throws Exception {
+        // given
+        HttpResponse<String> unavailable = response(503, "");
+        doReturn(unavailable).when(httpClient).send(any(), any());
+
+        // when
+        assertThrows(RuntimeException.class, () -> client.getCitationRanks(List.of("10000001")));
+        assertThrows(RuntimeException.class, () -> client.getCitationRanks(List.of("10000001")));
+
+        // then: no retries, and the second call never reached the trends service
+        verify(httpClient, times(1)).send(argThat((HttpRequest r) ->
+                r.timeout().equals(Optional.of(Duration.ofSeconds(2)))), any());
+    }
+
+    @Test
+    void missingRanksAreAnEmptyAnswer() throws Exception {
+        // given
+        HttpResponse<String> notFound = response(404, "");
+        doReturn(notFound).when(httpClient).send(any(), any());
+
+        // when / then
+        assertEquals(List.of(), client.getCitationRanks(List.of("10000001")));
+        assertEquals(List.of(), client.getCitationRanks(List.of("10000001")));
+        verify(httpClient, times(2)).send(any(), any());
+    }
+
+    @Test
+    void similarityForAPatentOutsideTheGraphIsNotRetried() throws Exception {
+        // given
+        HttpResponse<String> notFound = response(404, "");
+        doReturn(notFound).when(httpClient).send(any(), any());
+
+        // when
+        CitationSimilarityDto similar = client.getSimilarPatents("10000001", "CO_CITATION", 10);
+
+        // then
+        assertNull(similar);
+        verify(httpClient, times(1)).send(any(), any());
+    }
+}
@@ -0,0 +1,65 @@
+package com.teamb.globalipbackend1.repository.citation;
+
+import com.teamb.globalipbackend1.model.patents.CitationDirection;
+import com.teamb.globalipbackend1.model.patents.CitationType;
+import com.teamb.globalipbackend1.model.patents.PatentCitation;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatentCitationBulkRepositoryImplTest {
+
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:citation-bulk;DB_CLOSE_DELAY=-1"));
+    PatentCitationBulkRepositoryImpl repository = new PatentCitationBulkRepositoryImpl(jdbcTemplate);
+
+    PatentCitationBulkRepositoryImplTest() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS patent_citations");
+        jdbcTemplate.execute("""
+                CREATE TABLE patent_citations (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    citing_patent_number VARCHAR(255) NOT NULL,
+                    cited_patent_number VARCHAR(255) NOT NULL,
+                    cited_patent_title VARCHAR(1000),
+                    cited_patent_date DATE,
+                    citation_sequence INT,
+                    citation_category VARCHAR(255),
+                    citation_direction VARCHAR(255),
+                    created_at TIMESTAMP,
+                    updated_at TIMESTAMP,
+                    citation_type VARCHAR(255) NOT NULL,
+                    citation_country VARCHAR(255),
+                    CONSTRAINT uk_patent_citation_pair
+                        UNIQUE (citing_patent_number, cited_patent_number, citation_direction)
+                )
+                """);
+    }
+
+    private static PatentCitation citation(String citing, String cited) {
+        PatentCitation c = new PatentCitation();
+        c.setCitingPatentNumber(citing);
+        c.setCitedPatentNumber(cited);
+        c.setCitationDirection(CitationDirection.BACKWARD);
+        c.setCitationType(CitationType.US_PATENT);
+        return c;
+    }
+
+    @Test
+    void shouldSkipCitationsAlreadyStoredByAConcurrentFetch() {
+        // given
+        int first = repository.insertAll(List.of(citation("10000000", "9000000"), citation("10000000", "9000001")));
+
+        // when
+        int second = assertDoesNotThrow(() -> repository.insertAll(
+                List.of(citation("10000000", "9000001"), citation("10000000", "9000002"))));
+
+        // then: the repeated pair is skipped and not counted
+        assertEquals(2, first);
+        assertEquals(1, second);
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM patent_citations", Integer.class));
+    }
+}
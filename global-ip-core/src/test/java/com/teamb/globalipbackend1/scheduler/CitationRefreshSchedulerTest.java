@@ -0,0 +1,77 @@
+package com.teamb.globalipbackend1.scheduler;
+
+import com.teamb.globalipbackend1.dto.citation.CitationStoreResult;
+import com.teamb.globalipbackend1.external.patentsview.PatentsViewCitationClient;
+import com.teamb.globalipbackend1.external.ratelimit.Upstream;
+import com.teamb.globalipbackend1.external.ratelimit.UpstreamRateLimiter;
+import com.teamb.globalipbackend1.model.patents.CitationWatermark;
+import com.teamb.globalipbackend1.repository.citation.CitationWatermarkRepository;
+import com.teamb.globalipbackend1.scheduler.lease.InMemoryJobLeaseManager;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import com.teamb.globalipbackend1.scheduler.lease.JobLeaseProperties;
+import com.teamb.globalipbackend1.service.patent.citations.CitationRefreshProperties;
+import com.teamb.globalipbackend1.service.patent.citations.PatentCitationService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CitationRefreshSchedulerTest {
+
+    CitationWatermarkRepository watermarkRepository = mock(CitationWatermarkRepository.class);
+    PatentCitationService citationService = mock(PatentCitationService.class);
+    PatentsViewCitationClient citationClient = mock(PatentsViewCitationClient.class);
+    UpstreamRateLimiter rateLimiter = mock(UpstreamRateLimiter.class);
+
+    CitationRefreshScheduler scheduler = new CitationRefreshScheduler(
+            watermarkRepository,
+            citationService,
+            citationClient,
+            new CitationRefreshProperties(),
+            new JobCoordinator(new InMemoryJobLeaseManager("a", new ConcurrentHashMap<>(), Clock.systemDefaultZone()),
+                    new JobLeaseProperties()),
+            rateLimiter
+    );
+
+    @Test
+    void shouldAcquireOnePermitForWatermarkedPatentsAndFourForNewOnes() throws Exception {
+        // given
+        CitationWatermark watermark = new CitationWatermark();
+        watermark.setPatentNumber("10000001");
+        watermark.setFullFetchedAt(LocalDateTime.now().minusDays(30));
+        watermark.setForwardRefreshedAt(LocalDateTime.now().minusDays(2));
+
+        when(watermarkRepository.findFollowedPatentNumbers()).thenReturn(List.of("10000001", "10000002"));
+        when(watermarkRepository.findAllById(anyIterable())).thenReturn(List.of(watermark));
+        when(citationService.fetchAndStoreCitations(anyString()))
+                .thenAnswer(inv -> new CitationStoreResult(inv.getArgument(0), 0, 0, false));
+
+        // when
+        scheduler.refreshFollowedPatents();
+
+        // then
+        verify(rateLimiter).acquire(Upstream.PATENTSVIEW, 4);
+        verify(rateLimiter).acquire(Upstream.PATENTSVIEW, 1);
+        verify(citationService).fetchAndStoreCitations("10000001");
+        verify(citationService).fetchAndStoreCitations("10000002");
+    }
+
+    @Test
+    void shouldStopWhenInterruptedWhileWaitingForPermits() throws Exception {
+        // given
+        when(watermarkRepository.findFollowedPatentNumbers()).thenReturn(List.of("10000001", "10000002"));
+        doThrow(new InterruptedException()).when(rateLimiter).acquire(any(), anyInt());
+
+        // when
+        scheduler.refreshFollowedPatents();
+
+        // then
+        verifyNoInteractions(citationService);
+        Thread.interrupted();
+    }
+}
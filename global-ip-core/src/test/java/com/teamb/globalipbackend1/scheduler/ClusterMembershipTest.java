@@ -0,0 +1,38 @@
+package com.teamb.globalipbackend1.scheduler;
+
+import com.teamb.globalipbackend1.scheduler.lease.ClusterMembership;
+import com.teamb.globalipbackend1.scheduler.lease.InMemoryJobLeaseManager;
+import com.teamb.globalipbackend1.scheduler.lease.JobLeaseProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterMembershipTest {
+
+    final Map<String, InMemoryJobLeaseManager.Lease> leases = new ConcurrentHashMap<>();
+
+    ClusterMembership node(String nodeId) {
+        JobLeaseProperties properties = new JobLeaseProperties();
+        properties.setNodeId(nodeId);
+        return new ClusterMembership(
+                new InMemoryJobLeaseManager(nodeId, leases, Clock.systemDefaultZone()), properties);
+    }
+
+    @Test
+    void countsEveryNodeThatKeepsItsLeaseAlive() {
+        ClusterMembership a = node("a");
+        ClusterMembership b = node("b");
+
+        a.heartbeat();
+        b.heartbeat();
+        a.heartbeat(); // renewing its own lease does not count twice
+
+        assertEquals(2, a.activeNodes());
+        assertEquals(2, b.activeNodes());
+        assertEquals(2, leases.size());
+    }
+}
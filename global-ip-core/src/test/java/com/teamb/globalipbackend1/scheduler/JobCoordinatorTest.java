@@ -0,0 +1,82 @@
+package com.teamb.globalipbackend1.scheduler;
+
+import com.teamb.globalipbackend1.scheduler.lease.InMemoryJobLeaseManager;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import com.teamb.globalipbackend1.scheduler.lease.JobLeaseProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobCoordinatorTest {
+
+    final Map<String, InMemoryJobLeaseManager.Lease> leases = new ConcurrentHashMap<>();
+    final JobLeaseProperties properties = new JobLeaseProperties();
+
+    JobCoordinator node(String nodeId) {
+        return new JobCoordinator(
+                new InMemoryJobLeaseManager(nodeId, leases, Clock.systemDefaultZone()), properties);
+    }
+
+    @Test
+    void onlyOneNodeRunsAnExclusiveJob() {
+        JobCoordinator a = node("a");
+        JobCoordinator b = node("b");
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(a.runExclusively("cleanup", Duration.ofMinutes(10), runs::incrementAndGet));
+        // a finished, but keeps the lease for min-hold so a late-firing node skips the run
+        assertFalse(b.runExclusively("cleanup", Duration.ofMinutes(10), runs::incrementAndGet));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void finishedJobIsFreeAgainAfterMinHold() {
+        properties.setMinHold(Duration.ZERO);
+        JobCoordinator a = node("a");
+        JobCoordinator b = node("b");
+        AtomicInteger runs = new AtomicInteger();
+
+        a.runExclusively("cleanup", Duration.ofMinutes(10), runs::incrementAndGet);
+        assertTrue(b.runExclusively("cleanup", Duration.ofMinutes(10), runs::incrementAndGet));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void nodesSplitTheShardsOfARunWithoutRepeatingAny() {
+        JobCoordinator a = node("a");
+        JobCoordinator b = node("b");
+        List<Integer> processed = new ArrayList<>();
+
+        int byA = a.forEachShard("tracking", "2026-05-01T10:00", 8, Duration.ofMinutes(55), shard -> {
+            processed.add(shard);
+            // b joins while a is still busy and takes what is left
+            if (processed.size() == 3) {
+                b.forEachShard("tracking", "2026-05-01T10:00", 8, Duration.ofMinutes(55), processed::add);
+            }
+        });
+
+        assertEquals(8, processed.size());
+        assertEquals(8, processed.stream().distinct().count());
+        assertEquals(3, byA);
+
+        // the next run has its own shard leases
+        assertEquals(8, b.forEachShard("tracking", "2026-05-01T11:00", 8, Duration.ofMinutes(55), s -> {}));
+    }
+
+    @Test
+    void shardOfIsStableAndInRange() {
+        assertEquals(JobCoordinator.shardOf("US1234567", 8), JobCoordinator.shardOf("US1234567", 8));
+        for (String id : List.of("US1", "EP2", "WO3", "", "zzz")) {
+            int shard = JobCoordinator.shardOf(id, 8);
+            assertTrue(shard >= 0 && shard < 8);
+        }
+    }
+}
@@ -2,28 +2,47 @@ package com.teamb.globalipbackend1.scheduler;
 
 import com.teamb.globalipbackend1.dto.lifecycle.ApplicationLifecycleDto;
 import com.teamb.globalipbackend1.external.patentsview.dto.PatentDetailDto;
+import com.teamb.globalipbackend1.model.lifecycle.PatentLifecycleFingerprint;
+import com.teamb.globalipbackend1.model.subscription.MonitoringType;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
 import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferences;
-import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferencesId;
-import com.teamb.globalipbackend1.repository.tracking.UserTrackingPreferencesRepository;
+import com.teamb.globalipbackend1.repository.subscription.MonitoringSubscriptionRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
 import com.teamb.globalipbackend1.service.patent.detail.PatentsViewDetailsService;
+import com.teamb.globalipbackend1.service.patent.lifecycle.PatentLifecycleFingerprintService;
 import com.teamb.globalipbackend1.service.patent.lifecycle.PatentLifecyclePersistenceService;
 import com.teamb.globalipbackend1.service.tracking.PatentTrackingNotificationService;
+import com.teamb.globalipbackend1.service.tracking.TrackingProperties;
+import com.teamb.globalipbackend1.service.tracking.TrackingSchedulePolicy;
+import com.teamb.globalipbackend1.service.tracking.TrackingWorkPlanner;
+import com.teamb.globalipbackend1.service.tracking.TrackingWorkPlanner.PatentWork;
+import com.teamb.globalipbackend1.service.tracking.TrackingWorkerPool;
 import com.teamb.globalipbackend1.util.trackingUtil.PatentSourceDetector;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class UnifiedPatentTrackingSchedulerTest {
 
     @Mock
-    UserTrackingPreferencesRepository trackingRepository;
+    TrackingWorkPlanner workPlanner;
+
+    @Mock
+    MonitoringSubscriptionRepository subscriptionRepository;
 
     @Mock
     PatentsViewDetailsService patentsViewDetailsService;
@@ -31,12 +50,27 @@ class UnifiedPatentTrackingSchedulerTest {
     @Mock
     PatentLifecyclePersistenceService lifecyclePersistenceService;
 
+    @Mock
+    PatentLifecycleFingerprintService fingerprintService;
+
     @Mock
     PatentTrackingNotificationService notificationService;
 
     @Mock
     PatentSourceDetector sourceDetector;
 
+    @Mock
+    TrackingWorkerPool workerPool;
+
+    @Mock
+    TrackingSchedulePolicy schedulePolicy;
+
+    @Mock
+    JobCoordinator jobCoordinator;
+
+    @Spy
+    TrackingProperties trackingProperties = new TrackingProperties();
+
     @InjectMocks
     UnifiedPatentTrackingScheduler scheduler;
 
@@ -53,8 +87,26 @@ class UnifiedPatentTrackingSchedulerTest {
         when(prefs.getTrackStatusChanges()).thenReturn(true);
         when(prefs.getTrackLifecycleEvents()).thenReturn(false);
 
-        when(trackingRepository.findAll()).thenReturn(List.of(prefs));
+        when(subscriptionRepository.existsByTypeAndStatusAndTierIn(
+                eq(MonitoringType.LEGAL_STATUS), eq(SubscriptionStatus.ACTIVE), anyCollection()))
+                .thenReturn(true);
+        when(workPlanner.forEachDuePage(eq(MonitoringType.LEGAL_STATUS), any(), anyInt(), anyInt(), any()))
+                .thenAnswer(inv -> {
+                    int shard = inv.getArgument(2);
+                    Consumer<List<PatentWork>> handler = inv.getArgument(4);
+                    if (JobCoordinator.shardOf(patentId, inv.getArgument(3)) != shard) {
+                        return 0;
+                    }
+                    handler.accept(List.of(new PatentWork(patentId, List.of(prefs))));
+                    return 1;
+                });
         when(sourceDetector.isUsPatent(patentId)).thenReturn(true);
+        runAllShardsHere();
+        when(workerPool.runAll(anyList())).thenAnswer(inv -> {
+            List<TrackingWorkerPool.Job> jobs = inv.getArgument(0);
+            jobs.forEach(job -> job.work().run());
+            return true;
+        });
 
         ApplicationLifecycleDto stored =
                 new ApplicationLifecycleDto(
@@ -96,4 +148,126 @@ class UnifiedPatentTrackingSchedulerTest {
         verify(lifecyclePersistenceService)
                 .saveLifecycle(eq(userId), eq(current));
     }
+
+    @Test
+    void shouldSkipPerUserChecksWhenFingerprintIsUnchanged() {
+        String patentId = "US7654321";
+        LocalDateTime lastChecked = LocalDateTime.now().minusHours(1);
+
+        UserTrackingPreferences existing = mock(UserTrackingPreferences.class);
+        when(existing.getCreatedAt()).thenReturn(lastChecked.minusDays(3));
+        UserTrackingPreferences added = mock(UserTrackingPreferences.class);
+        when(added.getCreatedAt()).thenReturn(lastChecked.plusMinutes(10));
+        when(added.getId()).thenReturn(
+                new com.teamb.globalipbackend1.model.tracking.UserTrackingPreferencesId("user-new", patentId)
+        );
+
+        ApplicationLifecycleDto current = new ApplicationLifecycleDto(
+                patentId, LocalDate.of(2015, 3, 1), LocalDate.of(2018, 6, 5), LocalDate.of(2035, 3, 1), "GRANTED");
+        PatentDetailDto patentDetail = mock(PatentDetailDto.class);
+        when(patentDetail.getLifecycle()).thenReturn(current);
+        when(patentsViewDetailsService.fetchPatentDetail(patentId)).thenReturn(patentDetail);
+
+        when(subscriptionRepository.existsByTypeAndStatusAndTierIn(
+                eq(MonitoringType.LEGAL_STATUS), eq(SubscriptionStatus.ACTIVE), anyCollection()))
+                .thenReturn(true);
+        when(workPlanner.forEachDuePage(eq(MonitoringType.LEGAL_STATUS), any(), anyInt(), anyInt(), any()))
+                .thenAnswer(inv -> {
+                    int shard = inv.getArgument(2);
+                    Consumer<List<PatentWork>> handler = inv.getArgument(4);
+                    if (JobCoordinator.shardOf(patentId, inv.getArgument(3)) != shard) {
+                        return 0;
+                    }
+                    handler.accept(List.of(new PatentWork(patentId, List.of(existing, added))));
+                    return 1;
+                });
+        when(sourceDetector.isUsPatent(patentId)).thenReturn(true);
+        runAllShardsHere();
+        when(workerPool.runAll(anyList())).thenAnswer(inv -> {
+            List<TrackingWorkerPool.Job> jobs = inv.getArgument(0);
+            jobs.forEach(job -> job.work().run());
+            return true;
+        });
+        when(fingerprintService.load(anyCollection())).thenReturn(Map.of(patentId,
+                new PatentLifecycleFingerprint(patentId, PatentLifecycleFingerprintService.fingerprint(current),
+                        lastChecked.minusDays(30), lastChecked, lastChecked)));
+        LocalDateTime nextCheck = lastChecked.plusDays(1);
+        when(schedulePolicy.nextCheckAt(eq(current), eq(lastChecked.minusDays(30)), any(), any()))
+                .thenReturn(nextCheck);
+
+        scheduler.checkAllPatentUpdates();
+
+        // Only the user who started tracking since the last check is looked at
+        verify(existing, never()).getId();
+        verify(lifecyclePersistenceService).getTrackedPatent("user-new", patentId);
+        verify(lifecyclePersistenceService).saveLifecycle("user-new", current);
+        verify(fingerprintService, never()).record(anyString(), anyLong(), anyBoolean(), any(), any());
+        verify(fingerprintService).markChecked(
+                argThat(byNextCheck -> byNextCheck.get(nextCheck).contains(patentId)), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void shouldBroadcastAChangeOnceHoweverManyUsersTrackThePatent() {
+        // given
+        String patentId = "US2345678";
+        List<UserTrackingPreferences> trackers = new ArrayList<>();
+        for (String userId : List.of("user-1", "user-2", "user-3")) {
+            UserTrackingPreferences prefs = mock(UserTrackingPreferences.class);
+            when(prefs.getId()).thenReturn(
+                    new com.teamb.globalipbackend1.model.tracking.UserTrackingPreferencesId(userId, patentId));
+            when(prefs.getTrackStatusChanges()).thenReturn(true);
+            when(prefs.getTrackLifecycleEvents()).thenReturn(true);
+            trackers.add(prefs);
+        }
+
+        when(subscriptionRepository.existsByTypeAndStatusAndTierIn(
+                eq(MonitoringType.LEGAL_STATUS), eq(SubscriptionStatus.ACTIVE), anyCollection()))
+                .thenReturn(true);
+        when(workPlanner.forEachDuePage(eq(MonitoringType.LEGAL_STATUS), any(), anyInt(), anyInt(), any()))
+                .thenAnswer(inv -> {
+                    int shard = inv.getArgument(2);
+                    Consumer<List<PatentWork>> handler = inv.getArgument(4);
+                    if (JobCoordinator.shardOf(patentId, inv.getArgument(3)) != shard) {
+                        return 0;
+                    }
+                    handler.accept(List.of(new PatentWork(patentId, trackers)));
+                    return 1;
+                });
+        when(sourceDetector.isUsPatent(patentId)).thenReturn(true);
+        runAllShardsHere();
+        when(workerPool.runAll(anyList())).thenAnswer(inv -> {
+            List<TrackingWorkerPool.Job> jobs = inv.getArgument(0);
+            jobs.forEach(job -> job.work().run());
+            return true;
+        });
+
+        ApplicationLifecycleDto stored = new ApplicationLifecycleDto(
+                patentId, null, null, LocalDate.now().plusYears(5), "PENDING");
+        ApplicationLifecycleDto current = new ApplicationLifecycleDto(
+                patentId, null, LocalDate.now(), LocalDate.now().plusYears(5), "GRANTED");
+        when(lifecyclePersistenceService.getTrackedPatent(anyString(), eq(patentId))).thenReturn(stored);
+        PatentDetailDto patentDetail = mock(PatentDetailDto.class);
+        when(patentDetail.getLifecycle()).thenReturn(current);
+        when(patentsViewDetailsService.fetchPatentDetail(patentId)).thenReturn(patentDetail);
+
+        // when
+        scheduler.checkAllPatentUpdates();
+
+        // then: one broadcast per kind of change, every user's stored lifecycle updated
+        verify(notificationService, times(1)).notifyStatusChange(patentId, "PENDING", "GRANTED");
+        verify(notificationService, times(1)).notifyLifecycleEvent(eq(patentId), eq("Pending"), eq("Granted"), anyString());
+        verify(lifecyclePersistenceService, times(3)).saveLifecycle(anyString(), eq(current));
+    }
+
+    private void runAllShardsHere() {
+        when(jobCoordinator.forEachShard(anyString(), anyString(), anyInt(), any(), any())).thenAnswer(inv -> {
+            int shards = inv.getArgument(2);
+            IntConsumer task = inv.getArgument(4);
+            for (int shard = 0; shard < shards; shard++) {
+                task.accept(shard);
+            }
+            return shards;
+        });
+    }
 }
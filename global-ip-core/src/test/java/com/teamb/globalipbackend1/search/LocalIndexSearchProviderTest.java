@@ -0,0 +1,72 @@
+package com.teamb.globalipbackend1.search;
+
+import com.teamb.globalipbackend1.dto.search.PatentSearchFilter;
+import com.teamb.globalipbackend1.external.trendsApi.client.PatentTrendClient;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.search.LocalSearchHitDto;
+import com.teamb.globalipbackend1.external.trendsApi.dto.response.search.LocalSearchResultDto;
+import com.teamb.globalipbackend1.model.patents.PatentDocument;
+import com.teamb.globalipbackend1.service.patent.search.provider.LocalIndexSearchProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LocalIndexSearchProviderTest {
+
+    PatentTrendClient trendClient = mock(PatentTrendClient.class);
+    LocalIndexSearchProvider provider = new LocalIndexSearchProvider(trendClient);
+
+    private static PatentSearchFilter filter(String keyword, String assignee) {
+        PatentSearchFilter filter = new PatentSearchFilter();
+        filter.setKeyword(keyword);
+        filter.setAssignee(assignee);
+        filter.setJurisdiction("ALL");
+        filter.setFilingDateFrom(LocalDate.of(2015, 1, 1));
+        return filter;
+    }
+
+    @Test
+    void shouldMapHitsToRemoteProviderPublicationNumbers() {
+        // given
+        LocalDate granted = LocalDate.of(2024, 3, 5);
+        when(trendClient.searchLocalPatents("solar cell", null, "ALL", LocalDate.of(2015, 1, 1), null, 100))
+                .thenReturn(new LocalSearchResultDto(List.of(
+                        new LocalSearchHitDto("11900000", "US", "B2", "Solar cell", List.of("Acme"),
+                                LocalDate.of(2021, 1, 2), granted, 7.5),
+                        new LocalSearchHitDto("EP3500000A1", "EP", "A1", null, null, null, granted, 6.1)
+                ), 2, 1000, granted));
+
+        // when
+        List<PatentDocument> documents = provider.searchByKeyword(filter("solar cell", null));
+
+        // then
+        assertEquals(List.of("11900000", "EP3500000"),
+                documents.stream().map(PatentDocument::getPublicationNumber).toList());
+        assertEquals("LOCAL", documents.getFirst().getSource());
+        assertEquals(granted, documents.getFirst().getGrantDate());
+        assertEquals("B2", documents.getFirst().getWipoKind());
+        assertEquals(List.of(), documents.get(1).getAssignees());
+    }
+
+    @Test
+    void shouldNotCallTheIndexWithoutKeywordOrAssignee() {
+        assertTrue(provider.searchAdvanced(filter(" ", null)).isEmpty());
+        verifyNoInteractions(trendClient);
+    }
+
+    @Test
+    void shouldReturnNothingWhenTheIndexIsUnavailable() {
+        // given
+        when(trendClient.searchLocalPatents(any(), any(), any(), any(), any(), anyInt()))
+                .thenThrow(new IllegalStateException("503 Search index is still loading"));
+
+        // when / then
+        assertTrue(provider.searchAdvanced(filter(null, "Acme")).isEmpty());
+        assertTrue(provider.supportsJurisdiction("ep"));
+        assertFalse(provider.supportsJurisdiction("JP"));
+    }
+}
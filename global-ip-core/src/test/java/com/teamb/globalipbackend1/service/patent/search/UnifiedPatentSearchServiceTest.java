@@ -0,0 +1,45 @@
+package com.teamb.globalipbackend1.service.patent.search;
+
+import com.teamb.globalipbackend1.model.patents.PatentDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnifiedPatentSearchServiceTest {
+
+    private static PatentDocument document(String source, String jurisdiction, String number, String abstractText) {
+        PatentDocument doc = new PatentDocument();
+        doc.setSource(source);
+        doc.setJurisdiction(jurisdiction);
+        doc.setPublicationNumber(number);
+        doc.setAbstractText(abstractText);
+        return doc;
+    }
+
+    @Test
+    void dedupeKeepsTheRecordWithAnAbstract() {
+        // given
+        List<PatentDocument> documents = List.of(
+                document("LOCAL", "US", "11900000", null),
+                document("LOCAL", "EP", "3500000", null),
+                document("PATENTSVIEW", "US", "11900000", "A solar cell..."),
+                document("EPO", "EP", "3500000", null),
+                document("EPO", "WO", "3500000", null),
+                document("EPO", "EP", null, null),
+                document("EPO", "EP", null, null)
+        );
+
+        // when
+        List<PatentDocument> unique = UnifiedPatentSearchService.dedupe(documents);
+
+        // then: first-seen order; same number in another jurisdiction and unnumbered records are kept
+        assertEquals(5, unique.size());
+        assertEquals("PATENTSVIEW", unique.get(0).getSource());
+        assertEquals("LOCAL", unique.get(1).getSource());
+        assertEquals("WO", unique.get(2).getJurisdiction());
+        assertNull(unique.get(3).getPublicationNumber());
+        assertNull(unique.get(4).getPublicationNumber());
+    }
+}
@@ -0,0 +1,102 @@
+package com.teamb.globalipbackend1.tracking;
+
+import com.teamb.globalipbackend1.dto.tracking.PatentTrackingEventDto;
+import com.teamb.globalipbackend1.dto.websocket.NotificationDigestDto;
+import com.teamb.globalipbackend1.model.notification.DigestChannel;
+import com.teamb.globalipbackend1.model.notification.DigestEntry;
+import com.teamb.globalipbackend1.model.subscription.AlertFrequency;
+import com.teamb.globalipbackend1.repository.notification.DigestEntryRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import com.teamb.globalipbackend1.service.websocket.NotificationCoalescer;
+import com.teamb.globalipbackend1.service.websocket.NotificationDigestProperties;
+import com.teamb.globalipbackend1.service.websocket.NotificationOutbox;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationCoalescerTest {
+
+    SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    DigestEntryRepository digestRepository = mock(DigestEntryRepository.class);
+    NotificationDigestProperties properties = new NotificationDigestProperties();
+    NotificationOutbox outbox = mock(NotificationOutbox.class);
+    NotificationCoalescer coalescer =
+            new NotificationCoalescer(messagingTemplate, digestRepository, properties, mock(JobCoordinator.class), outbox);
+
+    private static PatentTrackingEventDto event(String patentId) {
+        return new PatentTrackingEventDto(patentId, "STATUS_CHANGE", "Status changed",
+                "PENDING", "GRANTED", LocalDateTime.now(), "INFO");
+    }
+
+    @Test
+    void sendsTheFirstEventAtOnceAndFoldsTheBurstIntoDigests() {
+        properties.setWindow(Duration.ofHours(1));
+        properties.setMaxEvents(3);
+
+        for (int i = 0; i < 5; i++) {
+            coalescer.patentEvent("user1", AlertFrequency.REAL_TIME, event("US" + i));
+        }
+
+        verify(messagingTemplate).convertAndSendToUser(eq("user1"), eq("/queue/patent-events"), any());
+        ArgumentCaptor<Object> digest = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("user1"), eq(NotificationCoalescer.DIGEST_DESTINATION), digest.capture());
+        assertEquals(3, ((NotificationDigestDto) digest.getValue()).count());
+
+        // One event is still held; it goes out on its own when the window closes
+        properties.setWindow(Duration.ZERO);
+        coalescer.flushExpiredWindows();
+        verify(messagingTemplate, times(2)).convertAndSendToUser(eq("user1"), eq("/queue/patent-events"), any());
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    void storesDailyEventsAndSendsThemAsOneDigestPerUser() {
+        coalescer.patentEvent("user1", AlertFrequency.DAILY, event("US1"));
+        verify(digestRepository).save(any(DigestEntry.class));
+        verifyNoInteractions(messagingTemplate);
+
+        List<DigestEntry> stored = List.of(entry(1L, "alice"), entry(2L, "alice"), entry(3L, "bob"));
+        when(digestRepository.findByFrequencyOrderByUserIdAscIdAsc(eq(AlertFrequency.DAILY), any()))
+                .thenReturn(stored, List.of());
+
+        coalescer.sendStoredDigests(AlertFrequency.DAILY);
+
+        ArgumentCaptor<Object> digest = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("alice"), eq(NotificationCoalescer.DIGEST_DESTINATION), digest.capture());
+        assertEquals(2, ((NotificationDigestDto) digest.getValue()).count());
+        verify(messagingTemplate).convertAndSendToUser(eq("bob"), eq(NotificationCoalescer.DIGEST_DESTINATION), any());
+        verify(digestRepository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void recordsEachMessageInTheOutboxAndSendsItsSequenceNumber() {
+        PatentTrackingEventDto event = event("US1");
+        when(outbox.append("user1", "/queue/patent-events", event)).thenReturn(7L);
+
+        coalescer.patentEvent("user1", AlertFrequency.REAL_TIME, event);
+
+        verify(messagingTemplate).convertAndSendToUser("user1", "/queue/patent-events", event,
+                Map.of(NotificationOutbox.SEQ_HEADER, 7L));
+    }
+
+    private static DigestEntry entry(long id, String userId) {
+        return DigestEntry.builder()
+                .id(id)
+                .userId(userId)
+                .frequency(AlertFrequency.DAILY)
+                .channel(DigestChannel.PATENT_EVENTS)
+                .subjectId("US" + id)
+                .eventType("STATUS_CHANGE")
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
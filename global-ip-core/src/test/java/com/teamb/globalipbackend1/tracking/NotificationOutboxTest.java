@@ -0,0 +1,70 @@
+package com.teamb.globalipbackend1.tracking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teamb.globalipbackend1.dto.websocket.NotificationReplayDto;
+import com.teamb.globalipbackend1.model.notification.NotificationOutboxEntry;
+import com.teamb.globalipbackend1.repository.notification.NotificationOutboxRepository;
+import com.teamb.globalipbackend1.repository.notification.NotificationSequenceRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import com.teamb.globalipbackend1.service.websocket.NotificationOutbox;
+import com.teamb.globalipbackend1.service.websocket.NotificationOutboxProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationOutboxTest {
+
+    NotificationOutboxRepository outboxRepository = mock(NotificationOutboxRepository.class);
+    NotificationSequenceRepository sequenceRepository = mock(NotificationSequenceRepository.class);
+    NotificationOutboxProperties properties = new NotificationOutboxProperties();
+    NotificationOutbox outbox = new NotificationOutbox(outboxRepository, sequenceRepository,
+            new ObjectMapper(), properties, mock(JobCoordinator.class));
+
+    @Test
+    void createsTheSequenceOnFirstAppendAndNumbersEntriesFromIt() {
+        when(sequenceRepository.increment("user1")).thenReturn(0, 1);
+        when(sequenceRepository.findLastSeq("user1")).thenReturn(Optional.of(1L));
+
+        long seq = outbox.append("user1", "/queue/patent-events", List.of("payload"));
+
+        assertEquals(1, seq);
+        verify(sequenceRepository).insert("user1");
+        verify(outboxRepository).save(argThat(e -> e.getSeq() == 1 && e.getPayload().equals("[\"payload\"]")));
+    }
+
+    @Test
+    void replaysMissedEntriesInPagesAndReportsAGapPastRetention() {
+        properties.setReplayLimit(2);
+        when(sequenceRepository.findLastSeq("user1")).thenReturn(Optional.of(10L));
+        when(outboxRepository.findByUserIdAndSeqGreaterThanOrderBySeqAsc(eq("user1"), eq(3L), any()))
+                .thenReturn(List.of(entry(6), entry(7), entry(8)));
+        when(outboxRepository.findOldestSeq("user1")).thenReturn(6L);
+
+        NotificationReplayDto replay = outbox.replay("user1", 3L);
+
+        assertEquals(List.of(6L, 7L), replay.messages().stream().map(m -> m.seq()).toList());
+        assertEquals(7, replay.lastSeq());
+        assertTrue(replay.more());
+        assertTrue(replay.gap());
+
+        NotificationReplayDto upToDate = outbox.replay("user1", 10L);
+        assertTrue(upToDate.messages().isEmpty());
+        assertEquals(10, upToDate.lastSeq());
+    }
+
+    private static NotificationOutboxEntry entry(long seq) {
+        return NotificationOutboxEntry.builder()
+                .userId("user1")
+                .seq(seq)
+                .destination("/queue/patent-events")
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
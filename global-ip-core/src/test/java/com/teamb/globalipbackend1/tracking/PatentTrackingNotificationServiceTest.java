@@ -1,22 +1,31 @@
 package com.teamb.globalipbackend1.tracking;
 
 import com.teamb.globalipbackend1.dto.tracking.PatentTrackingEventDto;
+import com.teamb.globalipbackend1.dto.tracking.RenewalDueDto;
+import com.teamb.globalipbackend1.model.subscription.AlertFrequency;
 import com.teamb.globalipbackend1.model.subscription.MonitoringType;
 import com.teamb.globalipbackend1.model.subscription.MonitoringSubscription;
 import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
 import com.teamb.globalipbackend1.model.subscription.SubscriptionTier;
 import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferences;
 import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferencesId;
+import com.teamb.globalipbackend1.repository.notification.DigestEntryRepository;
 import com.teamb.globalipbackend1.repository.subscription.MonitoringSubscriptionRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
 import com.teamb.globalipbackend1.service.tracking.PatentTrackingNotificationService;
 import com.teamb.globalipbackend1.service.tracking.TrackingPreferencesService;
+import com.teamb.globalipbackend1.service.websocket.NotificationCoalescer;
+import com.teamb.globalipbackend1.service.websocket.NotificationDigestProperties;
+import com.teamb.globalipbackend1.service.websocket.NotificationOutbox;
 import org.junit.jupiter.api.Test;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 class PatentTrackingNotificationServiceTest {
@@ -25,11 +34,20 @@ class PatentTrackingNotificationServiceTest {
     TrackingPreferencesService preferencesService = mock(TrackingPreferencesService.class);
     MonitoringSubscriptionRepository subscriptionRepository = mock(MonitoringSubscriptionRepository.class);
 
+    NotificationCoalescer coalescer =
+            new NotificationCoalescer(
+                    messagingTemplate,
+                    mock(DigestEntryRepository.class),
+                    new NotificationDigestProperties(),
+                    mock(JobCoordinator.class),
+                    mock(NotificationOutbox.class)
+            );
+
     PatentTrackingNotificationService service =
             new PatentTrackingNotificationService(
-                    messagingTemplate,
                     preferencesService,
-                    subscriptionRepository
+                    subscriptionRepository,
+                    coalescer
             );
 
     private MonitoringSubscription activeSubscription() {
@@ -53,11 +71,11 @@ class PatentTrackingNotificationServiceTest {
         when(preferencesService.getUsersTrackingPatent("US123"))
                 .thenReturn(List.of(prefs));
 
-        when(subscriptionRepository.findByUserIdAndTypeAndStatus(
-                "user1",
+        when(subscriptionRepository.findByUserIdInAndTypeAndStatus(
+                List.of("user1"),
                 MonitoringType.LEGAL_STATUS,
                 SubscriptionStatus.ACTIVE
-        )).thenReturn(Optional.of(activeSubscription()));
+        )).thenReturn(List.of(activeSubscription()));
 
         PatentTrackingEventDto event = new PatentTrackingEventDto(
                 "US123",
@@ -92,11 +110,11 @@ class PatentTrackingNotificationServiceTest {
         when(preferencesService.getUsersTrackingPatent("US123"))
                 .thenReturn(List.of(prefs));
 
-        when(subscriptionRepository.findByUserIdAndTypeAndStatus(
-                "user1",
+        when(subscriptionRepository.findByUserIdInAndTypeAndStatus(
+                List.of("user1"),
                 MonitoringType.LEGAL_STATUS,
                 SubscriptionStatus.ACTIVE
-        )).thenReturn(Optional.of(activeSubscription()));
+        )).thenReturn(List.of(activeSubscription()));
 
         PatentTrackingEventDto event = new PatentTrackingEventDto(
                 "US123",
@@ -125,11 +143,11 @@ class PatentTrackingNotificationServiceTest {
         when(preferencesService.getUsersTrackingPatent("US123"))
                 .thenReturn(List.of(prefs));
 
-        when(subscriptionRepository.findByUserIdAndTypeAndStatus(
-                "user1",
+        when(subscriptionRepository.findByUserIdInAndTypeAndStatus(
+                List.of("user1"),
                 MonitoringType.LEGAL_STATUS,
                 SubscriptionStatus.ACTIVE
-        )).thenReturn(Optional.empty());
+        )).thenReturn(List.of());
 
         PatentTrackingEventDto event = new PatentTrackingEventDto(
                 "US123",
@@ -146,4 +164,63 @@ class PatentTrackingNotificationServiceTest {
         verify(messagingTemplate, never())
                 .convertAndSendToUser(any(), any(), any());
     }
+
+    @Test
+    void shouldResolveAllSubscriptionsInOneQuery_andSkipRenewalsForBasicTier() {
+
+        UserTrackingPreferences pro = new UserTrackingPreferences();
+        pro.setId(new UserTrackingPreferencesId("user1", "US123"));
+        pro.setTrackRenewalsExpiry(true);
+        pro.setEnableDashboardAlerts(true);
+
+        UserTrackingPreferences basic = new UserTrackingPreferences();
+        basic.setId(new UserTrackingPreferencesId("user2", "US123"));
+        basic.setTrackRenewalsExpiry(true);
+        basic.setEnableDashboardAlerts(true);
+
+        when(preferencesService.getUsersTrackingPatent("US123"))
+                .thenReturn(List.of(pro, basic));
+
+        MonitoringSubscription basicSubscription = MonitoringSubscription.builder()
+                .userId("user2")
+                .type(MonitoringType.LEGAL_STATUS)
+                .tier(SubscriptionTier.BASIC)
+                .status(SubscriptionStatus.ACTIVE)
+                .build();
+
+        when(subscriptionRepository.findByUserIdInAndTypeAndStatus(
+                List.of("user1", "user2"),
+                MonitoringType.LEGAL_STATUS,
+                SubscriptionStatus.ACTIVE
+        )).thenReturn(List.of(activeSubscription(), basicSubscription));
+
+        service.notifyRenewalReminder("US123", "2030-01-01", 30);
+
+        verify(messagingTemplate, times(1))
+                .convertAndSendToUser(eq("user1"), eq("/queue/patent-events"), any());
+        verify(messagingTemplate, never())
+                .convertAndSendToUser(eq("user2"), any(), any());
+        verify(subscriptionRepository, never())
+                .findByUserIdAndTypeAndStatus(any(), any(), any());
+        assertEquals(1, service.fanOutStats().delivered());
+    }
+
+    @Test
+    void shouldDeliverRenewalRemindersAtTheSubscriptionFrequency() {
+        // given
+        NotificationCoalescer digestCoalescer = mock(NotificationCoalescer.class);
+        PatentTrackingNotificationService renewals =
+                new PatentTrackingNotificationService(preferencesService, subscriptionRepository, digestCoalescer);
+        LocalDate today = LocalDate.of(2026, 5, 1);
+
+        // when
+        renewals.sendRenewalReminders(List.of(
+                new RenewalDueDto("alice", "US1", today.plusDays(7), AlertFrequency.DAILY),
+                new RenewalDueDto("bob", "US2", today.plusDays(90), AlertFrequency.WEEKLY)), today, 30);
+
+        // then: alice gets reminder and expiry warning in her daily digest, bob one reminder weekly
+        verify(digestCoalescer, times(2)).patentEvent(eq("alice"), eq(AlertFrequency.DAILY), any());
+        verify(digestCoalescer).patentEvent(eq("bob"), eq(AlertFrequency.WEEKLY), any());
+        verify(digestCoalescer, never()).patentEvent(any(), eq(AlertFrequency.REAL_TIME), any());
+    }
 }
@@ -0,0 +1,121 @@
+package com.teamb.globalipbackend1.tracking;
+
+import com.teamb.globalipbackend1.dto.tracking.RenewalDueDto;
+import com.teamb.globalipbackend1.model.lifecycle.RenewalReminderRun;
+import com.teamb.globalipbackend1.model.lifecycle.RenewalReminderSent;
+import com.teamb.globalipbackend1.model.subscription.AlertFrequency;
+import com.teamb.globalipbackend1.model.subscription.MonitoringType;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
+import com.teamb.globalipbackend1.repository.user.RenewalReminderRunRepository;
+import com.teamb.globalipbackend1.repository.user.RenewalReminderSentRepository;
+import com.teamb.globalipbackend1.repository.user.UserPatentLifecycleRepository;
+import com.teamb.globalipbackend1.service.tracking.PatentTrackingNotificationService;
+import com.teamb.globalipbackend1.service.tracking.RenewalReminderService;
+import com.teamb.globalipbackend1.service.tracking.TrackingProperties;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RenewalReminderServiceTest {
+
+    UserPatentLifecycleRepository repository = mock(UserPatentLifecycleRepository.class);
+    RenewalReminderSentRepository sentRepository = mock(RenewalReminderSentRepository.class);
+    RenewalReminderRunRepository runRepository = mock(RenewalReminderRunRepository.class);
+    PatentTrackingNotificationService notificationService = mock(PatentTrackingNotificationService.class);
+    TrackingProperties properties = new TrackingProperties();
+    RenewalReminderService service = new RenewalReminderService(
+            repository, sentRepository, runRepository, notificationService, properties);
+
+    LocalDate today = LocalDate.of(2026, 5, 1);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void queriesEachReminderMarkAndRecordsEveryKeysetPage() {
+        // given: no earlier run
+        properties.getRenewals().setBatchSize(2);
+        List<RenewalDueDto> first = List.of(
+                new RenewalDueDto("alice", "EP1", today.plusDays(90), AlertFrequency.REAL_TIME),
+                new RenewalDueDto("bob", "US2", today.plusDays(90), AlertFrequency.REAL_TIME));
+        List<RenewalDueDto> second = List.of(
+                new RenewalDueDto("carol", "US3", today.plusDays(90), AlertFrequency.DAILY));
+        LocalDate mark = today.plusDays(90);
+
+        when(repository.findRenewalsDue(eq(mark), eq(mark), eq(90), eq(""), eq(""), eq(MonitoringType.LEGAL_STATUS),
+                eq(SubscriptionStatus.ACTIVE), anyCollection(), any())).thenReturn(first);
+        when(repository.findRenewalsDue(eq(mark), eq(mark), eq(90), eq("bob"), eq("US2"), any(), any(),
+                anyCollection(), any())).thenReturn(second);
+
+        // when
+        int sent = service.sendDueReminders(today);
+
+        // then
+        assertEquals(3, sent);
+        verify(notificationService).sendRenewalReminders(first, today, 60);
+        verify(notificationService).sendRenewalReminders(second, today, 60);
+        for (int days : List.of(60, 30, 7)) {
+            LocalDate date = today.plusDays(days);
+            verify(repository).findRenewalsDue(eq(date), eq(date), eq(days), eq(""), eq(""), any(), any(),
+                    anyCollection(), any());
+        }
+
+        ArgumentCaptor<List<RenewalReminderSent>> records = ArgumentCaptor.forClass(List.class);
+        verify(sentRepository, times(2)).saveAll(records.capture());
+        assertEquals(List.of("alice", "bob", "carol"), records.getAllValues().stream()
+                .flatMap(List::stream).map(RenewalReminderSent::getUserId).toList());
+        assertTrue(records.getAllValues().stream().flatMap(List::stream).allMatch(r -> r.getReminderDays() == 90));
+
+        ArgumentCaptor<RenewalReminderRun> run = ArgumentCaptor.forClass(RenewalReminderRun.class);
+        verify(runRepository).save(run.capture());
+        assertEquals(today, run.getValue().getRunDate());
+    }
+
+    @Test
+    void catchesUpTheMarksPassedSinceTheLastSuccessfulRun() {
+        // given: the last two daily runs were missed
+        when(runRepository.findLastRunDate()).thenReturn(today.minusDays(3));
+
+        // when
+        service.sendDueReminders(today);
+
+        // then: each mark covers the three days not yet run
+        verify(repository).findRenewalsDue(eq(today.plusDays(88)), eq(today.plusDays(90)), eq(90),
+                any(), any(), any(), any(), anyCollection(), any());
+        verify(repository).findRenewalsDue(eq(today.plusDays(5)), eq(today.plusDays(7)), eq(7),
+                any(), any(), any(), any(), anyCollection(), any());
+    }
+
+    @Test
+    void catchUpIsBoundedAndSkipsPatentsAlreadyExpired() {
+        // given: nothing ran for a month
+        properties.getRenewals().setMaxCatchUpDays(10);
+        when(runRepository.findLastRunDate()).thenReturn(today.minusDays(30));
+
+        // when
+        service.sendDueReminders(today);
+
+        // then
+        verify(repository).findRenewalsDue(eq(today.plusDays(80)), eq(today.plusDays(90)), eq(90),
+                any(), any(), any(), any(), anyCollection(), any());
+        verify(repository).findRenewalsDue(eq(today), eq(today.plusDays(7)), eq(7),
+                any(), any(), any(), any(), anyCollection(), any());
+    }
+
+    @Test
+    void sendsNothingWhenTodayAlreadyRan() {
+        // given
+        when(runRepository.findLastRunDate()).thenReturn(today);
+
+        // when
+        int sent = service.sendDueReminders(today);
+
+        // then
+        assertEquals(0, sent);
+        verifyNoInteractions(repository, notificationService, sentRepository);
+    }
+}
@@ -0,0 +1,59 @@
+package com.teamb.globalipbackend1.tracking;
+
+import com.teamb.globalipbackend1.external.ratelimit.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void burstIsServedWithoutWaiting() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1, 3);
+
+        long start = System.nanoTime();
+        bucket.acquire(1);
+        bucket.acquire(2);
+
+        assertTrue(System.nanoTime() - start < 200_000_000L);
+    }
+
+    @Test
+    void deficitIsPaidAtTheConfiguredRate() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(20, 1);
+
+        long start = System.nanoTime();
+        bucket.acquire(1);
+        bucket.acquire(2); // two tokens short at 20/s
+
+        assertTrue(System.nanoTime() - start >= 90_000_000L);
+    }
+
+    @Test
+    void throttlingHalvesTheRateDownToAFloorAndSuccessRecoversIt() {
+        TokenBucket bucket = new TokenBucket(8, 8);
+
+        bucket.throttled(0);
+        assertEquals(4, bucket.currentRate(), 1e-9);
+
+        for (int i = 0; i < 10; i++) {
+            bucket.throttled(0);
+        }
+        assertEquals(1, bucket.currentRate(), 1e-9);
+
+        for (int i = 0; i < 100; i++) {
+            bucket.succeeded();
+        }
+        assertEquals(8, bucket.currentRate(), 1e-9);
+    }
+
+    @Test
+    void changingTheConfiguredRateKeepsAThrottledRateInProportion() {
+        TokenBucket bucket = new TokenBucket(8, 8);
+        bucket.throttled(0);
+
+        bucket.setMaxRate(2);
+
+        assertEquals(1, bucket.currentRate(), 1e-9);
+    }
+}
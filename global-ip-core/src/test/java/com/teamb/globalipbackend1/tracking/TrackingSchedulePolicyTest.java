@@ -0,0 +1,48 @@
+package com.teamb.globalipbackend1.tracking;
+
+import com.teamb.globalipbackend1.dto.lifecycle.ApplicationLifecycleDto;
+import com.teamb.globalipbackend1.model.subscription.MonitoringTierLimits;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionTier;
+import com.teamb.globalipbackend1.service.tracking.TrackingProperties;
+import com.teamb.globalipbackend1.service.tracking.TrackingSchedulePolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackingSchedulePolicyTest {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2026, 5, 1, 12, 0);
+
+    TrackingSchedulePolicy policy = new TrackingSchedulePolicy(new TrackingProperties(), new MonitoringTierLimits());
+
+    private static ApplicationLifecycleDto lifecycle(String status, LocalDate grantDate) {
+        return new ApplicationLifecycleDto("US1", LocalDate.of(2010, 1, 1), grantDate, null, status);
+    }
+
+    @Test
+    void intervalFollowsLifecycleStage() {
+        assertEquals(NOW.plusHours(6), policy.nextCheckAt(lifecycle("PENDING", null), null, null, NOW));
+        assertEquals(NOW.plusHours(12),
+                policy.nextCheckAt(lifecycle("GRANTED", LocalDate.of(2026, 3, 1)), null, null, NOW));
+        assertEquals(NOW.plusDays(1),
+                policy.nextCheckAt(lifecycle("GRANTED", LocalDate.of(2012, 3, 1)), null, null, NOW));
+        assertEquals(NOW.plusDays(30),
+                policy.nextCheckAt(lifecycle("EXPIRED", LocalDate.of(2012, 3, 1)), null, null, NOW));
+    }
+
+    @Test
+    void recentChangesAndHigherTiersShortenTheIntervalButNotForExpiredPatents() {
+        ApplicationLifecycleDto granted = lifecycle("GRANTED", LocalDate.of(2012, 3, 1));
+
+        assertEquals(NOW.plusHours(1), policy.nextCheckAt(granted, NOW.minusDays(2), null, NOW));
+        assertEquals(NOW.plusDays(1), policy.nextCheckAt(granted, NOW.minusDays(20), null, NOW));
+        assertEquals(NOW.plusHours(6), policy.nextCheckAt(granted, null, SubscriptionTier.ENTERPRISE, NOW));
+        assertEquals(NOW.plusDays(1), policy.nextCheckAt(granted, null, SubscriptionTier.BASIC, NOW));
+
+        ApplicationLifecycleDto expired = lifecycle("EXPIRED", LocalDate.of(2012, 3, 1));
+        assertEquals(NOW.plusDays(30), policy.nextCheckAt(expired, NOW.minusDays(1), SubscriptionTier.ENTERPRISE, NOW));
+    }
+}
@@ -0,0 +1,116 @@
+package com.teamb.globalipbackend1.tracking;
+
+import com.teamb.globalipbackend1.model.lifecycle.PatentLifecycleFingerprint;
+import com.teamb.globalipbackend1.model.subscription.MonitoringType;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionStatus;
+import com.teamb.globalipbackend1.model.subscription.SubscriptionTier;
+import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferences;
+import com.teamb.globalipbackend1.model.tracking.UserTrackingPreferencesId;
+import com.teamb.globalipbackend1.repository.tracking.UserTrackingPreferencesRepository;
+import com.teamb.globalipbackend1.repository.user.PatentLifecycleFingerprintRepository;
+import com.teamb.globalipbackend1.scheduler.lease.JobCoordinator;
+import com.teamb.globalipbackend1.service.tracking.TrackingWorkPlanner;
+import com.teamb.globalipbackend1.service.tracking.TrackingWorkPlanner.PatentWork;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TrackingWorkPlannerTest {
+
+    UserTrackingPreferencesRepository repository = mock(UserTrackingPreferencesRepository.class);
+    PatentLifecycleFingerprintRepository fingerprintRepository = mock(PatentLifecycleFingerprintRepository.class);
+    TrackingWorkPlanner planner = new TrackingWorkPlanner(repository, fingerprintRepository);
+
+    private static UserTrackingPreferences tracking(String userId, String patentId) {
+        return UserTrackingPreferences.builder()
+                .id(new UserTrackingPreferencesId(userId, patentId))
+                .build();
+    }
+
+    @Test
+    void walksPatentsInKeysetPagesWithTheirTrackers() {
+        List<String> firstPage = IntStream.range(0, 500).mapToObj(i -> String.format("P%04d", i)).toList();
+        when(repository.findSubscribedPatentIdsAfter(eq(""), eq(MonitoringType.LEGAL_STATUS),
+                eq(SubscriptionStatus.ACTIVE), eq(false), any())).thenReturn(firstPage);
+        when(repository.findSubscribedPatentIdsAfter(eq("P0499"), eq(MonitoringType.LEGAL_STATUS),
+                eq(SubscriptionStatus.ACTIVE), eq(false), any())).thenReturn(List.of("P0500"));
+        when(repository.findSubscribedTrackers(anyCollection(), any(), any(), anyBoolean()))
+                .thenAnswer(inv -> {
+                    Collection<String> ids = inv.getArgument(0);
+                    List<UserTrackingPreferences> rows = new ArrayList<>();
+                    ids.forEach(id -> {
+                        rows.add(tracking("alice", id));
+                        rows.add(tracking("bob", id));
+                    });
+                    return rows;
+                });
+
+        List<List<PatentWork>> pages = new ArrayList<>();
+        int planned = planner.forEachPage(MonitoringType.LEGAL_STATUS, false, pages::add);
+
+        assertEquals(501, planned);
+        assertEquals(2, pages.size());
+        assertEquals(500, pages.get(0).size());
+        assertEquals("P0500", pages.get(1).get(0).patentId());
+        assertEquals(2, pages.get(1).get(0).trackers().size());
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void duePlanningTakesNeverCheckedPatentsThenOverdueOnesWithTheirBestTier() {
+        LocalDateTime now = LocalDateTime.of(2026, 5, 1, 12, 0);
+        when(repository.findUnscheduledPatentIdsAfter(eq(""), eq(MonitoringType.LEGAL_STATUS),
+                eq(SubscriptionStatus.ACTIVE), eq(1), eq(4), any())).thenReturn(List.of("NEW1"));
+        when(fingerprintRepository.findDueAfter(eq(now), any(), eq(""), eq(MonitoringType.LEGAL_STATUS),
+                eq(SubscriptionStatus.ACTIVE), eq(1), eq(4), any())).thenReturn(List.of(
+                new PatentLifecycleFingerprint("OLD1", 1L, null, now.minusDays(2), now.minusHours(3))));
+        when(repository.findSubscriptionTiers(anyCollection(), any(), any())).thenAnswer(inv -> {
+            Collection<String> ids = inv.getArgument(0);
+            List<Object[]> rows = new ArrayList<>();
+            ids.forEach(id -> {
+                rows.add(new Object[]{id, SubscriptionTier.BASIC});
+                rows.add(new Object[]{id, SubscriptionTier.ENTERPRISE});
+            });
+            return rows;
+        });
+        when(repository.findSubscribedTrackers(anyCollection(), any(), any(), anyBoolean()))
+                .thenAnswer(inv -> {
+                    Collection<String> ids = inv.getArgument(0);
+                    return ids.stream().map(id -> tracking("alice", id)).toList();
+                });
+
+        List<PatentWork> planned = new ArrayList<>();
+        int count = planner.forEachDuePage(MonitoringType.LEGAL_STATUS, now, 1, 4, planned::addAll);
+
+        assertEquals(2, count);
+        assertEquals(List.of("NEW1", "OLD1"), planned.stream().map(PatentWork::patentId).toList());
+        assertTrue(planned.stream().allMatch(w -> w.tier() == SubscriptionTier.ENTERPRISE));
+        verify(repository, never()).findSubscribedPatentIdsAfter(any(), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void assignsShardKeysGroupedByKeyUntilNoneAreMissing() {
+        when(fingerprintRepository.findPatentIdsWithoutShardKey(any()))
+                .thenReturn(List.of("US1", "US2", "EP3"), List.of());
+        when(fingerprintRepository.assignShardKey(anyCollection(), anyInt()))
+                .thenAnswer(inv -> ((Collection<?>) inv.getArgument(0)).size());
+        when(repository.findPatentIdsWithoutShardKey(any())).thenReturn(List.of());
+
+        int assigned = planner.assignMissingShardKeys();
+
+        assertEquals(3, assigned);
+        for (String id : List.of("US1", "US2", "EP3")) {
+            verify(fingerprintRepository).assignShardKey(argThat(ids -> ids.contains(id)),
+                    eq(JobCoordinator.shardKey(id)));
+        }
+        verify(repository, never()).assignShardKey(anyCollection(), anyInt());
+    }
+}
@@ -0,0 +1,41 @@
+package com.teamb.globalipbackend1.websocket;
+
+import com.teamb.globalipbackend1.service.websocket.OutboundDeliveryMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class OutboundDeliveryMetricsTest {
+
+    OutboundDeliveryMetrics metrics = new OutboundDeliveryMetrics();
+    MessageChannel channel = mock(MessageChannel.class);
+    MessageHandler handler = mock(MessageHandler.class);
+
+    @Test
+    void countsFramesFromQueuedToHandled() {
+        Message<?> delivered = MessageBuilder.withPayload("a").build();
+        Message<?> failing = MessageBuilder.withPayload("b").build();
+        Message<?> rejected = MessageBuilder.withPayload("c").build();
+
+        metrics.preSend(delivered, channel);
+        metrics.preSend(failing, channel);
+        metrics.preSend(rejected, channel);
+        metrics.afterSendCompletion(delivered, channel, true, null);
+        metrics.afterSendCompletion(failing, channel, true, null);
+        metrics.afterSendCompletion(rejected, channel, false, new IllegalStateException("queue full"));
+        assertEquals(2, metrics.pending());
+
+        metrics.afterMessageHandled(delivered, channel, handler, null);
+        metrics.afterMessageHandled(failing, channel, handler, new IllegalStateException("closed"));
+
+        assertEquals(0, metrics.pending());
+        assertEquals(1, metrics.delivered());
+        assertEquals(2, metrics.failed());
+        assertTrue(metrics.maxLatencyMs() >= metrics.averageLatencyMs());
+    }
+}
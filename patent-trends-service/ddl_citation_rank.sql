@@ -0,0 +1,17 @@
+-- Global citation influence ranking, written by the nightly CitationRankJob.
+-- The job fills patent_citation_rank_staging (LIKE this table) and swaps it
+-- in; until its first run the ranks and influence endpoints return nothing.
+CREATE TABLE IF NOT EXISTS patent_citation_rank
+(
+    patent_id      VARCHAR(32)      NOT NULL,
+    pagerank       DOUBLE PRECISION NOT NULL,
+    rank_position  INTEGER          NOT NULL,
+    percentile     DOUBLE PRECISION NOT NULL,
+    core_number    INTEGER          NOT NULL,
+    cited_by_count INTEGER          NOT NULL,
+    cites_count    INTEGER          NOT NULL,
+    computed_at    TIMESTAMP        NOT NULL,
+    CONSTRAINT patent_citation_rank_pkey PRIMARY KEY (patent_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_patent_citation_rank_position ON patent_citation_rank (rank_position);
@@ -0,0 +1,9 @@
+-- Ingestion time used as the search index watermark. Rows loaded before the
+-- column existed stay NULL and are only read by full index builds.
+ALTER TABLE patent ADD COLUMN IF NOT EXISTS ingested_at TIMESTAMP;
+ALTER TABLE patent ALTER COLUMN ingested_at SET DEFAULT now();
+CREATE INDEX IF NOT EXISTS idx_patent_ingested_at ON patent (ingested_at);
+
+ALTER TABLE epo_patent ADD COLUMN IF NOT EXISTS ingested_at TIMESTAMP;
+ALTER TABLE epo_patent ALTER COLUMN ingested_at SET DEFAULT now();
+CREATE INDEX IF NOT EXISTS idx_epo_patent_ingested_at ON epo_patent (ingested_at);
@@ -1,12 +1,19 @@
 package com.teamb.globalip.patenttrendsservice;
 
+import com.teamb.globalip.patenttrendsservice.graph.CitationGraphProperties;
+import com.teamb.globalip.patenttrendsservice.graph.CitationRankProperties;
+import com.teamb.globalip.patenttrendsservice.graph.CitationSimilarityProperties;
 import com.teamb.globalip.patenttrendsservice.ingest.IngestProperties;
+import com.teamb.globalip.patenttrendsservice.search.SearchIndexProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties({IngestProperties.class})
+@EnableScheduling
+@EnableConfigurationProperties({IngestProperties.class, CitationGraphProperties.class,
+        CitationRankProperties.class, CitationSimilarityProperties.class, SearchIndexProperties.class})
 public class PatentTrendsServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,51 @@
+package com.teamb.globalip.patenttrendsservice.controller;
+
+import com.teamb.globalip.patenttrendsservice.dto.citation.*;
+import com.teamb.globalip.patenttrendsservice.graph.CitationDirection;
+import com.teamb.globalip.patenttrendsservice.service.CitationGraphService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/citations/graph")
+@RequiredArgsConstructor
+@Profile("prod")
+public class CitationGraphController {
+
+    private final CitationGraphService citationGraphService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<@NonNull CitationGraphStatsDto> stats() {
+        return ResponseEntity.ok(citationGraphService.stats());
+    }
+
+    @GetMapping("/{patentId}/neighborhood")
+    public ResponseEntity<@NonNull CitationNeighborhoodDto> neighborhood(
+            @PathVariable String patentId,
+            @RequestParam(defaultValue = "1") int hops,
+            @RequestParam(defaultValue = "BOTH") CitationDirection direction,
+            @RequestParam(defaultValue = "500") int maxNodes
+    ) {
+        return ResponseEntity.ok(
+                citationGraphService.neighborhood(patentId, hops, direction, maxNodes)
+        );
+    }
+
+    @GetMapping("/{patentId}/degree")
+    public ResponseEntity<@NonNull CitationDegreeDto> degree(@PathVariable String patentId) {
+        return ResponseEntity.ok(citationGraphService.degree(patentId));
+    }
+
+    @GetMapping("/{patentId}/years")
+    public ResponseEntity<@NonNull List<CitationYearCountDto>> citationYears(
+            @PathVariable String patentId,
+            @RequestParam(defaultValue = "FORWARD") CitationDirection direction
+    ) {
+        return ResponseEntity.ok(citationGraphService.citationYears(patentId, direction));
+    }
+}
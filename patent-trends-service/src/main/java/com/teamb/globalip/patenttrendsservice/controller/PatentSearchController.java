@@ -0,0 +1,38 @@
+package com.teamb.globalip.patenttrendsservice.controller;
+
+import com.teamb.globalip.patenttrendsservice.dto.search.LocalSearchResultDto;
+import com.teamb.globalip.patenttrendsservice.service.PatentSearchIndexService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/trends/search")
+@RequiredArgsConstructor
+@Profile("prod")
+public class PatentSearchController {
+
+    private final PatentSearchIndexService searchService;
+
+    @GetMapping
+    public ResponseEntity<@NonNull LocalSearchResultDto> search(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String assignee,
+            @RequestParam(required = false) String jurisdiction,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate filedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate filedTo,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        return ResponseEntity.ok(
+                searchService.search(keyword, assignee, jurisdiction, filedFrom, filedTo, limit)
+        );
+    }
+}
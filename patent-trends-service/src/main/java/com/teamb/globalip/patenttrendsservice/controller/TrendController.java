@@ -1,6 +1,14 @@
 package com.teamb.globalip.patenttrendsservice.controller;
 
 import com.teamb.globalip.patenttrendsservice.dto.*;
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationLookupDto;
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationLookupRequest;
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationRankDto;
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationSimilarityDto;
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationSnapshotDto;
+import com.teamb.globalip.patenttrendsservice.graph.SimilarityKind;
+import com.teamb.globalip.patenttrendsservice.service.CitationLookupService;
+import com.teamb.globalip.patenttrendsservice.service.CitationSimilarityService;
 import com.teamb.globalip.patenttrendsservice.service.TrendService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +28,8 @@ import java.util.Map;
 public class TrendController {
 
     private final TrendService trendService;
+    private final CitationSimilarityService similarityService;
+    private final CitationLookupService lookupService;
 
     @GetMapping("/filings")
     public ResponseEntity<@NonNull List<FilingTrendDto>> filingTrend() {
@@ -115,6 +125,41 @@ public class TrendController {
         return ResponseEntity.ok(trendService.topCitingPatents(limit));
     }
 
+    @GetMapping("/citations/influence")
+    public ResponseEntity<@NonNull List<CitationRankDto>> topInfluentialPatents(
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(trendService.topInfluentialPatents(limit));
+    }
+
+    @PostMapping("/citations/ranks")
+    public ResponseEntity<@NonNull List<CitationRankDto>> citationRanks(
+            @RequestBody List<String> patentIds
+    ) {
+        return ResponseEntity.ok(trendService.citationRanks(patentIds));
+    }
+
+    @PostMapping("/citations/lookup")
+    public ResponseEntity<@NonNull CitationLookupDto> lookupCitations(
+            @RequestBody CitationLookupRequest request
+    ) {
+        return ResponseEntity.ok(lookupService.lookup(request));
+    }
+
+    @GetMapping("/citations/snapshot")
+    public ResponseEntity<@NonNull CitationSnapshotDto> citationSnapshot() {
+        return ResponseEntity.ok(lookupService.snapshot());
+    }
+
+    @GetMapping("/citations/{patentId}/similar")
+    public ResponseEntity<@NonNull CitationSimilarityDto> similarPatents(
+            @PathVariable String patentId,
+            @RequestParam(defaultValue = "CO_CITATION") SimilarityKind kind,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(similarityService.similar(patentId, kind, limit));
+    }
+
     @GetMapping("/citations/lag")
     public ResponseEntity<@NonNull List<CitationLagDto>> citationLagTrend() {
         return ResponseEntity.ok(trendService.citationLagTrend());
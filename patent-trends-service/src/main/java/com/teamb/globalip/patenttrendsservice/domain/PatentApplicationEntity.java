@@ -5,6 +5,7 @@ package com.teamb.globalip.patenttrendsservice.domain;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,7 +13,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "patent_application")
+@Table(
+        name = "patent_application",
+        indexes = @Index(name = "idx_patent_application_patent_id", columnList = "patent_id")
+)
 @Getter
 @NoArgsConstructor
 public class PatentApplicationEntity {
@@ -7,7 +7,10 @@ import lombok.NoArgsConstructor;
 import java.util.UUID;
 
 @Entity
-@Table(name = "patent_assignee")
+@Table(
+        name = "patent_assignee",
+        indexes = @Index(name = "idx_patent_assignee_patent_id", columnList = "patentId")
+)
 @Getter
 @NoArgsConstructor
 public class PatentAssigneeEntity {
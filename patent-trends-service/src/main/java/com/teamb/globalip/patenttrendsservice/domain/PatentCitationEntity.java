@@ -7,7 +7,13 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "patent_citation")
+@Table(
+        name = "patent_citation",
+        indexes = {
+                @Index(name = "idx_patent_citation_patent_id", columnList = "patentId"),
+                @Index(name = "idx_patent_citation_cited_patent_id", columnList = "citedPatentId")
+        }
+)
 @Getter
 @NoArgsConstructor
 public class PatentCitationEntity {
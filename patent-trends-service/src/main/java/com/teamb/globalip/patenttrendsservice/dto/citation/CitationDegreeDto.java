@@ -0,0 +1,3 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+public record CitationDegreeDto(String patentId, int citedByCount, int citesCount) {}
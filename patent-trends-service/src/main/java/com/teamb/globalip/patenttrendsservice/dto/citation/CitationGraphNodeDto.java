@@ -0,0 +1,8 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+public record CitationGraphNodeDto(
+        String patentId,
+        int depth,
+        int citedByCount,
+        int citesCount
+) {}
@@ -0,0 +1,11 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+import java.time.Instant;
+
+public record CitationGraphStatsDto(
+        boolean loaded,
+        int patents,
+        int citations,
+        long adjacencyBytes,
+        Instant builtAt
+) {}
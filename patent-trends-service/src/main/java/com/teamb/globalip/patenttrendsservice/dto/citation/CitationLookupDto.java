@@ -0,0 +1,8 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+import java.util.List;
+
+public record CitationLookupDto(
+        List<CitationRecordDto> citations,
+        boolean truncated
+) {}
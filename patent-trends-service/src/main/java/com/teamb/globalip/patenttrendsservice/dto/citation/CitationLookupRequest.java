@@ -0,0 +1,14 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+import com.teamb.globalip.patenttrendsservice.graph.CitationDirection;
+
+import java.util.List;
+
+/**
+ * BACKWARD returns citations made by the patents, FORWARD citations received
+ */
+public record CitationLookupRequest(
+        List<String> patentIds,
+        CitationDirection direction,
+        Integer limit
+) {}
@@ -0,0 +1,11 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+import java.util.List;
+
+public record CitationNeighborhoodDto(
+        String patentId,
+        int hops,
+        List<CitationGraphNodeDto> nodes,
+        List<CitationGraphEdgeDto> edges,
+        boolean truncated
+) {}
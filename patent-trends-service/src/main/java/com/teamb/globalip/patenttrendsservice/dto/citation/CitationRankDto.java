@@ -0,0 +1,14 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+import java.time.Instant;
+
+public record CitationRankDto(
+        String patentId,
+        double pagerank,
+        long rankPosition,
+        double percentile,
+        int coreNumber,
+        int citedByCount,
+        int citesCount,
+        Instant computedAt
+) {}
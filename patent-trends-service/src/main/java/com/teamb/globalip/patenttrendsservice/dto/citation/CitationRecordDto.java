@@ -0,0 +1,10 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+import java.time.LocalDate;
+
+public record CitationRecordDto(
+        String patentId,
+        String citationPatentId,
+        LocalDate citationDate,
+        String citationCategory
+) {}
@@ -0,0 +1,13 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+import com.teamb.globalip.patenttrendsservice.graph.SimilarityKind;
+
+import java.util.List;
+
+public record CitationSimilarityDto(
+        String patentId,
+        SimilarityKind kind,
+        List<SimilarPatentDto> neighbors,
+        boolean precomputed,
+        boolean truncated
+) {}
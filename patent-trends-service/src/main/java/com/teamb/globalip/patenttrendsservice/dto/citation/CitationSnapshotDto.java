@@ -0,0 +1,14 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * How far the bulk data goes: patents numbered above {@code latestPatentId}
+ * have not been ingested yet
+ */
+public record CitationSnapshotDto(
+        String latestPatentId,
+        LocalDate latestGrantDate,
+        Instant checkedAt
+) {}
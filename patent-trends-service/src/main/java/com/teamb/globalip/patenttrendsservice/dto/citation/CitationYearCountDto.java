@@ -0,0 +1,3 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+public record CitationYearCountDto(int year, long count) {}
@@ -0,0 +1,7 @@
+package com.teamb.globalip.patenttrendsservice.dto.citation;
+
+public record SimilarPatentDto(
+        String patentId,
+        int sharedCitations,
+        double score
+) {}
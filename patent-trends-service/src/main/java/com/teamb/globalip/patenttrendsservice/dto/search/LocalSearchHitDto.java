@@ -0,0 +1,15 @@
+package com.teamb.globalip.patenttrendsservice.dto.search;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record LocalSearchHitDto(
+        String patentId,
+        String jurisdiction,
+        String kind,
+        String title,
+        List<String> assignees,
+        LocalDate filingDate,
+        LocalDate publicationDate,
+        double score
+) {}
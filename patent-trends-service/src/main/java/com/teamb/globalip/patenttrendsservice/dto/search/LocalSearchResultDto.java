@@ -0,0 +1,15 @@
+package com.teamb.globalip.patenttrendsservice.dto.search;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * @param totalMatches  documents matching the query before the hit limit
+ * @param indexedThrough newest US grant date in the index
+ */
+public record LocalSearchResultDto(
+        List<LocalSearchHitDto> hits,
+        int totalMatches,
+        int indexedDocuments,
+        LocalDate indexedThrough
+) {}
@@ -0,0 +1,9 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+public enum CitationDirection {
+    /** Patents the patent cites (prior art) */
+    BACKWARD,
+    /** Patents that cite the patent */
+    FORWARD,
+    BOTH
+}
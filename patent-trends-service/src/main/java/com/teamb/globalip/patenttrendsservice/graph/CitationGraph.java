@@ -0,0 +1,173 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable citation graph in compressed sparse row form.
+ *
+ * Patent ids are dictionary-encoded to dense ints (their index in the sorted
+ * {@code ids} array). For node {@code n}, the patents it cites are
+ * {@code outTargets[outOffsets[n] .. outOffsets[n + 1])} and the patents citing
+ * it are {@code inSources[inOffsets[n] .. inOffsets[n + 1])}. Each direction keeps
+ * the citation year of every edge in one byte, so an edge costs 10 bytes in total.
+ */
+public final class CitationGraph {
+
+    /** Years are stored as {@code year - YEAR_BASE}; 0 means unknown */
+    static final int YEAR_BASE = 1789;
+
+    private final String[] ids;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final byte[] outYears;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final byte[] inYears;
+    private final Instant builtAt;
+    private volatile long contentHash;
+
+    CitationGraph(
+            String[] ids,
+            int[] outOffsets,
+            int[] outTargets,
+            byte[] outYears,
+            int[] inOffsets,
+            int[] inSources,
+            byte[] inYears
+    ) {
+        this.ids = ids;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outYears = outYears;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inYears = inYears;
+        this.builtAt = Instant.now();
+    }
+
+    /** Dense node id of a patent, or -1 when the patent has no citations on record */
+    public int nodeId(String patentId) {
+        int i = Arrays.binarySearch(ids, patentId);
+        return i >= 0 ? i : -1;
+    }
+
+    public String patentId(int node) {
+        return ids[node];
+    }
+
+    public int nodeCount() {
+        return ids.length;
+    }
+
+    public int edgeCount() {
+        return outTargets.length;
+    }
+
+    /** Number of patents this patent cites */
+    public int outDegree(int node) {
+        return outOffsets[node + 1] - outOffsets[node];
+    }
+
+    /** Number of patents citing this patent */
+    public int inDegree(int node) {
+        return inOffsets[node + 1] - inOffsets[node];
+    }
+
+    public void forEachCited(int node, IntConsumer action) {
+        for (int i = outOffsets[node]; i < outOffsets[node + 1]; i++) {
+            action.accept(outTargets[i]);
+        }
+    }
+
+    public void forEachCiting(int node, IntConsumer action) {
+        for (int i = inOffsets[node]; i < inOffsets[node + 1]; i++) {
+            action.accept(inSources[i]);
+        }
+    }
+
+    /** Citation years of the patents this patent cites (0 = unknown) */
+    public void forEachCitedYear(int node, IntConsumer action) {
+        for (int i = outOffsets[node]; i < outOffsets[node + 1]; i++) {
+            action.accept(decodeYear(outYears[i]));
+        }
+    }
+
+    /** Years in which this patent was cited (0 = unknown) */
+    public void forEachCitingYear(int node, IntConsumer action) {
+        for (int i = inOffsets[node]; i < inOffsets[node + 1]; i++) {
+            action.accept(decodeYear(inYears[i]));
+        }
+    }
+
+    /* ---- Raw CSR views for whole-graph jobs; callers must not modify them ---- */
+
+    int[] outOffsets() {
+        return outOffsets;
+    }
+
+    int[] outTargets() {
+        return outTargets;
+    }
+
+    int[] inOffsets() {
+        return inOffsets;
+    }
+
+    int[] inSources() {
+        return inSources;
+    }
+
+    public Instant builtAt() {
+        return builtAt;
+    }
+
+    /**
+     * 64-bit hash of the patent ids and the edges. Two loads of the same
+     * citations hash the same, so results derived from one graph can be
+     * matched to a later rebuild; computed on first use.
+     */
+    public long contentHash() {
+        long h = contentHash;
+        if (h == 0) {
+            h = ids.length;
+            for (String id : ids) {
+                h = mix(h, id.hashCode());
+            }
+            for (int offset : outOffsets) {
+                h = mix(h, offset);
+            }
+            for (int target : outTargets) {
+                h = mix(h, target);
+            }
+            h = h == 0 ? 1 : h;
+            contentHash = h;
+        }
+        return h;
+    }
+
+    /** Heap held by the adjacency arrays, excluding the id strings */
+    public long adjacencyBytes() {
+        return 4L * (outOffsets.length + inOffsets.length)
+                + 5L * outTargets.length
+                + 5L * inSources.length;
+    }
+
+    static byte encodeYear(int year) {
+        if (year <= YEAR_BASE || year > YEAR_BASE + 255) {
+            return 0;
+        }
+        return (byte) (year - YEAR_BASE);
+    }
+
+    private static long mix(long h, int value) {
+        h = (h ^ value) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    private static int decodeYear(byte stored) {
+        int offset = Byte.toUnsignedInt(stored);
+        return offset == 0 ? 0 : YEAR_BASE + offset;
+    }
+}
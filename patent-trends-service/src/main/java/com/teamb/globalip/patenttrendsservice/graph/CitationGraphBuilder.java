@@ -0,0 +1,176 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accumulates citation rows one at a time and turns them into a {@link CitationGraph}.
+ *
+ * Rows are kept in growable primitive arrays so a bulk load streams straight
+ * from the result set; the id dictionary is sorted once at {@link #build()}.
+ * A pair cited more than once (e.g. by both applicant and examiner) becomes
+ * one edge, with the earliest known year. Not thread-safe.
+ */
+public class CitationGraphBuilder {
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private int[] sources;
+    private int[] targets;
+    private byte[] years;
+    private int edges;
+
+    public CitationGraphBuilder(int expectedEdges) {
+        int capacity = Math.max(16, expectedEdges);
+        this.sources = new int[capacity];
+        this.targets = new int[capacity];
+        this.years = new byte[capacity];
+    }
+
+    /**
+     * @param citingPatentId patent that makes the citation
+     * @param citedPatentId  patent being cited
+     * @param year           citation year, or 0 when unknown
+     */
+    public void addCitation(String citingPatentId, String citedPatentId, int year) {
+        if (citingPatentId == null || citedPatentId == null || citingPatentId.equals(citedPatentId)) {
+            return;
+        }
+        if (edges == sources.length) {
+            int capacity = sources.length + (sources.length >> 1);
+            sources = Arrays.copyOf(sources, capacity);
+            targets = Arrays.copyOf(targets, capacity);
+            years = Arrays.copyOf(years, capacity);
+        }
+        sources[edges] = intern(citingPatentId);
+        targets[edges] = intern(citedPatentId);
+        years[edges] = CitationGraph.encodeYear(year);
+        edges++;
+    }
+
+    public int size() {
+        return edges;
+    }
+
+    public CitationGraph build() {
+        int nodes = dictionary.size();
+
+        // Renumber nodes in sorted id order so lookups are a binary search
+        String[] byInsertion = new String[nodes];
+        dictionary.forEach((id, node) -> byInsertion[node] = id);
+        String[] ids = byInsertion.clone();
+        Arrays.parallelSort(ids);
+        for (int i = 0; i < nodes; i++) {
+            dictionary.put(ids[i], i);
+        }
+        int[] renumber = new int[nodes];
+        for (int old = 0; old < nodes; old++) {
+            renumber[old] = dictionary.get(byInsertion[old]);
+        }
+        dictionary.clear();
+
+        for (int e = 0; e < edges; e++) {
+            sources[e] = renumber[sources[e]];
+            targets[e] = renumber[targets[e]];
+        }
+
+        int[] outOffsets = new int[nodes + 1];
+        int[] outTargets = new int[edges];
+        byte[] outYears = new byte[edges];
+        scatter(sources, targets, outOffsets, outTargets, outYears);
+
+        int unique = dedupe(outOffsets, outTargets, outYears);
+        if (unique < edges) {
+            outTargets = Arrays.copyOf(outTargets, unique);
+            outYears = Arrays.copyOf(outYears, unique);
+        }
+        // The in direction is built from the deduplicated out lists
+        for (int n = 0; n < nodes; n++) {
+            for (int i = outOffsets[n]; i < outOffsets[n + 1]; i++) {
+                sources[i] = n;
+                targets[i] = outTargets[i];
+                years[i] = outYears[i];
+            }
+        }
+        edges = unique;
+
+        int[] inOffsets = new int[nodes + 1];
+        int[] inSources = new int[edges];
+        byte[] inYears = new byte[edges];
+        scatter(targets, sources, inOffsets, inSources, inYears);
+
+        sources = targets = new int[0];
+        years = new byte[0];
+        edges = 0;
+
+        return new CitationGraph(ids, outOffsets, outTargets, outYears, inOffsets, inSources, inYears);
+    }
+
+    /**
+     * Sort each adjacency list and drop repeated neighbours in place,
+     * compacting the arrays and rewriting {@code offsets}
+     *
+     * @return the number of edges left
+     */
+    private static int dedupe(int[] offsets, int[] adjacency, byte[] adjacencyYears) {
+        long[] scratch = new long[16];
+        int write = 0;
+        for (int n = 0; n + 1 < offsets.length; n++) {
+            int start = offsets[n];
+            int degree = offsets[n + 1] - start;
+            if (scratch.length < degree) {
+                scratch = new long[Math.max(degree, scratch.length * 2)];
+            }
+            // Neighbour in the high bits, year byte in the low: sorts by neighbour, then year
+            for (int i = 0; i < degree; i++) {
+                scratch[i] = ((long) adjacency[start + i] << 8) | Byte.toUnsignedInt(adjacencyYears[start + i]);
+            }
+            Arrays.sort(scratch, 0, degree);
+
+            offsets[n] = write;
+            int last = -1;
+            for (int i = 0; i < degree; i++) {
+                int neighbour = (int) (scratch[i] >>> 8);
+                byte year = (byte) scratch[i];
+                if (neighbour == last) {
+                    // 0 (unknown) sorts first; take the earliest known year instead
+                    if (adjacencyYears[write - 1] == 0) {
+                        adjacencyYears[write - 1] = year;
+                    }
+                    continue;
+                }
+                adjacency[write] = neighbour;
+                adjacencyYears[write] = year;
+                write++;
+                last = neighbour;
+            }
+        }
+        offsets[offsets.length - 1] = write;
+        return write;
+    }
+
+    /** Counting sort of the edge list by {@code keys} into CSR arrays */
+    private void scatter(int[] keys, int[] values, int[] offsets, int[] adjacency, byte[] adjacencyYears) {
+        for (int e = 0; e < edges; e++) {
+            offsets[keys[e] + 1]++;
+        }
+        for (int n = 1; n < offsets.length; n++) {
+            offsets[n] += offsets[n - 1];
+        }
+        int[] cursor = Arrays.copyOf(offsets, offsets.length - 1);
+        for (int e = 0; e < edges; e++) {
+            int slot = cursor[keys[e]]++;
+            adjacency[slot] = values[e];
+            adjacencyYears[slot] = years[e];
+        }
+    }
+
+    private int intern(String patentId) {
+        Integer node = dictionary.get(patentId);
+        if (node == null) {
+            node = dictionary.size();
+            dictionary.put(patentId, node);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,59 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Streams {@code patent_citation} into a {@link CitationGraph}.
+ *
+ * Runs in a read-only transaction so PostgreSQL uses a server-side cursor
+ * and only {@code fetchSize} rows are in flight at a time.
+ */
+@Slf4j
+@Component
+@Profile("prod")
+@RequiredArgsConstructor
+public class CitationGraphLoader {
+
+    private final JdbcTemplate jdbc;
+    private final CitationGraphProperties properties;
+
+    @Transactional(readOnly = true)
+    public CitationGraph load() {
+        long start = System.currentTimeMillis();
+
+        Long rowEstimate = jdbc.queryForObject("""
+            SELECT reltuples::bigint FROM pg_class WHERE oid = 'public.patent_citation'::regclass
+        """, Long.class);
+        CitationGraphBuilder builder = new CitationGraphBuilder(
+                rowEstimate != null && rowEstimate > 0 ? (int) Math.min(rowEstimate, Integer.MAX_VALUE - 8) : 1 << 20
+        );
+
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                SELECT patent_id, cited_patent_id, CAST(EXTRACT(YEAR FROM citation_date) AS INTEGER)
+                FROM public.patent_citation
+                WHERE patent_id IS NOT NULL AND cited_patent_id IS NOT NULL
+            """, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(properties.getFetchSize());
+            return ps;
+        }, (ResultSet rs) -> {
+            builder.addCitation(rs.getString(1), rs.getString(2), rs.getInt(3));
+        });
+
+        int rows = builder.size();
+        CitationGraph graph = builder.build();
+
+        log.info("Citation graph loaded: {} patents, {} citations from {} rows, ~{} MB adjacency in {} ms",
+                graph.nodeCount(), graph.edgeCount(), rows,
+                graph.adjacencyBytes() / (1024 * 1024), System.currentTimeMillis() - start);
+        return graph;
+    }
+}
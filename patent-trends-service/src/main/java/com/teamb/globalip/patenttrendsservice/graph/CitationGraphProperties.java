@@ -0,0 +1,23 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "citation-graph")
+@Getter
+@Setter
+public class CitationGraphProperties {
+
+    /** Load the in-memory citation graph from patent_citation */
+    private boolean enabled = true;
+
+    /** Rows fetched per round trip while streaming the table */
+    private int fetchSize = 50_000;
+
+    /** Rebuild interval; the first load starts right after startup */
+    private long refreshIntervalMs = 86_400_000;
+
+    /** Upper bound on nodes returned by a neighborhood query */
+    private int maxNeighborhoodNodes = 2_000;
+}
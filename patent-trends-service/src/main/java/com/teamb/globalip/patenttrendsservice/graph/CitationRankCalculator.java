@@ -0,0 +1,172 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Whole-graph influence measures over a {@link CitationGraph}.
+ *
+ * PageRank is a pull-based power iteration on primitive arrays, split into
+ * chunks that run on the common fork-join pool. Dangling patents (citing
+ * nothing) spread their rank uniformly.
+ */
+public final class CitationRankCalculator {
+
+    private static final int CHUNKS_PER_CORE = 8;
+
+    private CitationRankCalculator() {}
+
+    /** Called after every iteration; lets the caller checkpoint progress */
+    @FunctionalInterface
+    public interface IterationListener {
+        void iterationDone(int iteration, double[] ranks, double delta);
+    }
+
+    /**
+     * @param start          ranks to resume from, or {@code null} for a uniform start
+     * @param startIteration iterations already done by {@code start}
+     * @return the converged (or last) rank vector, summing to 1
+     */
+    public static double[] pageRank(
+            CitationGraph graph,
+            double damping,
+            int maxIterations,
+            double tolerance,
+            double[] start,
+            int startIteration,
+            IterationListener listener
+    ) {
+        int n = graph.nodeCount();
+        if (n == 0) {
+            return new double[0];
+        }
+
+        int[] outOffsets = graph.outOffsets();
+        int[] inOffsets = graph.inOffsets();
+        int[] inSources = graph.inSources();
+
+        double[] ranks = start != null ? start : new double[n];
+        if (start == null) {
+            Arrays.fill(ranks, 1.0 / n);
+        }
+        double[] next = new double[n];
+        double[] contribution = new double[n];
+
+        int chunks = Math.max(1, Runtime.getRuntime().availableProcessors() * CHUNKS_PER_CORE);
+        int chunkSize = (n + chunks - 1) / chunks;
+
+        for (int iteration = startIteration + 1; iteration <= maxIterations; iteration++) {
+            final double[] current = ranks;
+            final double[] target = next;
+
+            double dangling = IntStream.range(0, chunks).parallel().mapToDouble(c -> {
+                double sum = 0;
+                for (int u = c * chunkSize, end = Math.min(n, u + chunkSize); u < end; u++) {
+                    int degree = outOffsets[u + 1] - outOffsets[u];
+                    if (degree == 0) {
+                        contribution[u] = 0;
+                        sum += current[u];
+                    } else {
+                        contribution[u] = current[u] / degree;
+                    }
+                }
+                return sum;
+            }).sum();
+
+            double base = (1 - damping) / n + damping * dangling / n;
+
+            double delta = IntStream.range(0, chunks).parallel().mapToDouble(c -> {
+                double diff = 0;
+                for (int v = c * chunkSize, end = Math.min(n, v + chunkSize); v < end; v++) {
+                    double sum = 0;
+                    for (int i = inOffsets[v]; i < inOffsets[v + 1]; i++) {
+                        sum += contribution[inSources[i]];
+                    }
+                    target[v] = base + damping * sum;
+                    diff += Math.abs(target[v] - current[v]);
+                }
+                return diff;
+            }).sum();
+
+            next = current;
+            ranks = target;
+
+            if (listener != null) {
+                listener.iterationDone(iteration, ranks, delta);
+            }
+            if (delta < tolerance) {
+                break;
+            }
+        }
+        return ranks;
+    }
+
+    /**
+     * Core number of every patent, treating citations as undirected edges
+     * (Batagelj-Zaversnik bucket algorithm, linear in the number of edges).
+     */
+    public static int[] coreNumbers(CitationGraph graph) {
+        int n = graph.nodeCount();
+        int[] outOffsets = graph.outOffsets();
+        int[] outTargets = graph.outTargets();
+        int[] inOffsets = graph.inOffsets();
+        int[] inSources = graph.inSources();
+
+        int[] degree = new int[n];
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            degree[v] = graph.outDegree(v) + graph.inDegree(v);
+            maxDegree = Math.max(maxDegree, degree[v]);
+        }
+
+        int[] bin = new int[maxDegree + 1];
+        for (int v = 0; v < n; v++) {
+            bin[degree[v]]++;
+        }
+        for (int d = 0, start = 0; d <= maxDegree; d++) {
+            int count = bin[d];
+            bin[d] = start;
+            start += count;
+        }
+
+        int[] position = new int[n];
+        int[] order = new int[n];
+        for (int v = 0; v < n; v++) {
+            position[v] = bin[degree[v]]++;
+            order[position[v]] = v;
+        }
+        for (int d = maxDegree; d > 0; d--) {
+            bin[d] = bin[d - 1];
+        }
+        bin[0] = 0;
+
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            for (int k = outOffsets[v]; k < outOffsets[v + 1]; k++) {
+                peel(outTargets[k], v, degree, bin, position, order);
+            }
+            for (int k = inOffsets[v]; k < inOffsets[v + 1]; k++) {
+                peel(inSources[k], v, degree, bin, position, order);
+            }
+        }
+        return degree;
+    }
+
+    private static void peel(int u, int v, int[] degree, int[] bin, int[] position, int[] order) {
+        if (degree[u] <= degree[v]) {
+            return;
+        }
+        int du = degree[u];
+        int pu = position[u];
+        int pw = bin[du];
+        int w = order[pw];
+        if (u != w) {
+            position[u] = pw;
+            order[pu] = w;
+            position[w] = pu;
+            order[pw] = u;
+        }
+        bin[du]++;
+        degree[u]--;
+    }
+}
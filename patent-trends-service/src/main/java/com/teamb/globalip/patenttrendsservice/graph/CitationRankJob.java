@@ -0,0 +1,251 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import com.teamb.globalip.patenttrendsservice.service.CitationGraphService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nightly influence ranking over the full citation graph.
+ *
+ * Computes PageRank and k-core numbers from the in-memory {@link CitationGraph},
+ * writes them into a staging copy of {@code patent_citation_rank}
+ * (ddl_citation_rank.sql) and swaps it in with a rename, so readers always
+ * see a complete ranking. Progress is
+ * checkpointed to disk so a restarted job resumes the power iteration instead
+ * of starting over; a checkpoint is only used with a graph of the same
+ * {@link CitationGraph#contentHash() content}.
+ */
+@Slf4j
+@Component
+@Profile("prod")
+@RequiredArgsConstructor
+public class CitationRankJob {
+
+    private static final int CHECKPOINT_MAGIC = 0x43524b32;
+    private static final String CHECKPOINT_FILE = "pagerank.ckpt";
+
+    private final CitationGraphService graphService;
+    private final CitationRankProperties properties;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /** Ranking takes minutes, so it runs here rather than on the shared scheduler thread */
+    private final ExecutorService rankExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("citation-rank").daemon().factory());
+
+    @Scheduled(cron = "${citation-rank.cron:0 0 3 * * *}")
+    public void scheduleRun() {
+        rankExecutor.execute(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        rankExecutor.shutdownNow();
+    }
+
+    public void run() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        CitationGraph graph = graphService.currentGraph().orElse(null);
+        if (graph == null) {
+            log.info("Citation ranking skipped, graph not loaded yet");
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("Citation ranking already running");
+            return;
+        }
+        try {
+            compute(graph);
+        } catch (Exception e) {
+            log.error("Citation ranking failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void compute(CitationGraph graph) throws IOException {
+        long start = System.currentTimeMillis();
+        Path checkpoint = Path.of(properties.getCheckpointDir(), CHECKPOINT_FILE);
+
+        Checkpoint resume = readCheckpoint(checkpoint, graph);
+        if (resume != null) {
+            log.info("Resuming PageRank from checkpoint at iteration {}", resume.iteration());
+        }
+
+        int every = properties.getCheckpointEvery();
+        double[] ranks = CitationRankCalculator.pageRank(
+                graph,
+                properties.getDamping(),
+                properties.getMaxIterations(),
+                properties.getTolerance(),
+                resume != null ? resume.ranks() : null,
+                resume != null ? resume.iteration() : 0,
+                (iteration, current, delta) -> {
+                    log.debug("PageRank iteration {} delta {}", iteration, delta);
+                    if (every > 0 && iteration % every == 0) {
+                        writeCheckpoint(checkpoint, graph, iteration, current);
+                    }
+                }
+        );
+        long rankedAt = System.currentTimeMillis();
+
+        int[] cores = CitationRankCalculator.coreNumbers(graph);
+        int[] positions = rankPositions(ranks);
+
+        writeRanks(graph, ranks, positions, cores);
+        Files.deleteIfExists(checkpoint);
+
+        log.info("Citation ranking done: {} patents, PageRank {} ms, total {} ms",
+                graph.nodeCount(), rankedAt - start, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 1-based position of every node when sorted by descending rank, ties in
+     * node order. Sorts a primitive copy of the ranks and places each node by
+     * binary search, so nothing is boxed.
+     */
+    static int[] rankPositions(double[] ranks) {
+        int n = ranks.length;
+        double[] sorted = ranks.clone();
+        Arrays.parallelSort(sorted);
+
+        int[] tied = new int[n];
+        int[] positions = new int[n];
+        for (int v = 0; v < n; v++) {
+            // sorted[upper - 1] is the last copy of ranks[v]; n - upper ranks are higher
+            int upper = upperBound(sorted, ranks[v]);
+            positions[v] = n - upper + 1 + tied[upper - 1]++;
+        }
+        return positions;
+    }
+
+    /** Index of the first element greater than {@code value} */
+    private static int upperBound(double[] sorted, double value) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Double.compare(sorted[mid], value) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void writeRanks(CitationGraph graph, double[] ranks, int[] positions, int[] cores) {
+        int n = graph.nodeCount();
+        Timestamp computedAt = Timestamp.from(Instant.now());
+
+        // patent_citation_rank itself ships as ddl_citation_rank.sql
+        jdbc.execute("DROP TABLE IF EXISTS public.patent_citation_rank_staging");
+        jdbc.execute("CREATE UNLOGGED TABLE public.patent_citation_rank_staging (LIKE public.patent_citation_rank INCLUDING DEFAULTS)");
+
+        String insert = """
+            INSERT INTO public.patent_citation_rank_staging
+                (patent_id, pagerank, rank_position, percentile, core_number, cited_by_count, cites_count, computed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+        int batchSize = Math.max(1, properties.getWriteBatchSize());
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int v = 0; v < n; v++) {
+            batch.add(new Object[]{
+                    graph.patentId(v),
+                    ranks[v],
+                    positions[v],
+                    1.0 - (double) (positions[v] - 1) / n,
+                    cores[v],
+                    graph.inDegree(v),
+                    graph.outDegree(v),
+                    computedAt
+            });
+            if (batch.size() == batchSize) {
+                jdbc.batchUpdate(insert, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate(insert, batch);
+        }
+
+        jdbc.execute("ALTER TABLE public.patent_citation_rank_staging SET LOGGED");
+        jdbc.execute("ALTER TABLE public.patent_citation_rank_staging ADD CONSTRAINT patent_citation_rank_staging_pkey PRIMARY KEY (patent_id)");
+        jdbc.execute("CREATE INDEX patent_citation_rank_staging_position ON public.patent_citation_rank_staging (rank_position)");
+        jdbc.execute("ANALYZE public.patent_citation_rank_staging");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbc.execute("DROP TABLE public.patent_citation_rank");
+            jdbc.execute("ALTER TABLE public.patent_citation_rank_staging RENAME TO patent_citation_rank");
+            jdbc.execute("ALTER INDEX public.patent_citation_rank_staging_pkey RENAME TO patent_citation_rank_pkey");
+            jdbc.execute("ALTER INDEX public.patent_citation_rank_staging_position RENAME TO idx_patent_citation_rank_position");
+        });
+    }
+
+    record Checkpoint(int iteration, double[] ranks) {}
+
+    static Checkpoint readCheckpoint(Path file, CitationGraph graph) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC
+                    || in.readLong() != graph.contentHash()
+                    || in.readInt() != graph.nodeCount()) {
+                log.info("Discarding PageRank checkpoint for a different graph");
+                return null;
+            }
+            int iteration = in.readInt();
+            double[] ranks = new double[graph.nodeCount()];
+            for (int i = 0; i < ranks.length; i++) {
+                ranks[i] = in.readDouble();
+            }
+            return new Checkpoint(iteration, ranks);
+        } catch (IOException e) {
+            log.warn("Unreadable PageRank checkpoint {}, starting over", file, e);
+            return null;
+        }
+    }
+
+    static void writeCheckpoint(Path file, CitationGraph graph, int iteration, double[] ranks) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeLong(graph.contentHash());
+                out.writeInt(graph.nodeCount());
+                out.writeInt(iteration);
+                for (double rank : ranks) {
+                    out.writeDouble(rank);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write PageRank checkpoint at iteration {}", iteration, e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "citation-rank")
+@Getter
+@Setter
+public class CitationRankProperties {
+
+    /** Recompute patent_citation_rank from the in-memory citation graph */
+    private boolean enabled = true;
+
+    /** When the ranking job runs; needs a loaded citation graph */
+    private String cron = "0 0 3 * * *";
+
+    /** PageRank damping factor */
+    private double damping = 0.85;
+
+    /** Upper bound on power iterations */
+    private int maxIterations = 100;
+
+    /** Stop once the L1 change between iterations drops below this */
+    private double tolerance = 1e-9;
+
+    /** Write a checkpoint every N iterations; 0 disables checkpointing */
+    private int checkpointEvery = 5;
+
+    /** Where checkpoints are kept between runs */
+    private String checkpointDir = System.getProperty("java.io.tmpdir") + "/citation-rank";
+
+    /** Rows per JDBC batch when writing the ranking table */
+    private int writeBatchSize = 10_000;
+}
@@ -0,0 +1,175 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Top-k co-citation and bibliographic-coupling neighbours of one patent.
+ *
+ * Both are one row of a sparse matrix product over the CSR adjacency
+ * (A^T A or A A^T), accumulated into an open-addressing int counter and
+ * reduced with a bounded heap. Work stops at a deadline or edge-visit cap
+ * and the partial result is flagged as truncated.
+ */
+public final class CitationSimilarityCalculator {
+
+    private static final int DEADLINE_CHECK_MASK = 0x3FF;
+
+    private CitationSimilarityCalculator() {}
+
+    /** A neighbour with the number of shared citations and its Salton cosine */
+    public record Neighbor(int node, int shared, double score) {}
+
+    public record Result(List<Neighbor> neighbors, boolean truncated) {}
+
+    /**
+     * @param maxIntermediateDegree intermediates with more links than this are
+     *                              skipped; they relate almost everything and dominate the cost
+     * @param deadlineNanos         {@link System#nanoTime()} after which work stops
+     */
+    public static Result topK(
+            CitationGraph graph,
+            int node,
+            SimilarityKind kind,
+            int k,
+            int maxIntermediateDegree,
+            long maxWork,
+            long deadlineNanos
+    ) {
+        if (k <= 0) {
+            return new Result(List.of(), false);
+        }
+        boolean coCitation = kind == SimilarityKind.CO_CITATION;
+
+        // Co-citation: X <- citing -> Y. Coupling: X -> cited <- Y.
+        int[] firstOffsets = coCitation ? graph.inOffsets() : graph.outOffsets();
+        int[] firstTargets = coCitation ? graph.inSources() : graph.outTargets();
+        int[] secondOffsets = coCitation ? graph.outOffsets() : graph.inOffsets();
+        int[] secondTargets = coCitation ? graph.outTargets() : graph.inSources();
+
+        IntCounter counter = new IntCounter(256);
+        long work = 0;
+        boolean truncated = false;
+
+        outer:
+        for (int i = firstOffsets[node]; i < firstOffsets[node + 1]; i++) {
+            int via = firstTargets[i];
+            int from = secondOffsets[via];
+            int to = secondOffsets[via + 1];
+            if (to - from > maxIntermediateDegree) {
+                continue;
+            }
+            for (int j = from; j < to; j++) {
+                // The cap is exact; the clock is only read every 1024 visits
+                if (work >= maxWork
+                        || ((work & DEADLINE_CHECK_MASK) == DEADLINE_CHECK_MASK && System.nanoTime() > deadlineNanos)) {
+                    truncated = true;
+                    break outer;
+                }
+                work++;
+                int other = secondTargets[j];
+                if (other != node) {
+                    counter.increment(other);
+                }
+            }
+        }
+
+        int ownDegree = degree(graph, node, coCitation);
+        Comparator<Neighbor> order = Comparator.comparingInt(Neighbor::shared)
+                .thenComparingDouble(Neighbor::score);
+        PriorityQueue<Neighbor> heap = new PriorityQueue<>(k, order);
+
+        counter.forEach((other, shared) -> {
+            if (heap.size() == k && shared < heap.peek().shared()) {
+                return;
+            }
+            double score = shared / Math.sqrt((double) ownDegree * Math.max(1, degree(graph, other, coCitation)));
+            Neighbor candidate = new Neighbor(other, shared, score);
+            if (heap.size() < k) {
+                heap.add(candidate);
+            } else if (order.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        });
+
+        List<Neighbor> neighbors = new ArrayList<>(heap);
+        neighbors.sort(order.reversed());
+        return new Result(neighbors, truncated);
+    }
+
+    private static int degree(CitationGraph graph, int node, boolean coCitation) {
+        return coCitation ? graph.inDegree(node) : graph.outDegree(node);
+    }
+
+    @FunctionalInterface
+    interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+
+    /** int -> count map with linear probing; counts are never zero once set */
+    static final class IntCounter {
+        private int[] keys;
+        private int[] counts;
+        private int size;
+
+        IntCounter(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected) * 2 - 1) << 1;
+            keys = new int[capacity];
+            counts = new int[capacity];
+        }
+
+        void increment(int key) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (counts[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (counts[slot] == 0) {
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot]++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void forEach(IntIntConsumer action) {
+            for (int i = 0; i < keys.length; i++) {
+                if (counts[i] != 0) {
+                    action.accept(keys[i], counts[i]);
+                }
+            }
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new int[oldKeys.length << 1];
+            counts = new int[oldKeys.length << 1];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int slot = mix(oldKeys[i]) & mask;
+                    while (counts[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
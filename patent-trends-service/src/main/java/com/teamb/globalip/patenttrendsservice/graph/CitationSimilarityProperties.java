@@ -0,0 +1,35 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "citation-similarity")
+@Getter
+@Setter
+public class CitationSimilarityProperties {
+
+    /** Precompute neighbours for hot patents after each graph rebuild */
+    private boolean precompute = true;
+
+    /** Most-cited patents whose neighbours are precomputed */
+    private int hotPatents = 5_000;
+
+    /** Neighbours kept per patent and kind */
+    private int topK = 50;
+
+    /** Time budget for an on-demand computation */
+    private long budgetMs = 250;
+
+    /** Edge visits allowed for one computation */
+    private long maxWork = 5_000_000;
+
+    /** Intermediate patents with more citations than this are ignored */
+    private int maxIntermediateDegree = 1_000;
+
+    /** On-demand results kept in memory */
+    private int cacheSize = 10_000;
+
+    /** How often to check for a new graph to precompute against */
+    private long precomputeCheckMs = 600_000;
+}
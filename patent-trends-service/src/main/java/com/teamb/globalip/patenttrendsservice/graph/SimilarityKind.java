@@ -0,0 +1,8 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+public enum SimilarityKind {
+    /** Patents cited together with the patent by the same later patents */
+    CO_CITATION,
+    /** Patents that cite the same prior art as the patent */
+    BIBLIOGRAPHIC_COUPLING
+}
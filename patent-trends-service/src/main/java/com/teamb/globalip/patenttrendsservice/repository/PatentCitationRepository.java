@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -36,4 +37,39 @@ public interface PatentCitationRepository
         ORDER BY citation_year
         """, nativeQuery = true)
     List<Object[]> citationLagTrend();
-}
\ No newline at end of file
+
+    @Query(value = """
+        SELECT patent_id, pagerank, rank_position, percentile, core_number,
+               cited_by_count, cites_count, computed_at
+        FROM public.patent_citation_rank
+        ORDER BY rank_position
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Object[]> topInfluential(int limit);
+
+    @Query(value = """
+        SELECT patent_id, pagerank, rank_position, percentile, core_number,
+               cited_by_count, cites_count, computed_at
+        FROM public.patent_citation_rank
+        WHERE patent_id IN (:patentIds)
+        """, nativeQuery = true)
+    List<Object[]> citationRanks(Collection<String> patentIds);
+
+    @Query(value = """
+        SELECT patent_id, cited_patent_id, citation_date, citation_category
+        FROM public.patent_citation
+        WHERE patent_id IN (:patentIds)
+        ORDER BY patent_id, cited_patent_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Object[]> citationsMadeBy(Collection<String> patentIds, int limit);
+
+    @Query(value = """
+        SELECT patent_id, cited_patent_id, citation_date, citation_category
+        FROM public.patent_citation
+        WHERE cited_patent_id IN (:patentIds)
+        ORDER BY cited_patent_id, patent_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Object[]> citationsReceivedBy(Collection<String> patentIds, int limit);
+}
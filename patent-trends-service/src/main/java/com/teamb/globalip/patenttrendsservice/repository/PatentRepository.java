@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -54,4 +55,25 @@ public interface PatentRepository
         ORDER BY count DESC
         """, nativeQuery = true)
     List<Object[]> patentTypeDistribution();
+
+    // Utility patents are numbered in grant order; 8 digits since 2018
+    @Query(value = """
+        SELECT MAX(patent_id) FILTER (WHERE patent_id ~ '^[0-9]{8}$'), MAX(grant_date)
+        FROM public.patent
+        """, nativeQuery = true)
+    List<Object[]> latestPatent();
+
+    @Query(value = """
+        SELECT p.patent_id, p.wipo_kind, p.title,
+               (SELECT MIN(pa.filing_date)
+                FROM public.patent_application pa
+                WHERE pa.patent_id = p.patent_id),
+               p.grant_date,
+               (SELECT string_agg(a.organization_name, ' | ')
+                FROM public.patent_assignee a
+                WHERE a.patent_id = p.patent_id)
+        FROM public.patent p
+        WHERE p.patent_id IN (:ids)
+        """, nativeQuery = true)
+    List<Object[]> searchHitDetails(Collection<String> ids);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -32,4 +33,14 @@ public interface EpoPatentRepository extends JpaRepository<@NonNull EpoPatentEnt
         ORDER BY cnt DESC
         """, nativeQuery = true)
     List<Object[]> countryDistribution();
-}
\ No newline at end of file
+
+    @Query(value = """
+        SELECT e.epo_patent_id, e.country, e.kind, e.application_date, e.publication_date,
+               (SELECT string_agg(a.organization_name, ' | ')
+                FROM public.epo_patent_assignee a
+                WHERE a.epo_patent_id = e.epo_patent_id)
+        FROM public.epo_patent e
+        WHERE e.epo_patent_id IN (:ids)
+        """, nativeQuery = true)
+    List<Object[]> searchHitDetails(Collection<String> ids);
+}
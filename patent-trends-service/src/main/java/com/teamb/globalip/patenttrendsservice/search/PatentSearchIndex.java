@@ -0,0 +1,297 @@
+package com.teamb.globalip.patenttrendsservice.search;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over patent titles and assignee names, ranked with BM25.
+ *
+ * Documents are numbered in the order they are added, so every postings list
+ * is sorted by document number and a query is answered by walking the
+ * shortest list and galloping through the others (all terms must match).
+ * Only what ranking and filtering need is kept in memory; titles and
+ * assignee names are read back from the database for the returned hits.
+ *
+ * Appends take the write lock, searches the read lock.
+ */
+public final class PatentSearchIndex {
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "by", "for", "from", "in", "into", "is",
+            "it", "of", "on", "or", "the", "to", "with", "using", "thereof", "same"
+    );
+
+    private final double k1;
+    private final double b;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> titleTerms = new HashMap<>();
+    private final Map<String, Postings> assigneeTerms = new HashMap<>();
+    private final List<String> countries = new ArrayList<>();
+
+    private String[] ids = new String[1 << 16];
+    private byte[] country = new byte[1 << 16];
+    private int[] filingDay = new int[1 << 16];
+    private short[] titleLength = new short[1 << 16];
+    private short[] assigneeLength = new short[1 << 16];
+    private int size;
+    private long titleLengthSum;
+    private long assigneeLengthSum;
+
+    public PatentSearchIndex(double k1, double b) {
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    public record Document(String patentId, String country, LocalDate filingDate, String title, String assignees) {}
+
+    /**
+     * @param terms         title terms, all required
+     * @param assigneeTerms assignee name terms, all required
+     * @param country       jurisdiction filter, or {@code null} for any
+     */
+    public record Query(List<String> terms, List<String> assigneeTerms, String country,
+                        LocalDate filedFrom, LocalDate filedTo, int limit) {}
+
+    public record Hit(String patentId, String country, double score) {}
+
+    /** Top hits plus the number of documents that matched in total */
+    public record Result(List<Hit> hits, int matches) {}
+
+    public void addAll(Collection<Document> documents) {
+        lock.writeLock().lock();
+        try {
+            for (Document document : documents) {
+                add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Result search(Query query) {
+        lock.readLock().lock();
+        try {
+            return doSearch(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Lower-cased letter/digit runs of two or more characters, minus stop words */
+    public static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                if (i - start >= 2) {
+                    String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                    if (!STOP_WORDS.contains(token)) {
+                        tokens.add(token);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private void add(Document document) {
+        int doc = size;
+        if (doc == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            country = Arrays.copyOf(country, capacity);
+            filingDay = Arrays.copyOf(filingDay, capacity);
+            titleLength = Arrays.copyOf(titleLength, capacity);
+            assigneeLength = Arrays.copyOf(assigneeLength, capacity);
+        }
+        ids[doc] = document.patentId();
+        country[doc] = (byte) countryIndex(document.country());
+        filingDay[doc] = document.filingDate() != null ? (int) document.filingDate().toEpochDay() : NO_DATE;
+
+        int titleTokens = index(titleTerms, doc, tokens(document.title()));
+        int assigneeTokens = index(assigneeTerms, doc, tokens(document.assignees()));
+        titleLength[doc] = (short) Math.min(titleTokens, Short.MAX_VALUE);
+        assigneeLength[doc] = (short) Math.min(assigneeTokens, Short.MAX_VALUE);
+        titleLengthSum += titleTokens;
+        assigneeLengthSum += assigneeTokens;
+        size++;
+    }
+
+    private static int index(Map<String, Postings> terms, int doc, List<String> tokens) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        frequencies.forEach((term, tf) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, tf));
+        return tokens.size();
+    }
+
+    private int countryIndex(String code) {
+        String normalized = code != null ? code.toUpperCase(Locale.ROOT) : "";
+        int index = countries.indexOf(normalized);
+        if (index < 0) {
+            if (countries.size() == 255) {
+                throw new IllegalStateException("Too many distinct countries in search index");
+            }
+            countries.add(normalized);
+            index = countries.size() - 1;
+        }
+        return index;
+    }
+
+    private Result doSearch(Query query) {
+        List<Term> terms = new ArrayList<>();
+        if (!collect(terms, titleTerms, query.terms(), false)
+                || !collect(terms, assigneeTerms, query.assigneeTerms(), true)
+                || terms.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+        terms.sort(Comparator.comparingInt(t -> t.postings.size));
+
+        int countryFilter = -1;
+        if (query.country() != null) {
+            countryFilter = countries.indexOf(query.country().toUpperCase(Locale.ROOT));
+            if (countryFilter < 0) {
+                return new Result(List.of(), 0);
+            }
+        }
+        int from = query.filedFrom() != null ? (int) query.filedFrom().toEpochDay() : NO_DATE;
+        int to = query.filedTo() != null ? (int) query.filedTo().toEpochDay() : Integer.MAX_VALUE;
+        boolean dateFilter = query.filedFrom() != null || query.filedTo() != null;
+
+        double avgTitle = size > 0 ? Math.max(1.0, (double) titleLengthSum / size) : 1.0;
+        double avgAssignee = size > 0 ? Math.max(1.0, (double) assigneeLengthSum / size) : 1.0;
+        int limit = Math.max(1, query.limit());
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::score));
+        Term lead = terms.get(0);
+        int matches = 0;
+
+        candidates:
+        for (int i = 0; i < lead.postings.size; i++) {
+            int doc = lead.postings.docs[i];
+            for (int t = 1; t < terms.size(); t++) {
+                if (!terms.get(t).advanceTo(doc)) {
+                    continue candidates;
+                }
+            }
+            if (countryFilter >= 0 && (country[doc] & 0xff) != countryFilter) {
+                continue;
+            }
+            if (dateFilter && (filingDay[doc] == NO_DATE || filingDay[doc] < from || filingDay[doc] > to)) {
+                continue;
+            }
+
+            double score = 0;
+            for (int t = 0; t < terms.size(); t++) {
+                Term term = terms.get(t);
+                int tf = t == 0 ? lead.postings.freqs[i] : term.postings.freqs[term.cursor];
+                double length = term.assignee ? assigneeLength[doc] / avgAssignee : titleLength[doc] / avgTitle;
+                score += term.idf * tf * (k1 + 1) / (tf + k1 * (1 - b + b * length));
+            }
+
+            matches++;
+            if (top.size() < limit) {
+                top.add(new Hit(ids[doc], countries.get(country[doc] & 0xff), score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(new Hit(ids[doc], countries.get(country[doc] & 0xff), score));
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+        return new Result(hits, matches);
+    }
+
+    /** @return false when a required term is not in the index at all */
+    private boolean collect(List<Term> out, Map<String, Postings> field, List<String> words, boolean assignee) {
+        if (words == null) {
+            return true;
+        }
+        Set<String> seen = new HashSet<>();
+        for (String word : words) {
+            if (!seen.add(word)) {
+                continue;
+            }
+            Postings postings = field.get(word);
+            if (postings == null) {
+                return false;
+            }
+            double idf = Math.log(1 + (size - postings.size + 0.5) / (postings.size + 0.5));
+            out.add(new Term(postings, assignee, idf));
+        }
+        return true;
+    }
+
+    private static final class Term {
+        final Postings postings;
+        final boolean assignee;
+        final double idf;
+        int cursor;
+
+        Term(Postings postings, boolean assignee, double idf) {
+            this.postings = postings;
+            this.assignee = assignee;
+            this.idf = idf;
+        }
+
+        /** Gallop forward to the first posting at or after {@code doc}; true if it is {@code doc} */
+        boolean advanceTo(int doc) {
+            int[] docs = postings.docs;
+            int n = postings.size;
+            if (cursor >= n) {
+                return false;
+            }
+            if (docs[cursor] >= doc) {
+                return docs[cursor] == doc;
+            }
+            int step = 1;
+            int low = cursor;
+            int high = cursor + 1;
+            while (high < n && docs[high] < doc) {
+                low = high;
+                step <<= 1;
+                high = low + step;
+            }
+            int index = Arrays.binarySearch(docs, low + 1, Math.min(high + 1, n), doc);
+            cursor = index >= 0 ? index : -index - 1;
+            return index >= 0;
+        }
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        short[] freqs = new short[4];
+        int size;
+
+        void add(int doc, int tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = (short) Math.min(tf, Short.MAX_VALUE);
+            size++;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.teamb.globalip.patenttrendsservice.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Streams {@code patent} and {@code epo_patent} rows into a
+ * {@link PatentSearchIndex}, starting from a per-table {@link Watermark}.
+ *
+ * Both tables stamp {@code ingested_at} on insert (see ddl_search_index.sql),
+ * so a re-run reads what was ingested since, whatever its grant or
+ * publication date. Rows stamped within {@code ingest-lag-ms} of the
+ * watermark are read again in case a long load committed them late; ids
+ * already indexed from that window are skipped. Withdrawn and deleted
+ * patents leave the index on the next full build.
+ */
+@Slf4j
+@Component
+@Profile("prod")
+@RequiredArgsConstructor
+public class PatentSearchIndexLoader {
+
+    private final JdbcTemplate jdbc;
+    private final SearchIndexProperties properties;
+
+    /**
+     * Latest ingestion time read from a table, the ids read within the
+     * ingest lag of it, and the newest grant/publication date indexed
+     */
+    public record Watermark(LocalDateTime ingestedAt, Map<String, LocalDateTime> recentIds, LocalDate latestDate) {
+
+        /** Nothing loaded yet: a full build reads every row */
+        public static final Watermark NONE = new Watermark(null, Map.of(), null);
+    }
+
+    @Transactional(readOnly = true)
+    public Watermark loadUsPatents(PatentSearchIndex index, Watermark since) {
+        return load(index, since, "US", "p.ingested_at", """
+            SELECT p.patent_id, p.grant_date, 'US', app.filing_date, p.title, a.names, p.ingested_at
+            FROM public.patent p
+            LEFT JOIN LATERAL (
+                SELECT MIN(pa.filing_date) AS filing_date
+                FROM public.patent_application pa
+                WHERE pa.patent_id = p.patent_id
+            ) app ON true
+            LEFT JOIN LATERAL (
+                SELECT string_agg(ass.organization_name, ' | ') AS names
+                FROM public.patent_assignee ass
+                WHERE ass.patent_id = p.patent_id
+            ) a ON true
+            WHERE p.withdrawn = false
+              AND p.grant_date >= ?
+        """);
+    }
+
+    @Transactional(readOnly = true)
+    public Watermark loadEpoPatents(PatentSearchIndex index, Watermark since) {
+        return load(index, since, "EPO", "e.ingested_at", """
+            SELECT e.epo_patent_id, e.publication_date, e.country, e.application_date, NULL, a.names, e.ingested_at
+            FROM public.epo_patent e
+            LEFT JOIN LATERAL (
+                SELECT string_agg(ass.organization_name, ' | ') AS names
+                FROM public.epo_patent_assignee ass
+                WHERE ass.epo_patent_id = e.epo_patent_id
+            ) a ON true
+            WHERE e.publication_date >= ?
+        """);
+    }
+
+    private Watermark load(PatentSearchIndex index, Watermark since, String label, String ingestedColumn,
+                           String sql) {
+        long start = System.currentTimeMillis();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<PatentSearchIndex.Document> batch = new ArrayList<>(batchSize);
+        Duration lag = Duration.ofMillis(Math.max(0, properties.getIngestLagMs()));
+
+        LocalDateTime readFrom = since.ingestedAt() != null ? since.ingestedAt().minus(lag) : null;
+        String query = readFrom != null ? sql + "  AND " + ingestedColumn + " > ?" : sql;
+
+        LocalDateTime[] latestIngest = {since.ingestedAt()};
+        LocalDate[] latestDate = {since.latestDate()};
+        Map<String, LocalDateTime> recent = new HashMap<>(since.recentIds());
+        int[] loaded = {0};
+
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(properties.getFetchSize());
+            ps.setDate(1, Date.valueOf(LocalDate.of(properties.getMinYear(), 1, 1)));
+            if (readFrom != null) {
+                ps.setTimestamp(2, Timestamp.valueOf(readFrom));
+            }
+            return ps;
+        }, (ResultSet rs) -> {
+            String id = rs.getString(1);
+            if (since.recentIds().containsKey(id)) {
+                return;
+            }
+            Timestamp ingested = rs.getTimestamp(7);
+            if (ingested != null) {
+                LocalDateTime at = ingested.toLocalDateTime();
+                recent.put(id, at);
+                if (latestIngest[0] == null || at.isAfter(latestIngest[0])) {
+                    latestIngest[0] = at;
+                }
+            }
+            LocalDate date = rs.getDate(2).toLocalDate();
+            if (latestDate[0] == null || date.isAfter(latestDate[0])) {
+                latestDate[0] = date;
+            }
+
+            Date filing = rs.getDate(4);
+            batch.add(new PatentSearchIndex.Document(
+                    id,
+                    rs.getString(3),
+                    filing != null ? filing.toLocalDate() : null,
+                    rs.getString(5),
+                    rs.getString(6)
+            ));
+            if (batch.size() == batchSize) {
+                index.addAll(batch);
+                loaded[0] += batch.size();
+                batch.clear();
+            }
+        });
+        index.addAll(batch);
+        loaded[0] += batch.size();
+
+        if (latestIngest[0] != null) {
+            LocalDateTime keepFrom = latestIngest[0].minus(lag);
+            recent.values().removeIf(at -> !at.isAfter(keepFrom));
+        }
+        if (loaded[0] > 0) {
+            log.info("Search index: {} {} patents added through {} in {} ms",
+                    loaded[0], label, latestIngest[0], System.currentTimeMillis() - start);
+        }
+        return new Watermark(latestIngest[0], recent, latestDate[0]);
+    }
+}
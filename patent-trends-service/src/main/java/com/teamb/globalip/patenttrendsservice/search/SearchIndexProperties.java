@@ -0,0 +1,41 @@
+package com.teamb.globalip.patenttrendsservice.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "search-index")
+@Getter
+@Setter
+public class SearchIndexProperties {
+
+    /** Build the in-memory keyword index over patent and epo_patent */
+    private boolean enabled = true;
+
+    /** Only patents granted or published from this year on are indexed */
+    private int minYear = 2000;
+
+    /** Rows fetched per round trip while streaming the tables */
+    private int fetchSize = 10_000;
+
+    /** Documents appended per write-lock hold */
+    private int batchSize = 5_000;
+
+    /** How often newly ingested rows are picked up */
+    private long refreshIntervalMs = 900_000;
+
+    /** Rows ingested this long before the watermark are read again, for loads that commit late */
+    private long ingestLagMs = 3_600_000;
+
+    /** When the index is rebuilt from scratch; needs room for a second index while it runs */
+    private String rebuildCron = "0 30 3 * * *";
+
+    /** Upper bound on hits returned by one query */
+    private int maxResults = 200;
+
+    /** BM25 term-frequency saturation */
+    private double k1 = 1.2;
+
+    /** BM25 length normalization */
+    private double b = 0.75;
+}
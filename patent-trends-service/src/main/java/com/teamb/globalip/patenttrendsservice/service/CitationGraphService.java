@@ -0,0 +1,208 @@
+package com.teamb.globalip.patenttrendsservice.service;
+
+import com.teamb.globalip.patenttrendsservice.dto.citation.*;
+import com.teamb.globalip.patenttrendsservice.graph.CitationDirection;
+import com.teamb.globalip.patenttrendsservice.graph.CitationGraph;
+import com.teamb.globalip.patenttrendsservice.graph.CitationGraphLoader;
+import com.teamb.globalip.patenttrendsservice.graph.CitationGraphProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves citation lookups from the in-memory {@link CitationGraph}.
+ *
+ * The graph is loaded in the background after startup and swapped atomically
+ * on every rebuild, so queries never see a half-built graph. Loads run on
+ * their own thread: a build takes minutes and would otherwise hold up every
+ * other {@code @Scheduled} job.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Profile("prod")
+public class CitationGraphService {
+
+    private static final int MAX_HOPS = 3;
+
+    private final CitationGraphLoader loader;
+    private final CitationGraphProperties properties;
+
+    private final ScheduledExecutorService loadExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("citation-graph-load").daemon().factory());
+
+    private volatile CitationGraph graph;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        loadExecutor.scheduleWithFixedDelay(this::rebuild, 0,
+                Math.max(1, properties.getRefreshIntervalMs()), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        loadExecutor.shutdownNow();
+    }
+
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            graph = loader.load();
+        } catch (Exception e) {
+            log.error("Citation graph load failed, keeping previous graph", e);
+        }
+    }
+
+    /** The current graph, or empty while the first load is still running */
+    public Optional<CitationGraph> currentGraph() {
+        return Optional.ofNullable(graph);
+    }
+
+    public CitationGraphStatsDto stats() {
+        CitationGraph g = graph;
+        return g == null
+                ? new CitationGraphStatsDto(false, 0, 0, 0, null)
+                : new CitationGraphStatsDto(true, g.nodeCount(), g.edgeCount(), g.adjacencyBytes(), g.builtAt());
+    }
+
+    public CitationDegreeDto degree(String patentId) {
+        CitationGraph g = requireGraph();
+        int node = requireNode(g, patentId);
+        return new CitationDegreeDto(patentId, g.inDegree(node), g.outDegree(node));
+    }
+
+    /**
+     * Citations per year: FORWARD counts the years this patent was cited in,
+     * BACKWARD the years of the citations it makes, BOTH sums the two.
+     */
+    public List<CitationYearCountDto> citationYears(String patentId, CitationDirection direction) {
+        CitationGraph g = requireGraph();
+        int node = requireNode(g, patentId);
+
+        TreeMap<Integer, Long> byYear = new TreeMap<>();
+        if (direction != CitationDirection.BACKWARD) {
+            g.forEachCitingYear(node, year -> countYear(byYear, year));
+        }
+        if (direction != CitationDirection.FORWARD) {
+            g.forEachCitedYear(node, year -> countYear(byYear, year));
+        }
+
+        return byYear.entrySet().stream()
+                .map(e -> new CitationYearCountDto(e.getKey(), e.getValue()))
+                .toList();
+    }
+
+    /**
+     * Patents within {@code hops} citations of the patent, breadth-first,
+     * with the citation edges between them.
+     */
+    public CitationNeighborhoodDto neighborhood(
+            String patentId,
+            int hops,
+            CitationDirection direction,
+            int maxNodes
+    ) {
+        CitationGraph g = requireGraph();
+        int root = requireNode(g, patentId);
+        int depthLimit = Math.max(0, Math.min(hops, MAX_HOPS));
+        int nodeLimit = Math.max(1, Math.min(maxNodes, properties.getMaxNeighborhoodNodes()));
+
+        Walk walk = new Walk(g, nodeLimit);
+        walk.depth.put(root, 0);
+        walk.queue.add(root);
+
+        while (!walk.queue.isEmpty()) {
+            int node = walk.queue.poll();
+            int depth = walk.depth.get(node);
+            if (depth == depthLimit) {
+                continue;
+            }
+            if (direction != CitationDirection.FORWARD) {
+                g.forEachCited(node, cited -> walk.visit(node, cited, depth + 1, node));
+            }
+            if (direction != CitationDirection.BACKWARD) {
+                g.forEachCiting(node, citing -> walk.visit(node, citing, depth + 1, citing));
+            }
+        }
+
+        List<CitationGraphNodeDto> nodes = walk.depth.entrySet().stream()
+                .map(e -> new CitationGraphNodeDto(
+                        g.patentId(e.getKey()),
+                        e.getValue(),
+                        g.inDegree(e.getKey()),
+                        g.outDegree(e.getKey())
+                ))
+                .toList();
+
+        return new CitationNeighborhoodDto(patentId, depthLimit, nodes, walk.edges, walk.truncated);
+    }
+
+    private static void countYear(Map<Integer, Long> byYear, int year) {
+        if (year > 0) {
+            byYear.merge(year, 1L, Long::sum);
+        }
+    }
+
+    private CitationGraph requireGraph() {
+        CitationGraph g = graph;
+        if (g == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Citation graph is still loading");
+        }
+        return g;
+    }
+
+    private static int requireNode(CitationGraph g, String patentId) {
+        int node = g.nodeId(patentId);
+        if (node < 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No citations on record for " + patentId);
+        }
+        return node;
+    }
+
+    /** Breadth-first walk state */
+    private static final class Walk {
+        final CitationGraph graph;
+        final int nodeLimit;
+        final Map<Integer, Integer> depth = new LinkedHashMap<>();
+        final ArrayDeque<Integer> queue = new ArrayDeque<>();
+        final Set<Long> edgeKeys = new HashSet<>();
+        final List<CitationGraphEdgeDto> edges = new ArrayList<>();
+        boolean truncated;
+
+        Walk(CitationGraph graph, int nodeLimit) {
+            this.graph = graph;
+            this.nodeLimit = nodeLimit;
+        }
+
+        void visit(int from, int to, int toDepth, int citing) {
+            if (!depth.containsKey(to)) {
+                if (depth.size() >= nodeLimit) {
+                    truncated = true;
+                    return;
+                }
+                depth.put(to, toDepth);
+                queue.add(to);
+            }
+            int cited = citing == from ? to : from;
+            if (edgeKeys.add(((long) citing << 32) | cited)) {
+                edges.add(new CitationGraphEdgeDto(graph.patentId(citing), graph.patentId(cited)));
+            }
+        }
+    }
+}
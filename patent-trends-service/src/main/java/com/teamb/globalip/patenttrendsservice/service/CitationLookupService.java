@@ -0,0 +1,115 @@
+package com.teamb.globalip.patenttrendsservice.service;
+
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationLookupDto;
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationLookupRequest;
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationRecordDto;
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationSnapshotDto;
+import com.teamb.globalip.patenttrendsservice.graph.CitationDirection;
+import com.teamb.globalip.patenttrendsservice.repository.PatentCitationRepository;
+import com.teamb.globalip.patenttrendsservice.repository.PatentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Raw citation rows for a batch of patents, read straight from the indexed
+ * {@code patent_citation} table. Lets the backend build citation networks
+ * without a PatentsView round trip for patents already in the bulk data.
+ */
+@Service
+@RequiredArgsConstructor
+@Profile("prod")
+public class CitationLookupService {
+
+    static final int MAX_PATENTS = 1000;
+    static final int MAX_CITATIONS = 20_000;
+    private static final Duration SNAPSHOT_TTL = Duration.ofHours(1);
+
+    private final PatentCitationRepository citationRepo;
+    private final PatentRepository patentRepo;
+
+    private volatile CitationSnapshotDto snapshot;
+
+    @Transactional(readOnly = true)
+    public CitationLookupDto lookup(CitationLookupRequest request) {
+        Set<String> ids = new LinkedHashSet<>();
+        if (request.patentIds() != null) {
+            request.patentIds().stream()
+                    .filter(id -> id != null && !id.isBlank())
+                    .map(String::trim)
+                    .forEach(ids::add);
+        }
+        if (ids.size() > MAX_PATENTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_PATENTS + " patents per lookup");
+        }
+        if (ids.isEmpty()) {
+            return new CitationLookupDto(List.of(), false);
+        }
+
+        int limit = request.limit() != null
+                ? Math.max(1, Math.min(request.limit(), MAX_CITATIONS))
+                : MAX_CITATIONS;
+        CitationDirection direction = request.direction() != null ? request.direction() : CitationDirection.BACKWARD;
+
+        List<CitationRecordDto> citations = new ArrayList<>();
+        boolean truncated = false;
+        if (direction != CitationDirection.FORWARD) {
+            truncated = collect(citationRepo.citationsMadeBy(ids, limit + 1), limit, citations);
+        }
+        if (direction != CitationDirection.BACKWARD && !truncated) {
+            truncated = collect(citationRepo.citationsReceivedBy(ids, limit + 1), limit, citations);
+        }
+        return new CitationLookupDto(citations, truncated);
+    }
+
+    /** Newest patent in the bulk data, re-read at most once an hour */
+    @Transactional(readOnly = true)
+    public CitationSnapshotDto snapshot() {
+        CitationSnapshotDto current = snapshot;
+        if (current != null && current.checkedAt().plus(SNAPSHOT_TTL).isAfter(Instant.now())) {
+            return current;
+        }
+        List<Object[]> rows = patentRepo.latestPatent();
+        Object[] r = rows.isEmpty() ? new Object[2] : rows.get(0);
+        current = new CitationSnapshotDto(
+                (String) r[0],
+                r[1] != null ? ((Date) r[1]).toLocalDate() : null,
+                Instant.now()
+        );
+        snapshot = current;
+        return current;
+    }
+
+    /** @return true when the rows went past {@code limit} */
+    private static boolean collect(List<Object[]> rows, int limit, List<CitationRecordDto> out) {
+        for (Object[] r : rows) {
+            if (out.size() >= limit) {
+                return true;
+            }
+            out.add(new CitationRecordDto(
+                    (String) r[0],
+                    (String) r[1],
+                    r[2] != null ? toLocalDate(r[2]) : null,
+                    (String) r[3]
+            ));
+        }
+        return false;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof LocalDate d ? d : ((Date) value).toLocalDate();
+    }
+}
@@ -0,0 +1,170 @@
+package com.teamb.globalip.patenttrendsservice.service;
+
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationSimilarityDto;
+import com.teamb.globalip.patenttrendsservice.dto.citation.SimilarPatentDto;
+import com.teamb.globalip.patenttrendsservice.graph.CitationGraph;
+import com.teamb.globalip.patenttrendsservice.graph.CitationSimilarityCalculator;
+import com.teamb.globalip.patenttrendsservice.graph.CitationSimilarityProperties;
+import com.teamb.globalip.patenttrendsservice.graph.SimilarityKind;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * "Patents similar to X by citation structure", from the in-memory
+ * {@link CitationGraph}.
+ *
+ * Neighbours of the most-cited patents are precomputed once per graph;
+ * everything else is computed on request within a time budget and kept in
+ * a small LRU until the next graph rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Profile("prod")
+public class CitationSimilarityService {
+
+    private final CitationGraphService graphService;
+    private final CitationSimilarityProperties properties;
+
+    private volatile Snapshot snapshot;
+
+    /** Neighbour lists for one graph; dropped when the graph is replaced */
+    private record Snapshot(Instant graphBuiltAt, Map<Long, CitationSimilarityDto> hot,
+                            Map<Long, CitationSimilarityDto> onDemand) {}
+
+    public CitationSimilarityDto similar(String patentId, SimilarityKind kind, int limit) {
+        CitationGraph graph = graphService.currentGraph()
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Citation graph is still loading"));
+        int node = graph.nodeId(patentId);
+        if (node < 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No citations on record for " + patentId);
+        }
+
+        Snapshot current = snapshotFor(graph);
+        long key = key(node, kind);
+        CitationSimilarityDto result = current.hot().get(key);
+        if (result == null) {
+            synchronized (current.onDemand()) {
+                result = current.onDemand().get(key);
+            }
+        }
+        if (result == null) {
+            result = compute(graph, node, kind, false, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getBudgetMs()));
+            // Truncated results are not cached so a later, quieter request can complete them
+            if (!result.truncated()) {
+                synchronized (current.onDemand()) {
+                    current.onDemand().put(key, result);
+                }
+            }
+        }
+
+        int n = Math.max(0, Math.min(limit, result.neighbors().size()));
+        return new CitationSimilarityDto(patentId, kind, result.neighbors().subList(0, n),
+                result.precomputed(), result.truncated());
+    }
+
+    /**
+     * Precompute both kinds for the most-cited patents whenever a new graph
+     * has been loaded.
+     */
+    @Scheduled(initialDelayString = "${citation-similarity.precompute-check-ms:600000}",
+            fixedDelayString = "${citation-similarity.precompute-check-ms:600000}")
+    public void precomputeHotPatents() {
+        if (!properties.isPrecompute()) {
+            return;
+        }
+        CitationGraph graph = graphService.currentGraph().orElse(null);
+        if (graph == null) {
+            return;
+        }
+        Snapshot current = snapshotFor(graph);
+        if (!current.hot().isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int[] hot = mostCited(graph, properties.getHotPatents());
+
+        Map<Long, CitationSimilarityDto> results = new ConcurrentHashMap<>(hot.length * 4);
+        Arrays.stream(hot).parallel().forEach(node -> {
+            for (SimilarityKind kind : SimilarityKind.values()) {
+                results.put(key(node, kind), compute(graph, node, kind, true, Long.MAX_VALUE));
+            }
+        });
+
+        if (snapshot == current) {
+            snapshot = new Snapshot(current.graphBuiltAt(), results, current.onDemand());
+        }
+        log.info("Precomputed citation similarity for {} hot patents in {} ms",
+                hot.length, System.currentTimeMillis() - start);
+    }
+
+    private CitationSimilarityDto compute(CitationGraph graph, int node, SimilarityKind kind,
+                                          boolean precomputed, long deadlineNanos) {
+        CitationSimilarityCalculator.Result result = CitationSimilarityCalculator.topK(
+                graph, node, kind,
+                properties.getTopK(),
+                properties.getMaxIntermediateDegree(),
+                properties.getMaxWork(),
+                deadlineNanos
+        );
+        List<SimilarPatentDto> neighbors = result.neighbors().stream()
+                .map(n -> new SimilarPatentDto(graph.patentId(n.node()), n.shared(), n.score()))
+                .toList();
+        return new CitationSimilarityDto(graph.patentId(node), kind, neighbors, precomputed, result.truncated());
+    }
+
+    private Snapshot snapshotFor(CitationGraph graph) {
+        Snapshot current = snapshot;
+        if (current == null || !current.graphBuiltAt().equals(graph.builtAt())) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || !current.graphBuiltAt().equals(graph.builtAt())) {
+                    current = new Snapshot(graph.builtAt(), Map.of(), lru(properties.getCacheSize()));
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /** Nodes with the highest in-degree, via a bounded min-heap */
+    private static int[] mostCited(CitationGraph graph, int limit) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(
+                Math.max(1, limit), Comparator.comparingInt(graph::inDegree));
+        IntStream.range(0, graph.nodeCount()).forEach(node -> {
+            if (heap.size() < limit) {
+                heap.add(node);
+            } else if (limit > 0 && graph.inDegree(node) > graph.inDegree(heap.peek())) {
+                heap.poll();
+                heap.add(node);
+            }
+        });
+        return heap.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static long key(int node, SimilarityKind kind) {
+        return ((long) node << 1) | kind.ordinal();
+    }
+
+    private static <K, V> Map<K, V> lru(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+}
@@ -0,0 +1,192 @@
+package com.teamb.globalip.patenttrendsservice.service;
+
+import com.teamb.globalip.patenttrendsservice.dto.search.LocalSearchHitDto;
+import com.teamb.globalip.patenttrendsservice.dto.search.LocalSearchResultDto;
+import com.teamb.globalip.patenttrendsservice.repository.PatentRepository;
+import com.teamb.globalip.patenttrendsservice.repository.epo.EpoPatentRepository;
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndex;
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndexLoader;
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndexLoader.Watermark;
+import com.teamb.globalip.patenttrendsservice.search.SearchIndexProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword and assignee search over the locally ingested US and EPO patents.
+ *
+ * The first run builds a {@link PatentSearchIndex} in the background; later
+ * runs append whatever was ingested since, so the index follows the bulk
+ * loads. A nightly full build replaces it, dropping withdrawn or deleted
+ * patents and picking up anything an append missed. Builds and appends run
+ * one at a time on their own thread, off the shared scheduler.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Profile("prod")
+public class PatentSearchIndexService {
+
+    private final PatentSearchIndexLoader loader;
+    private final SearchIndexProperties properties;
+    private final PatentRepository patentRepo;
+    private final EpoPatentRepository epoPatentRepo;
+
+    private final ScheduledExecutorService loadExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("search-index-load").daemon().factory());
+
+    private volatile PatentSearchIndex index;
+    private volatile Watermark usWatermark;
+    private Watermark epoWatermark;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        loadExecutor.scheduleWithFixedDelay(this::refresh, 0,
+                Math.max(1, properties.getRefreshIntervalMs()), TimeUnit.MILLISECONDS);
+    }
+
+    @Scheduled(cron = "${search-index.rebuild-cron:0 30 3 * * *}")
+    public void scheduleRebuild() {
+        loadExecutor.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void stop() {
+        loadExecutor.shutdownNow();
+    }
+
+    public synchronized void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            if (index == null) {
+                build();
+            } else {
+                usWatermark = loader.loadUsPatents(index, usWatermark);
+                epoWatermark = loader.loadEpoPatents(index, epoWatermark);
+            }
+        } catch (Exception e) {
+            log.error("Search index refresh failed", e);
+        }
+    }
+
+    /**
+     * Build a fresh index next to the live one and swap it in; searches keep
+     * using the old index until then
+     */
+    public synchronized void rebuild() {
+        if (!properties.isEnabled() || index == null) {
+            return;
+        }
+        try {
+            build();
+        } catch (Exception e) {
+            log.error("Search index rebuild failed", e);
+        }
+    }
+
+    private void build() {
+        long start = System.currentTimeMillis();
+        PatentSearchIndex built = new PatentSearchIndex(properties.getK1(), properties.getB());
+        Watermark us = loader.loadUsPatents(built, Watermark.NONE);
+        Watermark epo = loader.loadEpoPatents(built, Watermark.NONE);
+        index = built;
+        usWatermark = us;
+        epoWatermark = epo;
+        log.info("Search index built: {} patents in {} ms", built.size(), System.currentTimeMillis() - start);
+    }
+
+    public LocalSearchResultDto search(
+            String keyword,
+            String assignee,
+            String jurisdiction,
+            LocalDate filedFrom,
+            LocalDate filedTo,
+            int limit
+    ) {
+        PatentSearchIndex current = index;
+        if (current == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is still loading");
+        }
+        List<String> terms = PatentSearchIndex.tokens(keyword);
+        List<String> assigneeTerms = PatentSearchIndex.tokens(assignee);
+        if (terms.isEmpty() && assigneeTerms.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A keyword or assignee is required");
+        }
+        String country = jurisdiction == null || jurisdiction.isBlank() || "ALL".equalsIgnoreCase(jurisdiction)
+                ? null : jurisdiction.trim();
+
+        PatentSearchIndex.Result result = current.search(new PatentSearchIndex.Query(
+                terms, assigneeTerms, country, filedFrom, filedTo,
+                Math.max(1, Math.min(limit, properties.getMaxResults()))
+        ));
+
+        Watermark us = usWatermark;
+        return new LocalSearchResultDto(
+                hydrate(result.hits()),
+                result.matches(),
+                current.size(),
+                us != null ? us.latestDate() : null
+        );
+    }
+
+    /** Titles and assignees for the hits, in score order */
+    private List<LocalSearchHitDto> hydrate(List<PatentSearchIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Double> scores = new LinkedHashMap<>();
+        List<String> usIds = new ArrayList<>();
+        List<String> epoIds = new ArrayList<>();
+        for (PatentSearchIndex.Hit hit : hits) {
+            scores.put(hit.patentId(), hit.score());
+            ("US".equals(hit.country()) ? usIds : epoIds).add(hit.patentId());
+        }
+
+        Map<String, LocalSearchHitDto> byId = new HashMap<>();
+        if (!usIds.isEmpty()) {
+            for (Object[] r : patentRepo.searchHitDetails(usIds)) {
+                String id = (String) r[0];
+                byId.put(id, new LocalSearchHitDto(id, "US", (String) r[1], (String) r[2], names(r[5]),
+                        toLocalDate(r[3]), toLocalDate(r[4]), scores.get(id)));
+            }
+        }
+        if (!epoIds.isEmpty()) {
+            for (Object[] r : epoPatentRepo.searchHitDetails(epoIds)) {
+                String id = (String) r[0];
+                byId.put(id, new LocalSearchHitDto(id, (String) r[1], (String) r[2], null, names(r[5]),
+                        toLocalDate(r[3]), toLocalDate(r[4]), scores.get(id)));
+            }
+        }
+        return scores.keySet().stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private static List<String> names(Object value) {
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(((String) value).split(" \\| ")).filter(s -> !s.isBlank()).distinct().toList();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date d ? d.toLocalDate() : (LocalDate) value;
+    }
+}
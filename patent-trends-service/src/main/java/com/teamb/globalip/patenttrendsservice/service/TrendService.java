@@ -1,12 +1,14 @@
 package com.teamb.globalip.patenttrendsservice.service;
 
 import com.teamb.globalip.patenttrendsservice.dto.*;
+import com.teamb.globalip.patenttrendsservice.dto.citation.CitationRankDto;
 import com.teamb.globalip.patenttrendsservice.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -136,6 +138,38 @@ public class TrendService {
                 .toList();
     }
 
+    /** Patents ordered by PageRank from the nightly ranking job */
+    @Transactional(readOnly = true)
+    public List<CitationRankDto> topInfluentialPatents(int limit) {
+        return citationRepo.topInfluential(limit).stream()
+                .map(TrendService::toCitationRank)
+                .toList();
+    }
+
+    /** Ranking rows for the given patents; unranked patents are left out */
+    @Transactional(readOnly = true)
+    public List<CitationRankDto> citationRanks(List<String> patentIds) {
+        if (patentIds == null || patentIds.isEmpty()) {
+            return List.of();
+        }
+        return citationRepo.citationRanks(patentIds).stream()
+                .map(TrendService::toCitationRank)
+                .toList();
+    }
+
+    private static CitationRankDto toCitationRank(Object[] r) {
+        return new CitationRankDto(
+                (String) r[0],
+                ((Number) r[1]).doubleValue(),
+                ((Number) r[2]).longValue(),
+                ((Number) r[3]).doubleValue(),
+                ((Number) r[4]).intValue(),
+                ((Number) r[5]).intValue(),
+                ((Number) r[6]).intValue(),
+                r[7] != null ? ((Timestamp) r[7]).toInstant() : null
+        );
+    }
+
     @Transactional(readOnly = true)
     public List<CitationLagDto> citationLagTrend() {
         return citationRepo.citationLagTrend().stream()
@@ -0,0 +1,104 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CitationGraphBuilderTest {
+
+    private static List<String> cited(CitationGraph graph, String patentId) {
+        List<String> ids = new ArrayList<>();
+        graph.forEachCited(graph.nodeId(patentId), n -> ids.add(graph.patentId(n)));
+        return ids;
+    }
+
+    private static List<String> citing(CitationGraph graph, String patentId) {
+        List<String> ids = new ArrayList<>();
+        graph.forEachCiting(graph.nodeId(patentId), n -> ids.add(graph.patentId(n)));
+        return ids;
+    }
+
+    private static List<Integer> citedYears(CitationGraph graph, String patentId) {
+        List<Integer> years = new ArrayList<>();
+        graph.forEachCitedYear(graph.nodeId(patentId), years::add);
+        return years;
+    }
+
+    @Test
+    void buildsBothDirectionsInSortedIdOrder() {
+        // given
+        CitationGraphBuilder builder = new CitationGraphBuilder(2);
+        builder.addCitation("US300", "US100", 2010);
+        builder.addCitation("US200", "US100", 2005);
+        builder.addCitation("US300", "US200", 2011);
+        builder.addCitation("US400", "US300", 0);
+
+        // when
+        CitationGraph graph = builder.build();
+
+        // then: node ids round-trip and follow id order
+        assertEquals(4, graph.nodeCount());
+        assertEquals(4, graph.edgeCount());
+        for (String id : List.of("US100", "US200", "US300", "US400")) {
+            assertEquals(id, graph.patentId(graph.nodeId(id)));
+        }
+        assertEquals(0, graph.nodeId("US100"));
+        assertEquals(3, graph.nodeId("US400"));
+        assertEquals(-1, graph.nodeId("US999"));
+
+        assertArrayEquals(new int[]{0, 0, 1, 3, 4}, graph.outOffsets());
+        assertArrayEquals(new int[]{0, 2, 3, 4, 4}, graph.inOffsets());
+        assertEquals(List.of("US100", "US200"), cited(graph, "US300"));
+        assertEquals(List.of("US200", "US300"), citing(graph, "US100"));
+        assertEquals(List.of(2010, 2011), citedYears(graph, "US300"));
+        assertEquals(List.of(0), citedYears(graph, "US400"));
+        assertEquals(2, graph.inDegree(graph.nodeId("US100")));
+        assertEquals(0, graph.outDegree(graph.nodeId("US100")));
+    }
+
+    @Test
+    void collapsesRepeatedCitationsAndDropsSelfCitations() {
+        // given: applicant and examiner both cite US100; one row has no year
+        CitationGraphBuilder builder = new CitationGraphBuilder(16);
+        builder.addCitation("US300", "US100", 0);
+        builder.addCitation("US300", "US100", 2012);
+        builder.addCitation("US300", "US100", 2010);
+        builder.addCitation("US300", "US200", 2010);
+        builder.addCitation("US300", "US300", 2010);
+        builder.addCitation("US200", "US100", 2008);
+        builder.addCitation("US200", "US100", 2008);
+        builder.addCitation(null, "US100", 2008);
+
+        // when
+        assertEquals(6, builder.size());
+        CitationGraph graph = builder.build();
+
+        // then
+        assertEquals(3, graph.edgeCount());
+        assertEquals(List.of("US100", "US200"), cited(graph, "US300"));
+        assertEquals(List.of(2010, 2010), citedYears(graph, "US300"));
+        assertEquals(List.of("US200", "US300"), citing(graph, "US100"));
+        assertEquals(graph.edgeCount(), graph.inSources().length);
+        assertEquals(graph.inOffsets()[graph.nodeCount()], graph.edgeCount());
+    }
+
+    @Test
+    void growsPastTheExpectedEdgeCount() {
+        // given
+        CitationGraphBuilder builder = new CitationGraphBuilder(0);
+        for (int i = 0; i < 1000; i++) {
+            builder.addCitation("C" + i, "HUB", 1990 + i % 30);
+        }
+
+        // when
+        CitationGraph graph = builder.build();
+
+        // then
+        assertEquals(1001, graph.nodeCount());
+        assertEquals(1000, graph.inDegree(graph.nodeId("HUB")));
+        assertEquals(List.of("HUB"), cited(graph, "C999"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CitationRankCalculatorTest {
+
+    static final double DAMPING = 0.85;
+
+    private static CitationGraph graph(String... citingCited) {
+        CitationGraphBuilder builder = new CitationGraphBuilder(citingCited.length / 2);
+        for (int i = 0; i < citingCited.length; i += 2) {
+            builder.addCitation(citingCited[i], citingCited[i + 1], 2020);
+        }
+        return builder.build();
+    }
+
+    private static double rank(CitationGraph graph, double[] ranks, String patentId) {
+        return ranks[graph.nodeId(patentId)];
+    }
+
+    @Test
+    void ranksSumToOneAndFollowCitations() {
+        // given: HUB is cited by everyone, LEAF by nobody; HUB and OLD cite nothing
+        CitationGraph graph = graph(
+                "A", "HUB", "B", "HUB", "C", "HUB", "LEAF", "HUB",
+                "A", "OLD", "B", "A", "C", "B");
+
+        // when
+        double[] ranks = CitationRankCalculator.pageRank(graph, DAMPING, 200, 1e-12, null, 0, null);
+
+        // then
+        assertEquals(1.0, Arrays.stream(ranks).sum(), 1e-9);
+        assertTrue(rank(graph, ranks, "HUB") > rank(graph, ranks, "OLD"));
+        assertTrue(rank(graph, ranks, "A") > rank(graph, ranks, "B"));
+        assertTrue(rank(graph, ranks, "B") > rank(graph, ranks, "C"));
+        assertEquals(rank(graph, ranks, "C"), rank(graph, ranks, "LEAF"), 1e-12);
+    }
+
+    @Test
+    void danglingPatentsSpreadTheirRankUniformly() {
+        // given: A cites B, B cites nothing
+        CitationGraph graph = graph("A", "B");
+
+        // when
+        double[] ranks = CitationRankCalculator.pageRank(graph, DAMPING, 500, 1e-15, null, 0, null);
+
+        // then: r(B) = (1 + d) / (2 + d) solves both equations
+        assertEquals((1 + DAMPING) / (2 + DAMPING), rank(graph, ranks, "B"), 1e-9);
+        assertEquals(1 / (2 + DAMPING), rank(graph, ranks, "A"), 1e-9);
+    }
+
+    @Test
+    void resumedIterationMatchesAnUninterruptedRun() {
+        // given
+        CitationGraph graph = graph("A", "B", "B", "C", "C", "A", "D", "A", "D", "E", "E", "B");
+        double[][] atFive = new double[1][];
+        List<Integer> iterations = new ArrayList<>();
+        double[] uninterrupted = CitationRankCalculator.pageRank(graph, DAMPING, 12, 0, null, 0,
+                (iteration, ranks, delta) -> {
+                    if (iteration == 5) {
+                        atFive[0] = ranks.clone();
+                    }
+                });
+
+        // when
+        double[] resumed = CitationRankCalculator.pageRank(graph, DAMPING, 12, 0, atFive[0], 5,
+                (iteration, ranks, delta) -> iterations.add(iteration));
+
+        // then
+        assertEquals(List.of(6, 7, 8, 9, 10, 11, 12), iterations);
+        assertArrayEquals(uninterrupted, resumed, 1e-15);
+    }
+
+    @Test
+    void coreNumbersTreatCitationsAsUndirected() {
+        // given: K1..K4 cite each other one way (a 4-clique), T1 hangs off it and T2 off T1
+        CitationGraph graph = graph(
+                "K1", "K2", "K1", "K3", "K1", "K4", "K2", "K3", "K2", "K4", "K4", "K3",
+                "T1", "K1", "T1", "K2", "T2", "T1");
+
+        // when
+        int[] cores = CitationRankCalculator.coreNumbers(graph);
+
+        // then
+        for (String k : List.of("K1", "K2", "K3", "K4")) {
+            assertEquals(3, cores[graph.nodeId(k)], k);
+        }
+        assertEquals(2, cores[graph.nodeId("T1")]);
+        assertEquals(1, cores[graph.nodeId("T2")]);
+    }
+
+    @Test
+    void emptyGraphHasNoRanks() {
+        CitationGraph empty = new CitationGraphBuilder(0).build();
+        assertEquals(0, CitationRankCalculator.pageRank(empty, DAMPING, 10, 1e-9, null, 0, null).length);
+        assertEquals(0, CitationRankCalculator.coreNumbers(empty).length);
+    }
+}
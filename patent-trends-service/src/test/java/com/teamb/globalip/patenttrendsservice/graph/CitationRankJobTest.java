@@ -0,0 +1,105 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import com.teamb.globalip.patenttrendsservice.service.CitationGraphService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CitationRankJobTest {
+
+    @TempDir
+    Path dir;
+
+    private static CitationGraph graph(String... citingCited) {
+        CitationGraphBuilder builder = new CitationGraphBuilder(citingCited.length / 2);
+        for (int i = 0; i < citingCited.length; i += 2) {
+            builder.addCitation(citingCited[i], citingCited[i + 1], 2020);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void checkpointResumesOnARebuildOfTheSameCitationsOnly() {
+        // given
+        Path file = dir.resolve("pagerank.ckpt");
+        CitationGraph graph = graph("A", "B", "B", "C", "D", "C");
+        CitationRankJob.writeCheckpoint(file, graph, 7, new double[]{0.1, 0.2, 0.3, 0.4});
+
+        // when
+        CitationRankJob.Checkpoint rebuilt = CitationRankJob.readCheckpoint(file, graph("D", "C", "B", "C", "A", "B"));
+        // same node and edge counts, different edges
+        CitationRankJob.Checkpoint changed = CitationRankJob.readCheckpoint(file, graph("A", "B", "B", "C", "C", "D"));
+
+        // then
+        assertNotNull(rebuilt);
+        assertEquals(7, rebuilt.iteration());
+        assertArrayEquals(new double[]{0.1, 0.2, 0.3, 0.4}, rebuilt.ranks());
+        assertNull(changed);
+    }
+
+    @Test
+    void writesEveryPatentWithPositionPercentileAndCore() {
+        // given
+        CitationGraphService graphService = mock(CitationGraphService.class);
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        CitationRankProperties properties = new CitationRankProperties();
+        properties.setCheckpointDir(dir.toString());
+        properties.setCheckpointEvery(1);
+        properties.setWriteBatchSize(2);
+        CitationGraph graph = graph("A", "HUB", "B", "HUB", "C", "HUB", "A", "B");
+        when(graphService.currentGraph()).thenReturn(Optional.of(graph));
+
+        List<Object[]> rows = new ArrayList<>();
+        when(jdbc.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+            List<Object[]> batch = inv.getArgument(1);
+            rows.addAll(batch);
+            return new int[batch.size()];
+        });
+
+        // when
+        new CitationRankJob(graphService, properties, jdbc, transactionTemplate).run();
+
+        // then
+        Map<String, Object[]> byId = new HashMap<>();
+        rows.forEach(r -> byId.put((String) r[0], r));
+        assertEquals(4, byId.size());
+        assertEquals(1.0, rows.stream().mapToDouble(r -> (double) r[1]).sum(), 1e-9);
+        assertEquals(1, byId.get("HUB")[2]);
+        assertEquals(1.0, byId.get("HUB")[3]);
+        assertEquals(3, byId.get("HUB")[5]);
+        assertEquals(2, byId.get("A")[6]);
+        assertEquals(2, byId.get("B")[4]);
+        assertEquals(1, byId.get("C")[4]);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbc, atLeastOnce()).execute(sql.capture());
+        assertTrue(sql.getAllValues().stream().anyMatch(s -> s.contains("CREATE UNLOGGED TABLE")));
+        verify(transactionTemplate).executeWithoutResult(any());
+        assertFalse(Files.exists(dir.resolve("pagerank.ckpt")));
+    }
+
+    @Test
+    void positionsFollowDescendingRankWithTiesInNodeOrder() {
+        // when
+        int[] positions = CitationRankJob.rankPositions(new double[]{0.1, 0.4, 0.1, 0.3, 0.1});
+
+        // then
+        assertArrayEquals(new int[]{3, 1, 4, 2, 5}, positions);
+        assertEquals(0, CitationRankJob.rankPositions(new double[0]).length);
+    }
+}
@@ -0,0 +1,158 @@
+package com.teamb.globalip.patenttrendsservice.graph;
+
+import com.teamb.globalip.patenttrendsservice.graph.CitationSimilarityCalculator.IntCounter;
+import com.teamb.globalip.patenttrendsservice.graph.CitationSimilarityCalculator.Neighbor;
+import com.teamb.globalip.patenttrendsservice.graph.CitationSimilarityCalculator.Result;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CitationSimilarityCalculatorTest {
+
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    /** P1 and P2 cite X and Y, P3 cites X and Z */
+    CitationGraph graph = graph("P1", "X", "P1", "Y", "P2", "X", "P2", "Y", "P3", "X", "P3", "Z");
+
+    private static CitationGraph graph(String... citingCited) {
+        CitationGraphBuilder builder = new CitationGraphBuilder(citingCited.length / 2);
+        for (int i = 0; i < citingCited.length; i += 2) {
+            builder.addCitation(citingCited[i], citingCited[i + 1], 2020);
+        }
+        return builder.build();
+    }
+
+    private Result topK(CitationGraph g, String patentId, SimilarityKind kind, int k, int maxDegree, long maxWork) {
+        return CitationSimilarityCalculator.topK(g, g.nodeId(patentId), kind, k, maxDegree, maxWork, NO_DEADLINE);
+    }
+
+    private static List<String> ids(CitationGraph g, Result result) {
+        return result.neighbors().stream().map(n -> g.patentId(n.node())).toList();
+    }
+
+    @Test
+    void coCitationCountsPatentsCitedTogether() {
+        // when
+        Result result = topK(graph, "X", SimilarityKind.CO_CITATION, 10, 100, 1_000);
+
+        // then: Y is cited with X twice, Z once; scores are shared / sqrt(in(X) * in(other))
+        assertEquals(List.of("Y", "Z"), ids(graph, result));
+        assertEquals(2, result.neighbors().get(0).shared());
+        assertEquals(2 / Math.sqrt(3 * 2), result.neighbors().get(0).score(), 1e-12);
+        assertEquals(1, result.neighbors().get(1).shared());
+        assertEquals(1 / Math.sqrt(3), result.neighbors().get(1).score(), 1e-12);
+        assertFalse(result.truncated());
+    }
+
+    @Test
+    void couplingCountsSharedPriorArt() {
+        // when
+        Result result = topK(graph, "P1", SimilarityKind.BIBLIOGRAPHIC_COUPLING, 10, 100, 1_000);
+
+        // then
+        assertEquals(List.of("P2", "P3"), ids(graph, result));
+        assertEquals(new Neighbor(graph.nodeId("P2"), 2, 1.0), result.neighbors().get(0));
+        assertEquals(new Neighbor(graph.nodeId("P3"), 1, 0.5), result.neighbors().get(1));
+    }
+
+    @Test
+    void skipsIntermediatesAboveTheDegreeCutoff() {
+        // when: X is cited three times, Y twice
+        Result result = topK(graph, "P1", SimilarityKind.BIBLIOGRAPHIC_COUPLING, 10, 2, 1_000);
+
+        // then: only Y links P1 to anything
+        assertEquals(List.of("P2"), ids(graph, result));
+        assertEquals(1, result.neighbors().getFirst().shared());
+    }
+
+    @Test
+    void keepsTheTopKByCountThenScore() {
+        // given: Q0..Q5 are cited with X by 6..1 patents; W is cited with X
+        // once and by no one else, Q5 also by D, so W outscores Q5 on the tie
+        String[] edges = new String[2 * (21 * 2 + 2)];
+        int e = 0;
+        int citing = 0;
+        for (int q = 0; q < 6; q++) {
+            for (int c = 0; c < 6 - q; c++) {
+                edges[e++] = "C" + citing;
+                edges[e++] = "X";
+                edges[e++] = "C" + citing++;
+                edges[e++] = "Q" + q;
+            }
+        }
+        edges[e++] = "C0";
+        edges[e++] = "W";
+        edges[e++] = "D";
+        edges[e] = "Q5";
+        CitationGraph g = graph(edges);
+
+        // when
+        Result top3 = topK(g, "X", SimilarityKind.CO_CITATION, 3, 100, 10_000);
+        Result all = topK(g, "X", SimilarityKind.CO_CITATION, 10, 100, 10_000);
+
+        // then
+        assertEquals(List.of("Q0", "Q1", "Q2"), ids(g, top3));
+        assertEquals(List.of("Q0", "Q1", "Q2", "Q3", "Q4", "W", "Q5"), ids(g, all));
+        assertTrue(all.neighbors().get(5).score() > all.neighbors().get(6).score());
+    }
+
+    @Test
+    void returnsNoNeighboursWhenNoneAreAskedFor() {
+        // when
+        Result result = topK(graph, "X", SimilarityKind.CO_CITATION, 0, 100, 1_000);
+
+        // then
+        assertTrue(result.neighbors().isEmpty());
+        assertFalse(result.truncated());
+    }
+
+    @Test
+    void flagsTruncationWhenTheWorkCapIsHit() {
+        // given: X is cited by 50 patents that each cite 20 others
+        String[] edges = new String[2 * 50 * 21];
+        int e = 0;
+        for (int c = 0; c < 50; c++) {
+            edges[e++] = "C" + c;
+            edges[e++] = "X";
+            for (int o = 0; o < 20; o++) {
+                edges[e++] = "C" + c;
+                edges[e++] = "O" + (c * 20 + o);
+            }
+        }
+        CitationGraph g = graph(edges);
+
+        // when / then: 50 * 21 = 1050 visits for X
+        assertTrue(topK(g, "X", SimilarityKind.CO_CITATION, 5, 100, 100).truncated());
+        assertTrue(topK(g, "X", SimilarityKind.CO_CITATION, 5, 100, 1_049).truncated());
+        assertFalse(topK(g, "X", SimilarityKind.CO_CITATION, 5, 100, 1_050).truncated());
+        assertTrue(CitationSimilarityCalculator.topK(g, g.nodeId("X"), SimilarityKind.CO_CITATION,
+                5, 100, Long.MAX_VALUE, System.nanoTime() - 1).truncated());
+    }
+
+    @Test
+    void intCounterCountsAcrossGrowth() {
+        // given
+        IntCounter counter = new IntCounter(4);
+        for (int key = 0; key < 5_000; key++) {
+            for (int n = 0; n <= key % 3; n++) {
+                counter.increment(key * 7);
+            }
+        }
+
+        // when
+        Map<Integer, Integer> counts = new HashMap<>();
+        counter.forEach(counts::put);
+
+        // then
+        assertEquals(5_000, counter.size());
+        assertEquals(5_000, counts.size());
+        assertEquals(1, counts.get(0));
+        assertEquals(2, counts.get(7));
+        assertEquals(3, counts.get(14));
+        assertEquals(2, counts.get(4_999 * 7));
+    }
+}
@@ -0,0 +1,98 @@
+package com.teamb.globalip.patenttrendsservice.search;
+
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndexLoader.Watermark;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PatentSearchIndexLoaderTest {
+
+    static final LocalDateTime T0 = LocalDateTime.of(2026, 5, 1, 12, 0);
+
+    JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    SearchIndexProperties properties = new SearchIndexProperties();
+    PatentSearchIndexLoader loader = new PatentSearchIndexLoader(jdbc, properties);
+    PatentSearchIndex index = new PatentSearchIndex(1.2, 0.75);
+
+    List<String> sql = new ArrayList<>();
+    PreparedStatement statement = mock(PreparedStatement.class);
+
+    /** (id, grant date, ingested at) rows handed to the loader's row callback */
+    private void rows(Object[]... rows) throws Exception {
+        doAnswer(inv -> {
+            Connection connection = mock(Connection.class);
+            when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenAnswer(p -> {
+                sql.add(p.getArgument(0));
+                return statement;
+            });
+            ((PreparedStatementCreator) inv.getArgument(0)).createPreparedStatement(connection);
+
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (Object[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn((String) row[0]);
+                when(rs.getDate(2)).thenReturn(Date.valueOf((LocalDate) row[1]));
+                when(rs.getString(3)).thenReturn("US");
+                when(rs.getString(5)).thenReturn("solar cell " + row[0]);
+                when(rs.getTimestamp(7)).thenReturn(row[2] != null ? Timestamp.valueOf((LocalDateTime) row[2]) : null);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbc).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void fullBuildReadsEveryRowAndKeepsTheLatestIngestion() throws Exception {
+        // given: rows loaded before ingested_at existed are NULL
+        rows(new Object[]{"9000001", LocalDate.of(2015, 1, 6), null},
+                new Object[]{"12000001", LocalDate.of(2026, 4, 28), T0.minusHours(3)},
+                new Object[]{"12000002", LocalDate.of(2026, 4, 28), T0});
+
+        // when
+        Watermark watermark = loader.loadUsPatents(index, Watermark.NONE);
+
+        // then
+        assertEquals(3, index.size());
+        assertEquals(T0, watermark.ingestedAt());
+        assertEquals(LocalDate.of(2026, 4, 28), watermark.latestDate());
+        assertEquals(Map.of("12000002", T0), watermark.recentIds());
+        assertFalse(sql.getFirst().contains("ingested_at >"));
+        verify(statement, never()).setTimestamp(anyInt(), any());
+    }
+
+    @Test
+    void refreshReadsBackThroughTheIngestLagAndSkipsIdsAlreadyIndexed() throws Exception {
+        // given: a grant dated before the watermark but ingested after it
+        Watermark since = new Watermark(T0, Map.of("12000002", T0), LocalDate.of(2026, 4, 28));
+        rows(new Object[]{"12000002", LocalDate.of(2026, 4, 28), T0},
+                new Object[]{"11500000", LocalDate.of(2023, 2, 14), T0.minusMinutes(20)},
+                new Object[]{"12000003", LocalDate.of(2026, 5, 5), T0.plusHours(2)});
+
+        // when
+        Watermark watermark = loader.loadUsPatents(index, since);
+
+        // then
+        assertEquals(2, index.size());
+        assertTrue(sql.getFirst().contains("p.ingested_at > ?"));
+        verify(statement).setTimestamp(2, Timestamp.valueOf(T0.minusHours(1)));
+        assertEquals(T0.plusHours(2), watermark.ingestedAt());
+        assertEquals(LocalDate.of(2026, 5, 5), watermark.latestDate());
+        assertEquals(Map.of("12000003", T0.plusHours(2)), watermark.recentIds());
+    }
+}
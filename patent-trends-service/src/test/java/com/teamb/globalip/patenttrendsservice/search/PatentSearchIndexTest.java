@@ -0,0 +1,135 @@
+package com.teamb.globalip.patenttrendsservice.search;
+
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndex.Document;
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndex.Hit;
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndex.Query;
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndex.Result;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatentSearchIndexTest {
+
+    PatentSearchIndex index = new PatentSearchIndex(1.2, 0.75);
+
+    private static Document us(String id, String title, String assignees, LocalDate filed) {
+        return new Document(id, "US", filed, title, assignees);
+    }
+
+    private Result search(List<String> terms, List<String> assigneeTerms) {
+        return index.search(new Query(terms, assigneeTerms, null, null, null, 10));
+    }
+
+    private static List<String> ids(Result result) {
+        return result.hits().stream().map(Hit::patentId).toList();
+    }
+
+    @Test
+    void tokensAreLowerCasedWordsWithoutStopWordsOrSingleCharacters() {
+        assertEquals(List.of("solar", "cell", "3d", "printed", "perovskite", "layer"),
+                PatentSearchIndex.tokens("A Solar-Cell with 3D printed perovskite layer, x"));
+        assertEquals(List.of(), PatentSearchIndex.tokens("  "));
+        assertEquals(List.of(), PatentSearchIndex.tokens(null));
+    }
+
+    @Test
+    void ranksRarerAndMoreFrequentTermsHigher() {
+        // given
+        index.addAll(List.of(
+                us("1", "battery battery electrode", null, null),
+                us("2", "battery electrode separator housing terminal", null, null),
+                us("3", "battery pack", null, null),
+                us("4", "electrode coating", null, null)
+        ));
+
+        // when
+        Result battery = search(List.of("battery"), List.of());
+
+        // then: tf 2 beats tf 1; the short title beats the long one
+        assertEquals(List.of("1", "3", "2"), ids(battery));
+        assertEquals(3, battery.matches());
+        assertTrue(battery.hits().get(0).score() > battery.hits().get(1).score());
+    }
+
+    @Test
+    void requiresEveryTitleAndAssigneeTerm() {
+        // given
+        index.addAll(List.of(
+                us("1", "lithium battery electrode", "Tesla Inc", null),
+                us("2", "lithium battery", "Panasonic Corp", null),
+                us("3", "lithium electrode", "Tesla Inc", null),
+                us("4", "sodium battery electrode", "Tesla Inc", null)
+        ));
+
+        // then
+        assertEquals(List.of("1"), ids(search(List.of("lithium", "battery", "electrode"), List.of())));
+        assertEquals(List.of("1", "3"), ids(search(List.of("lithium"), List.of("tesla"))).stream().sorted().toList());
+        assertEquals(List.of("2"), ids(search(List.of(), List.of("panasonic"))));
+        assertEquals(0, search(List.of("lithium", "graphene"), List.of()).matches());
+    }
+
+    @Test
+    void filtersByCountryAndFilingDate() {
+        // given
+        index.addAll(List.of(
+                us("US1", "wind turbine blade", null, LocalDate.of(2015, 3, 1)),
+                us("US2", "wind turbine tower", null, LocalDate.of(2020, 6, 1)),
+                us("US3", "wind turbine gearbox", null, null),
+                new Document("EP4", "EP", LocalDate.of(2020, 1, 1), null, "wind turbine gmbh")
+        ));
+
+        // when
+        Result ep = index.search(new Query(List.of(), List.of("wind"), "ep", null, null, 10));
+        Result filed = index.search(new Query(List.of("turbine"), List.of(), null,
+                LocalDate.of(2016, 1, 1), LocalDate.of(2020, 6, 1), 10));
+
+        // then: the filing range is inclusive and skips undated patents
+        assertEquals(List.of("EP4"), ids(ep));
+        assertEquals("EP", ep.hits().get(0).country());
+        assertEquals(List.of("US2"), ids(filed));
+        assertEquals(0, index.search(new Query(List.of("wind"), List.of(), "JP", null, null, 10)).matches());
+    }
+
+    @Test
+    void intersectsLongAndShortPostingsAcrossGallopEdges() {
+        // given: "common" in every document, "rare" in a few spread to the
+        // first, last and around gallop step boundaries of the long list
+        List<Integer> rare = List.of(0, 1, 2, 3, 5, 9, 17, 33, 64, 65, 1000, 2047, 2999);
+        List<Document> documents = new ArrayList<>();
+        IntStream.range(0, 3000).forEach(i -> documents.add(us("P" + i,
+                rare.contains(i) ? "common rare" : "common " + (i % 2 == 0 ? "even" : "odd"), null, null)));
+        index.addAll(documents);
+
+        // when
+        Result rareAndCommon = index.search(new Query(List.of("common", "rare"), List.of(), null, null, null, 100));
+        Result rareAndOdd = index.search(new Query(List.of("rare", "odd"), List.of(), null, null, null, 100));
+        Result evenAndOdd = index.search(new Query(List.of("even", "odd"), List.of(), null, null, null, 100));
+
+        // then
+        assertEquals(rare.size(), rareAndCommon.matches());
+        assertEquals(rare.stream().map(i -> "P" + i).sorted().toList(), ids(rareAndCommon).stream().sorted().toList());
+        assertEquals(0, rareAndOdd.matches());
+        assertEquals(0, evenAndOdd.matches());
+        assertEquals(3000, index.size());
+    }
+
+    @Test
+    void keepsOnlyTheTopHitsButCountsAllMatches() {
+        // given
+        IntStream.range(0, 50).forEach(i -> index.addAll(List.of(
+                us("P" + i, "sensor " + "sensor ".repeat(i % 5) + "x".repeat(2) + i, null, null))));
+
+        // when
+        Result result = index.search(new Query(List.of("sensor"), List.of(), null, null, null, 3));
+
+        // then
+        assertEquals(50, result.matches());
+        assertEquals(3, result.hits().size());
+        assertTrue(result.hits().get(0).score() >= result.hits().get(2).score());
+    }
+}
@@ -0,0 +1,119 @@
+package com.teamb.globalip.patenttrendsservice.service;
+
+import com.teamb.globalip.patenttrendsservice.dto.search.LocalSearchHitDto;
+import com.teamb.globalip.patenttrendsservice.dto.search.LocalSearchResultDto;
+import com.teamb.globalip.patenttrendsservice.repository.PatentRepository;
+import com.teamb.globalip.patenttrendsservice.repository.epo.EpoPatentRepository;
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndex;
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndex.Document;
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndexLoader;
+import com.teamb.globalip.patenttrendsservice.search.PatentSearchIndexLoader.Watermark;
+import com.teamb.globalip.patenttrendsservice.search.SearchIndexProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PatentSearchIndexServiceTest {
+
+    static final LocalDate GRANTED = LocalDate.of(2026, 4, 28);
+
+    PatentSearchIndexLoader loader = mock(PatentSearchIndexLoader.class);
+    PatentRepository patentRepo = mock(PatentRepository.class);
+    EpoPatentRepository epoPatentRepo = mock(EpoPatentRepository.class);
+    PatentSearchIndexService service =
+            new PatentSearchIndexService(loader, new SearchIndexProperties(), patentRepo, epoPatentRepo);
+
+    /** US rows the loader hands out: full builds get {@code all}, refreshes only {@code appended} */
+    List<Document> all = new ArrayList<>();
+    List<Document> appended = new ArrayList<>();
+
+    PatentSearchIndexServiceTest() {
+        when(loader.loadUsPatents(any(), any())).thenAnswer(inv -> {
+            PatentSearchIndex index = inv.getArgument(0);
+            index.addAll(inv.getArgument(1) == Watermark.NONE ? all : appended);
+            return new Watermark(LocalDateTime.now(), Map.of(), GRANTED);
+        });
+        when(loader.loadEpoPatents(any(), any())).thenReturn(Watermark.NONE);
+    }
+
+    private static Document us(String id, String title) {
+        return new Document(id, "US", null, title, null);
+    }
+
+    private int matches(String keyword) {
+        return service.search(keyword, null, null, null, null, 10).totalMatches();
+    }
+
+    @Test
+    void appendsOnRefreshAndDropsWithdrawnPatentsOnRebuild() {
+        // given
+        all.addAll(List.of(us("1", "solar cell"), us("2", "solar panel")));
+        service.refresh();
+
+        // when: 3 is ingested, then 2 is withdrawn
+        appended.add(us("3", "solar roof"));
+        service.refresh();
+        int afterRefresh = matches("solar");
+
+        all.remove(1);
+        all.add(us("3", "solar roof"));
+        service.rebuild();
+
+        // then
+        assertEquals(3, afterRefresh);
+        assertEquals(2, matches("solar"));
+        verify(loader, times(2)).loadUsPatents(any(), eq(Watermark.NONE));
+    }
+
+    @Test
+    void hydratesHitsInScoreOrderFromBothTables() {
+        // given
+        all.addAll(List.of(us("1", "wind turbine blade assembly with sensors"), us("2", "wind turbine")));
+        when(loader.loadEpoPatents(any(), any())).thenAnswer(inv -> {
+            PatentSearchIndex index = inv.getArgument(0);
+            index.addAll(List.of(new Document("EP3", "EP", null, null, "Wind Turbine GmbH")));
+            return Watermark.NONE;
+        });
+        when(patentRepo.searchHitDetails(anyCollection())).thenReturn(List.of(
+                new Object[]{"1", "B2", "Wind turbine blade assembly with sensors", null, Date.valueOf(GRANTED), "A | B"},
+                new Object[]{"2", "B1", "Wind turbine", null, Date.valueOf(GRANTED), null}));
+        when(epoPatentRepo.searchHitDetails(List.of("EP3"))).thenReturn(List.<Object[]>of(
+                new Object[]{"EP3", "EP", "A1", null, GRANTED, "Wind Turbine GmbH"}));
+        service.refresh();
+
+        // when
+        LocalSearchResultDto titles = service.search("wind turbine", null, "all", null, null, 10);
+        LocalSearchResultDto assignees = service.search(null, "wind", " EP ", null, null, 10);
+
+        // then
+        assertEquals(List.of("2", "1"), titles.hits().stream().map(LocalSearchHitDto::patentId).toList());
+        assertEquals(List.of("A", "B"), titles.hits().get(1).assignees());
+        assertEquals(GRANTED, titles.indexedThrough());
+        assertEquals(3, titles.indexedDocuments());
+        assertEquals("EP3", assignees.hits().getFirst().patentId());
+        assertEquals(List.of("Wind Turbine GmbH"), assignees.hits().getFirst().assignees());
+    }
+
+    @Test
+    void rejectsQueriesBeforeTheIndexIsBuiltOrWithoutTerms() {
+        ResponseStatusException loading = assertThrows(ResponseStatusException.class,
+                () -> service.search("solar", null, null, null, null, 10));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, loading.getStatusCode());
+
+        service.refresh();
+        ResponseStatusException empty = assertThrows(ResponseStatusException.class,
+                () -> service.search("the", " ", null, null, null, 10));
+        assertEquals(HttpStatus.BAD_REQUEST, empty.getStatusCode());
+    }
+}